@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point for the JMH benchmarks (the Main-Class of target/benchmarks.jar).
+ * <p>
+ * This accepts the usual JMH command line options (for example, a benchmark regex, -p n=100000, -t 4, -f 1).
+ * Unless otherwise specified (by -rf and -rff), the results are written in JSON format to target/jmh-result.json,
+ * so that the results of two commits can be compared with a JSON diff tool.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) builder.resultFormat(ResultFormatType.JSON);
+        if (!commandLineOptions.getResult().hasValue()) builder.result(RESULT);
+        new Runner(builder.build()).run();
+    }
+
+    public static final String RESULT = "target/jmh-result.json";
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import java.util.Random;
+
+/**
+ * Enumeration of the input distributions used by the JMH benchmarks.
+ * Each distribution yields a (deterministic, given the Random) array of n ints.
+ */
+public enum Distribution {
+    /**
+     * Uniformly distributed random ints.
+     */
+    RANDOM,
+    /**
+     * The ints 0 through n-1 in ascending order.
+     */
+    SORTED,
+    /**
+     * The ints n through 1 in descending order.
+     */
+    REVERSED,
+    /**
+     * The ints 0 through n-1 in ascending order, except that n/10 randomly chosen pairs have been exchanged.
+     */
+    PARTIAL,
+    /**
+     * Random ints chosen from only DISTINCT different values.
+     */
+    DUPLICATES;
+
+    /**
+     * Generate an array of n ints according to this distribution.
+     *
+     * @param n      the number of elements.
+     * @param random the source of randomness.
+     * @return a new int[] of length n.
+     */
+    public int[] ints(int n, Random random) {
+        int[] result = new int[n];
+        switch (this) {
+            case RANDOM -> {
+                for (int i = 0; i < n; i++) result[i] = random.nextInt();
+            }
+            case SORTED -> {
+                for (int i = 0; i < n; i++) result[i] = i;
+            }
+            case REVERSED -> {
+                for (int i = 0; i < n; i++) result[i] = n - i;
+            }
+            case PARTIAL -> {
+                for (int i = 0; i < n; i++) result[i] = i;
+                for (int k = 0; k < n / 10; k++) {
+                    int i = random.nextInt(n), j = random.nextInt(n);
+                    int t = result[i];
+                    result[i] = result[j];
+                    result[j] = t;
+                }
+            }
+            case DUPLICATES -> {
+                for (int i = 0; i < n; i++) result[i] = random.nextInt(DISTINCT);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Generate an array of n Integers according to this distribution.
+     *
+     * @param n      the number of elements.
+     * @param random the source of randomness.
+     * @return a new Integer[] of length n.
+     */
+    public Integer[] integers(int n, Random random) {
+        int[] ints = ints(n, random);
+        Integer[] result = new Integer[n];
+        for (int i = 0; i < n; i++) result[i] = ints[i];
+        return result;
+    }
+
+    public static final int DISTINCT = 100;
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.adt.pq.FourAryHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedHeap;
+import com.phasmidsoftware.dsaipg.adt.pq.PQException;
+import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for PriorityQueue (binary heap) and FourAryHeap, each with and without Floyd's trick,
+ * and for IndexedHeap (of arity 2 and 4, where floyd is ignored).
+ * Each invocation gives all n keys to an empty priority queue and then takes them all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PQBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "PARTIAL", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Param({"false", "true"})
+    public boolean floyd;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        keys = distribution.integers(n, new Random(0L));
+    }
+
+    @Benchmark
+    public void binaryHeap(Blackhole blackhole) throws PQException {
+        PriorityQueue<Integer> pq = new PriorityQueue<>(n, true, comparator, floyd);
+        for (Integer key : keys) pq.give(key);
+        while (!pq.isEmpty()) blackhole.consume(pq.take());
+    }
+
+    @Benchmark
+    public void fourAryHeap(Blackhole blackhole) throws PQException {
+        FourAryHeap<Integer> pq = new FourAryHeap<>(n, true, comparator, floyd);
+        for (Integer key : keys) pq.give(key);
+        while (!pq.isEmpty()) blackhole.consume(pq.take());
+    }
+
+    @Benchmark
+    public void indexedBinaryHeap(Blackhole blackhole) throws PQException {
+        IndexedHeap<Integer> pq = new IndexedHeap<>(2, n, true, comparator);
+        for (Integer key : keys) pq.give(key);
+        while (!pq.isEmpty()) blackhole.consume(pq.take());
+    }
+
+    @Benchmark
+    public void indexedFourAryHeap(Blackhole blackhole) throws PQException {
+        IndexedHeap<Integer> pq = new IndexedHeap<>(4, n, true, comparator);
+        for (Integer key : keys) pq.give(key);
+        while (!pq.isEmpty()) blackhole.consume(pq.take());
+    }
+
+    private final Comparator<Integer> comparator = Comparator.naturalOrder();
+    private Integer[] keys;
+}
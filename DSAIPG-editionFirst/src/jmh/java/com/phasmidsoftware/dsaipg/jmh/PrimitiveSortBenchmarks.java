@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.sort.par.ParallelMergeSort;
+import com.phasmidsoftware.dsaipg.sort.primitive.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the primitive sorters (on int[]), including ParallelMergeSort.
+ * <p>
+ * The threads parameter determines the parallelism of the ForkJoinPool used by ParallelMergeSort
+ * (it has no effect on the sequential sorters).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class PrimitiveSortBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "PARTIAL", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Param({"System", "MergeSort", "QuickSort_DualPivot", "QuickSort_3way", "IntroSort", "HeapSort", "ParallelMergeSort", "ParallelQuickSort_DualPivot", "ParallelQuickSort_3way", "ParallelIntroSort", "ParallelHeapSort"})
+    public String sorter;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        source = distribution.ints(n, new Random(0L));
+        pool = new ForkJoinPool(threads);
+        sort = switch (sorter) {
+            case "System" -> new PrimitiveSystemSort();
+            case "MergeSort" -> new PrimitiveMergeSort();
+            case "QuickSort_DualPivot" -> new PrimitiveQuickSort_DualPivot();
+            case "QuickSort_3way" -> new PrimitiveQuickSort_3way();
+            case "IntroSort" -> new PrimitiveIntroSort();
+            case "HeapSort" -> new PrimitiveHeapSort();
+            case "ParallelMergeSort" -> new ParallelMergeSort(pool, ParallelMergeSort.CUTOFF_DEFAULT, ParallelMergeSort.CUTOFF_DEFAULT);
+            case "ParallelQuickSort_DualPivot" -> new PrimitiveParallelQuickSort(new PrimitiveQuickSort_DualPivot(), pool, PrimitiveParallelQuickSort.CUTOFF_DEFAULT);
+            case "ParallelQuickSort_3way" -> new PrimitiveParallelQuickSort(new PrimitiveQuickSort_3way(), pool, PrimitiveParallelQuickSort.CUTOFF_DEFAULT);
+            case "ParallelIntroSort" -> new PrimitiveParallelQuickSort(new PrimitiveIntroSort(), pool, PrimitiveParallelQuickSort.CUTOFF_DEFAULT);
+            case "ParallelHeapSort" -> new ParallelMergeSort(pool, ParallelMergeSort.CUTOFF_DEFAULT, ParallelMergeSort.CUTOFF_DEFAULT, new PrimitiveHeapSort());
+            default -> throw new IllegalArgumentException("unknown sorter: " + sorter);
+        };
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        xs = Arrays.copyOf(source, n);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] sort() {
+        sort.sort(xs);
+        return xs;
+    }
+
+    private int[] source;
+    private int[] xs;
+    private ForkJoinPool pool;
+    private PrimitiveSort sort;
+}
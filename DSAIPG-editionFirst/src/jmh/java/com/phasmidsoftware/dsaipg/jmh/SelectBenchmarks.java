@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.select.QuickSelect;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for QuickSelect: select the median of a fresh copy of the input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SelectBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "PARTIAL", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        source = distribution.integers(n, new Random(0L));
+        select = new QuickSelect<>();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        xs = Arrays.copyOf(source, n);
+    }
+
+    @Benchmark
+    public Integer median() {
+        return select.select(xs, n / 2);
+    }
+
+    private Integer[] source;
+    private Integer[] xs;
+    private QuickSelect<Integer> select;
+}
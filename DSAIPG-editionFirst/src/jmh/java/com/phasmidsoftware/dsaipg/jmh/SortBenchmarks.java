@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.sort.Helper;
+import com.phasmidsoftware.dsaipg.sort.NonInstrumentingComparableHelper;
+import com.phasmidsoftware.dsaipg.sort.Sort;
+import com.phasmidsoftware.dsaipg.sort.elementary.HeapSort;
+import com.phasmidsoftware.dsaipg.sort.elementary.ShellSort;
+import com.phasmidsoftware.dsaipg.sort.linearithmic.*;
+import com.phasmidsoftware.dsaipg.util.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the (non-instrumented) Helper-based sorters on Integer[].
+ * <p>
+ * Each invocation sorts a fresh copy of the same input (the copy is made in an untimed setup method).
+ * NOTE that MergeSort is not included because its sort method is left as an exercise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SortBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "PARTIAL", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Param({"System", "MergeSortBasic", "QuickSort_DualPivot", "QuickSort_3way", "IntroSort", "HeapSort", "ShellSort"})
+    public String sorter;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        source = distribution.integers(n, new Random(0L));
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>(sorter, n, Config.load(SortBenchmarks.class));
+        sort = createSorter(sorter, helper);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        xs = Arrays.copyOf(source, n);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sort.close();
+    }
+
+    @Benchmark
+    public Integer[] sort() {
+        sort.mutatingSort(xs);
+        return xs;
+    }
+
+    static Sort<Integer> createSorter(String name, Helper<Integer> helper) {
+        return switch (name) {
+            case "System" -> new TimSort<>(helper);
+            case "MergeSortBasic" -> new MergeSortBasic<>(helper);
+            case "QuickSort_DualPivot" -> new QuickSort_DualPivot<>(helper);
+            case "QuickSort_3way" -> new QuickSort_3way<>(helper);
+            case "IntroSort" -> new IntroSort<>(helper);
+            case "HeapSort" -> new HeapSort<>(helper);
+            case "ShellSort" -> new ShellSort<>(3, helper);
+            default -> throw new IllegalArgumentException("unknown sorter: " + name);
+        };
+    }
+
+    private Integer[] source;
+    private Integer[] xs;
+    private Sort<Integer> sort;
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.sort.Helper;
+import com.phasmidsoftware.dsaipg.sort.NonInstrumentingComparableHelper;
+import com.phasmidsoftware.dsaipg.sort.SortOptions;
+import com.phasmidsoftware.dsaipg.util.Config;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.phasmidsoftware.dsaipg.sort.SortOptions.*;
+
+/**
+ * Benchmark of the cost of one recursive call's worth of sorter option lookups,
+ * via the Config (as MergeSort used to do) and via a SortOptions resolved at construction time.
+ * <p>
+ * A top-down merge sort of n elements with cutoff c makes approximately 2n/c recursive calls, each of which performs these lookups.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SortOptionsBenchmarks {
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        helper = new NonInstrumentingComparableHelper<>("SortOptionsBenchmarks", Config.load(SortOptionsBenchmarks.class));
+        options = SortOptions.from(helper);
+    }
+
+    @Benchmark
+    public int config() {
+        Config config = helper.getConfig();
+        int result = helper.cutoff();
+        if (config.getBoolean(MERGESORT, INSURANCE)) result++;
+        if (config.getBoolean(MERGESORT, NOCOPY)) result++;
+        return result;
+    }
+
+    @Benchmark
+    public int options() {
+        int result = options.cutoff();
+        if (options.insurance()) result++;
+        if (options.noCopy()) result++;
+        return result;
+    }
+
+    private Helper<Integer> helper;
+    private SortOptions options;
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_LP;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_RobinHood;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_SC;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.HashTable_Swiss;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.tree.BSTSimple;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for HashTable_LP, HashTable_SC, HashTable_RobinHood, HashTable_Swiss and BSTSimple.
+ * The put benchmarks build a new table from n keys; the get benchmarks look up each of the n keys in a prebuilt table.
+ * <p>
+ * NOTE that the sorted (and nearly-sorted) distributions are not included by default because they degenerate
+ * BSTSimple into a linked list (whose recursive methods overflow the stack for large n).
+ * They may be specified explicitly with, for example, -p distribution=SORTED.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class SymbolTableBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"RANDOM", "DUPLICATES"})
+    public Distribution distribution;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        keys = distribution.integers(n, new Random(0L));
+        lp = buildLP();
+        sc = buildSC();
+        robinHood = buildRobinHood();
+        swiss = buildSwiss();
+        bst = buildBST();
+    }
+
+    @Benchmark
+    public HashTable_LP<Integer, Integer> putLP() {
+        return buildLP();
+    }
+
+    @Benchmark
+    public HashTable_SC<Integer, Integer> putSC() {
+        return buildSC();
+    }
+
+    @Benchmark
+    public HashTable_RobinHood<Integer, Integer> putRobinHood() {
+        return buildRobinHood();
+    }
+
+    @Benchmark
+    public HashTable_Swiss<Integer, Integer> putSwiss() {
+        return buildSwiss();
+    }
+
+    @Benchmark
+    public BSTSimple<Integer, Integer> putBST() {
+        return buildBST();
+    }
+
+    @Benchmark
+    public void getLP(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(lp.get(key));
+    }
+
+    @Benchmark
+    public void getSC(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(sc.get(key));
+    }
+
+    @Benchmark
+    public void getRobinHood(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(robinHood.get(key));
+    }
+
+    @Benchmark
+    public void getSwiss(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(swiss.get(key));
+    }
+
+    @Benchmark
+    public void getBST(Blackhole blackhole) {
+        for (Integer key : keys) blackhole.consume(bst.get(key));
+    }
+
+    private HashTable_LP<Integer, Integer> buildLP() {
+        HashTable_LP<Integer, Integer> result = new HashTable_LP<>();
+        for (int i = 0; i < n; i++) result.put(keys[i], i);
+        return result;
+    }
+
+    private HashTable_SC<Integer, Integer> buildSC() {
+        HashTable_SC<Integer, Integer> result = new HashTable_SC<>(n);
+        for (int i = 0; i < n; i++) result.put(keys[i], i);
+        return result;
+    }
+
+    private HashTable_RobinHood<Integer, Integer> buildRobinHood() {
+        HashTable_RobinHood<Integer, Integer> result = new HashTable_RobinHood<>();
+        for (int i = 0; i < n; i++) result.put(keys[i], i);
+        return result;
+    }
+
+    private HashTable_Swiss<Integer, Integer> buildSwiss() {
+        HashTable_Swiss<Integer, Integer> result = new HashTable_Swiss<>();
+        for (int i = 0; i < n; i++) result.put(keys[i], i);
+        return result;
+    }
+
+    private BSTSimple<Integer, Integer> buildBST() {
+        BSTSimple<Integer, Integer> result = new BSTSimple<>();
+        for (int i = 0; i < n; i++) result.put(keys[i], i);
+        return result;
+    }
+
+    private Integer[] keys;
+    private HashTable_LP<Integer, Integer> lp;
+    private HashTable_SC<Integer, Integer> sc;
+    private HashTable_RobinHood<Integer, Integer> robinHood;
+    private HashTable_Swiss<Integer, Integer> swiss;
+    private BSTSimple<Integer, Integer> bst;
+}
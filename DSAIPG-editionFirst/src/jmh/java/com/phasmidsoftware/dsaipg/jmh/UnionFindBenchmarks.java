@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.jmh;
+
+import com.phasmidsoftware.dsaipg.graphs.union_find.UF_Concurrent;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark for union-find: WQUPC (weighted quick union with path compression) and
+ * UF_Concurrent (lock-free linking by index with path halving, here used by a single thread).
+ * Each invocation connects a precomputed sequence of random pairs (2n of them) among n sites.
+ * <p>
+ * NOTE that UF_HWQUPC is not included because its find method is left as an exercise.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class UnionFindBenchmarks {
+
+    @Param({"10000", "100000", "1000000"})
+    public int n;
+
+    @Param({"WQUPC", "UF_Concurrent"})
+    public String implementation;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        Random random = new Random(0L);
+        pairs = new int[4 * n];
+        for (int i = 0; i < pairs.length; i++) pairs[i] = random.nextInt(n);
+    }
+
+    @Benchmark
+    public int connect() {
+        if (implementation.equals("WQUPC")) {
+            WQUPC uf = new WQUPC(n);
+            for (int i = 0; i < pairs.length; i += 2) uf.union(pairs[i], pairs[i + 1]);
+            return uf.count();
+        }
+        UF_Concurrent uf = new UF_Concurrent(n);
+        for (int i = 0; i < pairs.length; i += 2) uf.connect(pairs[i], pairs[i + 1]);
+        return uf.components();
+    }
+
+    private int[] pairs;
+}
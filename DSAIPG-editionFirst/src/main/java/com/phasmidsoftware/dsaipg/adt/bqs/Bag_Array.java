@@ -6,30 +6,58 @@ package com.phasmidsoftware.dsaipg.adt.bqs;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.function.Consumer;
 
 /**
  * An implementation of the Bag interface using an array as the underlying storage.
  * This class provides basic functionality such as adding elements, checking for containment,
  * and retrieving the size of the bag. The bag does not maintain any specific order of elements.
  * Internal capacity automatically grows when required to accommodate more items.
+ * <p>
+ * The order in which the iterator yields the items is determined by the IterationPolicy chosen at construction:
+ * SHUFFLED (the default) copies the items and yields them in random order;
+ * INSERTION_ORDER yields them, in the order in which they were added, directly from the backing array.
+ * Either way, forEach visits the items in insertion order without creating an iterator (or copying).
  *
  * @param <Item> the type of elements contained in the bag
  */
 public class Bag_Array<Item> implements Bag<Item> {
 
     /**
-     * Primary constructor that takes an explicit Random source (which will be passed to any UnorderedIterator).
+     * Primary constructor that takes an iteration policy and a Random source (which will be passed to any UnorderedIterator).
      * NOTE: random is mutable and therefore unpredictable.
      *
-     * @param random a random source.
+     * @param policy the iteration policy.
+     * @param random a random source (ignored, and may be null, if policy is INSERTION_ORDER).
      */
-    public Bag_Array(Random random) {
+    public Bag_Array(IterationPolicy policy, Random random) {
         //noinspection unchecked
         grow((Item[]) new Object[0], 32);
+        this.policy = policy;
         this.random = random;
     }
 
+    /**
+     * Constructor that takes an iteration policy.
+     *
+     * @param policy the iteration policy.
+     */
+    public Bag_Array(IterationPolicy policy) {
+        this(policy, policy == IterationPolicy.SHUFFLED ? new Random() : null);
+    }
+
+    /**
+     * Constructor that takes an explicit Random source (which will be passed to any UnorderedIterator).
+     * The iteration policy is SHUFFLED.
+     *
+     * @param random a random source.
+     */
+    public Bag_Array(Random random) {
+        this(IterationPolicy.SHUFFLED, random);
+    }
+
     /**
      * Default no-argument constructor for Bag_Array.
      * Constructs a Bag_Array instance using a new Random instance as the source of entropy.
@@ -85,10 +113,9 @@ public class Bag_Array<Item> implements Bag<Item> {
      * @return true if the item is found in the bag, otherwise false
      */
     public boolean contains(Item item) {
-        for (Item i : items) {
-            if (i != null && i.equals(item))
+        for (int i = 0; i < count; i++)
+            if (items[i] != null && items[i].equals(item))
                 return true;
-        }
         return false;
     }
 
@@ -100,22 +127,69 @@ public class Bag_Array<Item> implements Bag<Item> {
      */
     public int multiplicity(Item item) {
         int result = 0;
-        if (isEmpty()) return 0;
-        for (Item i : items) {
-            if (i != null && i.equals(item))
+        // NOTE that only the first count elements are valid (clear does not erase the others).
+        for (int i = 0; i < count; i++)
+            if (items[i] != null && items[i].equals(item))
                 result++;
-        }
         return result;
     }
 
     /**
-     * Method to generate a randomly ordered iterator on this Bag.
+     * Method to generate an iterator on this Bag, according to its iteration policy:
+     * randomly ordered (based on a copy) if SHUFFLED;
+     * in insertion order (without copying) if INSERTION_ORDER.
+     * NOTE that, in the latter case, the bag should not be modified while the iterator is in use.
      *
      * @return an Iterator on Item.
      */
     public Iterator<Item> iterator() {
         assert items != null; // Should be not-null any time after construction.
-        return new UnorderedIterator<>(asArray(), random);
+        if (policy == IterationPolicy.SHUFFLED) return UnorderedIterator.adopt(asArray(), count, random);
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return index < n;
+            }
+
+            public Item next() {
+                if (index >= n) throw new NoSuchElementException();
+                return items[index++];
+            }
+
+            private int index = 0;
+            private final int n = count;
+        };
+    }
+
+    /**
+     * Perform the given action on each item of this Bag, in insertion order (regardless of the iteration policy).
+     * No iterator is created and nothing is copied.
+     *
+     * @param action the action to be performed on each item.
+     */
+    @Override
+    public void forEach(Consumer<? super Item> action) {
+        for (int i = 0; i < count; i++) action.accept(items[i]);
+    }
+
+    /**
+     * @return the iteration policy of this Bag.
+     */
+    public IterationPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * The order in which the iterator of a Bag_Array yields its items.
+     */
+    public enum IterationPolicy {
+        /**
+         * The items are yielded in the order in which they were added, without copying.
+         */
+        INSERTION_ORDER,
+        /**
+         * The items are copied and yielded in random order.
+         */
+        SHUFFLED
     }
 
     /**
@@ -188,6 +262,7 @@ public class Bag_Array<Item> implements Bag<Item> {
         // END SOLUTION
     }
 
+    private final IterationPolicy policy;
     private final Random random;
 
     private Item[] items = null;
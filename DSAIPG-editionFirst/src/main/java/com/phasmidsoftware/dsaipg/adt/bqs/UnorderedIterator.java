@@ -9,6 +9,9 @@ import java.util.*;
 /**
  * Class to implement an Iterator of T based on a Collection or Array of T.
  * The order of elements in the iterator is random.
+ * <p>
+ * The elements are copied (once) into an array, which is consumed by next:
+ * each call chooses one of the remaining elements at random and closes up the gap.
  *
  * @param <T> the underlying type.
  */
@@ -22,7 +25,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @return {@code true} if the iteration has more elements
      */
     public boolean hasNext() {
-        return !list.isEmpty();
+        return n > 0;
     }
 
     /**
@@ -32,13 +35,14 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @throws NoSuchElementException if the iteration has no more elements
      */
     public T next() {
-        if (list.isEmpty()) throw new NoSuchElementException();
-        int i = random.nextInt(list.size());
-        try {
-            return list.remove(i);
-        } catch (UnsupportedOperationException e) {
-            throw new RuntimeException("UnorderedIterator: cannot remove element " + i + " from list of type: " + list.getClass());
-        }
+        if (n == 0) throw new NoSuchElementException();
+        int i = random.nextInt(n);
+        //noinspection unchecked
+        T result = (T) elements[i];
+        // NOTE this is equivalent to ArrayList.remove(i) so that the order for a given seed is unchanged.
+        System.arraycopy(elements, i + 1, elements, i, --n - i);
+        elements[n] = null;
+        return result;
     }
 
     /**
@@ -48,7 +52,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @param random     an explicit random source.
      */
     public UnorderedIterator(Collection<T> collection, Random random) {
-        this(copyCollection(collection), random);
+        this(collection.toArray(), collection.size(), random);
     }
 
     /**
@@ -67,7 +71,7 @@ public class UnorderedIterator<T> implements Iterator<T> {
      * @param random an explicit random source.
      */
     public UnorderedIterator(T[] array, Random random) {
-        this(copyCollection(Arrays.asList(array)), random);
+        this(array.clone(), array.length, random);
     }
 
     /**
@@ -82,30 +86,40 @@ public class UnorderedIterator<T> implements Iterator<T> {
     /**
      * Primary (private) constructor.
      *
-     * @param list   a mutable list of T which will be mutated, ending as empty.
-     * @param random a Random source.
+     * @param elements an array whose first n elements are the elements of T: it will be mutated, ending as empty.
+     * @param n        the number of elements.
+     * @param random   a Random source.
      */
-    private UnorderedIterator(List<T> list, Random random) {
-        this.list = list;
+    private UnorderedIterator(Object[] elements, int n, Random random) {
+        this.elements = elements;
+        this.n = n;
         this.random = random;
     }
 
+    /**
+     * Factory method to create an UnorderedIterator which takes ownership of (rather than copying) the first n elements
+     * of an array.
+     * This is for the use of collections (such as Bag_Array) which have already made their own copy.
+     *
+     * @param array  an array which will be mutated by the resulting iterator.
+     * @param n      the number of elements.
+     * @param random a Random source.
+     * @param <X>    the underlying type.
+     * @return a new UnorderedIterator.
+     */
+    static <X> UnorderedIterator<X> adopt(Object[] array, int n, Random random) {
+        return new UnorderedIterator<>(array, n, random);
+    }
+
     public static <X> UnorderedIterator<X> createDeterministic(Collection<X> collection, Random random) {
-        return new UnorderedIterator<>(copyCollection(collection), random);
+        return new UnorderedIterator<>(collection, random);
     }
 
     public static <X> UnorderedIterator<X> createDeterministic(Collection<X> collection, long seed) {
         return createDeterministic(collection, new Random(seed));
     }
 
-    private static <X> List<X> copyCollection(Collection<X> collection) {
-        if (collection instanceof ArrayList) {
-            ArrayList<X> result = new ArrayList<>(collection);
-            Collections.copy(result, (ArrayList<X>) collection);
-            return result;
-        } else return new ArrayList<>(collection);
-    }
-
-    private final List<T> list;
+    private final Object[] elements;
     private final Random random;
+    private int n;
 }
\ No newline at end of file
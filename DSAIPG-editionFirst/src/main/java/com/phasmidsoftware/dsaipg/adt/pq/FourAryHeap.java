@@ -21,7 +21,7 @@ import java.util.function.Consumer;
  *
  * @param <K>
  */
-public class FourAryHeap<K> implements Iterable<K> {
+public class FourAryHeap<K> implements PQ<K> {
 
     /**
      * Primary constructor that takes the max value, an actual array of elements, and a comparator.
@@ -0,0 +1,367 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import java.util.*;
+
+/**
+ * Indexed Priority Queue which uses a d-ary heap (the arity d is configurable).
+ * <p>
+ * Each element is associated with an (non-negative int) index, typically a vertex number.
+ * As well as give and take, it supports contains, keyOf, decreaseKey, increaseKey, changeKey and delete for a given index,
+ * each in O(log n) time (O(1) for contains and keyOf).
+ * The heap itself is an int array of indices, and the position of each index in the heap is kept in a second int array
+ * so that an element can be found without searching.
+ * The capacity (the range of indices) grows as required.
+ * <p>
+ * It can serve as a minPQ or a maxPQ (define "max" as either false or true, respectively).
+ * As in PriorityQueue, "eligible" means larger for a maxPQ and smaller for a minPQ.
+ * Thus, decreaseKey makes an element more eligible (it is the decrease-key of a minPQ such as is used by Dijkstra's algorithm).
+ * <p>
+ * NOTE that give (which chooses an unused index itself) and take should not be mixed with insert and the other indexed methods.
+ * <p>
+ * A larger arity makes the heap shallower (so that swimming up, as in decreaseKey, is cheaper)
+ * at the cost of more comparisons when sinking.
+ * An arity of 4 is usually a good compromise, especially for Dijkstra's algorithm where decreaseKey predominates.
+ *
+ * @param <K> the key type.
+ */
+public class IndexedHeap<K> implements PQ<K> {
+
+    /**
+     * Primary constructor.
+     *
+     * @param arity      the number of children of each node (at least 2).
+     * @param capacity   the initial capacity (the range of indices), which will grow as required.
+     * @param max        whether or not this is a Maximum Priority Queue as opposed to a Minimum PQ.
+     * @param comparator a comparator for the type K.
+     */
+    public IndexedHeap(int arity, int capacity, boolean max, Comparator<? super K> comparator) {
+        if (arity < 2) throw new IllegalArgumentException("IndexedHeap: arity must be at least 2: " + arity);
+        this.arity = arity;
+        this.max = max;
+        this.comparator = comparator;
+        int length = Math.max(capacity, 1);
+        this.heap = new int[length];
+        this.positions = new int[length];
+        Arrays.fill(positions, -1);
+        this.keys = new Object[length];
+    }
+
+    /**
+     * Secondary constructor for a minimum PQ with arity 4.
+     *
+     * @param capacity   the initial capacity (the range of indices), which will grow as required.
+     * @param comparator a comparator for the type K.
+     */
+    public IndexedHeap(int capacity, Comparator<? super K> comparator) {
+        this(DEFAULT_ARITY, capacity, false, comparator);
+    }
+
+    /**
+     * Factory method to create a minimum PQ with arity 4 for a Comparable key type.
+     *
+     * @param capacity the initial capacity (the range of indices), which will grow as required.
+     * @param <K>      the key type.
+     * @return a new, empty, IndexedHeap.
+     */
+    public static <K extends Comparable<K>> IndexedHeap<K> minPQ(int capacity) {
+        return new IndexedHeap<>(capacity, Comparator.naturalOrder());
+    }
+
+    /**
+     * @return true if the current size is zero.
+     */
+    public boolean isEmpty() {
+        return n == 0;
+    }
+
+    /**
+     * @return the number of elements actually stored in this IndexedHeap.
+     */
+    public int size() {
+        return n;
+    }
+
+    /**
+     * @param i an index.
+     * @return true if index i is in this IndexedHeap.
+     */
+    public boolean contains(int i) {
+        return i >= 0 && i < positions.length && positions[i] >= 0;
+    }
+
+    /**
+     * Associate key with index i.
+     *
+     * @param i   a (non-negative) index.
+     * @param key the key to associate with index i.
+     * @throws IllegalArgumentException if i is negative or if there already is an element associated with index i.
+     */
+    public void insert(int i, K key) {
+        if (i < 0) throw new IllegalArgumentException("IndexedHeap: negative index: " + i);
+        if (contains(i)) throw new IllegalArgumentException("IndexedHeap: index is already in the priority queue: " + i);
+        if (i >= positions.length) grow(Math.max(i + 1, positions.length * 2));
+        if (n == heap.length) heap = Arrays.copyOf(heap, n * 2);
+        keys[i] = key;
+        heap[n] = i;
+        positions[i] = n;
+        swimUp(n++);
+    }
+
+    /**
+     * @param i an index.
+     * @return the key associated with index i.
+     * @throws NoSuchElementException if no key is associated with index i.
+     */
+    public K keyOf(int i) {
+        validate(i);
+        return key(i);
+    }
+
+    /**
+     * @return the index associated with the most eligible key.
+     * @throws NoSuchElementException if this IndexedHeap is empty.
+     */
+    public int peekIndex() {
+        if (n == 0) throw new NoSuchElementException("IndexedHeap: priority queue underflow");
+        return heap[0];
+    }
+
+    /**
+     * Remove the most eligible key and return its associated index.
+     * NOTE this method is called delMin (or delMax) in IndexMinPQ.
+     *
+     * @return the index associated with the most eligible key.
+     * @throws NoSuchElementException if this IndexedHeap is empty.
+     */
+    public int takeIndex() {
+        int result = peekIndex();
+        remove(result);
+        return result;
+    }
+
+    /**
+     * Change the key associated with index i so that it becomes (no less) eligible.
+     *
+     * @param i   an index.
+     * @param key the new key (smaller for a minPQ, larger for a maxPQ).
+     * @throws NoSuchElementException   if no key is associated with index i.
+     * @throws IllegalArgumentException if key is less eligible than the current key.
+     */
+    public void decreaseKey(int i, K key) {
+        validate(i);
+        if (before(key(i), key))
+            throw new IllegalArgumentException("IndexedHeap: decreaseKey called with a less eligible key: " + key);
+        keys[i] = key;
+        swimUp(positions[i]);
+    }
+
+    /**
+     * Change the key associated with index i so that it becomes (no more) eligible.
+     *
+     * @param i   an index.
+     * @param key the new key (larger for a minPQ, smaller for a maxPQ).
+     * @throws NoSuchElementException   if no key is associated with index i.
+     * @throws IllegalArgumentException if key is more eligible than the current key.
+     */
+    public void increaseKey(int i, K key) {
+        validate(i);
+        if (before(key, key(i)))
+            throw new IllegalArgumentException("IndexedHeap: increaseKey called with a more eligible key: " + key);
+        keys[i] = key;
+        sink(positions[i]);
+    }
+
+    /**
+     * Change the key associated with index i (in either direction).
+     *
+     * @param i   an index.
+     * @param key the new key.
+     * @throws NoSuchElementException if no key is associated with index i.
+     */
+    public void changeKey(int i, K key) {
+        validate(i);
+        keys[i] = key;
+        sink(swimUp(positions[i]));
+    }
+
+    /**
+     * Remove the key associated with index i.
+     *
+     * @param i an index.
+     * @throws NoSuchElementException if no key is associated with index i.
+     */
+    public void delete(int i) {
+        validate(i);
+        remove(i);
+    }
+
+    /**
+     * Insert an element with the given key into this IndexedHeap, associating it with an unused index.
+     *
+     * @param key the value of the key to give.
+     */
+    public void give(K key) {
+        insert(nSpare > 0 ? spare[--nSpare] : next++, key);
+    }
+
+    /**
+     * Remove the most eligible element from this IndexedHeap.
+     *
+     * @return the most eligible key.
+     * @throws PQException if this IndexedHeap is empty.
+     */
+    public K take() throws PQException {
+        if (isEmpty()) throw new PQException("Priority queue is empty");
+        int i = heap[0];
+        K result = key(i);
+        remove(i);
+        if (nSpare == spare.length) spare = Arrays.copyOf(spare, Math.max(4, nSpare * 2));
+        spare[nSpare++] = i;
+        return result;
+    }
+
+    /**
+     * Remove all elements from this IndexedHeap, in time proportional to its size (rather than its capacity).
+     * This allows one IndexedHeap to be reused for many searches.
+     */
+    public void clear() {
+        for (int p = 0; p < n; p++) {
+            positions[heap[p]] = -1;
+            keys[heap[p]] = null;
+        }
+        n = 0;
+        next = 0;
+        nSpare = 0;
+    }
+
+    /**
+     * Non-mutating iterator over all keys of this IndexedHeap.
+     * NOTE: after the first element, there is no definite ordering of the remaining elements.
+     *
+     * @return an iterator based on a copy of the keys.
+     */
+    public Iterator<K> iterator() {
+        List<K> result = new ArrayList<>(n);
+        for (int p = 0; p < n; p++) result.add(key(heap[p]));
+        return result.iterator();
+    }
+
+    /**
+     * @return the arity of this heap.
+     */
+    public int getArity() {
+        return arity;
+    }
+
+    public String toString() {
+        return "IndexedHeap{arity=" + arity + ", max=" + max + ", size=" + n + "}";
+    }
+
+    /**
+     * Remove the element with index i (which must be present) from the heap.
+     */
+    private void remove(int i) {
+        int p = positions[i];
+        int last = heap[--n];
+        positions[i] = -1;
+        keys[i] = null; // prevent loitering
+        if (p < n) {
+            heap[p] = last;
+            positions[last] = p;
+            sink(swimUp(p));
+        }
+    }
+
+    /**
+     * Move the element at position p up the heap until its parent is at least as eligible.
+     * NOTE that, rather than swapping at each level, the element is held aside and the parents are moved down.
+     *
+     * @param p a position in the heap.
+     * @return the final position of the element.
+     */
+    private int swimUp(int p) {
+        int x = heap[p];
+        K key = key(x);
+        while (p > 0) {
+            int parent = (p - 1) / arity;
+            int y = heap[parent];
+            if (!before(key, key(y))) break;
+            heap[p] = y;
+            positions[y] = p;
+            p = parent;
+        }
+        heap[p] = x;
+        positions[x] = p;
+        return p;
+    }
+
+    /**
+     * Move the element at position p down the heap until it is at least as eligible as all of its children.
+     *
+     * @param p a position in the heap.
+     */
+    private void sink(int p) {
+        int x = heap[p];
+        K key = key(x);
+        while (true) {
+            int first = arity * p + 1;
+            if (first >= n) break;
+            int best = first;
+            K bestKey = key(heap[first]);
+            for (int c = first + 1, end = Math.min(first + arity, n); c < end; c++) {
+                K k = key(heap[c]);
+                if (before(k, bestKey)) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (!before(bestKey, key)) break;
+            heap[p] = heap[best];
+            positions[heap[p]] = p;
+            p = best;
+        }
+        heap[p] = x;
+        positions[x] = p;
+    }
+
+    /**
+     * @return true if key a is strictly more eligible than key b.
+     */
+    private boolean before(K a, K b) {
+        int cf = comparator.compare(a, b);
+        return max ? cf > 0 : cf < 0;
+    }
+
+    private K key(int i) {
+        //noinspection unchecked
+        return (K) keys[i];
+    }
+
+    private void validate(int i) {
+        if (!contains(i)) throw new NoSuchElementException("IndexedHeap: index is not in the priority queue: " + i);
+    }
+
+    private void grow(int capacity) {
+        int length = positions.length;
+        positions = Arrays.copyOf(positions, capacity);
+        Arrays.fill(positions, length, capacity, -1);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    public static final int DEFAULT_ARITY = 4;
+
+    private final int arity;
+    private final boolean max;
+    private final Comparator<? super K> comparator;
+    private int[] heap; // heap[p] is the index of the element at position p (the root is at position 0)
+    private int[] positions; // positions[i] is the position in heap of index i (or -1 if i is not present)
+    private Object[] keys; // keys[i] is the key associated with index i
+    private int n; // number of elements in the heap
+    private int next; // the next never-used index (for give)
+    private int[] spare = new int[0]; // indices which have been freed by take (for give)
+    private int nSpare;
+}
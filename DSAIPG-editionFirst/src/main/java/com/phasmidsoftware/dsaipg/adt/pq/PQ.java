@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+/**
+ * Interface to define the behavior of a priority queue (whether a max-PQ or a min-PQ).
+ * <p>
+ * The methods to insert an element and to remove the most eligible element are called "give" and "take," respectively.
+ * This interface is implemented by PriorityQueue (a binary heap), FourAryHeap and IndexedHeap (a d-ary heap which,
+ * in addition, supports decrease-key), so that client code may use them interchangeably.
+ *
+ * @param <K> the type of the elements.
+ */
+public interface PQ<K> extends Iterable<K> {
+
+    /**
+     * @return true if the current size is zero.
+     */
+    boolean isEmpty();
+
+    /**
+     * @return the number of elements actually stored in this PQ.
+     */
+    int size();
+
+    /**
+     * Insert an element into this PQ.
+     *
+     * @param key the element to give.
+     */
+    void give(K key);
+
+    /**
+     * Remove the most eligible element (the maximum or minimum, according to the type of PQ) from this PQ.
+     *
+     * @return the most eligible element.
+     * @throws PQException if this PQ is empty.
+     */
+    K take() throws PQException;
+}
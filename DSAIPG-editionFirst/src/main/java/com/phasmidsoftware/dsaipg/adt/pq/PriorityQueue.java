@@ -25,7 +25,7 @@ import java.util.function.Consumer;
  *
  * @param <K>
  */
-public class PriorityQueue<K> implements Iterable<K> {
+public class PriorityQueue<K> implements PQ<K> {
 
     /**
      * Primary constructor that takes the max value, an actual array of elements, and a comparator.
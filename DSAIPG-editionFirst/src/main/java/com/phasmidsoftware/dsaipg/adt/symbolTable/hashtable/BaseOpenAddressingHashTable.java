@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Base class for the open-addressing hash tables (HashTable_LP, HashTable_RobinHood and HashTable_Swiss).
+ * <p>
+ * Keys, values and the (spread) hash codes of the keys are kept in three parallel arrays
+ * whose length is a power of two; a slot is empty if (and only if) its key is null.
+ * This class provides everything which depends only on that layout: iteration, size and the spreading of hash codes.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+abstract class BaseOpenAddressingHashTable<Key, Value> implements ST<Key, Value>, HasProbeLengths {
+
+    /**
+     * @param key the key.
+     * @return true if key is present in this hash table.
+     */
+    public abstract boolean containsKey(Key key);
+
+    /**
+     * Get the size of this hash table.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     * The result is a view (it is not copied) and its iteration order is the (unsorted) order of the table.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        return new AbstractSet<>() {
+            public Iterator<Key> iterator() {
+                return keyIterator();
+            }
+
+            public int size() {
+                return size;
+            }
+
+            public boolean contains(Object o) {
+                //noinspection unchecked
+                return o != null && containsKey((Key) o);
+            }
+        };
+    }
+
+    /**
+     * Method to yield an iterator over the keys, in table order, in O(n) time and without copying.
+     *
+     * @return an Iterator of Key.
+     * @throws ConcurrentModificationException (from next) if this hash table is modified during iteration.
+     */
+    public Iterator<Key> keyIterator() {
+        return new Iterator<>() {
+            public boolean hasNext() {
+                while (index < keys.length && keys[index] == null) index++;
+                return index < keys.length;
+            }
+
+            public Key next() {
+                if (expectedModCount != modCount) throw new ConcurrentModificationException();
+                if (!hasNext()) throw new NoSuchElementException();
+                //noinspection unchecked
+                return (Key) keys[index++];
+            }
+
+            private int index = 0;
+            private final int expectedModCount = modCount;
+        };
+    }
+
+    /**
+     * Perform the given action on each key-value pair, in table order.
+     *
+     * @param action a BiConsumer of Key and Value.
+     */
+    public void forEach(BiConsumer<? super Key, ? super Value> action) {
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) //noinspection unchecked
+                action.accept((Key) keys[i], getValue(i));
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append("=").append(v));
+        return sb.append("}").toString();
+    }
+
+    Value getValue(int index) {
+        //noinspection unchecked
+        return (Value) values[index];
+    }
+
+    /**
+     * Spread the higher bits of the hash code into the lower bits (as does HashMap).
+     */
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    Object[] keys;
+    Object[] values;
+    int[] hashes;
+    int modCount;
+    int size;
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.BaseImmutableSymbolTable;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class defines a thread-safe frequency counter, suitable for counting the tokens of a corpus in parallel.
+ * <p>
+ * The keys are partitioned (by hash) among a number of stripes, each of which is a HashTable_LP guarded by its own lock,
+ * so that threads which increment different keys rarely contend.
+ * Each count is a mutable cell, so that incrementing an existing key requires one probe and no allocation.
+ * Each stripe also keeps its own total, which is updated under the same lock as the count.
+ * Thus total is always the sum of the counts, and relativeFrequency and total are exact once all increments have completed.
+ * While increments are in progress, they are (like those of ConcurrentHashMap) only weakly consistent.
+ * <p>
+ * Where contention is high (for example, when a few very common tokens dominate) each thread may instead count into
+ * a thread-confined table and merge that into this counter at the end with addAll.
+ * <p>
+ * NOTE that null keys are not allowed.
+ *
+ * @param <Key> the key type.
+ */
+public class ConcurrentFrequencyCounter<Key> extends BaseImmutableSymbolTable<Key, Integer> {
+
+    /**
+     * Constructor to create a ConcurrentFrequencyCounter with (at least) the given number of stripes.
+     *
+     * @param stripes the number of stripes (rounded up to a power of two).
+     */
+    public ConcurrentFrequencyCounter(int stripes) {
+        int n = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(n);
+        this.stripes = newStripes(n);
+        for (int i = 0; i < n; i++) this.stripes[i] = new Stripe<>();
+    }
+
+    /**
+     * Default constructor to create a ConcurrentFrequencyCounter with four stripes per available processor.
+     */
+    public ConcurrentFrequencyCounter() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Increments the frequency count of the specified key (and the total).
+     *
+     * @param key the key whose frequency count is to be incremented.
+     */
+    public void increment(Key key) {
+        add(key, 1);
+    }
+
+    /**
+     * Adds delta to the frequency count of the specified key (and to the total).
+     *
+     * @param key   the key whose frequency count is to be increased.
+     * @param delta the (non-negative) amount to add.
+     */
+    public void add(Key key, int delta) {
+        Stripe<Key> stripe = stripe(key);
+        synchronized (stripe) {
+            int[] count = stripe.table.get(key);
+            if (count == null) stripe.table.put(key, new int[]{delta});
+            else count[0] += delta;
+            stripe.total += delta;
+        }
+    }
+
+    /**
+     * Adds all the counts of a (thread-confined) map into this counter.
+     *
+     * @param counts a map from key to count.
+     */
+    public void addAll(Map<Key, Integer> counts) {
+        counts.forEach(this::add);
+    }
+
+    /**
+     * Retrieves the count for the given key.
+     *
+     * @param key the key.
+     * @return the count for key, or 0 if the key is not present.
+     */
+    public Integer get(Key key) {
+        Stripe<Key> stripe = stripe(key);
+        synchronized (stripe) {
+            int[] count = stripe.table.get(key);
+            return count == null ? 0 : count[0];
+        }
+    }
+
+    /**
+     * Method to get the total number of increments over all existing keys.
+     *
+     * @return the sum of the totals of the stripes.
+     */
+    public long total() {
+        long result = 0;
+        for (Stripe<Key> stripe : stripes)
+            synchronized (stripe) {
+                result += stripe.total;
+            }
+        return result;
+    }
+
+    /**
+     * Calculates the relative frequency of a specified key.
+     *
+     * @param key the key whose relative frequency is to be calculated.
+     * @return the relative frequency of the specified key as a double.
+     */
+    public double relativeFrequency(Key key) {
+        return 1.0 * get(key) / total();
+    }
+
+    /**
+     * Calculates the relative frequency of a specified key as a percentage.
+     *
+     * @param key the key whose relative frequency as a percentage is to be calculated.
+     * @return the relative frequency of the specified key as a percentage.
+     */
+    public double relativeFrequencyAsPercentage(Key key) {
+        return 100.0 * relativeFrequency(key);
+    }
+
+    /**
+     * Get the set of keys in this counter.
+     * NOTE that this is a copy.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Key> keys() {
+        Set<Key> result = new HashSet<>();
+        for (Stripe<Key> stripe : stripes)
+            synchronized (stripe) {
+                result.addAll(stripe.table.keys());
+            }
+        return result;
+    }
+
+    /**
+     * Get the size of this ConcurrentFrequencyCounter.
+     *
+     * @return the number of distinct keys.
+     */
+    public int size() {
+        int result = 0;
+        for (Stripe<Key> stripe : stripes)
+            synchronized (stripe) {
+                result += stripe.table.size();
+            }
+        return result;
+    }
+
+    public String toString() {
+        return "ConcurrentFrequencyCounter{size=" + size() + ", total=" + total() + "}";
+    }
+
+    /**
+     * Choose a stripe according to the high bits of the (scrambled) hash code.
+     * NOTE that HashTable_LP uses the low bits, so all the slots of each stripe's table remain usable.
+     */
+    private Stripe<Key> stripe(Key key) {
+        return stripes[(key.hashCode() * 0x9E3779B9) >>> shift];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <Key> Stripe<Key>[] newStripes(int n) {
+        return (Stripe<Key>[]) new Stripe<?>[n];
+    }
+
+    private static class Stripe<Key> {
+        private final HashTable_LP<Key, int[]> table = new HashTable_LP<>();
+        private long total;
+    }
+
+    private final Stripe<Key>[] stripes;
+    private final int shift;
+}
@@ -12,6 +12,9 @@ import java.util.Set;
 /**
  * This class defines a specialized type of symbol table where the value corresponding to a key
  * is the count of the number of times increment has been called for that key.
+ * <p>
+ * NOTE that when the keys are ints (or tokens which have been interned as int ids) or longs,
+ * IntFrequencyCounter or LongFrequencyCounter should be used instead: they count without boxing or allocation.
  *
  * @param <Key> the key type.
  */
@@ -113,5 +116,5 @@ throw new RuntimeException("implementation missing");
 
     private final ST<Key, Integer> map;
     @SuppressWarnings("CanBeFinal")
-    private long total = 0L;
+    protected long total = 0L; // NOTE protected so that subclasses which count without boxing can maintain it.
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+/**
+ * Interface to be implemented by open-addressing hash tables which can report on the lengths of their probe sequences.
+ * <p>
+ * The probe length of a key is the number of probes (slots or, for HashTable_Swiss, groups)
+ * which a successful search for that key must examine: a key in its home position has a probe length of 1.
+ * NOTE that the histogram is calculated on demand (in O(capacity) time) so it costs nothing when not used.
+ */
+public interface HasProbeLengths {
+
+    /**
+     * Method to yield the histogram of probe lengths for the keys currently in the table.
+     *
+     * @return an array h such that h[p] is the number of keys whose probe length is p (h[0] is always 0).
+     */
+    int[] probeLengthHistogram();
+
+    /**
+     * @return the mean probe length of a successful search (or 0 if the table is empty).
+     */
+    default double meanProbeLength() {
+        int[] histogram = probeLengthHistogram();
+        long n = 0, total = 0;
+        for (int p = 1; p < histogram.length; p++) {
+            n += histogram[p];
+            total += (long) p * histogram[p];
+        }
+        return n == 0 ? 0 : (double) total / n;
+    }
+
+    /**
+     * @return the maximum probe length of a successful search (or 0 if the table is empty).
+     */
+    default int maxProbeLength() {
+        int[] histogram = probeLengthHistogram();
+        for (int p = histogram.length - 1; p > 0; p--)
+            if (histogram[p] > 0) return p;
+        return 0;
+    }
+
+    /**
+     * Method to build a histogram from an array of probe lengths.
+     *
+     * @param probeLengths the probe length of each key (each at least 1).
+     * @param n            the number of valid elements of probeLengths.
+     * @return a histogram as defined by probeLengthHistogram.
+     */
+    static int[] histogram(int[] probeLengths, int n) {
+        int max = 0;
+        for (int i = 0; i < n; i++) max = Math.max(max, probeLengths[i]);
+        int[] result = new int[max + 1];
+        for (int i = 0; i < n; i++) result[probeLengths[i]]++;
+        return result;
+    }
+}
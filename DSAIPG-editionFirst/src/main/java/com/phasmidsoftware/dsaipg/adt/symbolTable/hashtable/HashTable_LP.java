@@ -4,21 +4,23 @@
 
 package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
 
-import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
-
-import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.stream.Collectors;
 
 /**
  * Class which implements ST (symbol table) by using Linear Probing (Open Addressing).
+ * <p>
+ * Keys, values and the (spread) hash codes of the keys are kept in three parallel arrays.
+ * A probe compares the cached hash first so that equals is invoked only when the hashes agree
+ * (and hashCode is never invoked again, even when the table is resized).
+ * The table doubles in size whenever its load factor would exceed the configured value.
+ * Deletion uses backward shifting (Knuth's Algorithm R) so that no tombstones are required.
+ * <p>
+ * NOTE that null keys are not allowed.
  *
  * @param <Key>   the key type.
  * @param <Value> the value type.
  */
-public class HashTable_LP<Key, Value> implements ST<Key, Value> {
+public class HashTable_LP<Key, Value> extends BaseOpenAddressingHashTable<Key, Value> {
 
     /**
      * Retrieve the value for a given key.
@@ -27,33 +29,81 @@ public class HashTable_LP<Key, Value> implements ST<Key, Value> {
      * @return the value, if key is present, else null.
      */
     public Value get(Key key) {
-        int index = findMatchingIndex(key, getIndex(key, bits));
-        return getValue(index);
+        return getValue(findMatchingIndex(key, hash(key)));
     }
 
     /**
      * Insert a key-value pair into the hash table.
      * If the key already exists in the hash table, updates its value.
-     * If the hash table is full, throws a HashTableException.
+     * If the insertion would cause the load factor to be exceeded, the table is first resized.
      *
      * @param key   the key to insert or update.
      * @param value the value associated with the specified key.
-     * @throws HashTableException if the hash table does not have sufficient capacity to insert the key-value pair.
+     * @return the previous value associated with key, or null if there was none.
+     * @throws NullPointerException if key is null.
      */
     public Value put(Key key, Value value) {
-        if (size >= length - 1)
-            throw new HashTableException("table is full");
-        int index = findMatchingIndex(key, getIndex(key, bits));
-        //noinspection unchecked
-        Element element = (Element) elements[index];
-        if (element != null) {
-            assert (getKey(index).equals(key));
-            element.value = value;
-        } else {
-            elements[index] = new Element(key, value);
-            size++;
+        Objects.requireNonNull(key, "HashTable_LP.put: key is null");
+        int hash = hash(key);
+        int index = findMatchingIndex(key, hash);
+        if (keys[index] != null) {
+            Value result = getValue(index);
+            values[index] = value;
+            return result;
+        }
+        if (size >= threshold) {
+            resize(length << 1);
+            index = findMatchingIndex(key, hash);
         }
-        return null; // TODO return original value
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Remove the given key (and its value) from this hash table.
+     * The cluster which follows the removed element is repaired by shifting elements backward
+     * (into the vacated slot) if they would not otherwise be reachable from their home slots.
+     *
+     * @param key the key to be removed.
+     * @return the value which was associated with key, or null if key was not present.
+     */
+    public Value delete(Key key) {
+        int i = findMatchingIndex(key, hash(key));
+        if (keys[i] == null) return null;
+        Value result = getValue(i);
+        int mask = length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) break;
+            int home = hashes[j] & mask;
+            // NOTE element j must stay where it is if its home lies (cyclically) in (i, j].
+            boolean stay = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+            if (!stay) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                hashes[i] = hashes[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        values[i] = null;
+        hashes[i] = 0;
+        size--;
+        modCount++;
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present in this hash table.
+     */
+    public boolean containsKey(Key key) {
+        return keys[findMatchingIndex(key, hash(key))] != null;
     }
 
     /**
@@ -69,38 +119,57 @@ public class HashTable_LP<Key, Value> implements ST<Key, Value> {
     }
 
     /**
-     * Get the size of this HashTable_LP.
+     * Method to yield the histogram of probe lengths for the keys currently in the table.
+     * The probe length of a key is one more than its (cyclic) distance from its home slot.
      *
-     * @return the current size.
+     * @return an array h such that h[p] is the number of keys whose probe length is p.
      */
-    public int size() {
-        return this.size;
+    public int[] probeLengthHistogram() {
+        int mask = length - 1;
+        int[] probeLengths = new int[size];
+        int n = 0;
+        for (int i = 0; i < length; i++)
+            if (keys[i] != null) probeLengths[n++] = ((i - (hashes[i] & mask)) & mask) + 1;
+        return HasProbeLengths.histogram(probeLengths, n);
     }
 
     /**
-     * Get the set of keys in this symbol table.
+     * Constructs a HashTable_LP instance with the specified initial capacity and load factor.
      *
-     * @return the Set of keys.
+     * @param capacity   the initial capacity of the hash table. It determines
+     *                   the number of slots in the underlying storage, rounded
+     *                   up to the nearest power of two.
+     * @param loadFactor the maximum ratio of size to length before the table is resized (must be between 0 and 1).
      */
-    public Set<Key> keys() {
-        //noinspection unchecked
-        return Arrays.stream(elements).filter(Objects::nonNull).map(elem -> ((Element) elem).key).sorted().collect(Collectors.toCollection(TreeSet::new));
+    public HashTable_LP(int capacity, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("HashTable_LP: load factor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        this.bits = (int) Math.ceil(Math.log(Math.max(capacity, 1)) / Math.log(2));
+        this.length = 1 << bits;
+        this.keys = new Object[length];
+        this.values = new Object[length];
+        this.hashes = new int[length];
+        this.threshold = threshold(length, loadFactor);
+        this.size = 0;
     }
 
     /**
-     * Constructs a HashTable_LP instance with the specified initial capacity.
-     * This constructor initializes necessary data structures and calculates the
-     * required properties for internal storage.
+     * Constructs a HashTable_LP instance with the specified initial capacity and the default load factor.
      *
      * @param capacity the initial capacity of the hash table. It determines
      *                 the number of slots in the underlying storage, rounded
-     *                 to the nearest power of two.
+     *                 up to the nearest power of two.
      */
     public HashTable_LP(int capacity) {
-        this.bits = (int) Math.ceil(Math.log(capacity) / Math.log(2));
-        this.length = (int) Math.pow(2, bits);
-        this.elements = new Object[length];
-        this.size = 0;
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a HashTable_LP instance with the default capacity and load factor.
+     */
+    public HashTable_LP() {
+        this(DEFAULT_CAPACITY);
     }
 
     /**
@@ -110,71 +179,66 @@ public class HashTable_LP<Key, Value> implements ST<Key, Value> {
      * @return the value.
      */
     public Value getValueMaybe(Key key) {
-        int index = findMatchingIndex(key, getIndex(key, bits));
-        return getValue(index);
+        return get(key);
     }
 
     /**
-     * Represents an individual key-value pair within a hash table.
-     * This class is a simple container for holding a key and its associated value.
-     * The key is final and immutable, while the value can be updated based on usage.
+     * Find the index of the slot which contains key or, if key is not present, the (empty) slot where it belongs.
+     *
+     * @param key  the key.
+     * @param hash the (spread) hash of key.
+     * @return an index into the table.
      */
-    class Element {
-        public Element(Key key, Value value) {
-            this.value = value;
-            this.key = key;
-        }
-
-        @Override
-        public String toString() {
-            return "Element{" +
-                    "value=" + value +
-                    ", key=" + key +
-                    '}';
+    private int findMatchingIndex(Key key, int hash) {
+        int mask = length - 1;
+        int result = hash & mask;
+        Object k;
+        while ((k = keys[result]) != null) {
+            if (hashes[result] == hash && (k == key || k.equals(key)))
+                return result;
+            result = (result + 1) & mask;
         }
-
-        Value value;
-        final Key key;
-    }
-
-    private boolean checkKey(Key key, int index) {
-        return key == getKey(index);
-    }
-
-    private Key getKey(int index) {
-        //noinspection unchecked
-        Element element = (Element) elements[index];
-        assert (element != null);
-        return element.key;
+        return result;
     }
 
-    private Value getValue(int index) {
-        //noinspection unchecked
-        Element element = (Element) elements[index];
-        if (element != null)
-            return element.value;
-        else
-            return null;
+    /**
+     * Resize the table, reinserting each element according to its cached hash.
+     *
+     * @param newLength the new length (a power of two).
+     */
+    private void resize(int newLength) {
+        if (newLength <= 0) throw new HashTableException("table is full");
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        keys = new Object[newLength];
+        values = new Object[newLength];
+        hashes = new int[newLength];
+        length = newLength;
+        bits++;
+        threshold = threshold(newLength, loadFactor);
+        int mask = newLength - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) {
+                int j = oldHashes[i] & mask;
+                while (keys[j] != null) j = (j + 1) & mask;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+                hashes[j] = oldHashes[i];
+            }
     }
 
-    private int findMatchingIndex(Key key, int index) {
-        int result = index;
-        int hash = key.hashCode();
-        while (elements[result] != null) {
-            if (getKey(result).hashCode() == hash)
-                return result;
-            else {
-                result++;
-                if (result == length) result = 0;
-            }
-        }
-        return result;
+    /**
+     * NOTE that there must always be at least one empty slot, otherwise an unsuccessful search would never terminate.
+     */
+    private static int threshold(int length, double loadFactor) {
+        return Math.min((int) (length * loadFactor), length - 1);
     }
 
     public void show() {
         for (int i = 0; i < length; i++)
-            if (elements[i] != null)
-                System.out.println("i: " + i + ", key: " + getKey(i) + ", value: " + getValue(i));
+            if (keys[i] != null)
+                System.out.println("i: " + i + ", key: " + keys[i] + ", value: " + getValue(i));
     }
 
     // This is only for testing and should be made private
@@ -182,10 +246,13 @@ public class HashTable_LP<Key, Value> implements ST<Key, Value> {
         return (this.bits == bits && this.length == length);
     }
 
-    private final int length;
-    private final int bits;
-    private final Object[] elements;
-    int size;
+    public static final double DEFAULT_LOAD_FACTOR = 0.5;
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final double loadFactor;
+    private int length;
+    private int bits;
+    private int threshold;
 
     // TODO should be private
     static int getIndex(Object key, int bits) {
@@ -198,4 +265,4 @@ public class HashTable_LP<Key, Value> implements ST<Key, Value> {
             super(s);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import java.util.Objects;
+
+/**
+ * Class which implements ST (symbol table) by using Robin Hood hashing (linear probing with displacement).
+ * <p>
+ * As in HashTable_LP, keys, values and the (spread) hash codes of the keys are kept in parallel arrays.
+ * In addition, each slot records its distance from its home slot (its displacement).
+ * When inserting, a key which has been displaced further than the key it meets "steals" that key's slot
+ * (taking from the rich to give to the poor), so that the variance of probe lengths is much smaller than
+ * for plain linear probing and a high load factor can be sustained.
+ * An unsuccessful search terminates as soon as it meets a key whose displacement is less than the current probe distance.
+ * Deletion uses backward shifting so that no tombstones are required.
+ * <p>
+ * NOTE that null keys are not allowed.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class HashTable_RobinHood<Key, Value> extends BaseOpenAddressingHashTable<Key, Value> {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        int index = findIndex(key, hash(key));
+        return index < 0 ? null : getValue(index);
+    }
+
+    /**
+     * Insert a key-value pair into the hash table.
+     * If the key already exists in the hash table, updates its value.
+     * If the insertion would cause the load factor to be exceeded, the table is first resized.
+     *
+     * @param key   the key to insert or update.
+     * @param value the value associated with the specified key.
+     * @return the previous value associated with key, or null if there was none.
+     * @throws NullPointerException if key is null.
+     */
+    public Value put(Key key, Value value) {
+        Objects.requireNonNull(key, "HashTable_RobinHood.put: key is null");
+        int hash = hash(key);
+        int index = findIndex(key, hash);
+        if (index >= 0) {
+            Value result = getValue(index);
+            values[index] = value;
+            return result;
+        }
+        if (size >= threshold) resize(keys.length << 1);
+        insert(key, value, hash);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Remove the given key (and its value) from this hash table.
+     * Each following element of the cluster which is not in its home slot is shifted back by one.
+     *
+     * @param key the key to be removed.
+     * @return the value which was associated with key, or null if key was not present.
+     */
+    public Value delete(Key key) {
+        int i = findIndex(key, hash(key));
+        if (i < 0) return null;
+        Value result = getValue(i);
+        int mask = keys.length - 1;
+        int j = (i + 1) & mask;
+        while (keys[j] != null && displacements[j] > 0) {
+            keys[i] = keys[j];
+            values[i] = values[j];
+            hashes[i] = hashes[j];
+            displacements[i] = displacements[j] - 1;
+            i = j;
+            j = (j + 1) & mask;
+        }
+        keys[i] = null;
+        values[i] = null;
+        hashes[i] = 0;
+        displacements[i] = 0;
+        size--;
+        modCount++;
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present in this hash table.
+     */
+    public boolean containsKey(Key key) {
+        return findIndex(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Method to yield the histogram of probe lengths for the keys currently in the table.
+     * The probe length of a key is one more than its displacement.
+     *
+     * @return an array h such that h[p] is the number of keys whose probe length is p.
+     */
+    public int[] probeLengthHistogram() {
+        int[] probeLengths = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) probeLengths[n++] = displacements[i] + 1;
+        return HasProbeLengths.histogram(probeLengths, n);
+    }
+
+    /**
+     * Constructs a HashTable_RobinHood instance with the specified initial capacity and load factor.
+     *
+     * @param capacity   the initial capacity of the hash table, rounded up to the nearest power of two.
+     * @param loadFactor the maximum ratio of size to length before the table is resized (must be between 0 and 1).
+     */
+    public HashTable_RobinHood(int capacity, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("HashTable_RobinHood: load factor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1);
+    }
+
+    /**
+     * Constructs a HashTable_RobinHood instance with the specified initial capacity and the default load factor.
+     *
+     * @param capacity the initial capacity of the hash table, rounded up to the nearest power of two.
+     */
+    public HashTable_RobinHood(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs a HashTable_RobinHood instance with the default capacity and load factor.
+     */
+    public HashTable_RobinHood() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Find the index of the slot which contains key.
+     * The search stops at an empty slot or at a slot whose displacement is less than the distance probed so far
+     * (because, if key were present, it would have displaced that element).
+     *
+     * @param key  the key.
+     * @param hash the (spread) hash of key.
+     * @return the index of key, or -1 if key is not present.
+     */
+    private int findIndex(Key key, int hash) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        Object k;
+        for (int d = 0; (k = keys[i]) != null && displacements[i] >= d; d++) {
+            if (hashes[i] == hash && (k == key || k.equals(key)))
+                return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Insert a key (known not to be present) into the table, which must have at least one empty slot.
+     */
+    private void insert(Object key, Object value, int hash) {
+        int mask = keys.length - 1;
+        int i = hash & mask;
+        int d = 0;
+        while (keys[i] != null) {
+            if (displacements[i] < d) {
+                // NOTE the element at i is "richer" than the one being inserted: swap them and carry on inserting the former.
+                Object k = keys[i];
+                keys[i] = key;
+                key = k;
+                Object v = values[i];
+                values[i] = value;
+                value = v;
+                int h = hashes[i];
+                hashes[i] = hash;
+                hash = h;
+                int t = displacements[i];
+                displacements[i] = d;
+                d = t;
+            }
+            i = (i + 1) & mask;
+            d++;
+        }
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = hash;
+        displacements[i] = d;
+    }
+
+    /**
+     * Resize the table, reinserting each element according to its cached hash.
+     *
+     * @param newLength the new length (a power of two).
+     */
+    private void resize(int newLength) {
+        if (newLength <= 0) throw new HashTable_LP.HashTableException("table is full");
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newLength);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i], oldHashes[i]);
+    }
+
+    private void allocate(int length) {
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+        displacements = new int[length];
+        // NOTE that there must always be at least one empty slot, otherwise insert would never terminate.
+        threshold = Math.min((int) (length * loadFactor), length - 1);
+    }
+
+    public static final double DEFAULT_LOAD_FACTOR = 0.8;
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private final double loadFactor;
+    private int threshold;
+    private int[] displacements;
+}
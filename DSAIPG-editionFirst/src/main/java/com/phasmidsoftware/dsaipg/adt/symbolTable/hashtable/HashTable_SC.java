@@ -65,7 +65,7 @@ public class HashTable_SC<Key, Value> implements ST<Key, Value> {
         Object bucket = buckets[getIndex(key)];
         if (bucket == null) return null;
         //noinspection unchecked
-        return nodesAsStream((Node) bucket).filter(n -> n != null && n.key == key).findFirst().map(node -> node.value).orElse(null);
+        return nodesAsStream((Node) bucket).filter(n -> n != null && n.key.equals(key)).findFirst().map(node -> node.value).orElse(null);
     }
 
     /**
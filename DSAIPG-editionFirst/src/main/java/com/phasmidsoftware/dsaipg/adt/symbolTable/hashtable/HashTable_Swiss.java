@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Class which implements ST (symbol table) in the manner of the SwissTable (Abseil's flat_hash_map).
+ * <p>
+ * The slots are arranged in groups of eight.
+ * For each slot there is a control byte which is either EMPTY, DELETED (a tombstone)
+ * or, for a full slot, the low seven bits (h2) of the hash of its key.
+ * The eight control bytes of a group are packed into one long so that a single (SWAR) word operation
+ * finds all the slots of the group whose h2 matches (or which are empty).
+ * Only those candidates have their cached hash (and then their key) compared.
+ * The remaining bits of the hash (h1) choose the home group; groups are probed in triangular order.
+ * <p>
+ * NOTE that Java offers no portable SIMD here (the Vector API is still incubating)
+ * so a group is eight bytes (one long) rather than the sixteen bytes of an SSE2 register.
+ * <p>
+ * NOTE that null keys are not allowed.
+ *
+ * @param <Key>   the key type.
+ * @param <Value> the value type.
+ */
+public class HashTable_Swiss<Key, Value> extends BaseOpenAddressingHashTable<Key, Value> {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Value get(Key key) {
+        int index = findIndex(key, hash(key));
+        return index < 0 ? null : getValue(index);
+    }
+
+    /**
+     * Insert a key-value pair into the hash table.
+     * If the key already exists in the hash table, updates its value.
+     * If there is no room for a new key, the table is first rehashed (and, unless it is mostly tombstones, doubled).
+     *
+     * @param key   the key to insert or update.
+     * @param value the value associated with the specified key.
+     * @return the previous value associated with key, or null if there was none.
+     * @throws NullPointerException if key is null.
+     */
+    public Value put(Key key, Value value) {
+        Objects.requireNonNull(key, "HashTable_Swiss.put: key is null");
+        int hash = hash(key);
+        int index = findIndex(key, hash);
+        if (index >= 0) {
+            Value result = getValue(index);
+            values[index] = value;
+            return result;
+        }
+        if (growthLeft == 0) rehash(size * 2 < threshold ? keys.length : keys.length << 1);
+        insert(key, value, hash);
+        size++;
+        modCount++;
+        return null;
+    }
+
+    /**
+     * Remove the given key (and its value) from this hash table.
+     * The slot becomes EMPTY if its group still has an empty slot (in which case no probe sequence can have passed through it);
+     * otherwise it becomes DELETED.
+     *
+     * @param key the key to be removed.
+     * @return the value which was associated with key, or null if key was not present.
+     */
+    public Value delete(Key key) {
+        int i = findIndex(key, hash(key));
+        if (i < 0) return null;
+        Value result = getValue(i);
+        if (matchEmpty(control[i >>> 3]) != 0) {
+            setControl(i, EMPTY);
+            growthLeft++;
+        } else setControl(i, DELETED);
+        keys[i] = null;
+        values[i] = null;
+        hashes[i] = 0;
+        size--;
+        modCount++;
+        return result;
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present in this hash table.
+     */
+    public boolean containsKey(Key key) {
+        return findIndex(key, hash(key)) >= 0;
+    }
+
+    /**
+     * Method to yield the histogram of probe lengths for the keys currently in the table.
+     * The probe length of a key is the number of groups (not slots) examined by a successful search.
+     *
+     * @return an array h such that h[p] is the number of keys whose probe length is p.
+     */
+    public int[] probeLengthHistogram() {
+        int mask = control.length - 1;
+        int[] probeLengths = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != null) {
+                int target = i >>> 3;
+                int p = 1;
+                for (int g = hashes[i] >>> 7 & mask; g != target; p++) g = (g + p) & mask;
+                probeLengths[n++] = p;
+            }
+        return HasProbeLengths.histogram(probeLengths, n);
+    }
+
+    /**
+     * Constructs a HashTable_Swiss instance with the specified initial capacity.
+     * The maximum load factor is fixed at 7/8 (including tombstones).
+     *
+     * @param capacity the initial capacity of the hash table, rounded up to a power of two (and at least one group).
+     */
+    public HashTable_Swiss(int capacity) {
+        allocate(Math.max(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1, GROUP_WIDTH));
+    }
+
+    /**
+     * Constructs a HashTable_Swiss instance with the default capacity.
+     */
+    public HashTable_Swiss() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Find the index of the slot which contains key.
+     * Within each group, only those slots whose control byte matches h2 are examined;
+     * the search ends at the first group which contains an empty slot.
+     *
+     * @param key  the key.
+     * @param hash the (spread) hash of key.
+     * @return the index of key, or -1 if key is not present.
+     */
+    private int findIndex(Key key, int hash) {
+        long pattern = LSBS * (hash & H2_MASK);
+        int mask = control.length - 1;
+        int g = hash >>> 7 & mask;
+        for (int step = 1; ; step++) {
+            long group = control[g];
+            long x = group ^ pattern;
+            // NOTE this may yield a false positive (just above a true match) but never a false negative.
+            for (long m = (x - LSBS) & ~x & MSBS; m != 0; m &= m - 1) {
+                int i = g << 3 | Long.numberOfTrailingZeros(m) >>> 3;
+                Object k = keys[i];
+                if (hashes[i] == hash && k != null && (k == key || k.equals(key)))
+                    return i;
+            }
+            if (matchEmpty(group) != 0) return -1;
+            g = (g + step) & mask;
+        }
+    }
+
+    /**
+     * Insert a key (known not to be present) into the first empty or deleted slot of its probe sequence.
+     * There must be room for it (growthLeft > 0).
+     */
+    private void insert(Object key, Object value, int hash) {
+        int mask = control.length - 1;
+        int g = hash >>> 7 & mask;
+        long m;
+        for (int step = 1; (m = matchEmptyOrDeleted(control[g])) == 0; step++) g = (g + step) & mask;
+        int i = g << 3 | Long.numberOfTrailingZeros(m) >>> 3;
+        if (getControl(i) == EMPTY) growthLeft--;
+        setControl(i, (byte) (hash & H2_MASK));
+        keys[i] = key;
+        values[i] = value;
+        hashes[i] = hash;
+    }
+
+    /**
+     * Rebuild the table (discarding all tombstones), reinserting each element according to its cached hash.
+     *
+     * @param newLength the new number of slots (a power of two).
+     */
+    private void rehash(int newLength) {
+        if (newLength <= 0) throw new HashTable_LP.HashTableException("table is full");
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(newLength);
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != null) insert(oldKeys[i], oldValues[i], oldHashes[i]);
+    }
+
+    private void allocate(int length) {
+        keys = new Object[length];
+        values = new Object[length];
+        hashes = new int[length];
+        control = new long[length / GROUP_WIDTH];
+        Arrays.fill(control, LSBS * (EMPTY & 0xFF));
+        // NOTE that there must always be at least one empty slot, otherwise a search might never terminate.
+        threshold = length - length / 8;
+        growthLeft = threshold;
+    }
+
+    private byte getControl(int i) {
+        return (byte) (control[i >>> 3] >>> ((i & 7) << 3));
+    }
+
+    private void setControl(int i, byte b) {
+        int shift = (i & 7) << 3;
+        control[i >>> 3] = control[i >>> 3] & ~(0xFFL << shift) | (b & 0xFFL) << shift;
+    }
+
+    /**
+     * @return a word with the high bit set in each byte of group which is EMPTY.
+     */
+    private static long matchEmpty(long group) {
+        // NOTE EMPTY is the only control byte which has bit 7 set and bit 1 clear.
+        return group & ~group << 6 & MSBS;
+    }
+
+    /**
+     * @return a word with the high bit set in each byte of group which is EMPTY or DELETED.
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        // NOTE EMPTY and DELETED are the only control bytes which have bit 7 set and bit 0 clear.
+        return group & ~(group << 7) & MSBS;
+    }
+
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final int GROUP_WIDTH = 8;
+
+    private static final byte EMPTY = (byte) 0x80;
+    private static final byte DELETED = (byte) 0xFE;
+    private static final int H2_MASK = 0x7F;
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+
+    private int threshold;
+    private int growthLeft;
+    private long[] control;
+}
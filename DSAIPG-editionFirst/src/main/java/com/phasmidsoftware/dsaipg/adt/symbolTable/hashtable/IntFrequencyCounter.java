@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+/**
+ * A FrequencyCounter for int keys (for example, token ids obtained by interning the tokens of a corpus)
+ * which is backed by an IntIntHashTable.
+ * Each call of increment performs a single in-place probe sequence and does no allocation
+ * (whereas FrequencyCounter does a get and a put, boxing both the key and the count).
+ * <p>
+ * NOTE that null keys are not allowed.
+ */
+public class IntFrequencyCounter extends FrequencyCounter<Integer> {
+
+    /**
+     * Constructor to create an IntFrequencyCounter with a given (usually empty) table.
+     *
+     * @param table the IntIntHashTable to be used for tracking frequencies.
+     */
+    public IntFrequencyCounter(IntIntHashTable table) {
+        super(table);
+        this.table = table;
+    }
+
+    /**
+     * Default constructor to create an IntFrequencyCounter.
+     */
+    public IntFrequencyCounter() {
+        this(new IntIntHashTable());
+    }
+
+    /**
+     * Increments the frequency count of the specified key (and the total), without boxing.
+     *
+     * @param key the key whose frequency count is to be incremented.
+     */
+    public void increment(int key) {
+        table.increment(key, 1);
+        total++;
+    }
+
+    /**
+     * Increments the frequency count of the specified key (and the total).
+     *
+     * @param key the key whose frequency count is to be incremented (must not be null).
+     */
+    public void increment(Integer key) {
+        increment(key.intValue());
+    }
+
+    /**
+     * @param key the key.
+     * @return the count for key (0 if key has never been incremented).
+     */
+    public int getInt(int key) {
+        return table.getInt(key, 0);
+    }
+
+    /**
+     * @param key the key.
+     * @return the count for key (0 if key is null or has never been incremented).
+     */
+    public Integer get(Integer key) {
+        return key == null ? 0 : getInt(key);
+    }
+
+    /**
+     * @param key the key.
+     * @return the relative frequency of key.
+     */
+    public double relativeFrequency(int key) {
+        return 1.0 * getInt(key) / total;
+    }
+
+    private final IntIntHashTable table;
+}
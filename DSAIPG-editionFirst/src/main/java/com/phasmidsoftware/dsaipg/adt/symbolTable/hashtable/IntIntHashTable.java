@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+
+import java.util.*;
+
+/**
+ * Class which implements ST (symbol table) for int keys and int values without boxing,
+ * by using linear probing over two parallel primitive arrays.
+ * <p>
+ * The primitive methods (getInt, putInt, increment, containsKey) never allocate.
+ * The ST methods (get, put, keys) are provided so that this class can be used wherever an ST&lt;Integer, Integer&gt; is expected,
+ * but they box their results.
+ * <p>
+ * A key of 0 marks a free slot in the keys array, so the key 0 itself (if present) is kept outside the arrays.
+ * The table doubles in size whenever its load factor would exceed the configured value.
+ * There is no delete (it is not required by ST).
+ */
+public class IntIntHashTable implements ST<Integer, Integer>, HasProbeLengths {
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key          the key.
+     * @param defaultValue the value to be returned if key is not present.
+     * @return the value, if key is present, else defaultValue.
+     */
+    public int getInt(int key, int defaultValue) {
+        if (key == FREE) return hasFreeKey ? freeValue : defaultValue;
+        int i = findIndex(key);
+        return keys[i] == FREE ? defaultValue : values[i];
+    }
+
+    /**
+     * @param key the key.
+     * @return true if key is present in this hash table.
+     */
+    public boolean containsKey(int key) {
+        return key == FREE ? hasFreeKey : keys[findIndex(key)] != FREE;
+    }
+
+    /**
+     * Insert a key-value pair into the hash table.
+     * If the key already exists in the hash table, updates its value.
+     *
+     * @param key   the key.
+     * @param value the value.
+     * @return the previous value associated with key, or 0 if there was none.
+     */
+    public int putInt(int key, int value) {
+        if (key == FREE) {
+            int result = freeValue;
+            if (!hasFreeKey) size++;
+            hasFreeKey = true;
+            freeValue = value;
+            return result;
+        }
+        int i = findIndex(key);
+        int result = values[i];
+        values[i] = value;
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size > threshold) resize(keys.length << 1);
+        }
+        return result;
+    }
+
+    /**
+     * Add delta to the value associated with key, in place (a missing key is treated as having the value 0).
+     * This is the primitive on which frequency counting is based: it performs a single probe sequence and no allocation.
+     *
+     * @param key   the key.
+     * @param delta the amount to be added.
+     * @return the new value associated with key.
+     */
+    public int increment(int key, int delta) {
+        if (key == FREE) {
+            if (!hasFreeKey) size++;
+            hasFreeKey = true;
+            return freeValue += delta;
+        }
+        int i = findIndex(key);
+        int result = values[i] += delta;
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size > threshold) resize(keys.length << 1);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieve the value for a given key.
+     *
+     * @param key the key.
+     * @return the value, if key is present, else null.
+     */
+    public Integer get(Integer key) {
+        return key != null && containsKey(key.intValue()) ? getInt(key, 0) : null;
+    }
+
+    /**
+     * Insert a key-value pair into the hash table.
+     *
+     * @param key   the key (must not be null).
+     * @param value the value (must not be null).
+     * @return the previous value associated with key, or null if there was none.
+     */
+    public Integer put(Integer key, Integer value) {
+        Objects.requireNonNull(key, "IntIntHashTable.put: key is null");
+        Objects.requireNonNull(value, "IntIntHashTable.put: value is null");
+        boolean present = containsKey(key.intValue());
+        int result = putInt(key, value);
+        return present ? result : null;
+    }
+
+    /**
+     * Get the size of this IntIntHashTable.
+     *
+     * @return the current size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the set of keys in this symbol table.
+     * NOTE that this is a (boxed) copy.
+     *
+     * @return the Set of keys.
+     */
+    public Set<Integer> keys() {
+        Set<Integer> result = new HashSet<>();
+        forEach((k, v) -> result.add(k));
+        return result;
+    }
+
+    /**
+     * @return the keys of this table as an array (in table order).
+     */
+    public int[] keyArray() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasFreeKey) result[n++] = FREE;
+        for (int key : keys) if (key != FREE) result[n++] = key;
+        return result;
+    }
+
+    /**
+     * Perform the given action on each key-value pair, without boxing.
+     *
+     * @param action an IntIntConsumer.
+     */
+    public void forEach(IntIntConsumer action) {
+        if (hasFreeKey) action.accept(FREE, freeValue);
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != FREE) action.accept(keys[i], values[i]);
+    }
+
+    /**
+     * Method to yield the histogram of probe lengths for the keys currently in the table.
+     * The probe length of a key is one more than its (cyclic) distance from its home slot (key 0 has probe length 1).
+     *
+     * @return an array h such that h[p] is the number of keys whose probe length is p.
+     */
+    public int[] probeLengthHistogram() {
+        int mask = keys.length - 1;
+        int[] probeLengths = new int[size];
+        int n = 0;
+        if (hasFreeKey) probeLengths[n++] = 1;
+        for (int i = 0; i < keys.length; i++)
+            if (keys[i] != FREE) probeLengths[n++] = ((i - hash(keys[i])) & mask) + 1;
+        return HasProbeLengths.histogram(probeLengths, n);
+    }
+
+    /**
+     * Constructs an IntIntHashTable instance with the specified initial capacity and load factor.
+     *
+     * @param capacity   the initial capacity of the hash table, rounded up to the nearest power of two.
+     * @param loadFactor the maximum ratio of size to length before the table is resized (must be between 0 and 1).
+     */
+    public IntIntHashTable(int capacity, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1))
+            throw new IllegalArgumentException("IntIntHashTable: load factor must be between 0 and 1: " + loadFactor);
+        this.loadFactor = loadFactor;
+        allocate(Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1);
+    }
+
+    /**
+     * Constructs an IntIntHashTable instance with the specified initial capacity and the default load factor.
+     *
+     * @param capacity the initial capacity of the hash table, rounded up to the nearest power of two.
+     */
+    public IntIntHashTable(int capacity) {
+        this(capacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Constructs an IntIntHashTable instance with the default capacity and load factor.
+     */
+    public IntIntHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((k, v) -> sb.append(sb.length() > 1 ? ", " : "").append(k).append("=").append(v));
+        return sb.append("}").toString();
+    }
+
+    /**
+     * Functional interface for an action on an int key and an int value.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        void accept(int key, int value);
+    }
+
+    /**
+     * Find the index of the slot which contains key or, if key is not present, the (free) slot where it belongs.
+     *
+     * @param key the key (not FREE).
+     * @return an index into the table.
+     */
+    private int findIndex(int key) {
+        int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        int k;
+        while ((k = keys[i]) != key && k != FREE) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void resize(int newLength) {
+        if (newLength <= 0) throw new HashTable_LP.HashTableException("table is full");
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newLength);
+        int mask = newLength - 1;
+        for (int i = 0; i < oldKeys.length; i++)
+            if (oldKeys[i] != FREE) {
+                int j = hash(oldKeys[i]) & mask;
+                while (keys[j] != FREE) j = (j + 1) & mask;
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+    }
+
+    private void allocate(int length) {
+        keys = new int[length];
+        values = new int[length];
+        // NOTE that there must always be at least one free slot, otherwise an unsuccessful search would never terminate.
+        threshold = Math.min((int) (length * loadFactor), length - 1);
+    }
+
+    /**
+     * Scramble the key (by Fibonacci hashing) so that sequential keys are spread over the table.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    public static final double DEFAULT_LOAD_FACTOR = 0.5;
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final int FREE = 0;
+
+    private final double loadFactor;
+    private int threshold;
+    private int[] keys;
+    private int[] values;
+    private boolean hasFreeKey;
+    private int freeValue;
+    private int size;
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+/**
+ * A FrequencyCounter for long keys (for example, bigrams of token ids packed into a long)
+ * which is backed by a LongIntHashTable.
+ * Each call of increment performs a single in-place probe sequence and does no allocation
+ * (whereas FrequencyCounter does a get and a put, boxing both the key and the count).
+ * <p>
+ * NOTE that null keys are not allowed.
+ */
+public class LongFrequencyCounter extends FrequencyCounter<Long> {
+
+    /**
+     * Constructor to create a LongFrequencyCounter with a given (usually empty) table.
+     *
+     * @param table the LongIntHashTable to be used for tracking frequencies.
+     */
+    public LongFrequencyCounter(LongIntHashTable table) {
+        super(table);
+        this.table = table;
+    }
+
+    /**
+     * Default constructor to create a LongFrequencyCounter.
+     */
+    public LongFrequencyCounter() {
+        this(new LongIntHashTable());
+    }
+
+    /**
+     * Increments the frequency count of the specified key (and the total), without boxing.
+     *
+     * @param key the key whose frequency count is to be incremented.
+     */
+    public void increment(long key) {
+        table.increment(key, 1);
+        total++;
+    }
+
+    /**
+     * Increments the frequency count of the specified key (and the total).
+     *
+     * @param key the key whose frequency count is to be incremented (must not be null).
+     */
+    public void increment(Long key) {
+        increment(key.longValue());
+    }
+
+    /**
+     * @param key the key.
+     * @return the count for key (0 if key has never been incremented).
+     */
+    public int getInt(long key) {
+        return table.getInt(key, 0);
+    }
+
+    /**
+     * @param key the key.
+     * @return the count for key (0 if key is null or has never been incremented).
+     */
+    public Integer get(Long key) {
+        return key == null ? 0 : getInt(key);
+    }
+
+    /**
+     * @param key the key.
+     * @return the relative frequency of key.
+     */
+    public double relativeFrequency(long key) {
+        return 1.0 * getInt(key) / total;
+    }
+
+    private final LongIntHashTable table;
+}
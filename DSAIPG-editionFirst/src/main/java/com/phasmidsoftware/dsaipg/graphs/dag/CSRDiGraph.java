@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Immutable, directed, edge-weighted graph in compressed-sparse-row (CSR) form.
+ * <p>
+ * Each vertex has an int id (0 to n-1) in the order in which it was first encountered.
+ * The edges are sorted (stably) by their from vertex, so that the id of an edge is also its slot:
+ * the edges out of vertex v are begin(v) (inclusive) to end(v) (exclusive);
+ * target(e) is the id of the to vertex of edge e and attribute(e) its attribute.
+ * <p>
+ * The int-based methods (begin, end, source, target, attribute) allocate nothing.
+ * The DAG methods are provided so that this class can be used wherever a DAG_Impl (or a DiGraph, via the Graph interface)
+ * is used, for example by ShortestPaths.
+ * Unlike a Bag, the Iterables which they return are views which neither copy nor shuffle;
+ * and dfs is iterative (and uses a boolean array, rather than a TreeSet, for its marks).
+ * <p>
+ * NOTE that this class does not check that the graph is acyclic: if it is not, sorted is not a topological order.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the edge-attribute type.
+ */
+public class CSRDiGraph<V, E> implements DAG<V, E>, Graph<V, Edge<V, E>> {
+
+    /**
+     * Factory method to create a CSRDiGraph from a DiGraph (for example, a DAG_Impl).
+     *
+     * @param graph a DiGraph.
+     * @param <V>   the vertex type.
+     * @param <E>   the edge-attribute type.
+     * @return a new CSRDiGraph with the same vertices and edges as graph.
+     */
+    public static <V, E> CSRDiGraph<V, E> from(DiGraph<V, E> graph) {
+        return from(graph.vertices(), graph.edges());
+    }
+
+    /**
+     * Factory method to create a CSRDiGraph from some vertices and some edges.
+     * Vertices which are the ends of edges but which are not in vertices are added (after those of vertices).
+     *
+     * @param vertices the vertices (possibly isolated) in order of their ids.
+     * @param edges    the edges.
+     * @param <V>      the vertex type.
+     * @param <E>      the edge-attribute type.
+     * @return a new CSRDiGraph.
+     */
+    public static <V, E> CSRDiGraph<V, E> from(Iterable<V> vertices, Iterable<Edge<V, E>> edges) {
+        Map<V, Integer> ids = new HashMap<>();
+        List<V> vertexList = new ArrayList<>();
+        for (V v : vertices) addVertex(v, ids, vertexList);
+        List<Edge<V, E>> edgeList = new ArrayList<>();
+        for (Edge<V, E> e : edges) {
+            addVertex(e.getFrom(), ids, vertexList);
+            addVertex(e.getTo(), ids, vertexList);
+            edgeList.add(e);
+        }
+        return new CSRDiGraph<>(vertexList, ids, edgeList);
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the id of v, or -1 if v is not a vertex of this graph.
+     */
+    public int id(V v) {
+        return ids.getOrDefault(v, -1);
+    }
+
+    /**
+     * @param i a vertex id.
+     * @return the vertex whose id is i.
+     */
+    public V vertex(int i) {
+        //noinspection unchecked
+        return (V) vertices[i];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the id of the first edge out of v.
+     */
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return one more than the id of the last edge out of v.
+     */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the number of edges out of v.
+     */
+    public int outDegree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the id of the from vertex of edge e.
+     */
+    public int source(int e) {
+        return sources[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the id of the to vertex of edge e.
+     */
+    public int target(int e) {
+        return targets[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the attribute of edge e.
+     */
+    public E attribute(int e) {
+        //noinspection unchecked
+        return (E) attributes[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the (original) Edge whose id is e.
+     */
+    public Edge<V, E> getEdge(int e) {
+        return edges[e];
+    }
+
+    public SizedIterable<V> vertices() {
+        return vertexIterable;
+    }
+
+    /**
+     * @return the edges in order of their ids (that's to say grouped by from vertex).
+     */
+    public SizedIterable<Edge<V, E>> edges() {
+        return edgeIterable;
+    }
+
+    /**
+     * Get the edges out of the given vertex.
+     *
+     * @param vertex the vertex whose adjacent edges we want.
+     * @return a view of the edges (empty if vertex is not in this graph).
+     */
+    public Iterable<Edge<V, E>> adjacent(V vertex) {
+        int v = id(vertex);
+        return v < 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(edges).subList(offsets[v], offsets[v + 1]));
+    }
+
+    /**
+     * Implement depth-first-search on this graph, starting at vertex.
+     *
+     * @param vertex the starting point.
+     * @param pre    a function which takes the current vertex before its descendants are visited (may be null).
+     * @param post   a function which takes the current vertex after its descendants are visited (may be null).
+     */
+    public void dfs(V vertex, Consumer<V> pre, Consumer<V> post) {
+        int v = id(vertex);
+        if (v >= 0) new DepthFirstSearch(pre, post).dfs(v);
+    }
+
+    /**
+     * Get a topologically sorted list of the vertices of this graph (the reverse post-order of a depth-first search).
+     *
+     * @return the vertices as an Iterable.
+     */
+    public Iterable<V> sorted() {
+        List<V> result = new ArrayList<>(vertices.length);
+        DepthFirstSearch search = new DepthFirstSearch(null, result::add);
+        for (int v = 0; v < vertices.length; v++) search.dfs(v);
+        Collections.reverse(result);
+        return result;
+    }
+
+    /**
+     * Get the kernel DAG (condensation) of this graph: each vertex is a kernel (strongly-connected component) of this graph;
+     * and each edge of this graph whose ends are in different kernels yields an edge between those kernels (with the same attribute).
+     * The ids of the kernels are the components of StronglyConnectedComponents, so they are in topological order.
+     *
+     * @return a CSRDiGraph of Kernels (which is acyclic).
+     */
+    public CSRDiGraph<DiGraph.Kernel<V>, E> kernelDAG() {
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(this);
+        List<DiGraph.Kernel<V>> kernels = DiGraph.Kernel.of(this, scc);
+        List<Edge<DiGraph.Kernel<V>, E>> result = new ArrayList<>();
+        for (int e = 0; e < edges.length; e++) {
+            int from = scc.component(sources[e]), to = scc.component(targets[e]);
+            if (from != to) result.add(new Edge<>(kernels.get(from), kernels.get(to), attribute(e)));
+        }
+        return from(kernels, result);
+    }
+
+    @Override
+    public String toString() {
+        return "CSRDiGraph{vertices=" + vertices.length + ", edges=" + edges.length + "}";
+    }
+
+    /**
+     * Iterative depth-first search (so that a long path cannot overflow the call stack).
+     * The marks are kept between calls of dfs.
+     */
+    private class DepthFirstSearch {
+
+        DepthFirstSearch(Consumer<V> pre, Consumer<V> post) {
+            this.pre = pre;
+            this.post = post;
+        }
+
+        void dfs(int s) {
+            if (marked[s]) return;
+            int top = 0;
+            visit(s);
+            stack[top] = s;
+            cursor[top++] = offsets[s];
+            while (top > 0) {
+                int v = stack[top - 1];
+                int e = cursor[top - 1];
+                if (e < offsets[v + 1]) {
+                    cursor[top - 1] = e + 1;
+                    int w = targets[e];
+                    if (!marked[w]) {
+                        visit(w);
+                        stack[top] = w;
+                        cursor[top++] = offsets[w];
+                    }
+                } else {
+                    top--;
+                    if (post != null) post.accept(vertex(v));
+                }
+            }
+        }
+
+        private void visit(int v) {
+            marked[v] = true;
+            if (pre != null) pre.accept(vertex(v));
+        }
+
+        private final Consumer<V> pre;
+        private final Consumer<V> post;
+        private final boolean[] marked = new boolean[vertices.length];
+        private final int[] stack = new int[vertices.length]; // the vertices on the current path
+        private final int[] cursor = new int[vertices.length]; // cursor[i] is the next edge to be followed from stack[i]
+    }
+
+    private CSRDiGraph(List<V> vertexList, Map<V, Integer> ids, List<Edge<V, E>> edgeList) {
+        int n = vertexList.size();
+        int m = edgeList.size();
+        this.ids = ids;
+        this.vertices = vertexList.toArray();
+        this.offsets = new int[n + 1];
+        for (Edge<V, E> edge : edgeList) offsets[ids.get(edge.getFrom()) + 1]++;
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        // NOTE this is a (stable) counting sort of the edges by from vertex.
+        this.edges = newEdges(m);
+        this.attributes = new Object[m];
+        this.sources = new int[m];
+        this.targets = new int[m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (Edge<V, E> edge : edgeList) {
+            int v = ids.get(edge.getFrom());
+            int e = next[v]++;
+            edges[e] = edge;
+            attributes[e] = edge.getAttributes();
+            sources[e] = v;
+            targets[e] = ids.get(edge.getTo());
+        }
+        //noinspection unchecked
+        this.vertexIterable = SizedIterableImpl.create(Collections.unmodifiableList(Arrays.asList((V[]) vertices)));
+        this.edgeIterable = SizedIterableImpl.create(Collections.unmodifiableList(Arrays.asList(edges)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E> Edge<V, E>[] newEdges(int m) {
+        return (Edge<V, E>[]) new Edge<?, ?>[m];
+    }
+
+    private static <V> void addVertex(V v, Map<V, Integer> ids, List<V> vertexList) {
+        if (!ids.containsKey(v)) {
+            ids.put(v, vertexList.size());
+            vertexList.add(v);
+        }
+    }
+
+    private final Map<V, Integer> ids;
+    private final Object[] vertices; // vertices[i] is the vertex whose id is i
+    private final Edge<V, E>[] edges; // edges[e] is the edge whose id is e
+    private final Object[] attributes; // attributes[e] is the attribute of edge e
+    private final int[] offsets; // the edges out of vertex v are offsets[v] until offsets[v+1]
+    private final int[] sources; // sources[e] is the id of the from vertex of edge e
+    private final int[] targets; // targets[e] is the id of the to vertex of edge e
+    private final SizedIterable<V> vertexIterable;
+    private final SizedIterable<Edge<V, E>> edgeIterable;
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+/**
+ * Executor which performs an action on each vertex of a directed acyclic graph (for example, a task or build graph)
+ * such that the action on a vertex begins only after the actions on all of its predecessors have finished.
+ * <p>
+ * Unlike processing the graph level by level (see TopologicalSort), there is no barrier between levels:
+ * each vertex has an atomic counter of its unfinished predecessors (initially its in-degree)
+ * and a vertex is forked (as a CountedCompleter in a ForkJoinPool) as soon as its counter reaches zero.
+ * Thus the elapsed time is limited only by the critical path (and the number of threads), not by the slowest vertex of each level.
+ * <p>
+ * If an action throws an exception, no further vertices are started and the exception is rethrown by run,
+ * but only once the actions which were already running have finished.
+ *
+ * @param <V> the vertex type.
+ */
+@SuppressWarnings("serial") // NOTE the CountedCompleter tasks are never serialized.
+public class DAGExecutor<V> {
+
+    /**
+     * Constructor.
+     *
+     * @param graph a CSRDiGraph.
+     * @throws IllegalArgumentException if graph has a cycle.
+     */
+    public DAGExecutor(CSRDiGraph<V, ?> graph) {
+        this.graph = graph;
+        this.sort = new TopologicalSort(graph);
+        this.inDegree = TopologicalSort.inDegrees(graph);
+    }
+
+    /**
+     * Perform action on every vertex of the graph, using parallelism threads.
+     *
+     * @param action      the action to be performed on each vertex.
+     * @param parallelism the number of threads.
+     */
+    public void run(Consumer<V> action, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new Root(action, new AtomicIntegerArray(inDegree)));
+        } finally {
+            // NOTE if an action has thrown, invoke returns at once: wait for any other actions which are still running.
+            pool.awaitQuiescence(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Perform action on every vertex of the graph, in topological order, in the current thread.
+     *
+     * @param action the action to be performed on each vertex.
+     */
+    public void runSequential(Consumer<V> action) {
+        for (int v : sort.order()) action.accept(graph.vertex(v));
+    }
+
+    /**
+     * @return the TopologicalSort of the graph.
+     */
+    public TopologicalSort getTopologicalSort() {
+        return sort;
+    }
+
+    /**
+     * The root task: it forks the sources and completes when all of its descendants have completed.
+     */
+    private class Root extends CountedCompleter<Void> {
+
+        Root(Consumer<V> action, AtomicIntegerArray pending) {
+            this.action = action;
+            this.pending = pending;
+        }
+
+        public void compute() {
+            for (int v = 0; v < inDegree.length; v++)
+                if (inDegree[v] == 0) {
+                    addToPendingCount(1);
+                    new Task(this, this, v).fork();
+                }
+            tryComplete();
+        }
+
+        private final Consumer<V> action;
+        private final AtomicIntegerArray pending; // pending.get(v) is the number of unfinished predecessors of v
+    }
+
+    /**
+     * The task for one vertex: it performs the action and then forks those of its successors which are now ready.
+     */
+    private class Task extends CountedCompleter<Void> {
+
+        Task(Root root, CountedCompleter<?> parent, int v) {
+            super(parent);
+            this.root = root;
+            this.v = v;
+        }
+
+        public void compute() {
+            if (root.isCompletedAbnormally()) return; // NOTE the action on some other vertex has failed.
+            root.action.accept(graph.vertex(v));
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int w = graph.target(e);
+                if (root.pending.decrementAndGet(w) == 0) {
+                    addToPendingCount(1);
+                    new Task(root, this, w).fork();
+                }
+            }
+            tryComplete();
+        }
+
+        private final Root root; // NOTE kept here since getRoot would walk up the chain of parents
+        private final int v;
+    }
+
+    private final CSRDiGraph<V, ?> graph;
+    private final TopologicalSort sort;
+    private final int[] inDegree; // inDegree[v] is the number of edges into v
+}
@@ -8,8 +8,9 @@ import com.phasmidsoftware.dsaipg.adt.bqs.Bag;
 import com.phasmidsoftware.dsaipg.adt.bqs.Bag_Array;
 import com.phasmidsoftware.dsaipg.util.SizedIterable;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Random;
-import java.util.TreeSet;
 import java.util.function.Consumer;
 
 /**
@@ -21,13 +22,23 @@ import java.util.function.Consumer;
 public class DAG_Impl<V, E> extends DiGraph<V, E> implements DAG<V, E> {
 
     public void dfs(V vertex, Consumer<V> pre, Consumer<V> post) {
-        new DepthFirstSearch(new TreeSet<>(), pre, post).innerDfs(vertex);
+        new DepthFirstSearch(new HashSet<>(), pre, post).innerDfs(vertex);
     }
 
     public Iterable<V> sorted() {
         return reversePostOrderDFS();
     }
 
+    /**
+     * Get the levels of this DAG: each level is an antichain of vertices which may be processed concurrently
+     * once the vertices of the previous levels have been processed (see TopologicalSort and DAGExecutor).
+     *
+     * @return a list of levels, each of which is a list of vertices.
+     */
+    public List<List<V>> levels() {
+        return TopologicalSort.levels(CSRDiGraph.from(this));
+    }
+
     public SizedIterable<Edge<V, E>> edges() {
         Bag<Edge<V, E>> result = new Bag_Array<>(random);
         for (Bag<Edge<V, E>> b : adjacentEdges.values())
@@ -16,13 +16,21 @@ import java.util.function.Consumer;
 
 public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
 
+    public DiGraph(Bag_Array.IterationPolicy policy) {
+        super(policy);
+    }
+
+    public DiGraph() {
+        super();
+    }
+
     /**
      * Reverse the sense of this DAG.
      *
      * @return a DAG whose edges all point in the opposite direction to those in this DAG.
      */
     public DiGraph<V, E> reverse() {
-        DiGraph<V, E> result = new DiGraph<>();
+        DiGraph<V, E> result = new DiGraph<>(getPolicy());
         for (Edge<V, E> e : edges()) result.addEdge(e.reverse());
         return result;
     }
@@ -33,7 +41,7 @@ public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
     }
 
     public SizedIterable<Edge<V, E>> edges() {
-        Bag<Edge<V, E>> result = new Bag_Array<>();
+        Bag<Edge<V, E>> result = createBag();
         for (Iterable<Edge<V, E>> b : adjacentEdges.values())
             for (Edge<V, E> e : b)
                 result.add(e);
@@ -42,25 +50,31 @@ public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
 
     protected Stack<V> reversePostOrderDFS() {
         Stack<V> postOrderStack = new Stack_LinkedList<>();
-        new DepthFirstSearch(new TreeSet<>(), null, postOrderStack::push).innerDfs();
+        new DepthFirstSearch(new HashSet<>(), null, postOrderStack::push).innerDfs();
         return postOrderStack;
     }
 
+    /**
+     * Get the kernel DAG (condensation) of this graph: each vertex is a kernel (strongly-connected component) of this graph;
+     * and each edge of this graph whose ends are in different kernels yields an edge between those kernels.
+     * <p>
+     * NOTE the kernels are found (iteratively) by StronglyConnectedComponents on a CSRDiGraph copy of this graph,
+     * so that V need not be Comparable and the kernel of each end of an edge is found in constant time.
+     * See also CSRDiGraph.kernelDAG.
+     *
+     * @return a DAG of Kernels.
+     */
     DAG<Kernel<V>, E> kernelDAG() {
         final DAG_Impl<Kernel<V>, E> result = new DAG_Impl<>(new Random(0L));
-        final TreeSet<V> marked = new TreeSet<>();
-        for (V vertex : reverse().reversePostOrderDFS()) {
-            Kernel<V> kernel = new Kernel<>();
-            new DepthFirstSearch(marked, kernel::add, null).innerDfs(vertex);
-            if (!kernel.vertices.isEmpty())
-                result.addVertex(kernel);
-        }
-        final List<Kernel<V>> kernels = result.vertices().toList();
-        for (Edge<V, E> edge : edges()) {
-            final Kernel<V> from = kernels.stream().filter((k) -> k.vertices.contains(edge.getFrom())).findAny().orElse(null);
-            final Kernel<V> to = kernels.stream().filter((k) -> k.vertices.contains(edge.getTo())).findAny().orElse(null);
-            if (from != null && to != null && from != to)
-                result.addEdge(new Edge<>(from, to, edge.getAttributes()));
+        List<Edge<V, E>> edges = new ArrayList<>();
+        for (Iterable<Edge<V, E>> b : adjacentEdges.values()) for (Edge<V, E> e : b) edges.add(e);
+        CSRDiGraph<V, E> graph = CSRDiGraph.from(vertices(), edges);
+        StronglyConnectedComponents scc = new StronglyConnectedComponents(graph);
+        List<Kernel<V>> kernels = Kernel.of(graph, scc);
+        for (Kernel<V> kernel : kernels) result.addVertex(kernel);
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int from = scc.component(graph.source(e)), to = scc.component(graph.target(e));
+            if (from != to) result.addEdge(new Edge<>(kernels.get(from), kernels.get(to), graph.attribute(e)));
         }
         return result;
     }
@@ -70,9 +84,13 @@ public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
         return adjacentEdges.toString();
     }
 
+    /**
+     * Depth-first search which is iterative (so that a long path cannot overflow the call stack).
+     * The current path is held as a stack of iterators over the adjacent edges.
+     */
     class DepthFirstSearch {
 
-        public DepthFirstSearch(TreeSet<V> marked, Consumer<V> pre, Consumer<V> post) {
+        public DepthFirstSearch(Set<V> marked, Consumer<V> pre, Consumer<V> post) {
             this.pre = pre;
             this.post = post;
             this.marked = marked;
@@ -85,23 +103,41 @@ public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
         }
 
         void innerDfs(V v) {
-            // TODO create a HashMap of V and Boolean
             if (marked.contains(v)) return;
+            Deque<V> path = new ArrayDeque<>();
+            Deque<Iterator<Edge<V, E>>> iterators = new ArrayDeque<>();
+            visit(v, path, iterators);
+            while (!path.isEmpty()) {
+                Iterator<Edge<V, E>> iterator = iterators.peek();
+                if (iterator.hasNext()) {
+                    V v1 = iterator.next().getTo();
+                    if (!marked.contains(v1)) visit(v1, path, iterators);
+                } else {
+                    iterators.pop();
+                    V v2 = path.pop();
+                    if (post != null) post.accept(v2);
+                }
+            }
+        }
+
+        private void visit(V v, Deque<V> path, Deque<Iterator<Edge<V, E>>> iterators) {
             marked.add(v);
             if (pre != null) pre.accept(v);
-            for (Edge<V, E> e : adjacentEdges.get(v)) {
-                V v1 = e.getTo();
-                if (!marked.contains(v1)) innerDfs(v1);
-            }
-            if (post != null) post.accept(v);
+            path.push(v);
+            iterators.push(adjacentEdges.get(v).iterator());
         }
 
-        private final TreeSet<V> marked;
+        private final Set<V> marked;
         private final Consumer<V> pre;
         private final Consumer<V> post;
     }
 
-    static class Kernel<T> {
+    /**
+     * A kernel (strongly-connected component) of a directed graph.
+     *
+     * @param <T> the vertex type.
+     */
+    public static class Kernel<T> {
         private final Collection<T> vertices;
 
         public Kernel(Collection<T> vertices) {
@@ -116,9 +152,30 @@ public class DiGraph<V, E> extends AbstractGraph<V, Edge<V, E>> {
             vertices.add(t);
         }
 
+        /**
+         * @return the vertices of this kernel.
+         */
+        public Collection<T> getVertices() {
+            return Collections.unmodifiableCollection(vertices);
+        }
+
         @Override
         public String toString() {
             return vertices.toString();
         }
+
+        /**
+         * Create the kernels of graph, in the order of their components.
+         * The vertices of each kernel are in the order of their ids.
+         */
+        static <T> List<Kernel<T>> of(CSRDiGraph<T, ?> graph, StronglyConnectedComponents scc) {
+            List<Kernel<T>> result = new ArrayList<>(scc.count());
+            for (int c = 0; c < scc.count(); c++) {
+                Kernel<T> kernel = new Kernel<>(new ArrayList<>(scc.size(c)));
+                for (int v : scc.members(c)) kernel.add(graph.vertex(v));
+                result.add(kernel);
+            }
+            return result;
+        }
     }
-}
\ No newline at end of file
+}
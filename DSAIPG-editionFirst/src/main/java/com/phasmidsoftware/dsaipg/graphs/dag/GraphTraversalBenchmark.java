@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import com.phasmidsoftware.dsaipg.adt.bqs.Bag_Array;
+import com.phasmidsoftware.dsaipg.util.Benchmark;
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Random;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the traversal of a graph according to the iteration policy of its adjacency bags.
+ * <p>
+ * A random directed graph (with a fixed seed) is built twice: once with SHUFFLED bags (the original behavior of Bag_Array)
+ * and once with INSERTION_ORDER bags.
+ * Each graph is then completely traversed by the reverse-post-order depth-first search of DiGraph
+ * (the traversal which underlies DAG_Impl.sorted), which iterates the adjacency bags.
+ * <p>
+ * NOTE that Bag_Array cannot be constructed until the growFrom exercise has been completed,
+ * so, until then, this benchmark fails (with a NullPointerException) while creating the graphs.
+ */
+public class GraphTraversalBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the number of vertices; the (average) out-degree; the number of runs.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        logger.info("GraphTraversalBenchmark: " + formatWhole(n) + " vertices with average out-degree " + degree);
+        runBenchmark("SHUFFLED", createGraph(n, degree, Bag_Array.IterationPolicy.SHUFFLED, 0L), nRuns);
+        runBenchmark("INSERTION_ORDER", createGraph(n, degree, Bag_Array.IterationPolicy.INSERTION_ORDER, 0L), nRuns);
+    }
+
+    /**
+     * Create a random directed graph whose vertices are 0 thru n-1.
+     *
+     * @param n      the number of vertices.
+     * @param degree the average out-degree of each vertex.
+     * @param policy the iteration policy of the adjacency bags.
+     * @param seed   the seed for the random edges.
+     * @return a new DiGraph.
+     */
+    static DiGraph<Integer, Integer> createGraph(int n, int degree, Bag_Array.IterationPolicy policy, long seed) {
+        DiGraph<Integer, Integer> result = new DiGraph<>(policy);
+        Random random = new Random(seed);
+        for (int v = 0; v < n; v++) result.addVertex(v);
+        for (long i = (long) n * degree; i > 0; i--) result.addEdge(new Edge<>(random.nextInt(n), random.nextInt(n), null));
+        return result;
+    }
+
+    /**
+     * Time the traversal of the given graph and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, DiGraph<Integer, Integer> graph, int nRuns) {
+        Benchmark<DiGraph<Integer, Integer>> benchmark = new Benchmark_Timer<>(description, DiGraph::reversePostOrderDFS);
+        double result = benchmark.run(graph, nRuns);
+        logger.info("GraphTraversalBenchmark: " + description + ": " + result + " mSec per traversal");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(GraphTraversalBenchmark.class);
+}
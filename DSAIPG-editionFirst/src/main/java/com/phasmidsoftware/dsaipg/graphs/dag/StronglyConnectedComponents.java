@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import java.util.Arrays;
+
+/**
+ * Strongly-connected components (kernels) of a directed graph, found by Tarjan's algorithm.
+ * <p>
+ * The search works only with the int ids of a CSRDiGraph and is iterative:
+ * the current path is held in explicit arrays (as in the DepthFirstSearch of CSRDiGraph)
+ * so that a graph with millions of vertices (or a path of millions of edges) cannot overflow the call stack.
+ * <p>
+ * The components are numbered 0 thru count()-1 in topological order:
+ * if there is an edge from v to w then component(v) &lt;= component(w).
+ * (Tarjan's algorithm completes the components in reverse topological order, so they are renumbered at the end.)
+ * Thus the component of each end of an edge is found in constant time,
+ * and the condensation of the graph (see CSRDiGraph.kernelDAG) needs no further sorting.
+ */
+public class StronglyConnectedComponents {
+
+    /**
+     * Constructor which finds the strongly-connected components of graph.
+     *
+     * @param graph a CSRDiGraph.
+     */
+    public StronglyConnectedComponents(CSRDiGraph<?, ?> graph) {
+        int n = graph.vertexCount();
+        this.component = new int[n];
+        Arrays.fill(component, -1);
+        int[] index = new int[n]; // index[v] is one more than the order in which v was discovered (0 if not yet discovered)
+        int[] low = new int[n]; // low[v] is the least index of a vertex on the stack which is reachable from v (so far)
+        int[] stack = new int[n]; // the vertices which have been discovered but not yet assigned to a component
+        int[] path = new int[n]; // the vertices of the current path of the search
+        int[] cursor = new int[n]; // cursor[i] is the next edge to be followed from path[i]
+        int discovered = 0, sp = 0, count = 0;
+        for (int s = 0; s < n; s++) {
+            if (index[s] != 0) continue;
+            int top = 0;
+            index[s] = low[s] = ++discovered;
+            stack[sp++] = s;
+            path[top] = s;
+            cursor[top++] = graph.begin(s);
+            while (top > 0) {
+                int v = path[top - 1];
+                int e = cursor[top - 1];
+                if (e < graph.end(v)) {
+                    cursor[top - 1] = e + 1;
+                    int w = graph.target(e);
+                    if (index[w] == 0) {
+                        index[w] = low[w] = ++discovered;
+                        stack[sp++] = w;
+                        path[top] = w;
+                        cursor[top++] = graph.begin(w);
+                    } else if (component[w] < 0) low[v] = Math.min(low[v], index[w]);
+                } else {
+                    top--;
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            component[w] = count;
+                        } while (w != v);
+                        count++;
+                    }
+                    if (top > 0) {
+                        int u = path[top - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+        this.count = count;
+        // NOTE renumber the components in topological order; then group the vertices by component (a counting sort).
+        for (int v = 0; v < n; v++) component[v] = count - 1 - component[v];
+        this.starts = new int[count + 1];
+        for (int v = 0; v < n; v++) starts[component[v] + 1]++;
+        for (int c = 0; c < count; c++) starts[c + 1] += starts[c];
+        this.members = new int[n];
+        int[] next = Arrays.copyOf(starts, count);
+        for (int v = 0; v < n; v++) members[next[component[v]]++] = v;
+    }
+
+    /**
+     * @return the number of strongly-connected components.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the component of v (between 0 and count()-1).
+     */
+    public int component(int v) {
+        return component[v];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @param w a vertex id.
+     * @return true if v and w are in the same strongly-connected component.
+     */
+    public boolean stronglyConnected(int v, int w) {
+        return component[v] == component[w];
+    }
+
+    /**
+     * @param c a component.
+     * @return the number of vertices in component c.
+     */
+    public int size(int c) {
+        return starts[c + 1] - starts[c];
+    }
+
+    /**
+     * @param c a component.
+     * @return the ids of the vertices of component c, in ascending order.
+     */
+    public int[] members(int c) {
+        return Arrays.copyOfRange(members, starts[c], starts[c + 1]);
+    }
+
+    @Override
+    public String toString() {
+        return "StronglyConnectedComponents{vertices=" + component.length + ", components=" + count + "}";
+    }
+
+    private final int count;
+    private final int[] component; // component[v] is the component of vertex v
+    private final int[] starts; // the members of component c are members[starts[c]] until members[starts[c+1]]
+    private final int[] members; // the vertex ids, grouped by component
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Topological sort of a directed acyclic graph by Kahn's algorithm (counting in-degrees), which also yields the levels of the graph.
+ * <p>
+ * The level of a source (a vertex with no incoming edges) is 0;
+ * the level of any other vertex is one more than the greatest level of its predecessors.
+ * Thus each level is an antichain: no vertex of a level depends (directly or indirectly) on another vertex of the same level,
+ * so all the vertices of a level may be processed concurrently once the previous levels are done.
+ * The number of levels is the number of vertices on a longest path (the critical path, if every vertex takes the same time).
+ * <p>
+ * The sort works only with the int ids of a CSRDiGraph.
+ * Since the queue of Kahn's algorithm is first-in-first-out, the order is sorted by level.
+ */
+public class TopologicalSort {
+
+    /**
+     * Constructor which sorts graph.
+     *
+     * @param graph a CSRDiGraph.
+     * @throws IllegalArgumentException if graph has a cycle.
+     */
+    public TopologicalSort(CSRDiGraph<?, ?> graph) {
+        int n = graph.vertexCount();
+        int[] inDegree = inDegrees(graph);
+        this.order = new int[n];
+        this.level = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) if (inDegree[v] == 0) order[tail++] = v;
+        while (head < tail) {
+            int v = order[head++];
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int w = graph.target(e);
+                level[w] = Math.max(level[w], level[v] + 1);
+                if (--inDegree[w] == 0) order[tail++] = w;
+            }
+        }
+        if (tail < n)
+            throw new IllegalArgumentException("TopologicalSort: graph is not acyclic (" + (n - tail) + " vertices are on or after a cycle)");
+        int levels = n == 0 ? 0 : level[order[n - 1]] + 1;
+        this.starts = new int[levels + 1];
+        for (int v = 0; v < n; v++) starts[level[v] + 1]++;
+        for (int l = 0; l < levels; l++) starts[l + 1] += starts[l];
+    }
+
+    /**
+     * Get the in-degree of each vertex of graph.
+     *
+     * @param graph a CSRDiGraph.
+     * @return an array whose v-th element is the number of edges into vertex v.
+     */
+    public static int[] inDegrees(CSRDiGraph<?, ?> graph) {
+        int[] result = new int[graph.vertexCount()];
+        for (int e = 0; e < graph.edgeCount(); e++) result[graph.target(e)]++;
+        return result;
+    }
+
+    /**
+     * Get the levels of graph as lists of vertices.
+     *
+     * @param graph a CSRDiGraph.
+     * @param <V>   the vertex type.
+     * @return a list of levels, each of which is a list of vertices (in order of their ids).
+     * @throws IllegalArgumentException if graph has a cycle.
+     */
+    public static <V> List<List<V>> levels(CSRDiGraph<V, ?> graph) {
+        TopologicalSort sort = new TopologicalSort(graph);
+        List<List<V>> result = new ArrayList<>(sort.levels());
+        for (int l = 0; l < sort.levels(); l++) {
+            List<V> vs = new ArrayList<>(sort.size(l));
+            for (int v : sort.level(l)) vs.add(graph.vertex(v));
+            result.add(vs);
+        }
+        return result;
+    }
+
+    /**
+     * @return the vertex ids in topological order (sorted by level).
+     */
+    public int[] order() {
+        return order.clone();
+    }
+
+    /**
+     * @return the number of levels.
+     */
+    public int levels() {
+        return starts.length - 1;
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the level of vertex v.
+     */
+    public int levelOf(int v) {
+        return level[v];
+    }
+
+    /**
+     * @param l a level.
+     * @return the number of vertices at level l.
+     */
+    public int size(int l) {
+        return starts[l + 1] - starts[l];
+    }
+
+    /**
+     * @param l a level.
+     * @return the ids of the vertices at level l, in ascending order.
+     */
+    public int[] level(int l) {
+        int[] result = Arrays.copyOfRange(order, starts[l], starts[l + 1]);
+        Arrays.sort(result);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TopologicalSort{vertices=" + order.length + ", levels=" + levels() + "}";
+    }
+
+    private final int[] order; // the vertex ids in topological order (and by level)
+    private final int[] level; // level[v] is the level of vertex v
+    private final int[] starts; // the vertices at level l are order[starts[l]] until order[starts[l+1]]
+}
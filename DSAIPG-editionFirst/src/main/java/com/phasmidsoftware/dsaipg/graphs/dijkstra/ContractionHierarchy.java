@@ -0,0 +1,585 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedHeap;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The {@code ContractionHierarchy} class answers point-to-point shortest-path queries on a static
+ * {@link EdgeWeightedDigraph} (whose edge weights must be non-negative) after a once-only preprocessing step.
+ * <p>
+ * Preprocessing contracts the vertices one at a time, in order of increasing importance (their rank).
+ * When vertex v is contracted, it is removed from the remaining graph and, for each pair of arcs u-&gt;v and v-&gt;w,
+ * a <em>shortcut</em> u-&gt;w (whose weight is the sum of the two) is added unless a <em>witness</em> search
+ * (a bounded Dijkstra search from u which avoids v) finds a path from u to w which is no longer.
+ * Thus, the distances between the remaining vertices are preserved.
+ * The importance of a vertex is (twice) its <em>edge difference</em> (the number of shortcuts its contraction would add
+ * less the number of arcs it would remove) plus the number of its neighbors which have already been contracted
+ * plus its level (one more than the greatest level of those neighbors), the last two of which spread the contractions
+ * evenly over the graph; it is updated lazily (when the vertex reaches the top of the priority queue) and for the neighbors of each
+ * contracted vertex.
+ * <p>
+ * A query is a bidirectional Dijkstra search in which each direction only follows arcs <em>upwards</em>,
+ * i.e. towards vertices of higher rank: the two searches meet at the highest vertex of a shortest path.
+ * On road-like graphs, such a search settles only a few hundred vertices, even when the graph has millions.
+ * Shortcuts are unpacked (recursively, into the two arcs which they replace) to yield the path in the original graph.
+ * <p>
+ * The hierarchy consists only of primitive arrays and is {@link Serializable}, so that it can be built once,
+ * saved, and loaded quickly (see save and load).
+ * As with PathQueryEngine, each thread has its own query workspace, so that the hierarchy is thread-safe.
+ * <p>
+ * NOTE that self-loops are ignored and, of parallel edges, only the lightest is kept.
+ * CONSIDER stall-on-demand, which would prune the query searches further.
+ */
+public class ContractionHierarchy implements Serializable {
+
+    /**
+     * Constructor which preprocesses the given digraph.
+     *
+     * @param G an edge-weighted digraph.
+     * @throws IllegalArgumentException if any edge has negative weight.
+     */
+    public ContractionHierarchy(EdgeWeightedDigraph G) {
+        this.V = G.V();
+        Contractor contractor = new Contractor(G);
+        contractor.contractAll();
+        int m = contractor.arcs;
+        this.rank = contractor.rank;
+        this.arcFrom = Arrays.copyOf(contractor.from, m);
+        this.arcTo = Arrays.copyOf(contractor.to, m);
+        this.arcWeight = Arrays.copyOf(contractor.weight, m);
+        this.arcLeft = Arrays.copyOf(contractor.left, m);
+        this.arcRight = Arrays.copyOf(contractor.right, m);
+        this.shortcuts = contractor.shortcuts;
+        this.forward = new Direction(contractor.out, arcTo, arcWeight);
+        this.backward = new Direction(contractor.in, arcFrom, arcWeight);
+        this.workspaces = ThreadLocal.withInitial(Workspace::new);
+    }
+
+    /**
+     * Method to load a hierarchy which was saved by save.
+     *
+     * @param stream the input stream (which is not closed).
+     * @return the ContractionHierarchy read from stream.
+     * @throws IOException if the stream cannot be read or does not contain a ContractionHierarchy.
+     */
+    public static ContractionHierarchy load(InputStream stream) throws IOException {
+        ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(stream));
+        try {
+            return (ContractionHierarchy) input.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("ContractionHierarchy: stream does not contain a hierarchy", e);
+        }
+    }
+
+    /**
+     * Method to save this hierarchy so that it can be loaded (by load) without repeating the preprocessing.
+     *
+     * @param stream the output stream (which is flushed but not closed).
+     * @throws IOException if the stream cannot be written.
+     */
+    public void save(OutputStream stream) throws IOException {
+        ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(stream));
+        output.writeObject(this);
+        output.flush();
+    }
+
+    /**
+     * @param s the source vertex.
+     * @param t the target vertex.
+     * @return the length of the shortest path from s to t (infinity if there is none).
+     * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}.
+     */
+    public double distance(int s, int t) {
+        return workspace().search(s, t);
+    }
+
+    /**
+     * @param s the source vertex.
+     * @param t the target vertex.
+     * @return the edges of the shortest path from s to t, in order (empty if s is t), or null if there is no path.
+     * NOTE that the edges are new DirectedEdge objects (with the same ends and weights as the edges of the original digraph).
+     * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}.
+     */
+    public List<DirectedEdge> path(int s, int t) {
+        Workspace workspace = workspace();
+        if (workspace.search(s, t) == Double.POSITIVE_INFINITY) return null;
+        return workspace.path();
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the rank of v, i.e. its position (from 0) in the contraction order.
+     */
+    public int rank(int v) {
+        validateVertex(v);
+        return rank[v];
+    }
+
+    /**
+     * @return the number of shortcuts which were added by the preprocessing.
+     */
+    public int shortcuts() {
+        return shortcuts;
+    }
+
+    /**
+     * @return the number of vertices settled (by both searches) in the most recent query of the calling thread.
+     */
+    public int lastSettled() {
+        return workspace().settled;
+    }
+
+    @Override
+    public String toString() {
+        return "ContractionHierarchy{V=" + V + ", arcs=" + arcFrom.length + ", shortcuts=" + shortcuts + "}";
+    }
+
+    private Workspace workspace() {
+        return workspaces.get();
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private void readObject(ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        workspaces = ThreadLocal.withInitial(Workspace::new);
+    }
+
+    /**
+     * The upward arcs, in one direction, in compressed-sparse-row form:
+     * the slots of vertex v run from offsets[v] to offsets[v+1];
+     * for slot k, vertices[k] is the (higher-ranked) vertex at the far end, weights[k] is the weight and arcs[k] the id of the arc.
+     */
+    private static class Direction implements Serializable {
+        Direction(IntList[] lists, int[] ends, double[] arcWeights) {
+            int n = lists.length;
+            offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) offsets[v + 1] = offsets[v] + lists[v].size;
+            vertices = new int[offsets[n]];
+            weights = new double[offsets[n]];
+            arcs = new int[offsets[n]];
+            for (int v = 0; v < n; v++)
+                for (int i = 0, k = offsets[v]; i < lists[v].size; i++, k++) {
+                    int arc = lists[v].values[i];
+                    vertices[k] = ends[arc];
+                    weights[k] = arcWeights[arc];
+                    arcs[k] = arc;
+                }
+        }
+
+        final int[] offsets;
+        final int[] vertices;
+        final double[] weights;
+        final int[] arcs;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * The state of one search (forward or backward) of a thread's workspace.
+     */
+    private class Search {
+        Search(Direction direction) {
+            this.direction = direction;
+            dist = new double[V];
+            parent = new int[V];
+            stamp = new int[V];
+            pq = IndexedHeap.minPQ(V);
+        }
+
+        boolean reached(int v, int epoch) {
+            return stamp[v] == epoch;
+        }
+
+        double dist(int v, int epoch) {
+            return stamp[v] == epoch ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        void reach(int v, double d, int arc, int epoch) {
+            boolean reached = stamp[v] == epoch && pq.contains(v);
+            stamp[v] = epoch;
+            dist[v] = d;
+            parent[v] = arc;
+            if (reached) pq.decreaseKey(v, d);
+            else pq.insert(v, d);
+        }
+
+        /**
+         * @return true if this search may yet improve on a path of length best.
+         */
+        boolean active(double best) {
+            return !pq.isEmpty() && pq.keyOf(pq.peekIndex()) < best;
+        }
+
+        final Direction direction;
+        final double[] dist;
+        final int[] parent; // the id of the last arc of the path to each vertex (or -1)
+        final int[] stamp; // the epoch in which dist and parent were last written
+        final IndexedHeap<Double> pq;
+    }
+
+    /**
+     * The per-thread state of a query.
+     */
+    private class Workspace {
+        double search(int s, int t) {
+            validateVertex(s);
+            validateVertex(t);
+            if (++epoch == 0) { // the stamps have wrapped around: they must really be reset.
+                Arrays.fill(fwd.stamp, 0);
+                Arrays.fill(bwd.stamp, 0);
+                epoch = 1;
+            }
+            fwd.pq.clear();
+            bwd.pq.clear();
+            settled = 0;
+            meet = s;
+            fwd.reach(s, 0.0, -1, epoch);
+            bwd.reach(t, 0.0, -1, epoch);
+            double best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+            // NOTE that each search stops independently: the two do not meet in the middle but at the top.
+            while (true) {
+                boolean f = fwd.active(best);
+                boolean b = bwd.active(best);
+                if (!f && !b) break;
+                Search search = f && (!b || fwd.pq.size() <= bwd.pq.size()) ? fwd : bwd;
+                Search other = search == fwd ? bwd : fwd;
+                Direction direction = search.direction;
+                int v = search.pq.takeIndex();
+                settled++;
+                double dv = search.dist[v];
+                if (other.reached(v, epoch) && dv + other.dist[v] < best) {
+                    best = dv + other.dist[v];
+                    meet = v;
+                }
+                for (int k = direction.offsets[v], end = direction.offsets[v + 1]; k < end; k++) {
+                    int w = direction.vertices[k];
+                    double d = dv + direction.weights[k];
+                    if (d < search.dist(w, epoch)) search.reach(w, d, direction.arcs[k], epoch);
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @return the (unpacked) path found by the last (successful) search, from its source, via meet, to its target.
+         */
+        List<DirectedEdge> path() {
+            List<Integer> up = new ArrayList<>();
+            for (int a = fwd.parent[meet]; a >= 0; a = fwd.parent[arcFrom[a]]) up.add(a);
+            Collections.reverse(up);
+            for (int a = bwd.parent[meet]; a >= 0; a = bwd.parent[arcTo[a]]) up.add(a);
+            List<DirectedEdge> result = new ArrayList<>();
+            int[] stack = new int[16];
+            for (int arc : up) {
+                int top = 0;
+                stack[top++] = arc;
+                while (top > 0) {
+                    int a = stack[--top];
+                    if (arcLeft[a] < 0) result.add(new DirectedEdge(arcFrom[a], arcTo[a], arcWeight[a]));
+                    else {
+                        if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                        stack[top++] = arcRight[a];
+                        stack[top++] = arcLeft[a];
+                    }
+                }
+            }
+            return result;
+        }
+
+        private final Search fwd = new Search(forward);
+        private final Search bwd = new Search(backward);
+        private int epoch;
+        private int meet;
+        private int settled;
+    }
+
+    /**
+     * A growable list of ints (arc ids) with constant-time (unordered) removal.
+     */
+    private static class IntList {
+        void add(int x) {
+            if (size == values.length) values = Arrays.copyOf(values, Math.max(4, size * 2));
+            values[size++] = x;
+        }
+
+        void remove(int x) {
+            for (int i = 0; i < size; i++)
+                if (values[i] == x) {
+                    values[i] = values[--size];
+                    return;
+                }
+        }
+
+        int[] values = new int[0];
+        int size;
+    }
+
+    /**
+     * The mutable state of the preprocessing.
+     * The arcs (original edges and shortcuts) are kept in parallel arrays, indexed by arc id.
+     * The lists out[v] and in[v] hold the arcs of v in the remaining graph until v is contracted:
+     * thereafter, they are left alone (they then hold the upward arcs of v) and v's arcs are removed from its neighbors' lists.
+     */
+    private static class Contractor {
+        Contractor(EdgeWeightedDigraph G) {
+            n = G.V();
+            out = new IntList[n];
+            in = new IntList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new IntList();
+                in[v] = new IntList();
+            }
+            rank = new int[n];
+            deleted = new int[n];
+            neighborOf = new int[n];
+            level = new int[n];
+            dist = new double[n];
+            stamp = new int[n];
+            targetStamp = new int[n];
+            pq = IndexedHeap.minPQ(n);
+            for (int v = 0; v < n; v++)
+                for (DirectedEdge e : G.adj(v)) {
+                    if (e.weight() < 0) throw new IllegalArgumentException("edge " + e + " has negative weight");
+                    if (e.from() != e.to()) addArc(e.from(), e.to(), e.weight(), -1, -1);
+                }
+        }
+
+        void contractAll() {
+            IndexedHeap<Integer> order = IndexedHeap.minPQ(n);
+            for (int v = 0; v < n; v++) order.insert(v, priority(v));
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.peekIndex();
+                int priority = priority(v);
+                // NOTE lazy update: if v has become more important than the queue supposed, it is put back.
+                if (priority > order.keyOf(v)) {
+                    order.increaseKey(v, priority);
+                    continue;
+                }
+                order.takeIndex();
+                contract(v, false);
+                rank[v] = next++;
+                // NOTE a neighbor may be at the end of several arcs of v (in both directions) but is counted only once.
+                int[] neighbors = new int[out[v].size + in[v].size];
+                int k = 0;
+                for (int i = 0; i < out[v].size; i++) {
+                    int a = out[v].values[i];
+                    in[to[a]].remove(a);
+                    k = addNeighbor(to[a], v, neighbors, k);
+                }
+                for (int i = 0; i < in[v].size; i++) {
+                    int a = in[v].values[i];
+                    out[from[a]].remove(a);
+                    k = addNeighbor(from[a], v, neighbors, k);
+                }
+                for (int i = 0; i < k; i++) {
+                    int w = neighbors[i];
+                    deleted[w]++;
+                    level[w] = Math.max(level[w], level[v] + 1);
+                }
+                for (int i = 0; i < k; i++) order.changeKey(neighbors[i], priority(neighbors[i]));
+            }
+        }
+
+        /**
+         * Add w to the first k neighbors of v unless it is already there.
+         *
+         * @return the new number of neighbors.
+         */
+        private int addNeighbor(int w, int v, int[] neighbors, int k) {
+            if (neighborOf[w] == v + 1) return k;
+            neighborOf[w] = v + 1;
+            neighbors[k] = w;
+            return k + 1;
+        }
+
+        /**
+         * @return the importance of (uncontracted) vertex v: twice its edge difference plus its number of contracted neighbors plus its level.
+         */
+        int priority(int v) {
+            return 2 * (contract(v, true) - out[v].size - in[v].size) + deleted[v] + level[v];
+        }
+
+        /**
+         * Contract vertex v (or simulate its contraction).
+         *
+         * @param v        an uncontracted vertex.
+         * @param simulate if true, no shortcuts are actually added.
+         * @return the number of shortcuts which are (or would be) added.
+         */
+        int contract(int v, boolean simulate) {
+            IntList ins = in[v];
+            IntList outs = out[v];
+            if (ins.size == 0 || outs.size == 0) return 0;
+            double maxOut = 0;
+            int targets = 0;
+            if (++targetEpoch == 0) {
+                Arrays.fill(targetStamp, 0);
+                targetEpoch = 1;
+            }
+            for (int j = 0; j < outs.size; j++) {
+                int b = outs.values[j];
+                maxOut = Math.max(maxOut, weight[b]);
+                if (targetStamp[to[b]] != targetEpoch) {
+                    targetStamp[to[b]] = targetEpoch;
+                    targets++;
+                }
+            }
+            int result = 0;
+            // NOTE that the lists of v are not changed by addArc (v is neither end of a shortcut), so we can iterate over them.
+            for (int i = 0; i < ins.size; i++) {
+                int a = ins.values[i];
+                int u = from[a];
+                witness(u, v, weight[a] + maxOut, targets, simulate ? SIMULATION_SETTLE_LIMIT : WITNESS_SETTLE_LIMIT);
+                for (int j = 0; j < outs.size; j++) {
+                    int b = outs.values[j];
+                    int w = to[b];
+                    double d = weight[a] + weight[b];
+                    if (w != u && witnessDist(w) > d) {
+                        result++;
+                        if (!simulate) addArc(u, w, d, a, b);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Run a Dijkstra search from u, in the remaining graph without v, until the smallest key exceeds limit,
+         * or all the given number of targets (the ends of the arcs out of v) have been settled,
+         * or settleLimit vertices have been settled.
+         */
+        void witness(int u, int v, double limit, int targets, int settleLimit) {
+            if (++epoch == 0) {
+                Arrays.fill(stamp, 0);
+                epoch = 1;
+            }
+            pq.clear();
+            stamp[u] = epoch;
+            dist[u] = 0.0;
+            pq.insert(u, 0.0);
+            for (int settled = 0; !pq.isEmpty() && settled < settleLimit; settled++) {
+                int x = pq.takeIndex();
+                double dx = dist[x];
+                if (dx > limit) break;
+                if (targetStamp[x] == targetEpoch && --targets == 0) break;
+                for (int i = 0; i < out[x].size; i++) {
+                    int a = out[x].values[i];
+                    int y = to[a];
+                    if (y == v) continue;
+                    double d = dx + weight[a];
+                    if (d < witnessDist(y)) {
+                        boolean queued = stamp[y] == epoch && pq.contains(y);
+                        stamp[y] = epoch;
+                        dist[y] = d;
+                        if (queued) pq.decreaseKey(y, d);
+                        else pq.insert(y, d);
+                    }
+                }
+            }
+        }
+
+        double witnessDist(int w) {
+            return stamp[w] == epoch ? dist[w] : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Add an arc from u to w unless there is already one which is no heavier (in which case, nothing happens).
+         * A heavier arc from u to w is removed from the remaining graph (but kept, since it may be part of a shortcut).
+         */
+        void addArc(int u, int w, double d, int l, int r) {
+            IntList outs = out[u];
+            for (int i = 0; i < outs.size; i++) {
+                int a = outs.values[i];
+                if (to[a] == w) {
+                    if (weight[a] <= d) return;
+                    outs.remove(a);
+                    in[w].remove(a);
+                    break;
+                }
+            }
+            if (arcs == from.length) {
+                int capacity = Math.max(16, arcs * 2);
+                from = Arrays.copyOf(from, capacity);
+                to = Arrays.copyOf(to, capacity);
+                weight = Arrays.copyOf(weight, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+            }
+            from[arcs] = u;
+            to[arcs] = w;
+            weight[arcs] = d;
+            left[arcs] = l;
+            right[arcs] = r;
+            if (l >= 0) shortcuts++;
+            outs.add(arcs);
+            in[w].add(arcs++);
+        }
+
+        private final int n;
+        private final IntList[] out;
+        private final IntList[] in;
+        private final int[] rank;
+        private final int[] deleted; // deleted[v] is the number of contracted neighbors of v
+        private final int[] neighborOf; // neighborOf[w] is v+1 if w has been found to be a neighbor of v (the vertex being contracted)
+        private final int[] level; // level[v] is one more than the greatest level of a contracted neighbor of v (or 0)
+        private final double[] dist; // the witness-search distances
+        private final int[] stamp; // the epoch in which each witness-search distance was written
+        private final IndexedHeap<Double> pq; // the witness-search priority queue
+        private int epoch;
+        private final int[] targetStamp; // targetStamp[w] is targetEpoch if w is at the end of an arc out of the vertex being contracted
+        private int targetEpoch;
+        private int[] from = new int[0];
+        private int[] to = new int[0];
+        private double[] weight = new double[0];
+        private int[] left = new int[0]; // left[a] is the first of the two arcs replaced by shortcut a (or -1)
+        private int[] right = new int[0]; // right[a] is the second of the two arcs replaced by shortcut a (or -1)
+        private int arcs;
+        private int shortcuts;
+    }
+
+    /**
+     * The maximum number of vertices settled by a witness search.
+     * If a witness search gives up, an unnecessary shortcut may be added: this does not affect correctness.
+     */
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    /**
+     * The maximum number of vertices settled by a witness search when the contraction is only simulated (to find a priority).
+     */
+    private static final int SIMULATION_SETTLE_LIMIT = 50;
+
+    private static final long serialVersionUID = 1L;
+
+    private final int V;
+    private final int[] rank; // rank[v] is the position of v in the contraction order
+    private final int[] arcFrom; // arcFrom[a] is the from vertex of arc a (an original edge or a shortcut)
+    private final int[] arcTo; // arcTo[a] is the to vertex of arc a
+    private final double[] arcWeight; // arcWeight[a] is the weight of arc a
+    private final int[] arcLeft; // arcLeft[a] is the first of the two arcs replaced by shortcut a (or -1 for an original edge)
+    private final int[] arcRight; // arcRight[a] is the second of the two arcs replaced by shortcut a (or -1)
+    private final int shortcuts;
+    private final Direction forward; // the upward arcs out of each vertex
+    private final Direction backward; // the upward arcs into each vertex (followed in reverse)
+    private transient ThreadLocal<Workspace> workspaces;
+}
@@ -7,8 +7,8 @@
  * single-source shortest paths problem in edge-weighted digraphs
  * where the edge weights are non-negative.
  * <p>
- * This implementation uses <em>Dijkstra's algorithm</em> with a
- * <em>binary heap</em>. The constructor takes
+ * This implementation uses <em>Dijkstra's algorithm</em> with an
+ * <em>indexed 4-ary heap</em> (IndexedHeap). The constructor takes
  * &Theta;(<em>E</em> log <em>V</em>) time in the worst case,
  * where <em>V</em> is the number of vertices and <em>E</em> is
  * the number of edges. Each instance method takes &Theta;(1) time.
@@ -33,6 +33,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dijkstra;
 
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedHeap;
+
 import java.util.Stack;
 import java.util.function.BiConsumer;
 
@@ -84,7 +86,7 @@ public class Dijkstra {
             validateVertex(s);
             pq.insert(s, distTo[s]);
             while (!pq.isEmpty()) {
-                int v = pq.delMin();
+                int v = pq.takeIndex();
                 for (DirectedEdge e : G.adj(v))
                     relax(e);
             }
@@ -92,7 +94,7 @@ public class Dijkstra {
         }
 
         ShortestPaths() {
-            pq = new IndexMinPQ<>(n);
+            pq = IndexedHeap.minPQ(n);
             distTo = new double[n];
             edgeTo = new DirectedEdge[n];
             keyDecreaser = pq::decreaseKey;
@@ -162,7 +164,7 @@ public class Dijkstra {
         private final BiConsumer<Integer, Double> keyInserter;
         private final double[] distTo;          // distTo[v] = distance  of shortest s->v path
         private final DirectedEdge[] edgeTo;    // edgeTo[v] = last edge on shortest s->v path
-        private final IndexMinPQ<Double> pq;    // priority queue of vertices
+        private final IndexedHeap<Double> pq;    // priority queue of vertices
     }
 
     private final EdgeWeightedDigraph G;    // G is the original graph passed in to the constructor.
@@ -0,0 +1,269 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code PathQueryEngine} class answers many point-to-point shortest-path queries on one
+ * {@link EdgeWeightedDigraph} (whose edge weights must be non-negative).
+ * <p>
+ * Each query is answered by <em>bidirectional</em> Dijkstra: a forward search from the source and a backward search
+ * (over the reversed edges) from the target, each advancing the smaller frontier, until the sum of the two
+ * smallest keys is no less than the best path found so far.
+ * Typically, this settles far fewer vertices than the single-source search of {@link Dijkstra}.
+ * <p>
+ * At construction, the digraph is copied (forwards and backwards) into compressed-sparse-row arrays.
+ * Each thread has its own (lazily-created) workspace, which is reused by all of its queries:
+ * instead of being reset, each entry of the distance and parent arrays is stamped with the epoch (query number)
+ * in which it was last written, and entries with an earlier stamp are treated as unreached.
+ * Thus, a query costs time in proportion to the part of the graph that it touches, not to <em>V</em>.
+ * Because the workspaces are per-thread, the engine is thread-safe, and batches of queries can be answered in parallel
+ * (in the common ForkJoinPool or in a long-lived pool of the caller's choosing).
+ */
+public class PathQueryEngine {
+
+    /**
+     * Constructor.
+     *
+     * @param G an edge-weighted digraph.
+     * @throws IllegalArgumentException if any edge has negative weight.
+     */
+    public PathQueryEngine(EdgeWeightedDigraph G) {
+        this.V = G.V();
+        int[] outdegree = new int[V];
+        int[] indegree = new int[V];
+        List<DirectedEdge> edgeList = new ArrayList<>(G.E());
+        for (int v = 0; v < V; v++)
+            for (DirectedEdge e : G.adj(v)) {
+                if (e.weight() < 0) throw new IllegalArgumentException("edge " + e + " has negative weight");
+                edgeList.add(e);
+                outdegree[v]++;
+                indegree[e.to()]++;
+            }
+        this.edges = edgeList.toArray(new DirectedEdge[0]);
+        // NOTE that the edges are grouped by from vertex, so that the forward slot of each edge is its id.
+        int[] ids = new int[edges.length];
+        for (int i = 0; i < ids.length; i++) ids[i] = i;
+        this.forward = new Direction(V, outdegree, ids, true);
+        this.backward = new Direction(V, indegree, ids, false);
+    }
+
+    /**
+     * @param s the source vertex.
+     * @param t the target vertex.
+     * @return the length of the shortest path from s to t (infinity if there is none).
+     * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}.
+     */
+    public double distance(int s, int t) {
+        return workspace().search(s, t);
+    }
+
+    /**
+     * @param s the source vertex.
+     * @param t the target vertex.
+     * @return the edges of the shortest path from s to t, in order (empty if s is t), or null if there is no path.
+     * @throws IllegalArgumentException unless {@code 0 <= s < V} and {@code 0 <= t < V}.
+     */
+    public List<DirectedEdge> path(int s, int t) {
+        Workspace workspace = workspace();
+        if (workspace.search(s, t) == Double.POSITIVE_INFINITY) return null;
+        return workspace.path();
+    }
+
+    /**
+     * Answer a batch of queries in parallel, in the common ForkJoinPool.
+     *
+     * @param sources the source vertices.
+     * @param targets the target vertices (the same number as sources).
+     * @return an array whose ith element is the length of the shortest path from sources[i] to targets[i].
+     */
+    public double[] distances(int[] sources, int[] targets) {
+        if (sources.length != targets.length)
+            throw new IllegalArgumentException("sources and targets differ in length: " + sources.length + ", " + targets.length);
+        double[] result = new double[sources.length];
+        IntStream.range(0, sources.length).parallel().forEach(i -> result[i] = distance(sources[i], targets[i]));
+        return result;
+    }
+
+    /**
+     * Answer a batch of queries in parallel, in the given ForkJoinPool.
+     * NOTE that each thread's workspace lives as long as the thread, so pool should be long-lived
+     * (shared by many batches) rather than created for each batch.
+     *
+     * @param sources the source vertices.
+     * @param targets the target vertices (the same number as sources).
+     * @param pool    the ForkJoinPool in which the queries are to be answered.
+     * @return an array whose ith element is the length of the shortest path from sources[i] to targets[i].
+     */
+    public double[] distances(int[] sources, int[] targets, ForkJoinPool pool) {
+        return pool.submit(() -> distances(sources, targets)).join();
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * @return the number of vertices settled (by both searches) in the most recent query of the calling thread.
+     */
+    public int lastSettled() {
+        return workspace().settled;
+    }
+
+    private Workspace workspace() {
+        return workspaces.get();
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    /**
+     * The edges of the digraph, in one direction, in compressed-sparse-row form:
+     * the slots of vertex v run from offsets[v] to offsets[v+1];
+     * for slot k, vertices[k] is the vertex at the far end, weights[k] is the weight and edgeIds[k] the id of the edge.
+     */
+    private class Direction {
+        Direction(int V, int[] degree, int[] ids, boolean isForward) {
+            offsets = new int[V + 1];
+            for (int v = 0; v < V; v++) offsets[v + 1] = offsets[v] + degree[v];
+            int m = edges.length;
+            vertices = new int[m];
+            weights = new double[m];
+            edgeIds = isForward ? ids : new int[m];
+            int[] next = Arrays.copyOf(offsets, V);
+            for (int id : ids) {
+                DirectedEdge e = edges[id];
+                int k = next[isForward ? e.from() : e.to()]++;
+                vertices[k] = isForward ? e.to() : e.from();
+                weights[k] = e.weight();
+                edgeIds[k] = id;
+            }
+        }
+
+        final int[] offsets;
+        final int[] vertices;
+        final double[] weights;
+        final int[] edgeIds;
+    }
+
+    /**
+     * The state of one search (forward or backward) of a thread's workspace.
+     */
+    private class Search {
+        Search(Direction direction) {
+            this.direction = direction;
+            dist = new double[V];
+            parent = new int[V];
+            stamp = new int[V];
+            pq = IndexedHeap.minPQ(V);
+        }
+
+        boolean reached(int v, int epoch) {
+            return stamp[v] == epoch;
+        }
+
+        double dist(int v, int epoch) {
+            return stamp[v] == epoch ? dist[v] : Double.POSITIVE_INFINITY;
+        }
+
+        void reach(int v, double d, int edge, int epoch) {
+            boolean reached = stamp[v] == epoch && pq.contains(v);
+            stamp[v] = epoch;
+            dist[v] = d;
+            parent[v] = edge;
+            if (reached) pq.decreaseKey(v, d);
+            else pq.insert(v, d);
+        }
+
+        double minKey() {
+            return pq.keyOf(pq.peekIndex());
+        }
+
+        final Direction direction;
+        final double[] dist;
+        final int[] parent; // the id of the last edge of the path to each vertex (or -1)
+        final int[] stamp; // the epoch in which dist and parent were last written
+        final IndexedHeap<Double> pq;
+    }
+
+    /**
+     * The per-thread state of a query.
+     */
+    private class Workspace {
+        double search(int s, int t) {
+            validateVertex(s);
+            validateVertex(t);
+            if (++epoch == 0) { // the stamps have wrapped around: they must really be reset.
+                Arrays.fill(fwd.stamp, 0);
+                Arrays.fill(bwd.stamp, 0);
+                epoch = 1;
+            }
+            fwd.pq.clear();
+            bwd.pq.clear();
+            settled = 0;
+            meet = s;
+            fwd.reach(s, 0.0, -1, epoch);
+            bwd.reach(t, 0.0, -1, epoch);
+            double best = s == t ? 0.0 : Double.POSITIVE_INFINITY;
+            while (!fwd.pq.isEmpty() && !bwd.pq.isEmpty() && fwd.minKey() + bwd.minKey() < best) {
+                Search search = fwd.pq.size() <= bwd.pq.size() ? fwd : bwd;
+                Search other = search == fwd ? bwd : fwd;
+                Direction direction = search.direction;
+                int v = search.pq.takeIndex();
+                settled++;
+                double dv = search.dist[v];
+                for (int k = direction.offsets[v], end = direction.offsets[v + 1]; k < end; k++) {
+                    int w = direction.vertices[k];
+                    double d = dv + direction.weights[k];
+                    if (d < search.dist(w, epoch)) search.reach(w, d, direction.edgeIds[k], epoch);
+                    if (other.reached(w, epoch)) {
+                        double total = search.dist[w] + other.dist[w];
+                        if (total < best) {
+                            best = total;
+                            meet = w;
+                        }
+                    }
+                }
+            }
+            return best;
+        }
+
+        /**
+         * @return the path found by the last (successful) search, from its source, via meet, to its target.
+         */
+        List<DirectedEdge> path() {
+            List<DirectedEdge> result = new ArrayList<>();
+            for (int e = fwd.parent[meet]; e >= 0; e = fwd.parent[edges[e].from()]) result.add(edges[e]);
+            Collections.reverse(result);
+            for (int e = bwd.parent[meet]; e >= 0; e = bwd.parent[edges[e].to()]) result.add(edges[e]);
+            return result;
+        }
+
+        private final Search fwd = new Search(forward);
+        private final Search bwd = new Search(backward);
+        private int epoch;
+        private int meet;
+        private int settled;
+    }
+
+    private final int V;
+    private final DirectedEdge[] edges; // edges[i] is the edge whose id is i
+    private final Direction forward;
+    private final Direction backward;
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+}
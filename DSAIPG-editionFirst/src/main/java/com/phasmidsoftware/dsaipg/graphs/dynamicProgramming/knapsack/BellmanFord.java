@@ -4,54 +4,46 @@
 
 package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
 
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 public class BellmanFord {
     /**
      * Method to return the Maximum profit after selecting particular items using Bellman Ford Algorithm.
+     * <p>
+     * The vertices are given int ids and the edges are copied into arrays, which are then solved by a BellmanFordEngine.
      *
      * @param graph  the weights for each item.
      * @param source source Vertex.
      * @param target target Vertex.
-     * @return Maximum profit after selecting items from the list of items available.
+     * @return Maximum profit after selecting items from the list of items available
+     * (infinity if target cannot be reached from source).
+     * @throws IllegalArgumentException if a negative cycle is reachable from source.
      */
     public static double bellmanFordAlgorithm(Graph graph, Vertex source, Vertex target) {
-
-        int V = graph.V(), E = graph.E();
-
-        HashMap<Vertex, Double> shortestDistance = new HashMap<>();
-
-        shortestDistance.put(source, 0.0);
-
+        Map<Vertex, Integer> ids = new HashMap<>();
+        id(ids, source);
+        id(ids, target);
         HashMap<Vertex, LinkedList<Edge>> hm = graph.getAdjacent();
-        List<Edge> allEdges = new LinkedList<>();
-
-        for (Vertex vertex : hm.keySet()) {
-            Iterator<Edge> it = graph.edges(vertex);
-            while (it.hasNext()) {
-                Edge edge = it.next();
-                if (!allEdges.contains(edge))
-                    allEdges.add(edge);
+        int E = 0;
+        for (LinkedList<Edge> edges : hm.values()) E += edges.size();
+        int[] from = new int[E];
+        int[] to = new int[E];
+        double[] weight = new double[E];
+        int e = 0;
+        for (Vertex vertex : hm.keySet())
+            for (Edge edge : hm.get(vertex)) {
+                from[e] = id(ids, edge.source());
+                to[e] = id(ids, edge.destination());
+                weight[e++] = edge.getEdgeWeight();
             }
-        }
-
-        for (int i = 1; i < V; ++i) {
-            for (int j = 0; j < E; ++j) {
-                Vertex v1 = allEdges.get(j).source();//u
-                Vertex v2 = allEdges.get(j).destination();//v
-                double weight = allEdges.get(j).getEdgeWeight();
-
-                if (shortestDistance.getOrDefault(v1, Double.MAX_VALUE) != Double.MAX_VALUE && (shortestDistance.get(v1) + weight) < shortestDistance.getOrDefault(v2, Double.MAX_VALUE)) {
-                    shortestDistance.put(v2, shortestDistance.get(v1) + weight);
-                }
-            }
-        }
-
-        // Negating the shortest Distance
-        return (shortestDistance.get(target));
+        BellmanFordEngine engine = new BellmanFordEngine(ids.size(), from, to, weight);
+        BellmanFordEngine.Result result = engine.run(ids.get(source));
+        if (result.hasNegativeCycle())
+            throw new IllegalArgumentException("BellmanFord: negative cycle is reachable from " + source);
+        return result.distTo(ids.get(target));
+    }
 
+    private static int id(Map<Vertex, Integer> ids, Vertex v) {
+        return ids.computeIfAbsent(v, x -> ids.size());
     }
-}
\ No newline at end of file
+}
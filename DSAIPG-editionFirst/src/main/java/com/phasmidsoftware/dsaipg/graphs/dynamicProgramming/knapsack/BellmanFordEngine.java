@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Single-source shortest paths (by the Bellman-Ford algorithm) on a digraph whose edge weights may be negative.
+ * <p>
+ * The vertices are 0 thru V-1 and the edges are 0 thru E-1: edge e goes from from(e) to to(e) and has weight weight(e).
+ * At construction, the edges are grouped (in compressed-sparse-row form) both by their from vertex and by their to vertex.
+ * <p>
+ * There are two modes:
+ * <ul>
+ *     <li>run: the queue-based variant (sometimes called SPFA), in which only the edges out of a vertex whose distance
+ *     has changed are relaxed, and which stops as soon as the queue is empty;</li>
+ *     <li>runParallel: rounds in which every vertex (in parallel) takes the best of the relaxations of its incoming edges
+ *     whose from vertex changed in the previous round, and which stop as soon as a round changes nothing.
+ *     Each vertex is written only by the thread which owns it, and each round reads the distances of the previous round,
+ *     so that there are no races (and the result after round r is exactly that of r rounds of Bellman-Ford).</li>
+ * </ul>
+ * If a negative cycle is reachable from the source, the relaxations never settle down.
+ * Whenever some path has had V or more edges, the parent graph (the last edge of the path to each vertex) is checked for
+ * a cycle: any such cycle is negative; and there must eventually be one because, while the parent graph is a tree,
+ * the distances are bounded below.
+ * The cycle is then reported by the Result and the distances are undefined.
+ */
+public class BellmanFordEngine {
+
+    /**
+     * Constructor.
+     *
+     * @param V      the number of vertices.
+     * @param from   from[e] is the from vertex of edge e.
+     * @param to     to[e] is the to vertex of edge e.
+     * @param weight weight[e] is the weight of edge e.
+     * @throws IllegalArgumentException if the arrays differ in length or a vertex is not between 0 and V-1.
+     */
+    public BellmanFordEngine(int V, int[] from, int[] to, double[] weight) {
+        if (from.length != to.length || from.length != weight.length)
+            throw new IllegalArgumentException("BellmanFordEngine: edge arrays differ in length");
+        this.V = V;
+        this.from = from.clone();
+        this.to = to.clone();
+        this.weight = weight.clone();
+        for (int e = 0; e < from.length; e++) {
+            validateVertex(from[e]);
+            validateVertex(to[e]);
+        }
+        this.outOffsets = new int[V + 1];
+        this.outEdges = group(this.from, outOffsets);
+        this.inOffsets = new int[V + 1];
+        this.inEdges = group(this.to, inOffsets);
+    }
+
+    /**
+     * Factory method to create a BellmanFordEngine from an EdgeWeightedDigraph.
+     *
+     * @param G an edge-weighted digraph.
+     * @return a new BellmanFordEngine whose edges are those of G (in order of their from vertex).
+     */
+    public static BellmanFordEngine from(EdgeWeightedDigraph G) {
+        int E = G.E();
+        int[] from = new int[E];
+        int[] to = new int[E];
+        double[] weight = new double[E];
+        int e = 0;
+        for (int v = 0; v < G.V(); v++)
+            for (DirectedEdge edge : G.adj(v)) {
+                from[e] = edge.from();
+                to[e] = edge.to();
+                weight[e++] = edge.weight();
+            }
+        return new BellmanFordEngine(G.V(), from, to, weight);
+    }
+
+    /**
+     * Find the shortest paths from source by queue-based relaxation.
+     *
+     * @param source the source vertex.
+     * @return the Result.
+     */
+    public Result run(int source) {
+        validateVertex(source);
+        Result result = new Result(source);
+        double[] dist = result.dist;
+        int[] parent = result.parent;
+        int[] length = new int[V]; // length[v] is the number of edges of the path which gave dist[v]
+        boolean[] queued = new boolean[V];
+        int[] queue = new int[V]; // a ring buffer, which holds each vertex at most once
+        int head = 0, size = 0;
+        int checkAt = V;
+        queue[0] = source;
+        queued[source] = true;
+        size++;
+        while (size > 0) {
+            int u = queue[head];
+            head = head + 1 == V ? 0 : head + 1;
+            size--;
+            queued[u] = false;
+            double du = dist[u];
+            for (int k = outOffsets[u], end = outOffsets[u + 1]; k < end; k++) {
+                int e = outEdges[k];
+                int w = to[e];
+                double d = du + weight[e];
+                result.relaxations++;
+                if (d < dist[w]) {
+                    dist[w] = d;
+                    parent[w] = e;
+                    length[w] = length[u] + 1;
+                    if (length[w] >= checkAt) {
+                        int[] cycle = negativeCycle(parent);
+                        if (cycle != null) return result.withCycle(cycle);
+                        checkAt += V;
+                    }
+                    if (!queued[w]) {
+                        queued[w] = true;
+                        int tail = head + size;
+                        queue[tail >= V ? tail - V : tail] = w;
+                        size++;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Find the shortest paths from source by rounds of parallel relaxation.
+     *
+     * @param source      the source vertex.
+     * @param parallelism the number of threads.
+     * @return the Result.
+     */
+    public Result runParallel(int source, int parallelism) {
+        validateVertex(source);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> rounds(source, Math.max(1, Math.min(V, parallelism * 8)))).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int E() {
+        return from.length;
+    }
+
+    /**
+     * @param e an edge.
+     * @return the from vertex of edge e.
+     */
+    public int from(int e) {
+        return from[e];
+    }
+
+    /**
+     * @param e an edge.
+     * @return the to vertex of edge e.
+     */
+    public int to(int e) {
+        return to[e];
+    }
+
+    /**
+     * @param e an edge.
+     * @return the weight of edge e.
+     */
+    public double weight(int e) {
+        return weight[e];
+    }
+
+    /**
+     * The result of a run: the shortest-path tree from source or a negative cycle.
+     */
+    public class Result {
+
+        /**
+         * @return true if a negative cycle is reachable from the source.
+         */
+        public boolean hasNegativeCycle() {
+            return cycle != null;
+        }
+
+        /**
+         * @return the edges of a negative cycle, in order (or null if there is none).
+         */
+        public int[] negativeCycle() {
+            return cycle == null ? null : cycle.clone();
+        }
+
+        /**
+         * @param v a vertex.
+         * @return the length of the shortest path from the source to v (infinity if there is none).
+         * @throws IllegalStateException if there is a negative cycle.
+         */
+        public double distTo(int v) {
+            validateVertex(v);
+            checkNoCycle();
+            return dist[v];
+        }
+
+        /**
+         * @param v a vertex.
+         * @return true if there is a path from the source to v.
+         * @throws IllegalStateException if there is a negative cycle.
+         */
+        public boolean hasPathTo(int v) {
+            return distTo(v) < Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * @param v a vertex.
+         * @return the edges of the shortest path from the source to v, in order (or null if there is no path).
+         * @throws IllegalStateException if there is a negative cycle.
+         */
+        public int[] pathTo(int v) {
+            if (!hasPathTo(v)) return null;
+            int n = 0;
+            for (int e = parent[v]; e >= 0; e = parent[from[e]]) n++;
+            int[] result = new int[n];
+            for (int e = parent[v]; e >= 0; e = parent[from[e]]) result[--n] = e;
+            return result;
+        }
+
+        /**
+         * @return the number of edges relaxed.
+         */
+        public long relaxations() {
+            return relaxations;
+        }
+
+        /**
+         * @return the number of rounds (for runParallel) or 0 (for run).
+         */
+        public int rounds() {
+            return rounds;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{source=" + source + ", relaxations=" + relaxations + ", rounds=" + rounds + (cycle != null ? ", negative cycle of " + cycle.length + " edges" : "") + '}';
+        }
+
+        Result(int source) {
+            this.source = source;
+            dist = new double[V];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            dist[source] = 0.0;
+            parent = new int[V];
+            Arrays.fill(parent, -1);
+        }
+
+        private Result withCycle(int[] cycle) {
+            this.cycle = cycle;
+            return this;
+        }
+
+        private void checkNoCycle() {
+            if (cycle != null) throw new IllegalStateException("BellmanFordEngine: negative cycle is reachable from " + source);
+        }
+
+        private final int source;
+        private final double[] dist; // dist[v] is the length of the shortest known path to v
+        private final int[] parent; // parent[v] is the last edge of the shortest known path to v (or -1)
+        private int[] cycle;
+        private long relaxations;
+        private int rounds;
+    }
+
+    /**
+     * The rounds of runParallel (which must be invoked from within the pool).
+     */
+    private Result rounds(int source, int chunks) {
+        Result result = new Result(source);
+        double[] next = new double[V];
+        boolean[] changed = new boolean[V];
+        boolean[] nextChanged = new boolean[V];
+        changed[source] = true;
+        LongAdder relaxations = new LongAdder();
+        while (true) {
+            double[] dist = result.dist;
+            boolean[] c = changed, nc = nextChanged;
+            int updates = IntStream.range(0, chunks).parallel().map(i -> {
+                int lo = (int) ((long) V * i / chunks), hi = (int) ((long) V * (i + 1) / chunks);
+                int count = 0, n = 0;
+                for (int v = lo; v < hi; v++) {
+                    double best = dist[v];
+                    int p = result.parent[v];
+                    for (int k = inOffsets[v], end = inOffsets[v + 1]; k < end; k++) {
+                        int e = inEdges[k];
+                        if (!c[from[e]]) continue;
+                        n++;
+                        double d = dist[from[e]] + weight[e];
+                        if (d < best) {
+                            best = d;
+                            p = e;
+                        }
+                    }
+                    next[v] = best;
+                    nc[v] = best < dist[v];
+                    if (nc[v]) {
+                        result.parent[v] = p;
+                        count++;
+                    }
+                }
+                relaxations.add(n);
+                return count;
+            }).sum();
+            result.rounds++;
+            System.arraycopy(next, 0, dist, 0, V);
+            changed = nc;
+            nextChanged = c;
+            if (updates == 0) break;
+            // NOTE without a negative cycle, round V (and every later round) changes nothing.
+            if (result.rounds >= V) {
+                int[] cycle = negativeCycle(result.parent);
+                if (cycle != null) {
+                    result.withCycle(cycle);
+                    break;
+                }
+            }
+        }
+        result.relaxations = relaxations.sum();
+        return result;
+    }
+
+    /**
+     * Find a cycle in the parent graph (in which each vertex v has an edge from the from vertex of parent[v]).
+     *
+     * @param parent the last edge of the path to each vertex (or -1).
+     * @return the edges of a (negative) cycle, in order, or null if there is none.
+     */
+    private int[] negativeCycle(int[] parent) {
+        byte[] state = new byte[V]; // 0: unvisited; 1: on the current walk; 2: finished
+        for (int s = 0; s < V; s++) {
+            int x = s;
+            while (x >= 0 && state[x] == 0) {
+                state[x] = 1;
+                x = parent[x] >= 0 ? from[parent[x]] : -1;
+            }
+            if (x >= 0 && state[x] == 1) {
+                int n = 0;
+                double length = 0;
+                int y = x;
+                do {
+                    length += weight[parent[y]];
+                    y = from[parent[y]];
+                    n++;
+                } while (y != x);
+                // NOTE that a cycle of the parent graph is always negative: this check is only a safeguard.
+                if (length < 0) {
+                    int[] result = new int[n];
+                    for (int e = parent[x]; n > 0; e = parent[from[e]]) result[--n] = e;
+                    return result;
+                }
+            }
+            for (x = s; x >= 0 && state[x] == 1; x = parent[x] >= 0 ? from[parent[x]] : -1) state[x] = 2;
+        }
+        return null;
+    }
+
+    /**
+     * Group the edges by the given vertex of each (a counting sort).
+     *
+     * @param vertex  vertex[e] is the vertex of edge e by which it is grouped.
+     * @param offsets (output) the edges of vertex v will be at offsets[v] until offsets[v+1].
+     * @return the edges, grouped.
+     */
+    private int[] group(int[] vertex, int[] offsets) {
+        for (int v : vertex) offsets[v + 1]++;
+        for (int v = 0; v < V; v++) offsets[v + 1] += offsets[v];
+        int[] result = new int[vertex.length];
+        int[] next = Arrays.copyOf(offsets, V);
+        for (int e = 0; e < vertex.length; e++) result[next[vertex[e]]++] = e;
+        return result;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private final int V;
+    private final int[] from;
+    private final int[] to;
+    private final double[] weight;
+    private final int[] outOffsets; // the edges out of vertex v are outEdges[outOffsets[v]] until outEdges[outOffsets[v+1]]
+    private final int[] outEdges;
+    private final int[] inOffsets; // the edges into vertex v are inEdges[inOffsets[v]] until inEdges[inOffsets[v+1]]
+    private final int[] inEdges;
+}
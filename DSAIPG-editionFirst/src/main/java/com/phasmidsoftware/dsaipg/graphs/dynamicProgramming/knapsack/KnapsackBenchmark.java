@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
+
+import com.phasmidsoftware.dsaipg.util.Benchmark;
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the memoized (top-down) Knapsack against Knapsack_BottomUp (sequential and with parallel rows),
+ * for random items and increasing capacities.
+ * <p>
+ * NOTE that the memoized version is only run for the smaller capacities:
+ * each of its subproblems holds a Key and a Solution (with its own list of items), so it soon runs out of memory.
+ */
+public class KnapsackBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the number of items; the largest capacity; the largest capacity for the memoized version; the number of runs.
+     */
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int maxCapacity = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int maxMemoized = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int nRuns = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int processors = Runtime.getRuntime().availableProcessors();
+        List<Knapsack.Item> items = createItems(n, 0L);
+        for (int max = 1000; max <= maxCapacity; max *= 10) {
+            int capacity = max;
+            logger.info("KnapsackBenchmark: " + n + " items with capacity " + formatWhole(capacity));
+            if (capacity <= maxMemoized) {
+                Knapsack knapsack = new Knapsack(items);
+                logger.info("KnapsackBenchmark: value: " + knapsack.value(capacity).value + " with " + formatWhole(knapsack.subProblems()) + " memoized subproblems");
+                runBenchmark("memoized", items, x -> new Knapsack(x).value(capacity), Math.max(1, nRuns / 5));
+            }
+            Knapsack_BottomUp bottomUp = new Knapsack_BottomUp(items);
+            logger.info("KnapsackBenchmark: value: " + bottomUp.value(capacity).value + " with " + formatWhole(bottomUp.cells()) + " cells");
+            runBenchmark("bottom-up", items, x -> new Knapsack_BottomUp(x).value(capacity), nRuns);
+            runBenchmark("bottom-up parallel (" + processors + " threads)", items, x -> new Knapsack_BottomUp(x).value(capacity, processors), nRuns);
+        }
+    }
+
+    /**
+     * Create random items whose weights are between 1 and 1000 and values between 1 and 100.
+     *
+     * @param n    the number of items.
+     * @param seed the seed.
+     * @return a list of n items.
+     */
+    static List<Knapsack.Item> createItems(int n, long seed) {
+        Random random = new Random(seed);
+        List<Knapsack.Item> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            result.add(new Knapsack.Item("Item " + i, 1 + random.nextInt(1000), 1 + random.nextInt(100)));
+        return result;
+    }
+
+    /**
+     * Time the given function of the items and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, List<Knapsack.Item> items, Consumer<List<Knapsack.Item>> function, int nRuns) {
+        Benchmark<List<Knapsack.Item>> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(items, nRuns);
+        logger.info("KnapsackBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(KnapsackBenchmark.class);
+}
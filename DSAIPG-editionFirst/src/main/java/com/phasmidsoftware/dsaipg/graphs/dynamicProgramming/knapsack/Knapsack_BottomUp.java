@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Class to implement 0-1 Knapsack problem using bottom-up (iterative) dynamic programming.
+ * <p>
+ * Unlike Knapsack (which recurses from the top, memoizing a Solution object for each subproblem),
+ * this class evaluates the table of mu (see Knapsack) one row (item) at a time,
+ * keeping only the current row of values in an int array: O(max) memory for the values, and no recursion.
+ * In order to reconstruct the chosen items, it also records, for each cell, whether the item was chosen:
+ * that's to say one bit per cell (in a long array).
+ * The items are then recovered by walking back up the table from the last row.
+ * <p>
+ * NOTE that the tie-breaking (an item is chosen only if that is strictly better) is the same as that of Knapsack,
+ * so the two classes yield the same solutions.
+ * <p>
+ * In parallel mode, the capacities of each row are split into ranges, one for each task.
+ * Because a cell depends on a cell to its left in the previous row, there are two row arrays which alternate;
+ * and the ranges are multiples of 64 so that no two tasks write the same word of the choices.
+ */
+public class Knapsack_BottomUp {
+
+    /**
+     * Method to get the maximum possible value, given the max weight allowable.
+     *
+     * @param max the maximum weight that can be packed.
+     * @return the maximum value (and the items which achieve it).
+     * @throws IllegalArgumentException if the table of choices (one bit per cell) would be too large.
+     */
+    Knapsack.Solution value(int max) {
+        int n = items.size();
+        int stride = stride(max);
+        long[] chosen = choices(n, stride);
+        int[] row = new int[max + 1];
+        for (int i = 0; i < n; i++) {
+            Knapsack.Item item = items.get(i);
+            int base = i * stride;
+            // NOTE the capacities are visited in descending order so that row[c - weight] still belongs to the previous row.
+            for (int c = max; c >= item.weight; c--) {
+                int candidate = row[c - item.weight] + item.value;
+                if (candidate > row[c]) {
+                    row[c] = candidate;
+                    chosen[base + (c >>> 6)] |= 1L << c;
+                }
+            }
+        }
+        cells += (long) n * (max + 1);
+        return solution(row[max], chosen, stride, max);
+    }
+
+    /**
+     * Method to get the maximum possible value, given the max weight allowable, updating each row in parallel.
+     *
+     * @param max         the maximum weight that can be packed.
+     * @param parallelism the number of threads.
+     * @return the maximum value (and the items which achieve it).
+     */
+    Knapsack.Solution value(int max, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> valueParallel(max, parallelism)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the number of cells (subproblems) evaluated so far (cf. Knapsack.subProblems).
+     */
+    long cells() {
+        return cells;
+    }
+
+    public Knapsack_BottomUp(List<Knapsack.Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * The body of the parallel version of value (which must be invoked from within the pool).
+     */
+    private Knapsack.Solution valueParallel(int max, int parallelism) {
+        int n = items.size();
+        int stride = stride(max);
+        long[] chosen = choices(n, stride);
+        int[] previous = new int[max + 1];
+        int[] current = new int[max + 1];
+        // NOTE each task updates a whole number of words (64 capacities) of the row, except perhaps the last.
+        int tasks = Math.min(stride, parallelism * 4);
+        for (int i = 0; i < n; i++) {
+            Knapsack.Item item = items.get(i);
+            int base = i * stride;
+            int[] p = previous, q = current;
+            IntStream.range(0, tasks).parallel().forEach(t -> {
+                int lo = stride * t / tasks * 64, hi = Math.min(max + 1, stride * (t + 1) / tasks * 64);
+                for (int c = lo; c < hi; c++) {
+                    int value = p[c];
+                    if (c >= item.weight) {
+                        int candidate = p[c - item.weight] + item.value;
+                        if (candidate > value) {
+                            value = candidate;
+                            chosen[base + (c >>> 6)] |= 1L << c;
+                        }
+                    }
+                    q[c] = value;
+                }
+            });
+            previous = q;
+            current = p;
+        }
+        cells += (long) n * (max + 1);
+        return solution(previous[max], chosen, stride, max);
+    }
+
+    /**
+     * Walk back up the table of choices, from the last item and capacity max, to find the chosen items.
+     */
+    private Knapsack.Solution solution(int value, long[] chosen, int stride, int max) {
+        List<Knapsack.Item> result = new ArrayList<>();
+        int c = max;
+        for (int i = items.size() - 1; i >= 0; i--)
+            if ((chosen[i * stride + (c >>> 6)] & 1L << c) != 0) {
+                Knapsack.Item item = items.get(i);
+                result.add(item);
+                c -= item.weight;
+            }
+        Collections.reverse(result);
+        return new Knapsack.Solution(value, Collections.unmodifiableList(result));
+    }
+
+    /**
+     * @return a new (empty) table of choices for n rows.
+     * @throws IllegalArgumentException if the table would be too large for an array.
+     */
+    private static long[] choices(int n, int stride) {
+        long size = (long) n * stride;
+        if (size > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Knapsack_BottomUp: too many items and/or too great a capacity: " + size + " words of choices");
+        return new long[(int) size];
+    }
+
+    /**
+     * @return the number of longs required for the choices of one row.
+     */
+    private static int stride(int max) {
+        return (max >>> 6) + 1;
+    }
+
+    private final List<Knapsack.Item> items;
+    private long cells;
+}
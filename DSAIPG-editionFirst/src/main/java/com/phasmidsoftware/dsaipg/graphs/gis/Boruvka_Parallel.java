@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.undirected.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.union_find.UF_Concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel version of Boruvka's algorithm to find the minimum spanning tree (or forest) of an undirected graph.
+ * <p>
+ * The vertices are 0 thru V-1 and the edges are 0 thru E-1: edge e joins either(e) and other(e) and has weight weight(e).
+ * Edges are compared by weight and then by id, so that all edges are distinct and the minimum spanning forest is unique.
+ * <p>
+ * Each round consists of three parallel passes:
+ * <ol>
+ *     <li>every live edge is offered to the components of both of its ends:
+ *     the best edge of each component is held in an AtomicIntegerArray and is replaced (by compare-and-set) only by a lesser edge;</li>
+ *     <li>the best edge of each component is added to the tree, merging the components by means of a UF_Concurrent:
+ *     an edge which was the best of both of its components is only added once (by whichever thread merges them);</li>
+ *     <li>the component of every vertex is looked up (once) in the UF_Concurrent and stored in a plain int array;
+ *     then the live edges are filtered, dropping those whose ends are now in the same component.</li>
+ * </ol>
+ * The lookups of the third pass mean that the edge passes only read the (flattened) array of components,
+ * rather than chasing parent links through the AtomicIntegerArray of the UF_Concurrent for every end of every edge.
+ * The number of components at least halves in each round, so there are at most lg V rounds;
+ * and the list of live edges shrinks as the components grow.
+ * <p>
+ * Unlike Boruvka (which works on any EdgeGraph), this class works only with primitive arrays.
+ * See the factory method from(CSRGraph, ToDoubleFunction) and the convenience method mst.
+ */
+public class Boruvka_Parallel {
+
+    /**
+     * Constructor.
+     *
+     * @param V      the number of vertices.
+     * @param either either[e] is one end of edge e.
+     * @param other  other[e] is the other end of edge e.
+     * @param weight weight[e] is the weight of edge e.
+     * @throws IllegalArgumentException if the arrays differ in length or a vertex is not between 0 and V-1.
+     */
+    public Boruvka_Parallel(int V, int[] either, int[] other, double[] weight) {
+        if (either.length != other.length || either.length != weight.length)
+            throw new IllegalArgumentException("Boruvka_Parallel: edge arrays differ in length");
+        this.V = V;
+        this.either = either.clone();
+        this.other = other.clone();
+        this.weight = weight.clone();
+        for (int e = 0; e < either.length; e++) {
+            validateVertex(either[e]);
+            validateVertex(other[e]);
+        }
+    }
+
+    /**
+     * Factory method to create a Boruvka_Parallel from a CSRGraph.
+     * The vertex and edge ids are those of graph.
+     *
+     * @param graph  a CSRGraph.
+     * @param weight a function to yield the weight of an edge from its attribute.
+     * @param <V>    the vertex type.
+     * @param <E>    the edge-attribute type.
+     * @return a new Boruvka_Parallel.
+     */
+    public static <V, E> Boruvka_Parallel from(CSRGraph<V, E> graph, ToDoubleFunction<E> weight) {
+        int m = graph.edgeCount();
+        int[] either = new int[m];
+        int[] other = new int[m];
+        double[] weights = new double[m];
+        for (int e = 0; e < m; e++) {
+            either[e] = graph.either(e);
+            other[e] = graph.other(e, either[e]);
+            weights[e] = weight.applyAsDouble(graph.attribute(e));
+        }
+        return new Boruvka_Parallel(graph.vertexCount(), either, other, weights);
+    }
+
+    /**
+     * Find the minimum spanning forest of graph.
+     *
+     * @param graph       a CSRGraph.
+     * @param weight      a function to yield the weight of an edge from its attribute.
+     * @param parallelism the number of threads.
+     * @param <V>         the vertex type.
+     * @param <E>         the edge-attribute type.
+     * @return the edges of the minimum spanning forest (in order of their ids in graph).
+     */
+    public static <V, E> List<Edge<V, E>> mst(CSRGraph<V, E> graph, ToDoubleFunction<E> weight, int parallelism) {
+        List<Edge<V, E>> result = new ArrayList<>();
+        for (int e : from(graph, weight).run(parallelism).edges()) result.add(graph.getEdge(e));
+        return result;
+    }
+
+    /**
+     * Find the minimum spanning forest.
+     *
+     * @param parallelism the number of threads.
+     * @return the Result.
+     */
+    public Result run(int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(this::doRun).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int V() {
+        return V;
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int E() {
+        return either.length;
+    }
+
+    /**
+     * @param e an edge id.
+     * @return one end of edge e.
+     */
+    public int either(int e) {
+        return either[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the other end of edge e.
+     */
+    public int other(int e) {
+        return other[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the weight of edge e.
+     */
+    public double weight(int e) {
+        return weight[e];
+    }
+
+    /**
+     * The result of run: the edges of the minimum spanning forest.
+     */
+    public class Result {
+
+        /**
+         * @return the ids of the edges of the minimum spanning forest, in ascending order.
+         */
+        public int[] edges() {
+            return edges.clone();
+        }
+
+        /**
+         * @return the total weight of the minimum spanning forest.
+         */
+        public double weight() {
+            double result = 0;
+            for (int e : edges) result += weight[e];
+            return result;
+        }
+
+        /**
+         * @return the number of components (trees) of the forest (1 if the graph is connected).
+         */
+        public int components() {
+            return V - edges.length;
+        }
+
+        /**
+         * @return the number of rounds.
+         */
+        public int rounds() {
+            return rounds;
+        }
+
+        private Result(int[] edges, int rounds) {
+            this.edges = edges;
+            this.rounds = rounds;
+        }
+
+        private final int[] edges;
+        private final int rounds;
+    }
+
+    /**
+     * The body of run (which must be invoked from within the pool).
+     */
+    private Result doRun() {
+        UF_Concurrent uf = new UF_Concurrent(V);
+        AtomicIntegerArray best = new AtomicIntegerArray(V);
+        for (int v = 0; v < V; v++) best.set(v, NONE);
+        int[] tree = new int[Math.max(0, V - 1)];
+        AtomicInteger count = new AtomicInteger();
+        int[] component = new int[V]; // component[v] is the root of the component of v (as of the start of a round)
+        for (int v = 0; v < V; v++) component[v] = v;
+        int[] live = IntStream.range(0, E()).parallel().filter(e -> either[e] != other[e]).toArray();
+        int rounds = 0;
+        while (live.length > 0) {
+            rounds++;
+            // Pass 1: find the best edge out of each component.
+            Arrays.stream(live).parallel().forEach(e -> {
+                offer(best, component[either[e]], e);
+                offer(best, component[other[e]], e);
+            });
+            // Pass 2: add the best edges to the tree, merging their components.
+            IntStream.range(0, V).parallel().forEach(c -> {
+                int e = best.get(c);
+                if (e != NONE) {
+                    best.set(c, NONE);
+                    if (uf.unite(either[e], other[e])) tree[count.getAndIncrement()] = e;
+                }
+            });
+            // Pass 3: flatten the components and drop the edges which are now within a component.
+            IntStream.range(0, V).parallel().forEach(v -> component[v] = uf.find(v));
+            live = Arrays.stream(live).parallel().filter(e -> component[either[e]] != component[other[e]]).toArray();
+        }
+        int[] edges = Arrays.copyOf(tree, count.get());
+        Arrays.sort(edges);
+        return new Result(edges, rounds);
+    }
+
+    /**
+     * Make e the best edge of component c unless its current best edge is less than e.
+     */
+    private void offer(AtomicIntegerArray best, int c, int e) {
+        int current;
+        while ((current = best.get(c)) == NONE || less(e, current))
+            if (best.compareAndSet(c, current, e)) return;
+    }
+
+    /**
+     * @return true if edge e is less than edge f (by weight and then by id).
+     */
+    private boolean less(int e, int f) {
+        return weight[e] < weight[f] || weight[e] == weight[f] && e < f;
+    }
+
+    private void validateVertex(int v) {
+        if (v < 0 || v >= V)
+            throw new IllegalArgumentException("vertex " + v + " is not between 0 and " + (V - 1));
+    }
+
+    private static final int NONE = -1;
+
+    private final int V;
+    private final int[] either;
+    private final int[] other;
+    private final double[] weight;
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.LongIntHashTable;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable spatial index of GeoPoints (whose positions are in spherical coordinates, as for GeoGraphSpherical).
+ * <p>
+ * The points are projected (equirectangularly) onto a plane, measured in meters, which is divided into square cells of a given size.
+ * The points of each cell are packed together (in compressed-sparse-row form, as in CSRGraph),
+ * and the cells are found by their (row, column) key in a LongIntHashTable.
+ * Only the cells which are within a given radius of a point need to be examined in order to find the points within that radius:
+ * the distances of those candidate points are then calculated exactly (by the haversine formula of GeoGraphSpherical).
+ * <p>
+ * When the cell size is about the same as the radius of the queries,
+ * finding the pairs of points within that radius (forEachPairWithin) takes time proportional to n times the number of neighbors,
+ * rather than n squared.
+ * <p>
+ * NOTE that the east-west scale of the projection is taken at the latitude furthest from the equator,
+ * where it is smallest, so that no candidates are missed elsewhere.
+ * The index is intended for radii which are small compared with the Earth
+ * and it is not suitable for points close to the poles or on both sides of the antimeridian.
+ *
+ * @param <V> the type of the points.
+ */
+public class GeoGrid<V extends GeoPoint> {
+
+    /**
+     * Constructor.
+     *
+     * @param points   the points to be indexed (their indices in this list are their indices in the GeoGrid).
+     * @param cellSize the size (in meters) of each cell: ideally about the same as the typical radius of the queries.
+     * @throws IllegalArgumentException if cellSize is not positive.
+     */
+    public GeoGrid(List<V> points, double cellSize) {
+        if (!(cellSize > 0)) throw new IllegalArgumentException("GeoGrid: cellSize must be positive: " + cellSize);
+        int n = points.size();
+        this.cellSize = cellSize;
+        this.points = new ArrayList<>(points);
+        this.positions = new Position[n];
+        this.ys = new double[n];
+        this.xs = new double[n];
+        double maxLatitude = 0;
+        for (int i = 0; i < n; i++) {
+            positions[i] = points.get(i).getPosition();
+            maxLatitude = Math.max(maxLatitude, Math.abs(latitude(positions[i])));
+        }
+        this.xScale = Math.cos(Math.toRadians(maxLatitude));
+        this.cells = new LongIntHashTable(Math.max(16, n));
+        int[] cellOf = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            ys[i] = METERS_PER_DEGREE * latitude(positions[i]);
+            xs[i] = METERS_PER_DEGREE * longitude(positions[i]) * xScale;
+            long key = key(cell(ys[i]), cell(xs[i]));
+            int c = cells.getInt(key, -1);
+            if (c < 0) cells.putInt(key, c = count++);
+            cellOf[i] = c;
+        }
+        // NOTE this is a (stable) counting sort of the points by cell.
+        this.starts = new int[count + 1];
+        for (int i = 0; i < n; i++) starts[cellOf[i] + 1]++;
+        for (int c = 0; c < count; c++) starts[c + 1] += starts[c];
+        this.members = new int[n];
+        int[] next = Arrays.copyOf(starts, count);
+        for (int i = 0; i < n; i++) members[next[cellOf[i]]++] = i;
+    }
+
+    /**
+     * @return the number of points.
+     */
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * @return the number of (non-empty) cells.
+     */
+    public int cells() {
+        return starts.length - 1;
+    }
+
+    /**
+     * @param i the index of a point.
+     * @return the point whose index is i.
+     */
+    public V get(int i) {
+        return points.get(i);
+    }
+
+    /**
+     * @return the number of exact distance calculations made so far by the queries of this GeoGrid.
+     */
+    public long distanceCalculations() {
+        return distanceCalculations;
+    }
+
+    /**
+     * Find the points within radius of centre.
+     *
+     * @param centre a GeoPoint (which need not be one of the indexed points).
+     * @param radius the radius (in meters).
+     * @return a list of the points within radius of centre (in no particular order).
+     */
+    public List<V> within(GeoPoint centre, double radius) {
+        List<V> result = new ArrayList<>();
+        forEachWithin(centre, radius, result::add);
+        return result;
+    }
+
+    /**
+     * Invoke consumer on each point within radius of centre.
+     *
+     * @param centre   a GeoPoint (which need not be one of the indexed points).
+     * @param radius   the radius (in meters).
+     * @param consumer the action to be performed on each point.
+     */
+    public void forEachWithin(GeoPoint centre, double radius, Consumer<V> consumer) {
+        Position position = centre.getPosition();
+        double y = METERS_PER_DEGREE * latitude(position), x = METERS_PER_DEGREE * longitude(position) * xScale;
+        forEachCandidate(y, x, radius, -1, j -> {
+            if (distance(position, positions[j]) <= radius) consumer.accept(points.get(j));
+        });
+    }
+
+    /**
+     * Invoke consumer on each pair of (distinct) points which are within radius of each other.
+     * Each pair is visited once, with the point of lower index first.
+     *
+     * @param radius   the radius (in meters).
+     * @param consumer the action to be performed on each pair (which is also given the distance between them).
+     */
+    public void forEachPairWithin(double radius, PairConsumer<V> consumer) {
+        for (int i = 0; i < points.size(); i++) {
+            int a = i;
+            forEachCandidate(ys[i], xs[i], radius, i, j -> {
+                double d = distance(positions[a], positions[j]);
+                if (d <= radius) consumer.accept(points.get(a), points.get(j), d);
+            });
+        }
+    }
+
+    /**
+     * A consumer of a pair of points and the distance between them.
+     *
+     * @param <V> the type of the points.
+     */
+    public interface PairConsumer<V> {
+        void accept(V v1, V v2, double distance);
+    }
+
+    @Override
+    public String toString() {
+        return "GeoGrid{points=" + points.size() + ", cells=" + cells() + ", cellSize=" + cellSize + "}";
+    }
+
+    /**
+     * Invoke action on the index of each point (greater than after) in the cells which might be within radius of (y, x).
+     * If there are more such cells than there are non-empty cells, all the points are candidates.
+     */
+    private void forEachCandidate(double y, double x, double radius, int after, IntConsumer action) {
+        long rowLo = cell(y - radius), rowHi = cell(y + radius);
+        long colLo = cell(x - radius), colHi = cell(x + radius);
+        if ((double) (rowHi - rowLo + 1) * (colHi - colLo + 1) > cells()) {
+            for (int j = after + 1; j < points.size(); j++) {
+                distanceCalculations++;
+                action.accept(j);
+            }
+            return;
+        }
+        for (long row = rowLo; row <= rowHi; row++)
+            for (long col = colLo; col <= colHi; col++) {
+                int c = cells.getInt(key(row, col), -1);
+                if (c >= 0)
+                    for (int k = starts[c]; k < starts[c + 1]; k++) {
+                        int j = members[k];
+                        if (j > after) {
+                            distanceCalculations++;
+                            action.accept(j);
+                        }
+                    }
+            }
+    }
+
+    private long cell(double z) {
+        return (long) Math.floor(z / cellSize);
+    }
+
+    private static long key(long row, long col) {
+        return row << 32 ^ (col & 0xFFFFFFFFL);
+    }
+
+    private static double distance(Position p1, Position p2) {
+        return GeoGraphSpherical.distance(p1, p2);
+    }
+
+    // NOTE for Position_Spherical, x is the latitude and y is the longitude.
+    private static double latitude(Position position) {
+        return position.getX();
+    }
+
+    private static double longitude(Position position) {
+        return position.getY();
+    }
+
+    private static final double METERS_PER_DEGREE = GeoGraphSpherical.R * Math.PI / 180;
+
+    private final double cellSize;
+    private final List<V> points;
+    private final Position[] positions;
+    private final double[] ys; // ys[i] is the (projected) northing of point i in meters
+    private final double[] xs; // xs[i] is the (projected) easting of point i in meters
+    private final double xScale; // the ratio of the east-west scale to the north-south scale of the projection
+    private final LongIntHashTable cells; // the ordinal of each non-empty cell, by key
+    private final int[] starts; // the members of cell c are members[starts[c]] until members[starts[c+1]]
+    private final int[] members; // the indices of the points, grouped by cell
+    private long distanceCalculations;
+}
@@ -6,12 +6,20 @@ package com.phasmidsoftware.dsaipg.graphs.gis;
 
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
 import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF;
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+
+import java.util.function.Function;
 
 public class GeoKruskal<V extends GeoPoint, X extends Comparable<X> & Sequenced> extends Kruskal<V, X> {
     public GeoKruskal(EdgeGraph<V, X> graph) {
         super(graph);
     }
 
+    public GeoKruskal(EdgeGraph<V, X> graph, Mode mode, Function<SizedIterable<V>, TypedUF<V>> ufFactory) {
+        super(graph, mode, ufFactory);
+    }
+
     /**
      * Method to generate a graph of the MST, given an empty BaseGeoGraph
      *
@@ -4,8 +4,7 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue;
-import com.phasmidsoftware.dsaipg.adt.bqs.Queue_Elements;
+import com.phasmidsoftware.dsaipg.adt.pq.PQ;
 import com.phasmidsoftware.dsaipg.adt.pq.PQException;
 import com.phasmidsoftware.dsaipg.adt.pq.PriorityQueue;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
@@ -14,25 +13,62 @@ import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF;
 import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF_HWQUPC;
 import com.phasmidsoftware.dsaipg.graphs.union_find.UFException;
+import com.phasmidsoftware.dsaipg.sort.par.ParallelMergeSort;
 import com.phasmidsoftware.dsaipg.util.SizedIterable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
 
 /**
  * This is a generic solution for Kruskal's algorithm to find the minimum spanning tree of an edge-weighted graph
+ * <p>
+ * There are three modes (see Mode) which differ only in the way that the edges are presented in ascending order:
+ * <ul>
+ *     <li>PQ: all the edges are given to a PriorityQueue and taken from it (the original version);</li>
+ *     <li>PRESORT: all the edges are sorted (by ParallelMergeSort) and then scanned;</li>
+ *     <li>FILTER: Filter-Kruskal (Osipov, Sanders and Singler), which partitions the edges about a random pivot,
+ *     deals with the light edges first (recursively), then drops those heavy edges whose ends are already connected,
+ *     and only then deals with what remains of the heavy edges (recursively).
+ *     Small partitions are simply sorted.</li>
+ * </ul>
+ * In all modes, the scan stops as soon as the tree has V-1 edges.
+ * For a dense graph, FILTER avoids sorting most of the heavy edges: they are filtered out (in linear time) instead.
  *
  * @param <V> is the type of each vertex.
  */
 public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
 
+    /**
+     * The ways in which Kruskal may present the edges in ascending order.
+     */
+    public enum Mode {PQ, PRESORT, FILTER}
+
     // CONSIDER having a simpler constructor which just sets up the necessary structures, then having a run method which takes a graph and outputs an Iterable.
     public Kruskal(EdgeGraph<V, X> graph) {
-        this.queue = new Queue_Elements<>();
-//        showEdgesInSequence(graph);
-        this.pq = createPQ(graph.edges());
-        this.uf = createUF(graph.vertices());
+        this(graph, Mode.PQ);
+    }
+
+    public Kruskal(EdgeGraph<V, X> graph, Mode mode) {
+        this(graph, mode, TypedUF_HWQUPC::new);
+    }
+
+    /**
+     * Constructor which allows the mode and the union-find implementation to be specified.
+     *
+     * @param graph     the graph.
+     * @param mode      the Mode.
+     * @param ufFactory a function to create a TypedUF from the vertices of graph.
+     */
+    public Kruskal(EdgeGraph<V, X> graph, Mode mode, Function<SizedIterable<V>, TypedUF<V>> ufFactory) {
+        this.graph = graph;
+        this.mode = mode;
+        this.uf = ufFactory.apply(graph.vertices());
         this.size = uf.size();
+        this.tree = new ArrayList<>(Math.max(0, size - 1));
         try {
             mst = runKruskal();
         } catch (Exception e) {
@@ -43,41 +79,118 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
     public EdgeGraph<V, X> getMST() {
         int sequence = 0;
         EdgeGraph<V, X> result = new Graph_Edges<>();
-        for (Edge<V, X> edge : queue) {
+        for (Edge<V, X> edge : tree) {
             edge.getAttribute().setSequence(sequence++);
             result.addEdge(edge);
         }
         return result;
     }
 
+    /**
+     * @return the Mode of this Kruskal.
+     */
+    public Mode getMode() {
+        return mode;
+    }
 
     private Iterable<Edge<V, X>> runKruskal() throws PQException, UFException {
-        while (!pq.isEmpty() && ((SizedIterable<?>) queue).size() < size - 1) {
-            Edge<V, X> edge = pq.take();
-            V s1 = edge.get(), s2 = edge.getOther(s1);
-            if (!uf.connected(s1, s2)) {
-                uf.union(s1, s2);
-                queue.offer(edge);
-            }
+        switch (mode) {
+            case PQ:
+                PQ<Edge<V, X>> pq = createPQ(graph.edges());
+                while (!pq.isEmpty() && tree.size() < size - 1) accept(pq.take());
+                break;
+            case PRESORT:
+                Edge<V, X>[] sorted = edgeArray(graph.edges());
+                new ParallelMergeSort().sort(sorted, comparator);
+                scan(sorted, 0, sorted.length);
+                break;
+            case FILTER:
+                Edge<V, X>[] edges = edgeArray(graph.edges());
+                filterKruskal(edges, 0, edges.length);
+                break;
+        }
+        return tree;
+    }
+
+    /**
+     * Filter-Kruskal on edges[from] ... edges[to-1] (which may be reordered).
+     */
+    private void filterKruskal(Edge<V, X>[] edges, int from, int to) throws UFException {
+        if (to - from <= FILTER_CUTOFF) {
+            Arrays.sort(edges, from, to, comparator);
+            scan(edges, from, to);
+            return;
+        }
+        X pivot = edges[from + random.nextInt(to - from)].getAttribute();
+        // NOTE three-way partition (as in Dijkstra's Dutch national flag problem) so that many equal weights cannot prevent progress.
+        int lt = from, i = from, gt = to;
+        while (i < gt) {
+            int cf = edges[i].getAttribute().compareTo(pivot);
+            if (cf < 0) swap(edges, lt++, i++);
+            else if (cf > 0) swap(edges, i, --gt);
+            else i++;
+        }
+        filterKruskal(edges, from, lt);
+        scan(edges, lt, gt);
+        if (tree.size() < size - 1) filterKruskal(edges, gt, filter(edges, gt, to));
+    }
+
+    /**
+     * Move the edges of edges[from] ... edges[to-1] whose ends are not yet connected to the start of the range.
+     *
+     * @return the index of the first edge which was not kept.
+     */
+    private int filter(Edge<V, X>[] edges, int from, int to) throws UFException {
+        int result = from;
+        for (int i = from; i < to; i++) {
+            Edge<V, X> edge = edges[i];
+            V v = edge.get();
+            if (!uf.connected(v, edge.getOther(v))) edges[result++] = edge;
         }
-        ArrayList<Edge<V, X>> result = new ArrayList<>();
-        for (Edge<V, X> edge : queue) result.add(edge);
         return result;
     }
 
-    private TypedUF<V> createUF(SizedIterable<V> vertices) {
-        return new TypedUF_HWQUPC<>(vertices);
+    /**
+     * Scan edges[from] ... edges[to-1], which are in ascending order, accepting the edges which join two components.
+     */
+    private void scan(Edge<V, X>[] edges, int from, int to) throws UFException {
+        for (int i = from; i < to && tree.size() < size - 1; i++) accept(edges[i]);
+    }
+
+    /**
+     * Add edge to the tree if its ends are not yet connected.
+     */
+    private void accept(Edge<V, X> edge) throws UFException {
+        V s1 = edge.get(), s2 = edge.getOther(s1);
+        if (!uf.connected(s1, s2)) {
+            uf.union(s1, s2);
+            tree.add(edge);
+        }
     }
 
-    private PriorityQueue<Edge<V, X>> createPQ(SizedIterable<Edge<V, X>> edges) {
-        PriorityQueue<Edge<V, X>> result = new PriorityQueue<>(edges.size(), false, Comparator.comparing(Edge::getAttribute), false);
+    private PQ<Edge<V, X>> createPQ(SizedIterable<Edge<V, X>> edges) {
+        PriorityQueue<Edge<V, X>> result = new PriorityQueue<>(edges.size(), false, comparator, false);
         for (Edge<V, X> e : edges) result.give(e);
         return result;
     }
 
+    @SuppressWarnings("unchecked")
+    private Edge<V, X>[] edgeArray(SizedIterable<Edge<V, X>> edges) {
+        Edge<V, X>[] result = (Edge<V, X>[]) new Edge<?, ?>[edges.size()];
+        int i = 0;
+        for (Edge<V, X> e : edges) result[i++] = e;
+        return result;
+    }
+
+    private static <T> void swap(T[] xs, int i, int j) {
+        T temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
     private void showEdgesInSequence(EdgeGraph<V, X> graph) {
         // TODO remove this debugging code
-        PriorityQueue<Edge<V, X>> tempPQ = createPQ(graph.edges());
+        PQ<Edge<V, X>> tempPQ = createPQ(graph.edges());
         while (!tempPQ.isEmpty()) {
             try {
                 System.out.println(tempPQ.take());
@@ -87,8 +200,14 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
         }
     }
 
-    private final Queue<Edge<V, X>> queue;
-    private final PriorityQueue<Edge<V, X>> pq;
+    // NOTE partitions of this size or smaller are sorted rather than partitioned.
+    private static final int FILTER_CUTOFF = 64;
+
+    private final EdgeGraph<V, X> graph;
+    private final Mode mode;
+    private final List<Edge<V, X>> tree;
+    private final Comparator<Edge<V, X>> comparator = Comparator.comparing(Edge::getAttribute);
+    private final Random random = new Random(0L);
     private final TypedUF<V> uf;
     private final int size;
 
@@ -96,4 +215,4 @@ public class Kruskal<V, X extends Comparable<X> & Sequenced> extends MST<V, X> {
     public static <V, X extends Comparable<X>> Edge<V, X> createEdge(V v1, V v2, X x) {
         return new Edge<>(v1, v2, x);
     }
-}
\ No newline at end of file
+}
@@ -4,109 +4,212 @@
 
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
-import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
+import com.phasmidsoftware.dsaipg.adt.pq.IndexedHeap;
+import com.phasmidsoftware.dsaipg.graphs.dag.CSRDiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Graph;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Shortest paths on any directed graph with non-negative edge weights,
+ * for example a DiGraph or (more efficiently) a CSRDiGraph.
+ * <p>
+ * There are two modes:
+ * single-source (Dijkstra's algorithm), which finds the shortest path from start to every reachable vertex;
+ * and point-to-point (A*), which is guided by a heuristic estimate of the remaining distance to a target
+ * and stops as soon as the target is settled.
+ * <p>
+ * Each vertex is given a dense int id when it is first reached (or, for a CSRDiGraph, uses the id of the graph).
+ * The distances and the edges of the shortest-path tree are kept in arrays indexed by that id,
+ * and the fringe is an IndexedHeap (of ids) so that each relaxation is a decrease-key.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the edge-attribute (weight) type.
+ */
+public class ShortestPaths<V, E extends Number> {
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.PriorityQueue;
-import java.util.Stack;
+    /**
+     * Constructor to find the shortest paths from start to every reachable vertex (Dijkstra's algorithm).
+     *
+     * @param graph the graph.
+     * @param start the source vertex.
+     */
+    public ShortestPaths(Graph<V, Edge<V, E>> graph, V start) {
+        this(graph, start, null, null);
+    }
 
-public class ShortestPaths<V, E extends Number> {
-    public ShortestPaths(DiGraph<V, E> graph, V start) {
+    /**
+     * Constructor to find the shortest path from start to target (the A* algorithm).
+     * NOTE that the result is only guaranteed to be optimal if the heuristic is admissible
+     * (it never overestimates the remaining distance).
+     * If it is also consistent (as is the great-circle distance when the weights are lengths), no vertex is settled twice.
+     * Only the path to target (and the cost of target) is meaningful: other vertices may not have been settled.
+     *
+     * @param graph     the graph.
+     * @param start     the source vertex.
+     * @param target    the target vertex.
+     * @param heuristic a function which estimates the distance from a vertex to target.
+     */
+    public ShortestPaths(Graph<V, Edge<V, E>> graph, V start, V target, ToDoubleFunction<V> heuristic) {
         this.graph = graph;
+        //noinspection unchecked
+        this.csr = graph instanceof CSRDiGraph ? (CSRDiGraph<V, E>) graph : null;
         this.start = start;
-        this.table = dijkstra();
+        this.target = target;
+        this.heuristic = heuristic;
+        int capacity = csr != null ? csr.vertexCount() : 16;
+        this.distTo = new double[capacity];
+        Arrays.fill(distTo, Double.POSITIVE_INFINITY);
+        this.edgeTo = new Object[capacity];
+        this.pq = IndexedHeap.minPQ(capacity);
+        search();
     }
 
+    /**
+     * Factory method to create an A* heuristic for geographic graphs, whose edge weights are lengths in meters:
+     * the great-circle distance to target (which is both admissible and consistent).
+     *
+     * @param geo    a GeoGraphSpherical (its getDistance is used).
+     * @param target the target vertex.
+     * @param <V>    the vertex type.
+     * @return a function which yields the great-circle distance from a vertex to target.
+     */
+    public static <V extends GeoPoint> ToDoubleFunction<V> greatCircle(GeoGraphSpherical<V, ?> geo, V target) {
+        return v -> geo.getDistance(v, target);
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the cost of the shortest path to v (infinity if there is none).
+     */
     public double cost(V v) {
-        Vertex vertex = table.getOrDefault(v, new Vertex(v));
-        return vertex.cost;
+        int i = lookup(v);
+        return i < 0 || i >= distTo.length ? Double.POSITIVE_INFINITY : distTo[i];
     }
 
+    /**
+     * @param v a vertex.
+     * @return true if a path to v was found.
+     */
     public boolean hasPathTo(V v) {
-        return table.containsKey(v);
+        return cost(v) < Double.POSITIVE_INFINITY;
     }
 
+    /**
+     * @param target a vertex.
+     * @return the edges of the shortest path to target, beginning with the edge out of start
+     * (empty if there is no such path or if target is start).
+     */
     public Iterable<Edge<V, E>> pathTo(V target) {
-        Stack<Edge<V, E>> edges = new Stack<>();
-        if (hasPathTo(target)) {
-            V v = target;
-            for (Vertex vertex = table.get(v); vertex.edgeTo != null; ) {
-                Edge<V, E> edgeTo = vertex.edgeTo;
-                if (edgeTo.getTo() != v) throw new RuntimeException("assertion error");
-                edges.push(edgeTo);
-                v = edgeTo.getFrom();
-            }
-        }
+        Deque<Edge<V, E>> edges = new ArrayDeque<>();
+        if (hasPathTo(target))
+            for (Edge<V, E> edge = edgeTo(lookup(target)); edge != null; edge = edgeTo(lookup(edge.getFrom())))
+                edges.push(edge);
         return edges;
     }
 
+    /**
+     * @return the number of vertices which were settled (taken from the priority queue).
+     */
+    public int getSettled() {
+        return settled;
+    }
+
     @Override
     public String toString() {
-        return "ShortestPaths{" +
-                "table=" + table +
-                '}';
+        return "ShortestPaths{start=" + start + (target != null ? ", target=" + target : "") + ", settled=" + settled + '}';
     }
 
-    private Map<V, Vertex> dijkstra() {
-        Map<V, Vertex> result = new HashMap<>();
-        PriorityQueue<V> pq = new PriorityQueue<>();
-        pq.offer(start);
-        result.put(start, new Vertex(start, 0, null));
-        while (!pq.isEmpty()) relax(graph, pq.poll(), result, pq);
-        return result;
+    private void search() {
+        int s = id(start);
+        distTo[s] = 0;
+        pq.insert(s, estimate(start));
+        int t = target != null ? id(target) : -1;
+        while (!pq.isEmpty()) {
+            int v = pq.takeIndex();
+            settled++;
+            if (v == t) break;
+            relax(v);
+        }
     }
 
-    private void relax(DiGraph<V, E> graph, V vertex, Map<V, Vertex> table, PriorityQueue<V> pq) {
-        for (Edge<V, E> e : graph.adjacent(vertex)) {
-            V w = e.getTo();
-            Vertex vertexW = table.getOrDefault(w, new Vertex(w));
-            table.put(w, vertexW);
-            double relaxedCost = table.get(e.getFrom()).cost + e.getAttributes().doubleValue();
-            if (vertexW.cost > relaxedCost) {
-                vertexW.relax(relaxedCost, e);
-                pq.remove(w);
-                pq.offer(w);
+    private void relax(int v) {
+        double dist = distTo[v];
+        if (csr != null)
+            for (int e = csr.begin(v), end = csr.end(v); e < end; e++) {
+                int w = csr.target(e);
+                double relaxed = dist + csr.attribute(e).doubleValue();
+                if (relaxed < distTo[w]) update(w, relaxed, csr.getEdge(e), csr.vertex(w));
+            }
+        else
+            for (Edge<V, E> edge : graph.adjacent(vertices.get(v))) {
+                V to = edge.getTo();
+                int w = id(to);
+                double relaxed = dist + edge.getAttributes().doubleValue();
+                if (relaxed < distTo[w]) update(w, relaxed, edge, to);
             }
-        }
     }
 
-    private final DiGraph<V, E> graph;
-    private final V start;
-    private final Map<V, Vertex> table;
-
-    class Vertex implements Comparable<Vertex> {
-        public int compareTo(Vertex o) {
-            return Double.compare(cost, o.cost);
-        }
+    private void update(int w, double cost, Edge<V, E> edge, V to) {
+        distTo[w] = cost;
+        edgeTo[w] = edge;
+        double key = cost + estimate(to);
+        // NOTE if w has already been settled (possible only with an inconsistent heuristic) it is reopened.
+        if (pq.contains(w)) pq.decreaseKey(w, key);
+        else pq.insert(w, key);
+    }
 
-        void relax(double cost, Edge<V, E> edgeTo) {
-//            System.out.println("relaxing entry for vertex"+this+" to cost "+cost+" with edgeTo: "+edgeTo);
-            this.cost = cost;
-            this.edgeTo = edgeTo;
-        }
+    private double estimate(V v) {
+        return heuristic == null ? 0 : heuristic.applyAsDouble(v);
+    }
 
-        public Vertex(V vertex, double cost, Edge<V, E> edgeTo) {
-            this.vertex = vertex;
-            this.cost = cost;
-            this.edgeTo = edgeTo;
-        }
+    private Edge<V, E> edgeTo(int i) {
+        //noinspection unchecked
+        return (Edge<V, E>) edgeTo[i];
+    }
 
-        public Vertex(V vertex) {
-            this(vertex, Double.POSITIVE_INFINITY, null);
+    /**
+     * @return the id of v (allocating one, and growing the arrays, if necessary).
+     */
+    private int id(V v) {
+        if (csr != null) {
+            int result = csr.id(v);
+            if (result < 0) throw new IllegalArgumentException("ShortestPaths: vertex is not in graph: " + v);
+            return result;
         }
-
-        @Override
-        public String toString() {
-            return "Vertex {" + vertex +
-                    ": cost=" + cost +
-                    ", edgeTo=" + edgeTo +
-                    '}';
+        Integer result = ids.get(v);
+        if (result == null) {
+            result = vertices.size();
+            ids.put(v, result);
+            vertices.add(v);
+            if (result == distTo.length) {
+                distTo = Arrays.copyOf(distTo, result * 2);
+                Arrays.fill(distTo, result, distTo.length, Double.POSITIVE_INFINITY);
+                edgeTo = Arrays.copyOf(edgeTo, result * 2);
+            }
         }
+        return result;
+    }
 
-        private final V vertex;
-        private double cost;
-        private Edge<V, E> edgeTo;
+    /**
+     * @return the id of v, or -1 if v has no id.
+     */
+    private int lookup(V v) {
+        if (csr != null) return csr.id(v);
+        return ids.getOrDefault(v, -1);
     }
-}
\ No newline at end of file
+
+    private final Map<V, Integer> ids = new HashMap<>();
+    private final List<V> vertices = new ArrayList<>();
+    private final Graph<V, Edge<V, E>> graph;
+    private final CSRDiGraph<V, E> csr; // non-null if graph is a CSRDiGraph
+    private final V start;
+    private final V target;
+    private final ToDoubleFunction<V> heuristic;
+    private final IndexedHeap<Double> pq;
+    private double[] distTo; // distTo[i] is the cost of the shortest known path to vertex i
+    private Object[] edgeTo; // edgeTo[i] is the last edge of the shortest known path to vertex i
+    private int settled;
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.tunnels;
+
+import com.phasmidsoftware.dsaipg.graphs.gis.Kruskal;
+import com.phasmidsoftware.dsaipg.graphs.undirected.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF_Concurrent;
+import com.phasmidsoftware.dsaipg.util.Benchmark;
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the three modes of Kruskal (PQ, PRESORT, FILTER) on the tunnels dataset,
+ * scaled up synthetically by laying out k by k copies of the campus side by side.
+ * <p>
+ * Two graphs are built for each scale: one with all pairs of buildings and one with only the tunnels of at most 250m
+ * (as in Tunnels_Kruskal).
+ * <p>
+ * NOTE that the graphs are CSRGraphs and the union-find is a TypedUF_Concurrent,
+ * because GeoGraphSpherical (via Bag_Array) and TypedUF_HWQUPC depend on exercises.
+ */
+public class KruskalBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the largest value of k; the number of runs.
+     */
+    public static void main(String[] args) {
+        int maxK = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int nRuns = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        List<Building> campus = BuildingLoader.createBuildings();
+        for (int k = 1; k <= maxK; k *= 2) {
+            List<Building> buildings = scale(campus, k);
+            logger.info("KruskalBenchmark: " + formatWhole(buildings.size()) + " buildings");
+            benchmark("all pairs", CSRGraph.from(Collections.emptyList(), TunnelEdges.createEdges(buildings, Integer.MAX_VALUE)), nRuns);
+            benchmark("at most 250m", CSRGraph.from(Collections.emptyList(), TunnelEdges.createEdges(buildings, 250)), nRuns);
+        }
+    }
+
+    /**
+     * Lay out k by k copies of buildings, each copy displaced by (a little more than) the extent of the campus.
+     * Each copy keeps the zones of the original but has its own codes and names.
+     *
+     * @param buildings the buildings of the campus.
+     * @param k         the number of copies in each direction.
+     * @return a list of k * k * buildings.size() Buildings.
+     */
+    static List<Building> scale(List<Building> buildings, int k) {
+        // NOTE that, for a Building, x is the latitude and y is the longitude.
+        double minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE, minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        for (Building b : buildings) {
+            minLon = Math.min(minLon, b.getPosition().getY());
+            maxLon = Math.max(maxLon, b.getPosition().getY());
+            minLat = Math.min(minLat, b.getPosition().getX());
+            maxLat = Math.max(maxLat, b.getPosition().getX());
+        }
+        double dLon = (maxLon - minLon) * 1.1, dLat = (maxLat - minLat) * 1.1;
+        List<Building> result = new ArrayList<>(k * k * buildings.size());
+        for (int i = 0; i < k; i++)
+            for (int j = 0; j < k; j++)
+                for (Building b : buildings) {
+                    String suffix = k == 1 ? "" : "-" + i + "-" + j;
+                    result.add(new Building(b.getMap(), b.getCode() + suffix, b.zone,
+                            b.getPosition().getY() + i * dLon, b.getPosition().getX() + j * dLat,
+                            b.isAlreadyTunneled, b + suffix));
+                }
+        return result;
+    }
+
+    private static void benchmark(String description, EdgeGraph<Building, TunnelProperties> graph, int nRuns) {
+        logger.info("KruskalBenchmark: " + description + ": " + formatWhole(graph.edges().size()) + " edges");
+        for (Kruskal.Mode mode : Kruskal.Mode.values()) {
+            Kruskal<Building, TunnelProperties> kruskal = new Kruskal<>(graph, mode, TypedUF_Concurrent::new);
+            long cost = 0;
+            for (Edge<Building, TunnelProperties> edge : kruskal) cost += edge.getAttribute().cost;
+            logger.info("KruskalBenchmark: " + mode + ": total cost: $" + formatWhole(cost));
+            runBenchmark(description + ": " + mode, graph, g -> new Kruskal<>(g, mode, TypedUF_Concurrent::new), nRuns);
+        }
+    }
+
+    /**
+     * Time the given function of graph and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, EdgeGraph<Building, TunnelProperties> graph, Consumer<EdgeGraph<Building, TunnelProperties>> function, int nRuns) {
+        Benchmark<EdgeGraph<Building, TunnelProperties>> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(graph, nRuns);
+        logger.info("KruskalBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(KruskalBenchmark.class);
+}
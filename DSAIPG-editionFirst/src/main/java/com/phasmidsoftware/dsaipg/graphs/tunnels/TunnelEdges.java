@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.tunnels;
+
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGraphSpherical;
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGrid;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.*;
+
+/**
+ * Utility class to create the edges (possible tunnels) between buildings, shared by Tunnels_Kruskal, Tunnels_Prim and Tunnels_Boruvka.
+ * <p>
+ * The candidate pairs of buildings are found by means of a GeoGrid whose cells are the size of the longest tunnel allowed,
+ * so that only the buildings in neighboring cells are ever compared.
+ * The cost factor of each tunnel (in $ per meter) depends on whether it already exists,
+ * and on the zones at either end: the cost of crossing from one zone to another is looked up in a (symmetric) table.
+ */
+final class TunnelEdges {
+
+    /**
+     * Create the edges of the graph of all possible tunnels between the buildings which are no longer than maxLength.
+     * The edges can then be added to any kind of EdgeGraph.
+     *
+     * @param buildings a list of Buildings.
+     * @param maxLength the maximum length (in meters, after rounding) of a tunnel.
+     * @return a list of edges (each pair of buildings appears at most once, in the order of the list of buildings).
+     */
+    static List<Edge<Building, TunnelProperties>> createEdges(List<Building> buildings, int maxLength) {
+        List<Edge<Building, TunnelProperties>> result = new ArrayList<>();
+        // NOTE the radius allows for the length being rounded.
+        new GeoGrid<>(buildings, maxLength).forEachPairWithin(maxLength + 0.5, (b1, b2, length) -> {
+            TunnelProperties properties = getTunnelProperties(b1, b2, length);
+            if (properties.length <= maxLength) result.add(new Edge<>(b1, b2, properties));
+        });
+        return result;
+    }
+
+    /**
+     * Create a graph of all possible tunnels between the buildings which are no longer than maxLength.
+     *
+     * @param buildings a list of Buildings.
+     * @param maxLength the maximum length (in meters, after rounding) of a tunnel.
+     * @return a GeoGraphSpherical&lt;Building, TunnelProperties&gt; whose edges are those of createEdges.
+     */
+    static EdgeGraph<Building, TunnelProperties> createGraph(List<Building> buildings, int maxLength) {
+        GeoGraphSpherical<Building, TunnelProperties> graph = new GeoGraphSpherical<>();
+        for (Edge<Building, TunnelProperties> edge : createEdges(buildings, maxLength)) graph.addEdge(edge);
+        logger.debug(() -> "createGraph: created " + graph.edges().size() + " edges");
+        return graph;
+    }
+
+    /**
+     * Create the same edges as createEdges, but by calculating the distance between every pair of buildings.
+     * This is the original (quadratic) method and is retained for comparison.
+     *
+     * @param buildings a list of Buildings.
+     * @param maxLength the maximum length (in meters, after rounding) of a tunnel.
+     * @return a list of edges.
+     */
+    static List<Edge<Building, TunnelProperties>> createEdgesByAllPairs(List<Building> buildings, int maxLength) {
+        GeoGraphSpherical<Building, TunnelProperties> geo = new GeoGraphSpherical<>();
+        List<Edge<Building, TunnelProperties>> result = new ArrayList<>();
+        int len = buildings.size();
+        for (int i = 0; i < len; i++) {
+            Building b1 = buildings.get(i);
+            for (int j = i + 1; j < len; j++) {
+                Building b2 = buildings.get(j);
+                TunnelProperties properties = getTunnelProperties(b1, b2, geo.getDistance(b1, b2));
+                if (properties.length <= maxLength) result.add(new Edge<>(b1, b2, properties));
+            }
+        }
+        return result;
+    }
+
+    static TunnelProperties getTunnelProperties(Building b1, Building b2, double length) {
+        return new TunnelProperties(Math.round(getCostFactor(b1, b2) * length), (int) Math.round(length), getPhase(b1, b2), 0);
+    }
+
+    /**
+     * Determine when the tunnel should be built (0 implies existing).
+     *
+     * @param b1 building at one end.
+     * @param b2 building at other end.
+     * @return 0 if the tunnel is existing
+     */
+    static int getPhase(Building b1, Building b2) {
+        if (b1.isAlreadyTunneled && b2.isAlreadyTunneled && tunnels.contains(tunnelKey(b1.getMap(), b2.getMap())))
+            return 0;
+        return 1; // TODO create later phases
+    }
+
+    /**
+     * Get the cost factor in $ per meter.
+     *
+     * @param b1 building at one end.
+     * @param b2 building at other end.
+     * @return the cost factor.
+     */
+    static int getCostFactor(Building b1, Building b2) {
+        if (getPhase(b1, b2) == 0) return 10;
+        if (Objects.equals(b1.zone, b2.zone)) return 1000;
+        return crossZoneExpense(b1.zone, b2.zone);
+    }
+
+    private static int crossZoneExpense(String zone1, String zone2) {
+        Integer i1 = zones.get(zone1), i2 = zones.get(zone2);
+        return i1 != null && i2 != null ? crossings[i1][i2] : DEFAULT_COST_FACTOR;
+    }
+
+    private static long tunnelKey(int map1, int map2) {
+        return (long) Math.min(map1, map2) << 32 | Math.max(map1, map2) & 0xFFFFFFFFL;
+    }
+
+    private static void setupZones(String... names) {
+        for (String name : names) zones.put(name, zones.size());
+    }
+
+    private static void setupCrossing(int zone1, int zone2, int costFactor) {
+        crossings[zone1][zone2] = costFactor;
+        crossings[zone2][zone1] = costFactor;
+    }
+
+    private static void setupTunnel(int map1, int map2) {
+        tunnels.add(tunnelKey(map1, map2));
+    }
+
+    private TunnelEdges() {
+    }
+
+    private static final int DEFAULT_COST_FACTOR = 10000;
+
+    private final static LazyLogger logger = new LazyLogger(TunnelEdges.class);
+
+    private static final Map<String, Integer> zones = new HashMap<>();
+    private static final int[][] crossings; // crossings[i][j] is the cost factor of a tunnel from zone i to zone j
+    private static final Set<Long> tunnels = new HashSet<>(); // the (map numbers of the) buildings joined by existing tunnels
+
+    static {
+        setupZones("Center", "Fenway", "North", "Plaza", "West Village", "Centennial", "Matthews", "Columbus", "Strip", "St. Stephens", "Pool", "Theater", "Symphony");
+        crossings = new int[zones.size()][zones.size()];
+        for (int[] row : crossings) Arrays.fill(row, DEFAULT_COST_FACTOR);
+        setupCrossing(0, 8, 3000); // railroad
+        setupCrossing(0, 2, 2500); // Huntington Ave
+        setupCrossing(10, 11, 2500); // Huntington Ave
+        setupCrossing(10, 12, 2500); // Mass Ave
+        setupCrossing(6, 11, 2500); // Mass Ave
+        setupCrossing(6, 0, 1100); // Gainsborough St
+        setupCrossing(0, 5, 1500); // Forsyth St
+        setupCrossing(3, 0, 1500); // Forsyth St
+        setupCrossing(1, 2, 1500); // Hemenway St
+        setupCrossing(4, 3, 1200); // Leon St
+        setupCrossing(4, 5, 1200); // Leon St
+        setupCrossing(3, 5, 1200); // Leon St
+        setupCrossing(7, 8, 1750); // Columbus Ave
+        setupTunnel(55, 58);
+        setupTunnel(55, 54);
+        setupTunnel(53, 54);
+        setupTunnel(53, 59);
+        setupTunnel(53, 55);
+        setupTunnel(53, 42);
+        setupTunnel(53, 41);
+        setupTunnel(53, 52);
+        setupTunnel(52, 50);
+        setupTunnel(52, 43);
+        setupTunnel(52, 48);
+    }
+}
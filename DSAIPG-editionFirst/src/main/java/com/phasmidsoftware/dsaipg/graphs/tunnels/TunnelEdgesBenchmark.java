@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.tunnels;
+
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGrid;
+import com.phasmidsoftware.dsaipg.util.Benchmark;
+import com.phasmidsoftware.dsaipg.util.Benchmark_Timer;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the creation of the edges (possible tunnels of at most 250m) between buildings:
+ * by means of a GeoGrid (TunnelEdges.createEdges) and by calculating the distance between all pairs (TunnelEdges.createEdgesByAllPairs).
+ * <p>
+ * The campus is scaled up synthetically (see KruskalBenchmark.scale).
+ * Since the all-pairs method is quadratic, it is only run for the smaller scales.
+ */
+public class TunnelEdgesBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the largest value of k; the largest value of k for the all-pairs method; the number of runs.
+     */
+    public static void main(String[] args) {
+        int maxK = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int maxAllPairsK = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        List<Building> campus = BuildingLoader.createBuildings();
+        for (int k = 1; k <= maxK; k *= 2) {
+            List<Building> buildings = KruskalBenchmark.scale(campus, k);
+            int n = buildings.size();
+            GeoGrid<Building> grid = new GeoGrid<>(buildings, MAX_LENGTH);
+            grid.forEachPairWithin(MAX_LENGTH + 0.5, (b1, b2, d) -> {
+            });
+            logger.info("TunnelEdgesBenchmark: " + formatWhole(n) + " buildings in " + formatWhole(grid.cells()) + " cells: " +
+                    formatWhole(TunnelEdges.createEdges(buildings, MAX_LENGTH).size()) + " edges; distances calculated: " +
+                    formatWhole(grid.distanceCalculations()) + " (grid) vs. " + formatWhole(n * (n - 1L) / 2) + " (all pairs)");
+            runBenchmark("grid", buildings, bs -> TunnelEdges.createEdges(bs, MAX_LENGTH), nRuns);
+            if (k <= maxAllPairsK)
+                runBenchmark("all pairs", buildings, bs -> TunnelEdges.createEdgesByAllPairs(bs, MAX_LENGTH), nRuns);
+        }
+    }
+
+    private static void runBenchmark(String description, List<Building> buildings, Consumer<List<Building>> function, int nRuns) {
+        Benchmark<List<Building>> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(buildings, nRuns);
+        logger.info("TunnelEdgesBenchmark: " + description + ": " + formatWhole(buildings.size()) + " buildings: " + result + " mSec per run");
+    }
+
+    private static final int MAX_LENGTH = 250;
+
+    final static LazyLogger logger = new LazyLogger(TunnelEdgesBenchmark.class);
+}
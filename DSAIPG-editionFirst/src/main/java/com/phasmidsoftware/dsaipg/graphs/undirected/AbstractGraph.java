@@ -15,19 +15,38 @@ import java.util.Map;
 /**
  * Abstract class for Graphs.
  * This should be extended by both directed and undirected graphs.
+ * <p>
+ * The adjacency bags are Bag_Arrays whose iteration policy is fixed when the graph is constructed:
+ * SHUFFLED (the default) or, where determinism and speed matter, INSERTION_ORDER.
  *
  * @param <V>   the vertex type.
  * @param <Adj> the adjacency type: can be vertex or edge.
  */
 abstract public class AbstractGraph<V, Adj> implements Graph<V, Adj> {
 
+    /**
+     * Constructor which takes the iteration policy of the adjacency bags.
+     *
+     * @param policy the iteration policy.
+     */
+    protected AbstractGraph(Bag_Array.IterationPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Constructor whose adjacency bags are SHUFFLED.
+     */
+    protected AbstractGraph() {
+        this(Bag_Array.IterationPolicy.SHUFFLED);
+    }
+
     /**
      * Method to add a vertex (without having to add an edge).
      *
      * @param vertex the vertex to be added.
      */
     public void addVertex(V vertex) {
-        adjacentEdges.put(vertex, new Bag_Array<>());
+        adjacentEdges.put(vertex, createBag());
     }
 
     public SizedIterable<V> vertices() {
@@ -39,8 +58,26 @@ abstract public class AbstractGraph<V, Adj> implements Graph<V, Adj> {
     }
 
     protected Bag<Adj> getAdjacencyBag(V vertex) {
-        return adjacentEdges.computeIfAbsent(vertex, k -> new Bag_Array<>());
+        return adjacentEdges.computeIfAbsent(vertex, k -> createBag());
+    }
+
+    /**
+     * Method to create a new (empty) bag with the iteration policy of this graph.
+     *
+     * @param <T> the underlying type of the bag.
+     * @return a new Bag_Array.
+     */
+    protected <T> Bag<T> createBag() {
+        return new Bag_Array<>(policy);
+    }
+
+    /**
+     * @return the iteration policy of the adjacency bags of this graph.
+     */
+    public Bag_Array.IterationPolicy getPolicy() {
+        return policy;
     }
 
     protected final Map<V, Bag<Adj>> adjacentEdges = new HashMap<>();
+    private final Bag_Array.IterationPolicy policy;
 }
\ No newline at end of file
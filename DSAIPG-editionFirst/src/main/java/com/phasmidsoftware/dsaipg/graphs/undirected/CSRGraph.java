@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.undirected;
+
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, undirected, edge-weighted graph in compressed-sparse-row (CSR) form.
+ * <p>
+ * Each vertex has an int id (0 to n-1) in the order in which it was first encountered.
+ * The incidence lists of all the vertices are packed into one pair of int arrays:
+ * the slots of vertex v run from begin(v) (inclusive) to end(v) (exclusive);
+ * target(k) is the id of the vertex at the other end of slot k and edge(k) is the id of its edge.
+ * Each edge appears twice (once from each end) but is stored only once, so that its attribute
+ * (and the original Edge object) can be found from the edge id.
+ * Within each vertex, the slots are in the order in which the edges were added.
+ * <p>
+ * The int-based methods (begin, end, target, edge, attribute, either, other) allocate nothing.
+ * The EdgeGraph methods (vertices, adjacent, edges) are provided so that this class can be given to
+ * the existing algorithms (Kruskal, Prim, Boruvka, etc.) directly.
+ * Unlike a Bag, the Iterables which they return are views which neither copy nor shuffle.
+ * <p>
+ * NOTE that, unlike Graph_Edges, adjacent(v) yields every edge incident to v, not only those for which v is edge.get()
+ * (a self-loop is yielded once, although it occupies two slots of v).
+ * NOTE that, because this graph is immutable, the addEdge methods throw UnsupportedOperationException.
+ *
+ * @param <V> the vertex type.
+ * @param <E> the edge-attribute type.
+ */
+public class CSRGraph<V, E> implements EdgeGraph<V, E> {
+
+    /**
+     * Factory method to create a CSRGraph from an EdgeGraph (for example, a Graph_Edges).
+     *
+     * @param graph an EdgeGraph.
+     * @param <V>   the vertex type.
+     * @param <E>   the edge-attribute type.
+     * @return a new CSRGraph with the same vertices and edges as graph.
+     */
+    public static <V, E> CSRGraph<V, E> from(EdgeGraph<V, E> graph) {
+        return from(graph.vertices(), graph.edges());
+    }
+
+    /**
+     * Factory method to create a CSRGraph from some vertices and some edges.
+     * Vertices which are the ends of edges but which are not in vertices are added (after those of vertices).
+     *
+     * @param vertices the vertices (possibly isolated) in order of their ids.
+     * @param edges    the edges.
+     * @param <V>      the vertex type.
+     * @param <E>      the edge-attribute type.
+     * @return a new CSRGraph.
+     */
+    public static <V, E> CSRGraph<V, E> from(Iterable<V> vertices, Iterable<Edge<V, E>> edges) {
+        Map<V, Integer> ids = new HashMap<>();
+        List<V> vertexList = new ArrayList<>();
+        for (V v : vertices) addVertex(v, ids, vertexList);
+        List<Edge<V, E>> edgeList = new ArrayList<>();
+        for (Edge<V, E> e : edges) {
+            V a = e.get();
+            addVertex(a, ids, vertexList);
+            addVertex(e.getOther(a), ids, vertexList);
+            edgeList.add(e);
+        }
+        return new CSRGraph<>(vertexList, ids, edgeList);
+    }
+
+    /**
+     * @return the number of vertices.
+     */
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    /**
+     * @return the number of edges.
+     */
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    /**
+     * @param v a vertex.
+     * @return the id of v, or -1 if v is not a vertex of this graph.
+     */
+    public int id(V v) {
+        return ids.getOrDefault(v, -1);
+    }
+
+    /**
+     * @param i a vertex id.
+     * @return the vertex whose id is i.
+     */
+    public V vertex(int i) {
+        //noinspection unchecked
+        return (V) vertices[i];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the index of the first slot of v.
+     */
+    public int begin(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return one more than the index of the last slot of v.
+     */
+    public int end(int v) {
+        return offsets[v + 1];
+    }
+
+    /**
+     * @param v a vertex id.
+     * @return the number of edges incident to v (a self-loop counts twice).
+     */
+    public int degree(int v) {
+        return offsets[v + 1] - offsets[v];
+    }
+
+    /**
+     * @param k a slot index.
+     * @return the id of the vertex at the far end of slot k.
+     */
+    public int target(int k) {
+        return targets[k];
+    }
+
+    /**
+     * @param k a slot index.
+     * @return the id of the edge of slot k.
+     */
+    public int edge(int k) {
+        return edgeIds[k];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the attribute of edge e.
+     */
+    public E attribute(int e) {
+        //noinspection unchecked
+        return (E) attributes[e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the id of the vertex which is get() of edge e.
+     */
+    public int either(int e) {
+        return ends[2 * e];
+    }
+
+    /**
+     * @param e an edge id.
+     * @param v the id of one end of edge e.
+     * @return the id of the other end of edge e.
+     */
+    public int other(int e, int v) {
+        int a = ends[2 * e];
+        return v == a ? ends[2 * e + 1] : a;
+    }
+
+    /**
+     * @param e an edge id.
+     * @return the (original) Edge whose id is e.
+     */
+    public Edge<V, E> getEdge(int e) {
+        return edges[e];
+    }
+
+    public SizedIterable<V> vertices() {
+        return vertexIterable;
+    }
+
+    /**
+     * Get the edges which are incident to the given vertex (in either direction).
+     *
+     * @param vertex the vertex whose adjacent edges we want.
+     * @return a view of the incident edges (empty if vertex is not in this graph).
+     */
+    public Iterable<Edge<V, E>> adjacent(V vertex) {
+        int v = id(vertex);
+        return v < 0 ? Collections.emptyList() : () -> new Iterator<>() {
+            public boolean hasNext() {
+                return k < offsets[v + 1];
+            }
+
+            public Edge<V, E> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Edge<V, E> result = edges[edgeIds[k]];
+                // NOTE the two slots of a self-loop are adjacent: skip the second.
+                k += targets[k] == v ? 2 : 1;
+                return result;
+            }
+
+            private int k = offsets[v];
+        };
+    }
+
+    /**
+     * @return the edges (each once) in order of their ids.
+     */
+    public SizedIterable<Edge<V, E>> edges() {
+        return edgeIterable;
+    }
+
+    public void addEdge(Edge<V, E> edge, Predicate<Edge<V, E>> predicate) {
+        throw new UnsupportedOperationException("CSRGraph is immutable");
+    }
+
+    public void addEdge(V from, V to, E attribute, Predicate<Edge<V, E>> predicate) {
+        throw new UnsupportedOperationException("CSRGraph is immutable");
+    }
+
+    @Override
+    public String toString() {
+        return "CSRGraph{vertices=" + vertices.length + ", edges=" + edges.length + "}";
+    }
+
+    private CSRGraph(List<V> vertexList, Map<V, Integer> ids, List<Edge<V, E>> edgeList) {
+        int n = vertexList.size();
+        int m = edgeList.size();
+        this.ids = ids;
+        this.vertices = vertexList.toArray();
+        this.edges = edgeList.toArray(newEdges(0));
+        this.attributes = new Object[m];
+        this.ends = new int[2 * m];
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            Edge<V, E> edge = edges[e];
+            V a = edge.get();
+            int i = ids.get(a), j = ids.get(edge.getOther(a));
+            ends[2 * e] = i;
+            ends[2 * e + 1] = j;
+            attributes[e] = edge.getAttribute();
+            offsets[i + 1]++;
+            offsets[j + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        // NOTE this is a (stable) counting sort of the slots by vertex.
+        this.targets = new int[2 * m];
+        this.edgeIds = new int[2 * m];
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int i = ends[2 * e], j = ends[2 * e + 1];
+            targets[next[i]] = j;
+            edgeIds[next[i]++] = e;
+            targets[next[j]] = i;
+            edgeIds[next[j]++] = e;
+        }
+        //noinspection unchecked
+        this.vertexIterable = SizedIterableImpl.create(Collections.unmodifiableList(Arrays.asList((V[]) vertices)));
+        this.edgeIterable = SizedIterableImpl.create(Collections.unmodifiableList(Arrays.asList(edges)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V, E> Edge<V, E>[] newEdges(int m) {
+        return (Edge<V, E>[]) new Edge<?, ?>[m];
+    }
+
+    private static <V> void addVertex(V v, Map<V, Integer> ids, List<V> vertexList) {
+        if (!ids.containsKey(v)) {
+            ids.put(v, vertexList.size());
+            vertexList.add(v);
+        }
+    }
+
+    private final Map<V, Integer> ids;
+    private final Object[] vertices; // vertices[i] is the vertex whose id is i
+    private final Edge<V, E>[] edges; // edges[e] is the edge whose id is e
+    private final Object[] attributes; // attributes[e] is the attribute of edge e
+    private final int[] ends; // ends[2e] and ends[2e+1] are the ids of the ends of edge e
+    private final int[] offsets; // the slots of vertex v are offsets[v] until offsets[v+1]
+    private final int[] targets; // targets[k] is the id of the far vertex of slot k
+    private final int[] edgeIds; // edgeIds[k] is the id of the edge of slot k
+    private final SizedIterable<V> vertexIterable;
+    private final SizedIterable<Edge<V, E>> edgeIterable;
+}
@@ -12,8 +12,16 @@ import java.util.function.Predicate;
 
 public class Graph_Edges<V, E> extends AbstractGraph<V, Edge<V, E>> implements EdgeGraph<V, E> {
 
+    public Graph_Edges(Bag_Array.IterationPolicy policy) {
+        super(policy);
+    }
+
+    public Graph_Edges() {
+        super();
+    }
+
     public SizedIterable<Edge<V, E>> edges() {
-        Bag<Edge<V, E>> result = new Bag_Array<>();
+        Bag<Edge<V, E>> result = createBag();
         for (Iterable<Edge<V, E>> b : adjacentEdges.values())
             for (Edge<V, E> e : b)
                 result.add(e);
@@ -4,6 +4,8 @@
 
 package com.phasmidsoftware.dsaipg.graphs.undirected;
 
+import com.phasmidsoftware.dsaipg.adt.bqs.Bag_Array;
+
 public class Graph_Simple extends AbstractGraph<Integer, Integer> {
     public Iterable<Integer> adjacent(int vertex) {
         return super.adjacent(vertex);
@@ -19,6 +21,10 @@ public class Graph_Simple extends AbstractGraph<Integer, Integer> {
         return adjacentEdges.toString();
     }
 
+    public Graph_Simple(Bag_Array.IterationPolicy policy) {
+        super(policy);
+    }
+
     public Graph_Simple() {
     }
 }
\ No newline at end of file
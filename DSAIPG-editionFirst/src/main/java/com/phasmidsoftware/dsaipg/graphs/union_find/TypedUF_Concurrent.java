@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import com.phasmidsoftware.dsaipg.util.SizedIterable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * TypedUF_Concurrent is a generic (typed) version of UF_Concurrent, just as TypedUF_HWQUPC is of UF_HWQUPC.
+ * <p>
+ * NOTE that the mapping from elements to indices is built at construction and is never changed,
+ * so this class is as thread-safe as UF_Concurrent.
+ *
+ * @param <T> the type of elements over which the union-find operations are performed
+ */
+public class TypedUF_Concurrent<T> extends UF_Concurrent implements TypedUF<T> {
+
+    /**
+     * Constructs a new TypedUF_Concurrent, initialized with the elements provided by the given SizedIterable.
+     *
+     * @param ts the SizedIterable containing the (unique) elements of type T to be managed by the union-find structure.
+     */
+    public TypedUF_Concurrent(SizedIterable<T> ts) {
+        super(ts.size());
+        map = new HashMap<>(ts.size());
+        int count = 0;
+        for (T t : ts) map.put(t, count++);
+    }
+
+    /**
+     * Determines if two elements of type T are in the same component.
+     *
+     * @param t1 the first element of type T
+     * @param t2 the second element of type T
+     * @return true if the two elements t1 and t2 are in the same component; false otherwise
+     * @throws UFException if either t1 or t2 is not an element managed by the union-find structure
+     */
+    public boolean connected(T t1, T t2) throws UFException {
+        return isConnected(lookup(t1), lookup(t2));
+    }
+
+    /**
+     * Merges the components containing the two given elements of type T.
+     *
+     * @param t1 the first element of type T
+     * @param t2 the second element of type T
+     * @throws UFException if either t1 or t2 is not an element managed by the union-find structure
+     */
+    public void union(T t1, T t2) throws UFException {
+        union(lookup(t1), lookup(t2));
+    }
+
+    private int lookup(T t) throws UFException {
+        Integer x = map.get(t);
+        if (x != null) return x;
+        else throw new UFException("Element " + t + " does not exist");
+    }
+
+    final private Map<T, Integer> map;
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Lock-free implementation of UF, in which any number of threads may call find, union, etc. concurrently.
+ * <p>
+ * The parent links are held in an AtomicIntegerArray and are only ever changed by compare-and-set:
+ * <ul>
+ *     <li>find halves the path as it goes (each site visited is pointed at its grandparent),
+ *     which is harmless if another thread has already changed the link;</li>
+ *     <li>union links the root with the smaller index under the root with the larger index,
+ *     retrying if either root has meanwhile acquired a parent.</li>
+ * </ul>
+ * Because a root is only ever linked under a root of greater index, no cycle can form, whatever the interleaving.
+ * <p>
+ * NOTE that, unlike UF_HWQUPC, there is no weighting by size or height:
+ * that would require updating two words atomically.
+ * Linking by index together with path halving keeps the trees shallow enough in practice.
+ */
+public class UF_Concurrent implements UF {
+
+    /**
+     * Ensures that site p is connected to site q.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     */
+    public void connect(int p, int q) {
+        union(p, q);
+    }
+
+    /**
+     * Initializes an empty union–find data structure with {@code n} sites
+     * {@code 0} through {@code n-1}. Each site is initially in its own component.
+     *
+     * @param n the number of sites
+     * @throws IllegalArgumentException if {@code n < 0}
+     */
+    public UF_Concurrent(int n) {
+        if (n < 0) throw new IllegalArgumentException("UF_Concurrent: negative number of sites: " + n);
+        parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) parent.set(i, i);
+        count = new AtomicInteger(n);
+    }
+
+    /**
+     * Returns the number of components.
+     * NOTE that while unions are in progress (in other threads), the result is only a snapshot.
+     *
+     * @return the number of components (between {@code 1} and {@code n})
+     */
+    public int components() {
+        return count.get();
+    }
+
+    /**
+     * Returns the component identifier for the component containing site {@code p}.
+     *
+     * @param p the integer representing one site
+     * @return the component identifier for the component containing site {@code p}
+     * @throws IllegalArgumentException unless {@code 0 <= p < n}
+     */
+    public int find(int p) {
+        validate(p);
+        int x = p;
+        int px;
+        while ((px = parent.get(x)) != x) {
+            int ppx = parent.get(px);
+            // NOTE path halving: if this fails, some other thread has already shortened the path.
+            if (ppx != px) parent.compareAndSet(x, px, ppx);
+            x = ppx;
+        }
+        return x;
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the component containing site {@code q}.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public void union(int p, int q) {
+        unite(p, q);
+    }
+
+    /**
+     * Merges the component containing site {@code p} with the component containing site {@code q},
+     * reporting whether it was this call which merged them.
+     *
+     * @param p the integer representing one site
+     * @param q the integer representing the other site
+     * @return true if the two components were distinct and have been merged by this invocation;
+     * false if p and q were already connected.
+     * @throws IllegalArgumentException unless both {@code 0 <= p < n} and {@code 0 <= q < n}
+     */
+    public boolean unite(int p, int q) {
+        while (true) {
+            int rootP = find(p);
+            int rootQ = find(q);
+            if (rootP == rootQ) return false;
+            int child = Math.min(rootP, rootQ), root = Math.max(rootP, rootQ);
+            if (parent.compareAndSet(child, child, root)) {
+                count.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sites (objects) in this UF object.
+     *
+     * @return the number of sites.
+     */
+    public int size() {
+        return parent.length();
+    }
+
+    @Override
+    public String toString() {
+        return "UF_Concurrent:" + "\n  count: " + count.get() +
+                "\n  parents: " + parent;
+    }
+
+    private void validate(int p) {
+        int n = parent.length();
+        if (p < 0 || p >= n) {
+            throw new IllegalArgumentException("index " + p + " is not between 0 and " + (n - 1));
+        }
+    }
+
+    private final AtomicIntegerArray parent; // parent[i] = parent of i
+    private final AtomicInteger count;  // number of components
+}
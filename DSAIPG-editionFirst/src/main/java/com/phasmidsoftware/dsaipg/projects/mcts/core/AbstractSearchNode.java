@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Base class for the nodes of a ParallelSearch.
+ * <p>
+ * The statistics of a node are held in a NodeStatistics, which (if the node has a TranspositionTable)
+ * is shared with all other nodes of the same position (or, if the table is symmetric, of an equivalent position).
+ * A subclass provides only the key of its position in the table and the creation of its children.
+ *
+ * @param <G> the type of the Game.
+ * @param <N> the type of the Node itself.
+ */
+public abstract class AbstractSearchNode<G extends Game<G>, N extends AbstractSearchNode<G, N>> implements SearchNode<G, N> {
+
+    /**
+     * Constructor.
+     * NOTE that key is invoked (if table is not null) before the constructor of the subclass has run.
+     *
+     * @param state          the state of this node.
+     * @param moveFromParent the move which led from parent to this node (null for a root).
+     * @param parent         the parent of this node (null for a root).
+     * @param table          the transposition table (null unless statistics are shared by transpositions).
+     */
+    protected AbstractSearchNode(State<G> state, Move<G> moveFromParent, N parent, TranspositionTable table) {
+        this.state = state;
+        this.moveFromParent = moveFromParent;
+        this.parent = parent;
+        this.children = new CopyOnWriteArrayList<>();
+        this.table = table;
+        this.stats = table != null ? table.computeIfAbsent(key(), this::initialStatistics) : initialStatistics();
+    }
+
+    /**
+     * @return the key of the position of this node in table (only invoked if table is not null).
+     */
+    protected abstract long key();
+
+    /**
+     * Create a child of this node.
+     *
+     * @param state the state of the child.
+     * @param move  the move which leads from this node to the child (may be null).
+     * @return a new node whose parent is this.
+     */
+    protected abstract N newChild(State<G> state, Move<G> move);
+
+    /**
+     * Returns the parent node
+     */
+    @Override
+    public N getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the move that created this node
+     */
+    public Move<G> getMoveFromParent() {
+        return moveFromParent;
+    }
+
+    /**
+     * Returns the transposition table of this node (null if there is none).
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return state.isTerminal();
+    }
+
+    @Override
+    public State<G> state() {
+        return state;
+    }
+
+    @Override
+    public boolean white() {
+        return state.player() == state.game().opener();
+    }
+
+    @Override
+    public Collection<Node<G>> children() {
+        return children;
+    }
+
+    @Override
+    public void backPropagate() {
+        if (isLeaf()) return;
+        if (children.isEmpty()) return;
+        int totalWins = 0;
+        int totalPlay = 0;
+        for (Node<G> child : children) {
+            totalWins += child.wins();
+            totalPlay += child.playouts();
+        }
+        stats.set(totalWins, totalPlay);
+    }
+
+    @Override
+    public void addChild(State<G> newState) {
+        Move<G> linkingMove = null;
+        for (Move<G> m : state.moves(state.player())) {
+            if (state.next(m).equals(newState)) {
+                linkingMove = m;
+                break;
+            }
+        }
+        children.add(newChild(newState, linkingMove));
+    }
+
+    /**
+     * Adds a child with a known move
+     */
+    public void addChild(State<G> newState, Move<G> move) {
+        children.add(newChild(newState, move));
+    }
+
+    /**
+     * Add all of the children of this node at once (so that other threads never see only some of them).
+     */
+    public void addChildren(Collection<N> nodes) {
+        children.addAll(nodes);
+    }
+
+    @Override
+    public int wins() {
+        return stats.wins();
+    }
+
+    @Override
+    public int playouts() {
+        return stats.playouts();
+    }
+
+    /**
+     * Updates the statistics of this node with a new reward.
+     *
+     * @param reward The reward value (1.0 for win, 0.5 for draw, 0.0 for loss)
+     */
+    @Override
+    public void updateStats(double reward) {
+        stats.update(reward);
+    }
+
+    /**
+     * Add wins and playouts to this node (used when merging the trees of a root-parallel search).
+     */
+    @Override
+    public void addStats(int wins, int playouts) {
+        stats.add(wins, playouts);
+    }
+
+    /**
+     * Add a virtual loss to this node, while a thread of a tree-parallel search is working below it.
+     */
+    @Override
+    public void addVirtualLoss() {
+        stats.addVirtualLoss();
+    }
+
+    /**
+     * Remove a virtual loss from this node (when the thread which added it backpropagates its result).
+     */
+    @Override
+    public void removeVirtualLoss() {
+        stats.removeVirtualLoss();
+    }
+
+    /**
+     * Returns the UCB1 value of this node, counting virtual losses as lost playouts.
+     */
+    public double ucb(int parentVisits, double explorationParameter) {
+        return stats.ucb(parentVisits, explorationParameter);
+    }
+
+    /**
+     * Returns the playouts of this node, including those in progress (virtual losses).
+     */
+    public int visits() {
+        return stats.visits();
+    }
+
+    /**
+     * Returns a string representation of this node for debugging
+     */
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[wins=" + wins() + ", playouts=" + playouts() +
+                ", score=" + stats.score() + ", isLeaf=" + isLeaf() + "]";
+    }
+
+    private NodeStatistics initialStatistics() {
+        if (isLeaf()) {
+            int wins;
+            Optional<Integer> optWinner = state.winner();
+            if (optWinner.isPresent()) {
+                int winner = optWinner.get();
+                if (winner == state.player()) {
+                    wins = 0;  // Current player just lost
+                } else {
+                    wins = 2;  // Current player just won
+                }
+            } else {
+                wins = 1;  // Draw
+            }
+            return new NodeStatistics(wins, 1);
+        }
+        return new NodeStatistics();
+    }
+
+    private final State<G> state;
+    private final N parent;
+    private final Move<G> moveFromParent;
+    private final List<Node<G>> children; // NOTE copy-on-write so that other threads may iterate while a node is being expanded
+    private final TranspositionTable table;     // NOTE null unless statistics are shared by transpositions
+    private final NodeStatistics stats;
+}
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Class for tracking MCTS performance statistics.
@@ -22,6 +23,9 @@ public class MCTSStatistics {
     private Map<Integer, List<Boolean>> iterationSuccessMap = new HashMap<>();
     private Map<Integer, List<Long>> iterationTimeMap = new HashMap<>();
     
+    // Throughput (iterations per second) for each number of threads
+    private Map<Integer, List<Double>> throughputMap = new TreeMap<>();
+    
     // Track when MCTS fails to find a good move
     private int mctsFallbackCount = 0;
     
@@ -70,6 +74,27 @@ public class MCTSStatistics {
         }
     }
     
+    /**
+     * Record the throughput of an MCTS search.
+     * @param threads Number of threads used by the search
+     * @param iterations Number of iterations completed by the search
+     * @param nanos Elapsed time of the search in nanoseconds
+     * @return Iterations per second
+     */
+    public double recordThroughput(int threads, long iterations, long nanos) {
+        double iterationsPerSecond = nanos > 0 ? iterations * 1.0E9 / nanos : 0;
+        throughputMap.computeIfAbsent(threads, k -> new ArrayList<>())
+                     .add(iterationsPerSecond);
+        return iterationsPerSecond;
+    }
+    
+    /**
+     * Get the mean throughput (iterations per second) recorded for the given number of threads.
+     */
+    public double getThroughput(int threads) {
+        return throughputMap.getOrDefault(threads, new ArrayList<>()).stream().mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+    
     /**
      * Record when MCTS couldn't find a good move and fell back to random.
      */
@@ -148,6 +173,22 @@ public class MCTSStatistics {
             }
         }
         
+        // Throughput analysis
+        if (!throughputMap.isEmpty()) {
+            double base = getThroughput(throughputMap.keySet().iterator().next());
+            report.append("\nThroughput Analysis:\n");
+            report.append("Threads    | Iterations/sec | Speedup\n");
+            report.append("---------------------------------------\n");
+            
+            for (int threads : throughputMap.keySet()) {
+                double throughput = getThroughput(threads);
+                report.append(String.format("%-10d | %-14.0f | %-7.2f\n",
+                                        threads,
+                                        throughput,
+                                        base > 0 ? throughput / base : 0));
+            }
+        }
+        
         report.append("\n=========================================\n");
         return report.toString();
     }
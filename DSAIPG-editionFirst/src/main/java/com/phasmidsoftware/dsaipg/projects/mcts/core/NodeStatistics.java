@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe statistics (wins and playouts) of a Node in an MCTS, together with its virtual loss.
+ * <p>
+ * As for Node, a win is worth 2 points and a draw 1 point.
+ * The wins and playouts are packed into one AtomicLong (wins in the high half, playouts in the low half)
+ * so that they are always updated (and read) together, without locking.
+ * <p>
+ * Virtual loss is used by tree-parallel search: while a thread is working below a node, the node counts
+ * as having been visited (and lost) once more, so that other threads are encouraged to explore other branches.
+ * The virtual loss is removed when the thread backpropagates its result.
+ */
+public class NodeStatistics {
+
+    /**
+     * Constructor.
+     *
+     * @param wins     the initial wins.
+     * @param playouts the initial playouts.
+     */
+    public NodeStatistics(int wins, int playouts) {
+        set(wins, playouts);
+    }
+
+    public NodeStatistics() {
+        this(0, 0);
+    }
+
+    /**
+     * @return the wins (2 points for a win, 1 for a draw).
+     */
+    public int wins() {
+        return (int) (packed.get() >>> 32);
+    }
+
+    /**
+     * @return the number of playouts.
+     */
+    public int playouts() {
+        return (int) packed.get();
+    }
+
+    /**
+     * @return the current virtual loss.
+     */
+    public int virtualLoss() {
+        return virtualLoss.get();
+    }
+
+    /**
+     * @return the number of playouts, including those (virtual losses) which are in progress.
+     */
+    public int visits() {
+        return playouts() + virtualLoss();
+    }
+
+    /**
+     * @return the ratio of wins to playouts (0 if there are no playouts).
+     */
+    public double score() {
+        long x = packed.get();
+        int playouts = (int) x;
+        return playouts > 0 ? (double) (x >>> 32) / playouts : 0.0;
+    }
+
+    /**
+     * Update these statistics with one playout.
+     *
+     * @param reward the reward (1.0 for a win, 0.5 for a draw, 0.0 for a loss).
+     */
+    public void update(double reward) {
+        add(reward == 1.0 ? 2 : reward == 0.5 ? 1 : 0, 1);
+    }
+
+    /**
+     * Add some wins and playouts to these statistics (for example, when merging the results of several trees).
+     *
+     * @param wins     the wins to be added.
+     * @param playouts the playouts to be added.
+     */
+    public void add(int wins, int playouts) {
+        packed.addAndGet(pack(wins, playouts));
+    }
+
+    /**
+     * Set these statistics.
+     *
+     * @param wins     the wins.
+     * @param playouts the playouts.
+     */
+    public void set(int wins, int playouts) {
+        packed.set(pack(wins, playouts));
+    }
+
+    public void addVirtualLoss() {
+        virtualLoss.incrementAndGet();
+    }
+
+    public void removeVirtualLoss() {
+        virtualLoss.decrementAndGet();
+    }
+
+    /**
+     * Get the UCB1 value of a child node whose statistics these are.
+     * Virtual losses count as playouts which were lost.
+     *
+     * @param parentVisits         the visits of the parent node.
+     * @param explorationParameter the exploration parameter.
+     * @return the UCB1 value (Double.MAX_VALUE if this node has not been visited).
+     */
+    public double ucb(int parentVisits, double explorationParameter) {
+        int visits = visits();
+        if (visits == 0) return Double.MAX_VALUE;
+        return (double) wins() / visits + explorationParameter * Math.sqrt(Math.log(parentVisits) / visits);
+    }
+
+    @Override
+    public String toString() {
+        return "wins=" + wins() + ", playouts=" + playouts() + ", score=" + score();
+    }
+
+    private static long pack(int wins, int playouts) {
+        return (long) wins << 32 | playouts & 0xFFFFFFFFL;
+    }
+
+    private final AtomicLong packed = new AtomicLong();
+    private final AtomicInteger virtualLoss = new AtomicInteger();
+}
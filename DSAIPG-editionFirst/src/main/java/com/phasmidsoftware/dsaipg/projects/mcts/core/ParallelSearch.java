@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The driver of an MCTS search which runs (on one or more threads) until its SearchBudget is exhausted.
+ * <p>
+ * A subclass provides the game-specific parts of each iteration: select, simulate and expand.
+ * With TREE parallelism, the threads share one tree and use virtual loss to avoid all following the same path;
+ * with ROOT parallelism, each thread builds its own tree from the root state and then the statistics
+ * of the children of all those trees are merged into the children of root.
+ * <p>
+ * Each iteration updates (and removes virtual loss from) the nodes from the selected node up to the node
+ * at which the search started, never above it: root may be a node in the middle of a larger tree.
+ *
+ * @param <G> the type of the Game.
+ * @param <N> the type of the Nodes.
+ */
+public abstract class ParallelSearch<G extends Game<G>, N extends SearchNode<G, N>> {
+
+    /**
+     * Constructor.
+     *
+     * @param root   the node from which to search.
+     * @param random the source of randomness (each additional thread gets its own Random, seeded from this one).
+     */
+    protected ParallelSearch(N root, Random random) {
+        this.root = root;
+        this.rootPlayer = root.state().player();
+        this.random = random;
+    }
+
+    /**
+     * @return the number of iterations of the last search.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the elapsed time (in nanoseconds) of the last search.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the throughput (iterations per second) of the last search.
+     */
+    public double getIterationsPerSecond() {
+        return elapsedNanos > 0 ? iterations * 1.0E9 / elapsedNanos : 0.0;
+    }
+
+    /**
+     * Forget the iterations and elapsed time of the previous search.
+     * This should be invoked at the start of each search, so that a search which returns without running
+     * (for example, because there is an obvious move) reports no iterations.
+     */
+    protected void reset() {
+        iterations = 0;
+        elapsedNanos = 0;
+    }
+
+    /**
+     * Run iterations from root with the given number of threads until the budget is exhausted
+     * (root should already have been expanded).
+     *
+     * @param budget      the budget of the search.
+     * @param threads     the number of threads.
+     * @param parallelism the way in which the threads work on the search.
+     */
+    protected void run(SearchBudget budget, int threads, SearchBudget.Parallelism parallelism) {
+        budget.start();
+        Random[] randoms = randoms(threads);
+        if (parallelism == SearchBudget.Parallelism.ROOT && threads > 1) {
+            runRootParallel(budget, threads, randoms);
+        } else {
+            boolean virtualLoss = threads > 1;
+            SearchBudget.inParallel(threads, t -> iterate(root, budget, randoms[t], virtualLoss));
+        }
+        iterations = budget.count();
+        elapsedNanos = budget.elapsedNanos();
+    }
+
+    /**
+     * Use UCB to select a node below node (adding a virtual loss to each selected node, if required).
+     *
+     * @param node        the node from which to select.
+     * @param random      the source of randomness for this thread.
+     * @param virtualLoss true if a virtual loss should be added to each selected node.
+     * @return the selected node.
+     */
+    protected abstract N select(N node, Random random, boolean virtualLoss);
+
+    /**
+     * Play out the game from node.
+     *
+     * @param node   the node from which to play.
+     * @param random the source of randomness for this thread.
+     * @return the reward for rootPlayer (1.0 for a win, 0.5 for a draw, 0.0 for a loss).
+     */
+    protected abstract double simulate(N node, Random random);
+
+    /**
+     * Expand node by generating children from all possible moves (unless another thread has already expanded it).
+     *
+     * @param node the node to expand.
+     */
+    protected abstract void expandNode(N node);
+
+    /**
+     * @param state the root state.
+     * @return a new (parentless) node for state, to be the root of one of the trees of a root-parallel search.
+     */
+    protected abstract N newTree(State<G> state);
+
+    /**
+     * Backpropagate the reward from node up to (and including) top, removing the virtual losses added by select (if required).
+     *
+     * @param node        the selected node.
+     * @param top         the node from which the iteration started.
+     * @param reward      the reward for the player who moved into node.
+     * @param virtualLoss true if a virtual loss was added to each node from top down to node.
+     */
+    protected void backpropagate(N node, N top, double reward, boolean virtualLoss) {
+        N current = node;
+        double currentReward = reward;
+        while (current != null) {
+            current.updateStats(currentReward);
+            if (virtualLoss) current.removeVirtualLoss();
+            current = current == top ? null : current.getParent();
+            currentReward = 1.0 - currentReward; // Flip the reward for the parent
+        }
+    }
+
+    // Run iterations from node until the budget is exhausted
+    private void iterate(N node, SearchBudget budget, Random random, boolean virtualLoss) {
+        while (budget.next()) {
+            if (virtualLoss) node.addVirtualLoss();
+            N selected = select(node, random, virtualLoss);
+            double reward = forMover(selected, simulate(selected, random));
+            backpropagate(selected, node, reward, virtualLoss);
+        }
+    }
+
+    // Convert a reward for rootPlayer into a reward for the player who moved into node,
+    // so that the statistics of each node are always from the point of view of that player
+    // (and can therefore be shared by transpositions, and by successive searches, regardless of rootPlayer)
+    private double forMover(N node, double reward) {
+        return node.state().player() == rootPlayer ? 1.0 - reward : reward;
+    }
+
+    // Each thread searches its own tree; then the statistics of the children of each tree are added to those of root
+    private void runRootParallel(SearchBudget budget, int threads, Random[] randoms) {
+        List<N> trees = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) trees.add(null);
+        SearchBudget.inParallel(threads, t -> {
+            N tree = newTree(root.state());
+            expandNode(tree);
+            trees.set(t, tree);
+            iterate(tree, budget, randoms[t], false);
+        });
+        // NOTE the children of each tree are in the same order as those of root since they were expanded from the same state.
+        List<Node<G>> children = new ArrayList<>(root.children());
+        for (N tree : trees) {
+            List<Node<G>> treeChildren = new ArrayList<>(tree.children());
+            for (int i = 0; i < children.size() && i < treeChildren.size(); i++)
+                ((SearchNode<?, ?>) children.get(i)).addStats(treeChildren.get(i).wins(), treeChildren.get(i).playouts());
+            root.addStats(tree.wins(), tree.playouts());
+        }
+    }
+
+    // The first thread uses random; each other thread has its own Random, seeded from random
+    private Random[] randoms(int threads) {
+        Random[] result = new Random[Math.max(1, threads)];
+        result[0] = random;
+        for (int i = 1; i < result.length; i++) result[i] = new Random(random.nextLong());
+        return result;
+    }
+
+    protected final N root;
+    protected final int rootPlayer;      // who moves at the root
+    private final Random random;
+    private long iterations;             // iterations of the last search
+    private long elapsedNanos;           // elapsed time of the last search
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * The budget of an MCTS search: a number of iterations or a time (or both), shared by all the threads of the search.
+ * <p>
+ * Each thread calls next before each iteration: it returns false once the budget is exhausted.
+ * The iterations are counted (atomically) so that the throughput (iterations per second) of the search is known afterwards.
+ */
+public class SearchBudget {
+
+    /**
+     * The ways in which several threads may work on one MCTS search.
+     * TREE: the threads share one tree (whose nodes have atomic statistics and virtual loss);
+     * ROOT: each thread builds its own tree and the statistics of the children of the roots are merged at the end.
+     */
+    public enum Parallelism {TREE, ROOT}
+
+    /**
+     * @param iterations the number of iterations.
+     * @return a SearchBudget of iterations.
+     */
+    public static SearchBudget iterations(long iterations) {
+        return new SearchBudget(iterations, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param millis the time (in milliseconds).
+     * @return a SearchBudget of time.
+     */
+    public static SearchBudget millis(long millis) {
+        return new SearchBudget(Long.MAX_VALUE, millis * 1_000_000);
+    }
+
+    /**
+     * Start (or restart) the clock and the count of iterations.
+     */
+    public void start() {
+        count.set(0);
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Determine whether another iteration may begin and, if so, count it.
+     *
+     * @return true if the budget is not yet exhausted.
+     */
+    public boolean next() {
+        if (nanos != Long.MAX_VALUE && System.nanoTime() - startTime >= nanos) return false;
+        if (count.incrementAndGet() <= iterations) return true;
+        count.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * @return the number of iterations begun since start.
+     */
+    public long count() {
+        return count.get();
+    }
+
+    /**
+     * @return the time (in nanoseconds) since start.
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startTime;
+    }
+
+    /**
+     * Run worker (which is given the index of its thread) on each of threads threads and wait for them all to finish.
+     * If threads is 1, the worker is run in the current thread.
+     *
+     * @param threads the number of threads.
+     * @param worker  the function to run in each thread.
+     */
+    public static void inParallel(int threads, IntConsumer worker) {
+        if (threads <= 1) {
+            worker.accept(0);
+            return;
+        }
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, threads).parallel().forEach(worker)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SearchBudget{iterations=" + (iterations == Long.MAX_VALUE ? "unlimited" : iterations) +
+                ", millis=" + (nanos == Long.MAX_VALUE ? "unlimited" : nanos / 1_000_000) + "}";
+    }
+
+    private SearchBudget(long iterations, long nanos) {
+        this.iterations = iterations;
+        this.nanos = nanos;
+    }
+
+    private final long iterations;
+    private final long nanos;
+    private final AtomicLong count = new AtomicLong();
+    private long startTime = System.nanoTime();
+}
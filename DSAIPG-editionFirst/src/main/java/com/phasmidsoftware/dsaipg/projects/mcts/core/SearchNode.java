@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+/**
+ * This interface defines the behavior of a Node which can be searched (by several threads at once) by a ParallelSearch.
+ *
+ * @param <G> the type of the Game.
+ * @param <N> the type of the Node itself.
+ */
+public interface SearchNode<G extends Game<G>, N extends SearchNode<G, N>> extends Node<G> {
+
+    /**
+     * @return the parent of this node (null for a node which was created as a root).
+     */
+    N getParent();
+
+    /**
+     * Update the statistics of this node with one playout.
+     *
+     * @param reward the reward (1.0 for a win, 0.5 for a draw, 0.0 for a loss).
+     */
+    void updateStats(double reward);
+
+    /**
+     * Add wins and playouts to this node (used when merging the trees of a root-parallel search).
+     *
+     * @param wins     the wins to be added.
+     * @param playouts the playouts to be added.
+     */
+    void addStats(int wins, int playouts);
+
+    /**
+     * Add a virtual loss to this node, while a thread of a tree-parallel search is working below it.
+     */
+    void addVirtualLoss();
+
+    /**
+     * Remove a virtual loss from this node (when the thread which added it backpropagates its result).
+     */
+    void removeVirtualLoss();
+}
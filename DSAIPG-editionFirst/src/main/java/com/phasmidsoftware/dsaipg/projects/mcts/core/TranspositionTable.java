@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A bounded table of the NodeStatistics of positions, keyed by (Zobrist) hash, which is shared by all the nodes of an MCTS
+ * (and may be shared by successive searches of a game).
+ * Thus a position which is reached by different sequences of moves (a transposition) has only one set of statistics,
+ * and the statistics of a position survive from one search to the next.
+ * <p>
+ * The table is divided into stripes, each with its own lock, so that the threads of a parallel search seldom contend.
+ * Each stripe holds at most capacity/stripes entries and, when full, evicts its least-recently-used entry.
+ * NOTE that a node whose entry is evicted keeps (and continues to update) its NodeStatistics: they are simply no longer shared.
+ * <p>
+ * If the table is symmetric, nodes should key it by the canonical hash of their positions
+ * (the same for all positions which are equivalent under a symmetry of the board) so that equivalent positions share statistics.
+ */
+public class TranspositionTable {
+
+    /**
+     * Constructor.
+     *
+     * @param capacity  the maximum number of entries.
+     * @param stripes   the number of stripes (locks): it must be a power of two.
+     * @param symmetric true if positions should be keyed by their canonical hashes.
+     */
+    public TranspositionTable(int capacity, int stripes, boolean symmetric) {
+        if (stripes <= 0 || Integer.bitCount(stripes) != 1)
+            throw new IllegalArgumentException("TranspositionTable: stripes must be a power of two: " + stripes);
+        if (capacity < stripes)
+            throw new IllegalArgumentException("TranspositionTable: capacity must be at least " + stripes + ": " + capacity);
+        this.capacity = capacity;
+        this.symmetric = symmetric;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) this.stripes[i] = new Stripe(capacity / stripes);
+    }
+
+    /**
+     * Constructor for a table with 64 stripes and without symmetry.
+     *
+     * @param capacity the maximum number of entries.
+     */
+    public TranspositionTable(int capacity) {
+        this(capacity, 64, false);
+    }
+
+    /**
+     * Get the statistics of the position with the given key, creating (and inserting) them if there are none.
+     * A lookup which finds existing statistics counts as a hit; otherwise it counts as a miss.
+     *
+     * @param key     the (Zobrist) hash of a position.
+     * @param initial a function to create the initial statistics of the position.
+     * @return the (shared) statistics of the position.
+     */
+    public NodeStatistics computeIfAbsent(long key, Supplier<NodeStatistics> initial) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            NodeStatistics result = stripe.get(key);
+            if (result != null) {
+                hits.increment();
+                return result;
+            }
+            misses.increment();
+            result = initial.get();
+            stripe.put(key, result);
+            return result;
+        }
+    }
+
+    /**
+     * Get the statistics of the position with the given key (without counting a hit or miss).
+     *
+     * @param key the (Zobrist) hash of a position.
+     * @return the statistics of the position or null if there are none.
+     */
+    public NodeStatistics get(long key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /**
+     * @return true if positions should be keyed by their canonical hashes.
+     */
+    public boolean isSymmetric() {
+        return symmetric;
+    }
+
+    /**
+     * @return the number of entries.
+     */
+    public int size() {
+        int result = 0;
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        return result;
+    }
+
+    /**
+     * @return the maximum number of entries.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of lookups which found existing statistics.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups which created new statistics.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries evicted because a stripe was full.
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the proportion of lookups which were hits (0 if there have been no lookups).
+     */
+    public double hitRate() {
+        long hits = hits(), lookups = hits + misses();
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+
+    /**
+     * @return an estimate of the memory (in bytes) used by the entries of this table.
+     */
+    public long memory() {
+        return (long) size() * BYTES_PER_ENTRY;
+    }
+
+    /**
+     * Remove all entries and reset the counts.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionTable{size=%d, capacity=%d, hits=%d, misses=%d, hit rate=%.1f%%, evictions=%d, memory=%dKB%s}",
+                size(), capacity, hits(), misses(), hitRate() * 100, evictions(), memory() / 1024, symmetric ? ", symmetric" : "");
+    }
+
+    private Stripe stripe(long key) {
+        return stripes[(int) (key ^ key >>> 32) & (stripes.length - 1)];
+    }
+
+    /**
+     * One stripe of the table: a map in access order, which evicts its least-recently-used entry when full.
+     */
+    @SuppressWarnings("serial") // NOTE a Stripe is never serialized.
+    private class Stripe extends LinkedHashMap<Long, NodeStatistics> {
+
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, NodeStatistics> eldest) {
+            if (size() <= capacity) return false;
+            evictions.increment();
+            return true;
+        }
+
+        private final int capacity;
+    }
+
+    // NOTE an estimate for a 64-bit JVM with compressed references: the map entry (40), the boxed key (16),
+    // the NodeStatistics with its AtomicLong and AtomicInteger (64) and the share of the hash table (8 / load factor).
+    static final int BYTES_PER_ENTRY = 131;
+
+    private final int capacity;
+    private final boolean symmetric;
+    private final Stripe[] stripes;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+}
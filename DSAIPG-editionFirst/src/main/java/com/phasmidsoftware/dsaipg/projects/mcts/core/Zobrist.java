@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import java.util.Random;
+
+/**
+ * Random keys for the Zobrist hashing of the positions of a board game.
+ * <p>
+ * The hash of a position is the exclusive-or of the key of each (cell, piece) pair on the board
+ * and the key of the last player to have moved.
+ * Thus the hash can be updated incrementally when a piece is placed, removed or flipped (each a single exclusive-or),
+ * and the same position reached by different sequences of moves has the same hash.
+ */
+public class Zobrist {
+
+    /**
+     * Constructor.
+     *
+     * @param cells  the number of cells of the board.
+     * @param pieces the number of kinds of piece (pieces are numbered from 0).
+     * @param seed   the seed for the random keys (so that hashes are reproducible).
+     */
+    public Zobrist(int cells, int pieces, long seed) {
+        this.pieces = pieces;
+        Random random = new Random(seed);
+        keys = new long[cells * pieces];
+        for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+        lastPlayerKeys = new long[pieces + 1];
+        for (int i = 0; i < lastPlayerKeys.length; i++) lastPlayerKeys[i] = random.nextLong();
+    }
+
+    /**
+     * @param cell  the cell.
+     * @param piece the piece (from 0).
+     * @return the key of piece on cell.
+     */
+    public long key(int cell, int piece) {
+        return keys[cell * pieces + piece];
+    }
+
+    /**
+     * @param player the last player to have moved (or -1 if no player has moved).
+     * @return the key of player.
+     */
+    public long lastPlayerKey(int player) {
+        return lastPlayerKeys[player + 1];
+    }
+
+    private final int pieces;
+    private final long[] keys; // keys[cell * pieces + piece] is the key of piece on cell
+    private final long[] lastPlayerKeys; // lastPlayerKeys[player + 1] is the key of player
+}
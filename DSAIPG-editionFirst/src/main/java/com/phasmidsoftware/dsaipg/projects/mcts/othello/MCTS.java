@@ -1,6 +1,8 @@
 package com.phasmidsoftware.dsaipg.projects.mcts.othello;
 
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.ParallelSearch;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.State;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Move;
 
@@ -11,7 +13,7 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.function.Consumer;
 
-public class MCTS {
+public class MCTS extends ParallelSearch<Othello, OthelloNode> {
 
     private static final double EXPLORATION_PARAMETER = 1.0;
     
@@ -28,17 +30,20 @@ public class MCTS {
     };
 
     private Consumer<String> logger;
-    private final OthelloNode root;
-    private final int rootPlayer;
-    private final Random random;
 
     /**
      * Construct an MCTS for Othello
      */
     public MCTS(OthelloNode root) {
-        this.root = root;
-        this.rootPlayer = root.state().player();
-        this.random = new Random();
+        this(root, new Random());
+    }
+
+    /**
+     * Construct an MCTS for Othello with a given source of randomness
+     * (each additional thread of a parallel search gets its own Random, seeded from this one).
+     */
+    public MCTS(OthelloNode root, Random random) {
+        super(root, random);
     }
 
     /**
@@ -49,6 +54,24 @@ public class MCTS {
     }
 
     public Node<Othello> searchIterations(int iterations) {
+        return search(SearchBudget.iterations(iterations), 1, SearchBudget.Parallelism.TREE);
+    }
+
+    /**
+     * Search (in the current thread) for the given number of milliseconds
+     */
+    public Node<Othello> searchTime(long millis) {
+        return search(SearchBudget.millis(millis), 1, SearchBudget.Parallelism.TREE);
+    }
+
+    /**
+     * Search with the given number of threads until the budget is exhausted.
+     * With TREE parallelism, the threads share one tree and use virtual loss to avoid all following the same path;
+     * with ROOT parallelism, each thread builds its own tree from the root state and then the statistics
+     * of the children of all those trees are merged into the children of root.
+     */
+    public Node<Othello> search(SearchBudget budget, int threads, SearchBudget.Parallelism parallelism) {
+        reset();
         // Check for strategic moves first
         OthelloState state = (OthelloState) root.state();
         Position position = state.getPosition();
@@ -72,16 +95,10 @@ public class MCTS {
         }
         
         // Standard MCTS iterations
-        long startTime = System.currentTimeMillis();
-        for (int i = 0; i < iterations; i++) {
-            OthelloNode selected = select(root);
-            double reward = simulate(selected);
-            backpropagate(selected, reward);
-        }
-        long endTime = System.currentTimeMillis();
+        run(budget, threads, parallelism);
         
         if (logger != null) {
-            logger.accept("MCTS completed " + iterations + " iterations in " + (endTime - startTime) + " ms.");
+            logger.accept("MCTS completed " + getIterations() + " iterations in " + getElapsedNanos() / 1_000_000 + " ms using " + threads + " threads.");
             logger.accept("Root has " + root.children().size() + " children.");
             
             // Log statistics for top children
@@ -106,6 +123,11 @@ public class MCTS {
         return findBestChild();
     }
     
+    @Override
+    protected OthelloNode newTree(State<Othello> state) {
+        return new OthelloNode(state);
+    }
+
     /**
      * Find the best child based on number of playouts
      */
@@ -162,31 +184,39 @@ public class MCTS {
         }
     }
     
-    // Expand node by generating children from all possible moves
-    private void expandNode(OthelloNode node) {
-        State<Othello> state = node.state();
-        int player = state.player();
-        
-        try {
-            Collection<Move<Othello>> moves = state.moves(player);
-            
-            for (Move<Othello> move : moves) {
-                State<Othello> newState = state.next(move);
-                node.addChild(newState, move);
-            }
-            
-            if (logger != null) {
-                logger.accept("Expanded node: " + moves.size() + " children created.");
-            }
-        } catch (Exception e) {
-            if (logger != null) {
-                logger.accept("Error expanding node: " + e.getMessage());
+    // Expand node by generating children from all possible moves (unless another thread has already expanded it)
+    @Override
+    protected void expandNode(OthelloNode node) {
+        synchronized (node) {
+            if (!node.children().isEmpty()) return;
+            State<Othello> state = node.state();
+            int player = state.player();
+
+            try {
+                Collection<Move<Othello>> moves = state.moves(player);
+                List<OthelloNode> children = new ArrayList<>(moves.size());
+
+                for (Move<Othello> move : moves) {
+                    State<Othello> newState = state.next(move);
+                    children.add(new OthelloNode(newState, move, node));
+                }
+                node.addChildren(children);
+
+                if (logger != null) {
+                    logger.accept("Expanded node: " + moves.size() + " children created.");
+                }
+            } catch (Exception e) {
+                if (logger != null) {
+                    logger.accept("Error expanding node: " + e.getMessage());
+                }
             }
         }
     }
 
     // Use UCB to select a child node, recursing down until we reach a leaf
-    private OthelloNode select(OthelloNode node) {
+    // (adding a virtual loss to each selected node, if required)
+    @Override
+    protected OthelloNode select(OthelloNode node, Random random, boolean virtualLoss) {
 
         if (node == null) {
             if (logger != null) logger.accept("Selection: received null node");
@@ -205,16 +235,19 @@ public class MCTS {
             if (children.isEmpty()) {
                 return node; // No valid moves, return this node
             }
-            return (OthelloNode) children.get(random.nextInt(children.size()));
+            OthelloNode child = (OthelloNode) children.get(random.nextInt(children.size()));
+            if (virtualLoss) child.addVirtualLoss();
+            return child;
         }
         
         // Find best child by UCT
         OthelloNode bestChild = null;
         double bestScore = Double.NEGATIVE_INFINITY;
         
+        int parentVisits = node.visits();
         for (Node<Othello> childNode : node.children()) {
             OthelloNode oChild = (OthelloNode) childNode;
-            double score = ucbValue(oChild, node.playouts());
+            double score = oChild.ucb(parentVisits, EXPLORATION_PARAMETER);
             if (score > bestScore) {
                 bestScore = score;
                 bestChild = oChild;
@@ -226,25 +259,13 @@ public class MCTS {
             return node;
         }
         
-        return select(bestChild);
-    }
-
-    private double ucbValue(OthelloNode child, int parentPlayouts) {
-        if (child.playouts() == 0) {
-            return Double.MAX_VALUE;  // Unexplored nodes get priority
-        }
-        
-        // Normalize win rate
-        double exploitation = (double) child.wins() / child.playouts();
-        
-        // UCB1 formula
-        double exploration = EXPLORATION_PARAMETER * Math.sqrt(Math.log(parentPlayouts) / child.playouts());
-        
-        return exploitation + exploration;
+        if (virtualLoss) bestChild.addVirtualLoss();
+        return select(bestChild, random, virtualLoss);
     }
 
     // Enhanced simulation with strategic play - but without using moves() from the State
-    private double simulate(OthelloNode node) {
+    @Override
+    protected double simulate(OthelloNode node, Random random) {
         // Create a copy of the state for simulation
         OthelloState originalState = (OthelloState) node.state();
         Position originalPosition = originalState.getPosition();
@@ -260,33 +281,28 @@ public class MCTS {
         int maxDepth = 30; // Limit simulation depth
         
         while (!currentPosition.isGameOver() && depth < maxDepth) {
-            // Get valid moves for the current player directly from the Position
-            List<int[]> availableMoves = currentPosition.moves(currentPlayer);
+            // Get valid moves (as a bitboard) for the current player directly from the Position
+            long availableMoves = currentPosition.moveMask(currentPlayer);
             
-            if (availableMoves.isEmpty()) {
+            if (availableMoves == 0) {
                 // No moves available, switch players
                 currentPlayer = 1 - currentPlayer;
                 continue;
             }
             
             // Choose a move using our heuristics
-            int[] move;
+            int square;
             if (random.nextDouble() < 0.9) {
-                move = selectHeuristicMoveCoords(currentPosition, availableMoves, currentPlayer);
+                square = selectHeuristicMove(currentPosition, availableMoves, currentPlayer);
             } else {
-                move = availableMoves.get(random.nextInt(availableMoves.size()));
+                square = Position.selectSquare(availableMoves, random.nextInt(Long.bitCount(availableMoves)));
             }
             
-            // Apply the move directly to the Position
-            try {
-                currentPosition = currentPosition.move(currentPlayer, move[0], move[1]);
-                // Switch players
-                currentPlayer = 1 - currentPlayer;
-                depth++;
-            } catch (Exception e) {
-                // Invalid move, switch players
-                currentPlayer = 1 - currentPlayer;
-            }
+            // Apply the move directly to the Position (it must be valid since it came from the move mask)
+            currentPosition = currentPosition.move(currentPlayer, square);
+            // Switch players
+            currentPlayer = 1 - currentPlayer;
+            depth++;
         }
         
         // If we hit max depth or the game is over, evaluate the position
@@ -299,22 +315,23 @@ public class MCTS {
     }
     
     /**
-     * Select move coordinates based on heuristics
+     * Select the square of a move (from the bitboard of valid moves) based on heuristics
      */
-    private int[] selectHeuristicMoveCoords(Position position, List<int[]> moves, int player) {
-        if (moves.isEmpty()) {
+    private int selectHeuristicMove(Position position, long moves, int player) {
+        if (moves == 0) {
             throw new IllegalArgumentException("No moves available");
         }
         
         // Default to first move
-        int[] bestMove = moves.get(0);
+        int bestMove = Long.numberOfTrailingZeros(moves);
         double bestScore = Double.NEGATIVE_INFINITY;
         
-        for (int[] move : moves) {
-            double score = evaluateMoveHeuristically(position, move, player);
+        for (long m = moves; m != 0; m &= m - 1) {
+            int square = Long.numberOfTrailingZeros(m);
+            double score = evaluateMoveHeuristically(position, square, player);
             if (score > bestScore) {
                 bestScore = score;
-                bestMove = move;
+                bestMove = square;
             }
         }
         
@@ -322,11 +339,11 @@ public class MCTS {
     }
     
     /**
-     * Evaluate a potential move using heuristics
+     * Evaluate a potential (valid) move using heuristics
      */
-    private double evaluateMoveHeuristically(Position position, int[] move, int player) {
-        int row = move[0];
-        int col = move[1];
+    private double evaluateMoveHeuristically(Position position, int square, int player) {
+        int row = square / 8;
+        int col = square % 8;
         
         // Start with position weight
         double score = POSITION_WEIGHTS[row][col];
@@ -339,28 +356,23 @@ public class MCTS {
         // Avoid squares next to corners if we don't control the corner
         if ((row <= 1 || row >= 6) && (col <= 1 || col >= 6)) {
             // Dangerous squares near corners
-            if (row <= 1 && col <= 1 && position.getBoard()[0][0] == Position.EMPTY) score -= 100;
-            if (row <= 1 && col >= 6 && position.getBoard()[0][7] == Position.EMPTY) score -= 100;
-            if (row >= 6 && col <= 1 && position.getBoard()[7][0] == Position.EMPTY) score -= 100;
-            if (row >= 6 && col >= 6 && position.getBoard()[7][7] == Position.EMPTY) score -= 100;
+            if (row <= 1 && col <= 1 && position.get(0, 0) == Position.EMPTY) score -= 100;
+            if (row <= 1 && col >= 6 && position.get(0, 7) == Position.EMPTY) score -= 100;
+            if (row >= 6 && col <= 1 && position.get(7, 0) == Position.EMPTY) score -= 100;
+            if (row >= 6 && col >= 6 && position.get(7, 7) == Position.EMPTY) score -= 100;
         }
         
         // Evaluate the resulting position
-        try {
-            Position newPosition = position.move(player, row, col);
-            
-            // Consider piece difference after the move
-            int ownPieces = newPosition.countPieces(player);
-            int opponentPieces = newPosition.countPieces(1 - player);
-            score += (ownPieces - opponentPieces) * 0.5;
-            
-            // Consider mobility (number of moves available to opponent after this move)
-            int opponentMoves = newPosition.moves(1 - player).size();
-            score -= opponentMoves * 2; // Prefer moves that limit opponent mobility
-        } catch (Exception e) {
-            // Invalid move, assign low score
-            return Double.NEGATIVE_INFINITY;
-        }
+        Position newPosition = position.move(player, square);
+        
+        // Consider piece difference after the move
+        int ownPieces = newPosition.countPieces(player);
+        int opponentPieces = newPosition.countPieces(1 - player);
+        score += (ownPieces - opponentPieces) * 0.5;
+        
+        // Consider mobility (number of moves available to opponent after this move)
+        int opponentMoves = Long.bitCount(newPosition.moveMask(1 - player));
+        score -= opponentMoves * 2; // Prefer moves that limit opponent mobility
         
         return score;
     }
@@ -378,13 +390,12 @@ public class MCTS {
         // Evaluate position value
         double positionValue = 0;
         double totalWeight = 0;
-        int[][] board = position.getBoard();
-        
         for (int i = 0; i < 8; i++) {
             for (int j = 0; j < 8; j++) {
-                if (board[i][j] == rootPlayer) {
+                int cell = position.get(i, j);
+                if (cell == rootPlayer) {
                     positionValue += POSITION_WEIGHTS[i][j];
-                } else if (board[i][j] == (1 - rootPlayer)) {
+                } else if (cell == (1 - rootPlayer)) {
                     positionValue -= POSITION_WEIGHTS[i][j];
                 }
                 totalWeight += Math.abs(POSITION_WEIGHTS[i][j]);
@@ -422,16 +433,4 @@ public class MCTS {
             return 0.5;
         }
     }
-
-    // Backpropagate the reward up the tree
-    private void backpropagate(OthelloNode node, double reward) {
-        OthelloNode current = node;
-        double currentReward = reward;
-        
-        while (current != null) {
-            current.updateStats(currentReward);
-            current = current.getParent();
-            currentReward = 1.0 - currentReward; // Flip the reward
-        }
-    }
 }
\ No newline at end of file
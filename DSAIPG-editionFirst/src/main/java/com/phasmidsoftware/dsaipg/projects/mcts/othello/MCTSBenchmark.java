@@ -0,0 +1,44 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.othello;
+
+import com.phasmidsoftware.dsaipg.projects.mcts.core.MCTSStatistics;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Random;
+
+/**
+ * Benchmark of the throughput (iterations per second) of a time-limited MCTS search from the starting position of Othello,
+ * for 1, 2, 4, ... threads (by default, up to the number of available processors) and for both tree and root parallelism.
+ * <p>
+ * NOTE that, in a tree-parallel search, the threads contend for the statistics of the nodes near the root,
+ * whereas the threads of a root-parallel search share nothing but the budget (but each explores a smaller tree).
+ */
+public class MCTSBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the time of each search (in milliseconds); the number of searches for each configuration; the maximum number of threads.
+     */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : processors;
+        logger.info("MCTSBenchmark: " + millis + " ms per search, " + runs + " searches, " + processors + " processors");
+        for (SearchBudget.Parallelism parallelism : SearchBudget.Parallelism.values()) {
+            MCTSStatistics stats = new MCTSStatistics();
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                for (int run = 0; run < runs; run++) {
+                    MCTS mcts = new MCTS(new OthelloNode(new OthelloState(Position.createStartingPosition())), new Random(run));
+                    mcts.search(SearchBudget.millis(millis), threads, parallelism);
+                    stats.recordThroughput(threads, mcts.getIterations(), mcts.getElapsedNanos());
+                }
+                logger.info(String.format("MCTSBenchmark: %s parallelism, %d threads: %.0f iterations/sec", parallelism, threads, stats.getThroughput(threads)));
+            }
+            logger.info("MCTSBenchmark: " + parallelism + " parallelism:" + stats.generateReport());
+        }
+    }
+
+    final static LazyLogger logger = new LazyLogger(MCTSBenchmark.class);
+}
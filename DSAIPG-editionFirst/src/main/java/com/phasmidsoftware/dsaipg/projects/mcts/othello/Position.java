@@ -1,131 +1,204 @@
 package com.phasmidsoftware.dsaipg.projects.mcts.othello;
 
+import com.phasmidsoftware.dsaipg.projects.mcts.core.Zobrist;
+
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * An Othello position, represented by two bitboards: one for the black pieces and one for the white pieces.
+ * The square (row, col) is bit 8 * row + col of each bitboard.
+ * <p>
+ * The valid moves (and the pieces flipped by a move) are computed for all squares (or for all directions) at once
+ * by shifting and masking the bitboards, without allocating anything.
+ * The methods which take or return squares as bitboards (moveMask, flips, move(player, square)) are intended for playouts;
+ * the methods which use int[] coordinates are kept for the game itself.
+ * <p>
+ * Each Position also has a Zobrist hash (of its pieces and its last player), which move updates incrementally,
+ * and a canonical hash, which is the same for all eight positions equivalent under the symmetries of the board.
+ */
 public class Position {
 
     public static final int EMPTY = -1;
     public static final int BLACK = 0;
     public static final int WHITE = 1;
     private static final int SIZE = 8;
-    
+
     // Directions for checking valid moves
     private static final int[][] DIRECTIONS = {
         {-1, -1}, {-1, 0}, {-1, 1},
         {0, -1},           {0, 1},
         {1, -1},  {1, 0},  {1, 1}
     };
-    
-    private final int[][] board;
+
+    // Masks of all squares except those in column 0 (or column 7)
+    private static final long NOT_COL_0 = 0xFEFEFEFEFEFEFEFEL;
+    private static final long NOT_COL_7 = 0x7F7F7F7F7F7F7F7FL;
+
+    // The shift (right for the first four directions, left for the others) and the mask which move a bitboard one step in each direction
+    // NOTE the masks remove pieces which would otherwise wrap around from one edge of the board to the other.
+    private static final int[] SHIFTS = {9, 8, 7, 1, 1, 7, 8, 9};
+    private static final long[] MASKS = {NOT_COL_7, -1L, NOT_COL_0, NOT_COL_7, NOT_COL_0, NOT_COL_7, -1L, NOT_COL_0};
+
+    private static final Zobrist ZOBRIST = new Zobrist(SIZE * SIZE, 2, 0x5DEECE66DL);
+
+    private final long black;
+    private final long white;
     private final int lastPlayer;
     private final int pieceCount;
+    private final long hash;
 
     public Position(int[][] board, int pieceCount, int lastPlayer) {
-        this.board = board;
+        this(bits(board, BLACK), bits(board, WHITE), pieceCount, lastPlayer);
+    }
+
+    /**
+     * Creates a Position from the bitboards of black and white pieces.
+     */
+    public Position(long black, long white, int pieceCount, int lastPlayer) {
+        this(black, white, pieceCount, lastPlayer, hash(black, white, lastPlayer));
+    }
+
+    private Position(long black, long white, int pieceCount, int lastPlayer, long hash) {
+        this.black = black;
+        this.white = white;
         this.pieceCount = pieceCount;
         this.lastPlayer = lastPlayer;
+        this.hash = hash;
     }
 
     /**
      * Creates a new Othello board with the standard starting position.
      */
     public static Position createStartingPosition() {
-        int[][] board = new int[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            Arrays.fill(board[i], EMPTY);
-        }
-        
         // Initial 4 pieces in the center
-        board[3][3] = WHITE;
-        board[3][4] = BLACK;
-        board[4][3] = BLACK;
-        board[4][4] = WHITE;
-        
-        return new Position(board, 4, EMPTY); // No one has moved yet
+        long black = bit(3, 4) | bit(4, 3);
+        long white = bit(3, 3) | bit(4, 4);
+        return new Position(black, white, 4, EMPTY); // No one has moved yet
     }
 
     /**
      * Returns a new Position resulting from applying the move.
      */
     public Position move(int player, int row, int col) {
+        return move(player, square(row, col));
+    }
+
+    /**
+     * Returns a new Position resulting from applying the move to the given square (8 * row + col).
+     */
+    public Position move(int player, int square) {
         if (isFull()) {
             throw new IllegalStateException("Board is full");
         }
-        if (board[row][col] != EMPTY) {
-            throw new IllegalStateException("Cell already occupied at " + row + "," + col);
+        long bit = 1L << square;
+        if (((black | white) & bit) != 0) {
+            throw new IllegalStateException("Cell already occupied at " + square / SIZE + "," + square % SIZE);
         }
 
         // Check if this is a valid move (flips at least one piece)
-        List<int[]> flips = getFlips(player, row, col);
-        if (flips.isEmpty()) {
-            throw new IllegalStateException("Invalid move at " + row + "," + col + " - must flip at least one piece");
-        }
-        
-        // Create a new board with the move applied
-        int[][] newBoard = new int[SIZE][SIZE];
-        for (int i = 0; i < SIZE; i++) {
-            newBoard[i] = Arrays.copyOf(board[i], SIZE);
+        long flips = flips(player, square);
+        if (flips == 0) {
+            throw new IllegalStateException("Invalid move at " + square / SIZE + "," + square % SIZE + " - must flip at least one piece");
         }
-        
-        // Place the new piece
-        newBoard[row][col] = player;
-        
-        // Flip captured pieces
-        for (int[] pos : flips) {
-            newBoard[pos[0]][pos[1]] = player;
+
+        // Place the new piece and flip the captured pieces
+        long own = pieces(player) | bit | flips;
+        long opponent = pieces(1 - player) & ~flips;
+
+        // Update the hash for the new piece, the flipped pieces and the last player
+        long newHash = hash ^ ZOBRIST.key(square, player) ^ ZOBRIST.lastPlayerKey(lastPlayer) ^ ZOBRIST.lastPlayerKey(player);
+        for (long f = flips; f != 0; f &= f - 1) {
+            int flipped = Long.numberOfTrailingZeros(f);
+            newHash ^= ZOBRIST.key(flipped, BLACK) ^ ZOBRIST.key(flipped, WHITE);
         }
-        
+
         // The total piece count increases by 1
-        return new Position(newBoard, pieceCount + 1, player);
+        return player == BLACK ? new Position(own, opponent, pieceCount + 1, player, newHash) : new Position(opponent, own, pieceCount + 1, player, newHash);
     }
 
     /**
      * Returns a list of positions that would be flipped if player places at (row, col).
+     * The positions are in the order of DIRECTIONS and, for each direction, in order of distance from (row, col).
      */
     public List<int[]> getFlips(int player, int row, int col) {
-        if (board[row][col] != EMPTY) {
-            return new ArrayList<>(); // Can't place on an occupied cell
-        }
-        
         List<int[]> flips = new ArrayList<>();
-        
+        long mask = flips(player, square(row, col));
+        if (mask == 0) {
+            return flips;
+        }
+
         for (int[] dir : DIRECTIONS) {
-            List<int[]> dirFlips = getFlipsInDirection(player, row, col, dir[0], dir[1]);
-            flips.addAll(dirFlips);
+            int r = row + dir[0];
+            int c = col + dir[1];
+            while (isValidPosition(r, c) && (mask & bit(r, c)) != 0) {
+                flips.add(new int[]{r, c});
+                r += dir[0];
+                c += dir[1];
+            }
         }
-        
+
         return flips;
     }
 
     /**
-     * Returns a list of positions that would be flipped in a particular direction.
+     * Returns the bitboard of pieces that would be flipped if player places at square (0 if the square is occupied).
      */
-    private List<int[]> getFlipsInDirection(int player, int row, int col, int dRow, int dCol) {
-        List<int[]> flips = new ArrayList<>();
-        int opponent = 1 - player; // Opponent is the other player
-        
-        int r = row + dRow;
-        int c = col + dCol;
-        
-        // Temporary list to track potential flips
-        List<int[]> temp = new ArrayList<>();
-        
-        // Keep going in this direction as long as we're finding opponent pieces
-        while (isValidPosition(r, c) && board[r][c] == opponent) {
-            temp.add(new int[]{r, c});
-            r += dRow;
-            c += dCol;
+    public long flips(int player, int square) {
+        long bit = 1L << square;
+        if (((black | white) & bit) != 0) {
+            return 0L; // Can't place on an occupied cell
         }
-        
-        // If we hit one of our own pieces, all the opponent pieces in between get flipped
-        if (isValidPosition(r, c) && board[r][c] == player && !temp.isEmpty()) {
-            flips.addAll(temp);
+
+        long own = pieces(player);
+        long opponent = pieces(1 - player);
+        long result = 0L;
+
+        for (int d = 0; d < SHIFTS.length; d++) {
+            // Keep going in this direction as long as we're finding opponent pieces
+            long line = 0L;
+            long x = shift(bit, d);
+            while ((x & opponent) != 0) {
+                line |= x;
+                x = shift(x, d);
+            }
+
+            // If we hit one of our own pieces, all the opponent pieces in between get flipped
+            if ((x & own) != 0) {
+                result |= line;
+            }
         }
-        
-        return flips;
+
+        return result;
+    }
+
+    /**
+     * Returns the bitboard of the squares on which player may move.
+     */
+    public long moveMask(int player) {
+        long own = pieces(player);
+        long opponent = pieces(1 - player);
+        long empty = ~(black | white);
+        long result = 0L;
+
+        for (int d = 0; d < SHIFTS.length; d++) {
+            // NOTE a line of opponent pieces can be at most six long.
+            long x = shift(own, d) & opponent;
+            for (int i = 0; i < SIZE - 3; i++) {
+                x |= shift(x, d) & opponent;
+            }
+            result |= shift(x, d) & empty;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns true if player has at least one valid move.
+     */
+    public boolean hasMoves(int player) {
+        return moveMask(player) != 0;
     }
 
     /**
@@ -139,17 +212,15 @@ public class Position {
      * Returns a list of available moves for the given player.
      */
     public List<int[]> moves(int player) {
-        List<int[]> validMoves = new ArrayList<>();
-        
-        // Check each empty cell for valid moves
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board[i][j] == EMPTY && !getFlips(player, i, j).isEmpty()) {
-                    validMoves.add(new int[]{i, j});
-                }
-            }
+        long mask = moveMask(player);
+        List<int[]> validMoves = new ArrayList<>(Long.bitCount(mask));
+
+        // The moves are in order of square, i.e. row by row
+        for (long m = mask; m != 0; m &= m - 1) {
+            int square = Long.numberOfTrailingZeros(m);
+            validMoves.add(new int[]{square / SIZE, square % SIZE});
         }
-        
+
         return validMoves;
     }
 
@@ -164,30 +235,7 @@ public class Position {
      * Returns true if neither player can make a valid move.
      */
     public boolean isGameOver() {
-        if (isFull()) {
-            return true;
-        }
-        
-        // Don't check for consecutive passes, just if any player has moves
-        List<int[]> blackMoves = new ArrayList<>();
-        List<int[]> whiteMoves = new ArrayList<>();
-        
-        // Check each empty cell for valid moves for each player
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board[i][j] == EMPTY) {
-                    if (!getFlips(BLACK, i, j).isEmpty()) {
-                        blackMoves.add(new int[]{i, j});
-                    }
-                    if (!getFlips(WHITE, i, j).isEmpty()) {
-                        whiteMoves.add(new int[]{i, j});
-                    }
-                }
-            }
-        }
-        
-        // Game is over if neither player has valid moves
-        return blackMoves.isEmpty() && whiteMoves.isEmpty();
+        return isFull() || !hasMoves(BLACK) && !hasMoves(WHITE);
     }
 
     /**
@@ -197,10 +245,10 @@ public class Position {
         if (!isGameOver()) {
             return Optional.empty();
         }
-        
+
         int blackCount = countPieces(BLACK);
         int whiteCount = countPieces(WHITE);
-        
+
         if (blackCount > whiteCount) {
             return Optional.of(BLACK);
         } else if (whiteCount > blackCount) {
@@ -210,20 +258,27 @@ public class Position {
             return Optional.empty();
         }
     }
-    
+
     /**
-     * Counts the number of pieces for a player.
+     * Counts the number of pieces for a player (or the number of empty cells).
      */
     public int countPieces(int player) {
-        int count = 0;
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (board[i][j] == player) {
-                    count++;
-                }
-            }
-        }
-        return count;
+        return Long.bitCount(player == EMPTY ? ~(black | white) : pieces(player));
+    }
+
+    /**
+     * Returns the bitboard of the pieces of player.
+     */
+    public long pieces(int player) {
+        return player == BLACK ? black : player == WHITE ? white : 0L;
+    }
+
+    /**
+     * Returns the contents (BLACK, WHITE or EMPTY) of the cell at (row, col).
+     */
+    public int get(int row, int col) {
+        long bit = bit(row, col);
+        return (black & bit) != 0 ? BLACK : (white & bit) != 0 ? WHITE : EMPTY;
     }
 
     /**
@@ -232,18 +287,49 @@ public class Position {
     public int lastPlayer() {
         return lastPlayer;
     }
-    
+
     /**
      * Get the current state of the board.
      */
     public int[][] getBoard() {
-        int[][] copy = new int[SIZE][SIZE];
+        int[][] board = new int[SIZE][SIZE];
         for (int i = 0; i < SIZE; i++) {
-            copy[i] = Arrays.copyOf(board[i], SIZE);
+            for (int j = 0; j < SIZE; j++) {
+                board[i][j] = get(i, j);
+            }
         }
-        return copy;
+        return board;
     }
-    
+
+    /**
+     * Returns the Zobrist hash of this Position.
+     */
+    public long zobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the least of the Zobrist hashes of the eight positions equivalent to this one under the symmetries of the board
+     * (the rotations and reflections).
+     */
+    public long canonicalHash() {
+        long result = hash;
+        for (int symmetry = 1; symmetry < 8; symmetry++) {
+            result = Math.min(result, hash(transform(black, symmetry), transform(white, symmetry), lastPlayer));
+        }
+        return result;
+    }
+
+    /**
+     * Returns this Position transformed by one of the eight symmetries of the board (0 is the identity).
+     * Bit 0 of symmetry reflects columns, bit 1 reflects rows and bit 2 transposes rows and columns.
+     */
+    public Position transform(int symmetry) {
+        long black = transform(this.black, symmetry);
+        long white = transform(this.white, symmetry);
+        return new Position(black, white, pieceCount, lastPlayer);
+    }
+
     /**
      * Get the board size.
      */
@@ -251,20 +337,42 @@ public class Position {
         return SIZE;
     }
 
+    /**
+     * Returns the square (8 * row + col) of (row, col).
+     */
+    public static int square(int row, int col) {
+        if (row < 0 || row >= SIZE || col < 0 || col >= SIZE) {
+            throw new IndexOutOfBoundsException("Invalid cell " + row + "," + col);
+        }
+        return row * SIZE + col;
+    }
+
+    /**
+     * Returns the index-th (from zero, in order of square) of the squares of a non-empty bitboard.
+     * For example, a random move may be chosen by selectSquare(moves, random.nextInt(Long.bitCount(moves))).
+     */
+    public static int selectSquare(long squares, int index) {
+        for (int i = 0; i < index; i++) {
+            squares &= squares - 1;
+        }
+        return Long.numberOfTrailingZeros(squares);
+    }
+
     /**
      * Renders the board for display.
      */
     public String render() {
         StringBuilder sb = new StringBuilder();
         sb.append("  0 1 2 3 4 5 6 7\n");
-        
+
         for (int i = 0; i < SIZE; i++) {
             sb.append(i).append(" ");
             for (int j = 0; j < SIZE; j++) {
                 char ch;
-                if (board[i][j] == BLACK) {
+                int cell = get(i, j);
+                if (cell == BLACK) {
                     ch = 'B';
-                } else if (board[i][j] == WHITE) {
+                } else if (cell == WHITE) {
                     ch = 'W';
                 } else {
                     ch = '.';
@@ -273,10 +381,10 @@ public class Position {
             }
             sb.append("\n");
         }
-        
+
         sb.append("\nBlack: ").append(countPieces(BLACK))
           .append(", White: ").append(countPieces(WHITE));
-        
+
         return sb.toString();
     }
 
@@ -285,25 +393,27 @@ public class Position {
         if (this == o) return true;
         if (!(o instanceof Position)) return false;
         Position other = (Position) o;
-        return pieceCount == other.pieceCount && 
-               lastPlayer == other.lastPlayer && 
-               Arrays.deepEquals(board, other.board);
+        return pieceCount == other.pieceCount &&
+               lastPlayer == other.lastPlayer &&
+               black == other.black &&
+               white == other.white;
     }
 
     @Override
     public int hashCode() {
-        int result = Arrays.deepHashCode(board);
+        int result = Long.hashCode(black);
+        result = 31 * result + Long.hashCode(white);
         result = 31 * result + pieceCount;
         result = 31 * result + lastPlayer;
         return result;
     }
-    
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < SIZE; i++) {
             for (int j = 0; j < SIZE; j++) {
-                sb.append(board[i][j]);
+                sb.append(get(i, j));
                 if (j < SIZE - 1) {
                     sb.append(",");
                 }
@@ -314,4 +424,64 @@ public class Position {
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Moves every piece of x one step in direction d (pieces which would leave the board are lost).
+     */
+    private static long shift(long x, int d) {
+        return (d < SHIFTS.length / 2 ? x >>> SHIFTS[d] : x << SHIFTS[d]) & MASKS[d];
+    }
+
+    /**
+     * Returns bitboard x transformed by one of the eight symmetries of the board.
+     */
+    private static long transform(long x, int symmetry) {
+        if ((symmetry & 1) != 0) {
+            // Reflect columns: reverse the bits of each byte
+            x = x >>> 1 & 0x5555555555555555L | (x & 0x5555555555555555L) << 1;
+            x = x >>> 2 & 0x3333333333333333L | (x & 0x3333333333333333L) << 2;
+            x = x >>> 4 & 0x0F0F0F0F0F0F0F0FL | (x & 0x0F0F0F0F0F0F0F0FL) << 4;
+        }
+        if ((symmetry & 2) != 0) {
+            // Reflect rows: reverse the bytes
+            x = Long.reverseBytes(x);
+        }
+        if ((symmetry & 4) != 0) {
+            // Transpose: swap (row, col) and (col, row)
+            long t = 0x0F0F0F0F00000000L & (x ^ x << 28);
+            x ^= t ^ t >>> 28;
+            t = 0x3333000033330000L & (x ^ x << 14);
+            x ^= t ^ t >>> 14;
+            t = 0x5500550055005500L & (x ^ x << 7);
+            x ^= t ^ t >>> 7;
+        }
+        return x;
+    }
+
+    private static long hash(long black, long white, int lastPlayer) {
+        long result = ZOBRIST.lastPlayerKey(lastPlayer);
+        for (long b = black; b != 0; b &= b - 1) {
+            result ^= ZOBRIST.key(Long.numberOfTrailingZeros(b), BLACK);
+        }
+        for (long w = white; w != 0; w &= w - 1) {
+            result ^= ZOBRIST.key(Long.numberOfTrailingZeros(w), WHITE);
+        }
+        return result;
+    }
+
+    private static long bit(int row, int col) {
+        return 1L << (row * SIZE + col);
+    }
+
+    private static long bits(int[][] board, int player) {
+        long result = 0L;
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                if (board[i][j] == player) {
+                    result |= bit(i, j);
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.othello;
+
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+/**
+ * Benchmark of the speed (playouts per second) of uniformly random playouts of Othello, from the starting position to the end of the game.
+ * <p>
+ * Two ways of generating the moves are compared:
+ * the coordinates API (moves(player), which returns a list of int[], and move(player, row, col)) and
+ * the bitboard API (moveMask(player), selectSquare and move(player, square)), which is what MCTS uses for its simulations.
+ * The baseline is the original implementation (ArrayPosition, in which the board is an int[8][8]):
+ * since it is so much slower, it plays only one fiftieth as many playouts.
+ */
+public class PositionBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the number of playouts of each run; the number of runs.
+     */
+    public static void main(String[] args) {
+        int playouts = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        Random random = new Random(0L);
+        benchmark("original (int[8][8])", Math.max(1, playouts / 50), runs, r -> playoutByArrays(random));
+        benchmark("coordinates", playouts, runs, r -> playoutByCoordinates(random));
+        benchmark("bitboards", playouts, runs, r -> playoutByBitboards(random));
+    }
+
+    /**
+     * Play a random game using the original implementation of Position.
+     *
+     * @return the number of pieces of the winner minus those of the loser.
+     */
+    static int playoutByArrays(Random random) {
+        ArrayPosition position = ArrayPosition.createStartingPosition();
+        int player = ArrayPosition.BLACK;
+        while (!position.isGameOver()) {
+            List<int[]> moves = position.moves(player);
+            if (!moves.isEmpty()) {
+                int[] move = moves.get(random.nextInt(moves.size()));
+                position = position.move(player, move[0], move[1]);
+            }
+            player = 1 - player;
+        }
+        return Math.abs(position.countPieces(ArrayPosition.BLACK) - position.countPieces(ArrayPosition.WHITE));
+    }
+
+    /**
+     * Play a random game using the coordinates API.
+     *
+     * @return the number of pieces of the winner minus those of the loser.
+     */
+    static int playoutByCoordinates(Random random) {
+        Position position = Position.createStartingPosition();
+        int player = Position.BLACK;
+        while (!position.isGameOver()) {
+            List<int[]> moves = position.moves(player);
+            if (!moves.isEmpty()) {
+                int[] move = moves.get(random.nextInt(moves.size()));
+                position = position.move(player, move[0], move[1]);
+            }
+            player = 1 - player;
+        }
+        return Math.abs(position.countPieces(Position.BLACK) - position.countPieces(Position.WHITE));
+    }
+
+    /**
+     * Play a random game using the bitboard API.
+     *
+     * @return the number of pieces of the winner minus those of the loser.
+     */
+    static int playoutByBitboards(Random random) {
+        Position position = Position.createStartingPosition();
+        int player = Position.BLACK;
+        while (!position.isGameOver()) {
+            long moves = position.moveMask(player);
+            if (moves != 0) {
+                position = position.move(player, Position.selectSquare(moves, random.nextInt(Long.bitCount(moves))));
+            }
+            player = 1 - player;
+        }
+        return Math.abs(position.countPieces(Position.BLACK) - position.countPieces(Position.WHITE));
+    }
+
+    private static void benchmark(String description, int playouts, int runs, ToIntFunction<Integer> playout) {
+        long checksum = 0;
+        for (int i = 0; i < playouts; i++) checksum += playout.applyAsInt(i); // NOTE warm up.
+        double best = 0;
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < playouts; i++) checksum += playout.applyAsInt(i);
+            best = Math.max(best, playouts * 1.0E9 / (System.nanoTime() - start));
+        }
+        logger.info(String.format("PositionBenchmark: %s: %.0f playouts/sec (checksum %d)", description, best, checksum));
+    }
+
+    final static LazyLogger logger = new LazyLogger(PositionBenchmark.class);
+}
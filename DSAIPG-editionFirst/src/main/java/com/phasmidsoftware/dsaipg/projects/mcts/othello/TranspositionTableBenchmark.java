@@ -0,0 +1,82 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.othello;
+
+import com.phasmidsoftware.dsaipg.projects.mcts.core.MCTSStatistics;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.TranspositionTable;
+import com.phasmidsoftware.dsaipg.util.LazyLogger;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark of MCTS (playing black) against a random player (white), with and without a TranspositionTable.
+ * <p>
+ * When there is a table, it is shared by all the searches of a game, so that each search starts with the statistics
+ * gathered (for the same positions) by the previous searches: the benchmark reports how many playouts were thus reused,
+ * together with the hit rate and memory of the table.
+ */
+public class TranspositionTableBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the number of iterations of each search; the number of games; the capacity of the table.
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 1 << 20;
+        logger.info("TranspositionTableBenchmark: " + iterations + " iterations per search, " + games + " games");
+        benchmark("no table", iterations, games, () -> null);
+        benchmark("table", iterations, games, () -> new TranspositionTable(capacity));
+        benchmark("symmetric table", iterations, games, () -> new TranspositionTable(capacity, 64, true));
+    }
+
+    private static void benchmark(String description, int iterations, int games, Supplier<TranspositionTable> tableSupplier) {
+        MCTSStatistics stats = new MCTSStatistics();
+        Random random = new Random(0L);
+        long reused = 0, searches = 0, hits = 0, lookups = 0, memory = 0;
+        for (int game = 0; game < games; game++) {
+            TranspositionTable table = tableSupplier.get();
+            Position position = Position.createStartingPosition();
+            int player = Position.BLACK;
+            while (!position.isGameOver()) {
+                long moves = position.moveMask(player);
+                if (moves != 0) {
+                    if (player == Position.BLACK) {
+                        // NOTE if white has just passed, black moved last: record the pass so that the state has black to move.
+                        if (position.lastPlayer() == Position.BLACK)
+                            position = new Position(position.pieces(Position.BLACK), position.pieces(Position.WHITE), position.countPieces(Position.BLACK) + position.countPieces(Position.WHITE), Position.WHITE);
+                        OthelloState state = new OthelloState(position);
+                        OthelloNode root = table != null ? new OthelloNode(state, table) : new OthelloNode(state);
+                        reused += root.playouts();
+                        searches++;
+                        MCTS mcts = new MCTS(root, new Random(random.nextLong()));
+                        Node<Othello> best = mcts.search(SearchBudget.iterations(iterations), 1, SearchBudget.Parallelism.TREE);
+                        // NOTE a search which takes a corner without iterating tells us nothing about throughput.
+                        if (mcts.getIterations() > 0)
+                            stats.recordThroughput(1, mcts.getIterations(), mcts.getElapsedNanos());
+                        position = ((OthelloState) best.state()).getPosition();
+                    } else {
+                        position = position.move(player, Position.selectSquare(moves, random.nextInt(Long.bitCount(moves))));
+                    }
+                }
+                player = 1 - player;
+            }
+            int black = position.countPieces(Position.BLACK), white = position.countPieces(Position.WHITE);
+            stats.recordGameResult(black > white, black == white, iterations);
+            if (table != null) {
+                hits += table.hits();
+                lookups += table.hits() + table.misses();
+                memory = Math.max(memory, table.memory());
+            }
+        }
+        logger.info(String.format("TranspositionTableBenchmark: %s: MCTS won %.0f%% of games, %.0f iterations/sec, %.1f playouts reused per search",
+                description, stats.getWinRate() * 100, stats.getThroughput(1), (double) reused / searches));
+        if (lookups > 0)
+            logger.info(String.format("TranspositionTableBenchmark: %s: hit rate %.1f%%, greatest memory %dKB", description, 100.0 * hits / lookups, memory / 1024));
+    }
+
+    final static LazyLogger logger = new LazyLogger(TranspositionTableBenchmark.class);
+}
@@ -1,6 +1,8 @@
 package com.phasmidsoftware.dsaipg.projects.mcts.tictactoe;
 
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.ParallelSearch;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.State;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Move;
 
@@ -11,22 +13,25 @@ import java.util.Optional;
 import java.util.Random;
 import java.util.function.Consumer;
 
-public class MCTS {
+public class MCTS extends ParallelSearch<TicTacToe, TicTacToeNode> {
 
     private static final double EXPLORATION_PARAMETER = 1.0;
 
     private Consumer<String> logger;   // optional logger
-    private final TicTacToeNode root;
-    private final int rootPlayer;      // who moves at the root
-    private final Random random;
 
     /**
      * Construct an MCTS using a given TicTacToeNode as root.
      */
     public MCTS(TicTacToeNode root) {
-        this.root = root;
-        this.rootPlayer = root.state().player();
-        this.random = new Random();
+        this(root, new Random());
+    }
+
+    /**
+     * Construct an MCTS using a given TicTacToeNode as root and a given source of randomness
+     * (each additional thread of a parallel search gets its own Random, seeded from this one).
+     */
+    public MCTS(TicTacToeNode root, Random random) {
+        super(root, random);
     }
 
     /**
@@ -40,6 +45,24 @@ public class MCTS {
      * The main MCTS method with direct threat detection.
      */
     public Node<TicTacToe> searchIterations(int iterations) {
+        return search(SearchBudget.iterations(iterations), 1, SearchBudget.Parallelism.TREE);
+    }
+
+    /**
+     * Search (in the current thread) for the given number of milliseconds.
+     */
+    public Node<TicTacToe> searchTime(long millis) {
+        return search(SearchBudget.millis(millis), 1, SearchBudget.Parallelism.TREE);
+    }
+
+    /**
+     * Search with the given number of threads until the budget is exhausted.
+     * With TREE parallelism, the threads share one tree and use virtual loss to avoid all following the same path;
+     * with ROOT parallelism, each thread builds its own tree from the root state and then the statistics
+     * of the children of all those trees are merged into the children of root.
+     */
+    public Node<TicTacToe> search(SearchBudget budget, int threads, SearchBudget.Parallelism parallelism) {
+        reset();
         // First check if this is the root state
         TicTacToeState state = (TicTacToeState) root.state();
         Position position = state.getPosition();
@@ -71,17 +94,10 @@ public class MCTS {
             expandNode(root);
         }
         
-        long startTime = System.currentTimeMillis();
+        run(budget, threads, parallelism);
 
-        for (int i = 0; i < iterations; i++) {
-            TicTacToeNode selected = select(root);
-            double reward = simulate(selected);
-            backpropagate(selected, reward);
-        }
-
-        long endTime = System.currentTimeMillis();
         if (logger != null) {
-            logger.accept("MCTS completed " + iterations + " iterations in " + (endTime - startTime) + " ms.");
+            logger.accept("MCTS completed " + getIterations() + " iterations in " + getElapsedNanos() / 1_000_000 + " ms using " + threads + " threads.");
             logger.accept("Root has " + root.children().size() + " children.");
             
             for (Node<TicTacToe> c : root.children()) {
@@ -112,6 +128,11 @@ public class MCTS {
         return bestChild;
     }
     
+    @Override
+    protected TicTacToeNode newTree(State<TicTacToe> state) {
+        return new TicTacToeNode(state);
+    }
+
     /**
      * Gets the move coordinates that led from root to child
      */
@@ -147,7 +168,7 @@ public class MCTS {
         State<TicTacToe> newState = state.next(move);
         
         // Create and return a node for this state
-        return new TicTacToeNode(newState, move, (TicTacToeNode)root);
+        return new TicTacToeNode(newState, move, root);
     }
     
     /**
@@ -224,22 +245,30 @@ public class MCTS {
         return null; // No winning move found
     }
 
-    // Expand node by generating children from all possible moves
-    private void expandNode(TicTacToeNode node) {
-        State<TicTacToe> state = node.state();
-        int player = state.player();
-        Collection<Move<TicTacToe>> moves = state.moves(player);
-        for (Move<TicTacToe> move : moves) {
-            State<TicTacToe> newState = state.next(move);
-            node.addChild(newState, move);
-        }
-        if (logger != null) {
-            logger.accept("Expanded node: " + moves.size() + " children created.");
+    // Expand node by generating children from all possible moves (unless another thread has already expanded it)
+    @Override
+    protected void expandNode(TicTacToeNode node) {
+        synchronized (node) {
+            if (!node.children().isEmpty()) return;
+            State<TicTacToe> state = node.state();
+            int player = state.player();
+            Collection<Move<TicTacToe>> moves = state.moves(player);
+            List<TicTacToeNode> children = new ArrayList<>(moves.size());
+            for (Move<TicTacToe> move : moves) {
+                State<TicTacToe> newState = state.next(move);
+                children.add(new TicTacToeNode(newState, move, node));
+            }
+            node.addChildren(children);
+            if (logger != null) {
+                logger.accept("Expanded node: " + moves.size() + " children created.");
+            }
         }
     }
 
     // Use UCB to select a child node, recursing down until we reach a leaf
-    private TicTacToeNode select(TicTacToeNode node) {
+    // (adding a virtual loss to each selected node, if required)
+    @Override
+    protected TicTacToeNode select(TicTacToeNode node, Random random, boolean virtualLoss) {
         if (node == null) {
             
             if (logger != null) logger.accept("Selection: received null node");
@@ -258,16 +287,19 @@ public class MCTS {
             if (children.isEmpty()) {
                 return node; // No valid moves, return this node
             }
-            return (TicTacToeNode) children.get(random.nextInt(children.size()));
+            TicTacToeNode child = (TicTacToeNode) children.get(random.nextInt(children.size()));
+            if (virtualLoss) child.addVirtualLoss();
+            return child;
         }
         
         // Find best child by UCT
         TicTacToeNode bestChild = null;
         double bestScore = Double.NEGATIVE_INFINITY;
         
+        int parentVisits = node.visits();
         for (Node<TicTacToe> childNode : node.children()) {
             TicTacToeNode tChild = (TicTacToeNode) childNode;
-            double score = ucbValue(tChild, node.playouts());
+            double score = tChild.ucb(parentVisits, EXPLORATION_PARAMETER);
             if (score > bestScore) {
                 bestScore = score;
                 bestChild = tChild;
@@ -279,25 +311,13 @@ public class MCTS {
             return node;
         }
         
-        return select(bestChild);
-    }
-
-    private double ucbValue(TicTacToeNode child, int parentPlayouts) {
-        if (child.playouts() == 0) {
-            return Double.MAX_VALUE;  // Unexplored nodes have highest priority
-        }
-        
-        // Normalize the win value properly
-        double exploitation = (double) child.wins() / child.playouts();
-        
-        // UCB1 formula
-        double exploration = EXPLORATION_PARAMETER * Math.sqrt(Math.log(parentPlayouts) / child.playouts());
-        
-        return exploitation + exploration;
+        if (virtualLoss) bestChild.addVirtualLoss();
+        return select(bestChild, random, virtualLoss);
     }
 
     // Enhanced simulation that prioritizes winning moves and blocking
-    private double simulate(TicTacToeNode node) {
+    @Override
+    protected double simulate(TicTacToeNode node, Random random) {
         State<TicTacToe> simState = node.state();
         int currentPlayer = simState.player();
 
@@ -330,7 +350,7 @@ public class MCTS {
                     // No critical moves, pick randomly
                     Collection<Move<TicTacToe>> moves = simState.moves(currentPlayer);
                     if (moves.isEmpty()) break; // no moves
-                    Move<TicTacToe> move = getRandomMove(moves);
+                    Move<TicTacToe> move = getRandomMove(moves, random);
                     simState = simState.next(move);
                 }
             }
@@ -354,20 +374,8 @@ public class MCTS {
         }
     }
 
-    private Move<TicTacToe> getRandomMove(Collection<Move<TicTacToe>> moves) {
+    private Move<TicTacToe> getRandomMove(Collection<Move<TicTacToe>> moves, Random random) {
         List<Move<TicTacToe>> list = new ArrayList<>(moves);
         return list.get(random.nextInt(list.size()));
     }
-
-    // Backpropagate the reward up the tree
-    private void backpropagate(TicTacToeNode node, double reward) {
-        TicTacToeNode current = node;
-        double currentReward = reward;
-        
-        while (current != null) {
-            current.updateStats(currentReward);
-            current = current.getParent();
-            currentReward = 1.0 - currentReward; // Flip the reward for the parent
-        }
-    }
 }
\ No newline at end of file
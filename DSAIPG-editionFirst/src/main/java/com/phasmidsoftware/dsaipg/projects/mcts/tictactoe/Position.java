@@ -1,5 +1,7 @@
 package com.phasmidsoftware.dsaipg.projects.mcts.tictactoe;
 
+import com.phasmidsoftware.dsaipg.projects.mcts.core.Zobrist;
+
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -9,14 +11,21 @@ public class Position {
 
     public static final int blank = -1;
     private static final int SIZE = 3;
+    private static final Zobrist ZOBRIST = new Zobrist(SIZE * SIZE, 2, 0x5DEECE66DL);
     private final int[][] grid;
     private final int last;    // last player who moved
     private final int count;   // number of moves made
+    private final long hash;   // Zobrist hash of grid and last
 
     public Position(int[][] grid, int count, int last) {
+        this(grid, count, last, hash(grid, last));
+    }
+
+    private Position(int[][] grid, int count, int last, long hash) {
         this.grid = grid;
         this.count = count;
         this.last = last;
+        this.hash = hash;
     }
 
     /**
@@ -69,7 +78,32 @@ public class Position {
             newGrid[i] = Arrays.copyOf(grid[i], SIZE);
         }
         newGrid[row][col] = player;
-        return new Position(newGrid, count + 1, player);
+        long newHash = hash ^ ZOBRIST.key(row * SIZE + col, player) ^ ZOBRIST.lastPlayerKey(last) ^ ZOBRIST.lastPlayerKey(player);
+        return new Position(newGrid, count + 1, player, newHash);
+    }
+
+    /**
+     * Returns the Zobrist hash of this Position (which move updates incrementally).
+     */
+    public long zobristHash() {
+        return hash;
+    }
+
+    /**
+     * Returns the least of the Zobrist hashes of the eight positions equivalent to this one
+     * under the rotations and reflections of the grid.
+     */
+    public long canonicalHash() {
+        long result = hash;
+        Position rotated = this;
+        for (int i = 0; i < 4; i++) {
+            if (i > 0) {
+                rotated = rotated.rotate();
+                result = Math.min(result, rotated.hash);
+            }
+            result = Math.min(result, rotated.reflect(1).hash);
+        }
+        return result;
     }
 
     private int[][] copyGrid() {
@@ -277,6 +311,15 @@ public class Position {
         return count == other.count && last == other.last && Arrays.deepEquals(grid, other.grid);
     }
 
+    private static long hash(int[][] grid, int last) {
+        long result = ZOBRIST.lastPlayerKey(last);
+        for (int i = 0; i < SIZE; i++)
+            for (int j = 0; j < SIZE; j++)
+                if (grid[i][j] != blank)
+                    result ^= ZOBRIST.key(i * SIZE + j, grid[i][j]);
+        return result;
+    }
+
     @Override
     public int hashCode() {
         int result = Arrays.deepHashCode(grid);
@@ -8,8 +8,25 @@ import com.phasmidsoftware.dsaipg.util.Config;
 import com.phasmidsoftware.dsaipg.util.StatPack;
 import com.phasmidsoftware.dsaipg.util.Statistics;
 
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class to count the operations (compares, swaps, copies, fixes, hits and lookups) performed by an instrumented helper.
+ * <p>
+ * The counters are LongAdders (striped counters), so that the same Instrumenter (and therefore the same Helper)
+ * may be shared by the threads of a parallel sort without contention (and without losing counts).
+ * <p>
+ * Instrumentation may be switched off for the whole JVM by setting the system property dsaipg.instrumentation to false
+ * (for example, -Ddsaipg.instrumentation=false).
+ * Because ENABLED is a static final field, the JIT compiler then eliminates the counting code entirely.
+ */
 public class Instrumenter implements Instrument {
 
+    /**
+     * True unless the system property dsaipg.instrumentation is set to false.
+     */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("dsaipg.instrumentation", "true"));
+
     public Instrumenter(boolean countCopies, boolean countSwaps, boolean countCompares, boolean countFixes, boolean countHits, boolean countLookups, boolean showStats) {
         this.countCopies = countCopies;
         this.countSwaps = countSwaps;
@@ -32,12 +49,12 @@ public class Instrumenter implements Instrument {
     }
 
     private void resetCounters() {
-        compares = 0;
-        swaps = 0;
-        copies = 0;
-        fixes = 0;
-        hits = 0;
-        lookups = 0;
+        compares.reset();
+        swaps.reset();
+        copies.reset();
+        fixes.reset();
+        hits.reset();
+        lookups.reset();
     }
 
     public final boolean countCopies;
@@ -48,39 +65,39 @@ public class Instrumenter implements Instrument {
     public final boolean countLookups;
     public final boolean showStats;
     public StatPack statPack;
-    public long compares = 0;
-    public long swaps = 0;
-    public long copies = 0;
-    public long fixes = 0;
-    public long hits = 0;
-    public long lookups = 0;
+    private final LongAdder compares = new LongAdder();
+    private final LongAdder swaps = new LongAdder();
+    private final LongAdder copies = new LongAdder();
+    private final LongAdder fixes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder lookups = new LongAdder();
 
     public StatPack getStatPack() {
         return statPack;
     }
 
     public long getHits() {
-        return hits;
+        return hits.sum();
     }
 
     public long getLookups() {
-        return lookups;
+        return lookups.sum();
     }
 
     public long getCopies() {
-        return copies;
+        return copies.sum();
     }
 
     public long getCompares() {
-        return compares;
+        return compares.sum();
     }
 
     public long getSwaps() {
-        return swaps;
+        return swaps.sum();
     }
 
     public long getFixes() {
-        return fixes;
+        return fixes.sum();
     }
 
     /**
@@ -89,7 +106,7 @@ public class Instrumenter implements Instrument {
      * @param n the number of copies made.
      */
     public void incrementCopies(int n) {
-        if (countCopies) copies += n;
+        if (ENABLED && countCopies) copies.add(n);
     }
 
     /**
@@ -99,7 +116,7 @@ public class Instrumenter implements Instrument {
      * @param n the number of hits.
      */
     public void incrementHits(long n) {
-        if (countHits) hits += n;
+        if (ENABLED && countHits) hits.add(n);
     }
 
     /**
@@ -107,7 +124,7 @@ public class Instrumenter implements Instrument {
      * but only if instrumenting.
      */
     public void incrementLookups() {
-        if (countLookups) lookups++;
+        if (ENABLED && countLookups) lookups.increment();
     }
 
     /**
@@ -116,23 +133,21 @@ public class Instrumenter implements Instrument {
      * @param n the number of copies made.
      */
     public void incrementFixes(int n) {
-        if (countFixes) fixes += n;
+        if (ENABLED && countFixes) fixes.add(n);
     }
 
     public void incrementCompares() {
-        if (countCompares)
-            compares++;
+        if (ENABLED && countCompares) compares.increment();
     }
 
     public void incrementSwaps(int n) {
-        if (countSwaps)
-            swaps += n;
+        if (ENABLED && countSwaps) swaps.add(n);
     }
 
     public void gatherStatistic() {
         if (getStatPack() == null)
             throw new HelperException("InstrumentedComparableHelper.postProcess: no StatPack");
-        if (getStatPack().isInvalid()) return;
+        if (!ENABLED || getStatPack().isInvalid()) return;
         if (countCompares)
             getStatPack().add(COMPARES, getCompares());
         if (countSwaps)
@@ -149,7 +164,7 @@ public class Instrumenter implements Instrument {
     }
 
     public boolean countFixes() {
-        return countFixes;
+        return ENABLED && countFixes;
     }
 
     public boolean isShowStats() {
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort;
+
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.InstrumentedComparatorHelper.MSD_CUTOFF_DEFAULT;
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.*;
+
+/**
+ * Immutable record of the options which govern the behavior of a sorter.
+ * The options are resolved (once) when the sorter is constructed so that the Config does not need to be consulted
+ * during the sort itself (for example, at every level of recursion of MergeSort).
+ * <p>
+ * NOTE that the Config is backed by ini4j, so that each lookup involves (at least) a couple of map accesses,
+ * string comparison and parsing.
+ *
+ * @param cutoff    the size of (sub-)array at or below which a recursive sort will switch to insertion sort.
+ * @param insurance true if MergeSort should check whether the two halves are already in order before merging.
+ * @param noCopy    true if MergeSort should avoid copying by exchanging the roles of the array and its auxiliary.
+ * @param msdCutoff the size of sub-array at or below which MSD string sort switches to 3-way quicksort.
+ */
+public record SortOptions(int cutoff, boolean insurance, boolean noCopy, int msdCutoff) {
+
+    public static final String MERGESORT = "mergesort";
+    public static final String NOCOPY = "nocopy";
+    public static final String INSURANCE = "insurance";
+
+    /**
+     * Default options, used when there is no configuration.
+     */
+    public static final SortOptions DEFAULT = new SortOptions(CUTOFF_DEFAULT, false, false, MSD_CUTOFF_DEFAULT);
+
+    /**
+     * Method to resolve the options from a Config.
+     *
+     * @param config the configuration (may be null).
+     * @return a new SortOptions.
+     */
+    public static SortOptions from(Config config) {
+        if (config == null) return DEFAULT;
+        int cutoff = config.getInt(HELPER, CUTOFF, CUTOFF_DEFAULT);
+        return new SortOptions(
+                cutoff >= 1 ? cutoff : CUTOFF_DEFAULT,
+                config.getBoolean(MERGESORT, INSURANCE),
+                config.getBoolean(MERGESORT, NOCOPY),
+                config.getInt(HELPER, MSDCUTOFF, MSD_CUTOFF_DEFAULT)
+        );
+    }
+
+    /**
+     * Method to resolve the options for a sorter which uses the given helper.
+     * The cutoff values are those of the helper (which may differ from the configured values);
+     * the mergesort options are taken from the helper's configuration.
+     *
+     * @param helper the helper.
+     * @return a new SortOptions.
+     */
+    public static SortOptions from(Helper<?> helper) {
+        Config config = helper.getConfig();
+        return new SortOptions(
+                helper.cutoff(),
+                config != null && config.getBoolean(MERGESORT, INSURANCE),
+                config != null && config.getBoolean(MERGESORT, NOCOPY),
+                helper.MSDCutoff()
+        );
+    }
+}
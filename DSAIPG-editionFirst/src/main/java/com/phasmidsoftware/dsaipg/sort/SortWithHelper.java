@@ -18,6 +18,7 @@ public abstract class SortWithHelper<X> implements ProcessingSort<X> {
 
     public SortWithHelper(Helper<X> helper) {
         this.helper = helper;
+        this.options = SortOptions.from(helper);
     }
 
     public SortWithHelper(String description, Comparator<X> comparator, int N, int nRuns, Config config) {
@@ -35,6 +36,15 @@ public abstract class SortWithHelper<X> implements ProcessingSort<X> {
         return helper;
     }
 
+    /**
+     * Get the options (resolved from the Helper and its Config when this Sort was constructed).
+     *
+     * @return the SortOptions.
+     */
+    public SortOptions getOptions() {
+        return options;
+    }
+
     @Override
     public String getDescription() {
         return helper.getDescription();
@@ -100,6 +110,7 @@ public abstract class SortWithHelper<X> implements ProcessingSort<X> {
     }
 
     protected final Helper<X> helper;
+    protected final SortOptions options;
     protected boolean closeHelper = false;
     private boolean open = true;
 
@@ -90,7 +90,7 @@ public class MSDStringSort extends SortWithHelperAndAdditionalMemory<String> {
         if (n <= 1)
             return;
         // NOTE that we never cut over to Quicksort at the top-level.
-        if (d > 0 && n <= helper.MSDCutoff()) cutToQuicksort(xs, from, to, d, n);
+        if (d > 0 && n <= options.msdCutoff()) cutToQuicksort(xs, from, to, d, n);
         else doMSDrecursive(xs, from, to, d);
     }
 
@@ -6,6 +6,7 @@ package com.phasmidsoftware.dsaipg.sort.linearithmic;
 
 import com.phasmidsoftware.dsaipg.sort.Helper;
 import com.phasmidsoftware.dsaipg.sort.SortException;
+import com.phasmidsoftware.dsaipg.sort.SortOptions;
 import com.phasmidsoftware.dsaipg.sort.SortWithComparableHelper;
 import com.phasmidsoftware.dsaipg.sort.elementary.InsertionSort;
 import com.phasmidsoftware.dsaipg.util.Config;
@@ -61,18 +62,16 @@ public class MergeSort<X extends Comparable<X>> extends SortWithComparableHelper
     }
 
     public void sort(X[] a, int from, int to) {
-        Config config = helper.getConfig();
-        boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
+        boolean noCopy = options.noCopy();
         // CONSIDER don't copy but just allocate according to the xs/aux interchange optimization
         @SuppressWarnings("unchecked") X[] aux = noCopy ? helper.copyArray(a) : (X[]) new Comparable[a.length];
         sort(a, aux, from, to);
     }
 
     private void sort(X[] a, X[] aux, int from, int to) {
-        Config config = helper.getConfig();
-        boolean insurance = config.getBoolean(MERGESORT, INSURANCE);
-        boolean noCopy = config.getBoolean(MERGESORT, NOCOPY);
-        if (to <= from + helper.cutoff()) { // XXX check that a cutoff value of 1 effectively stops the cutoff mechanism.
+        boolean insurance = options.insurance();
+        boolean noCopy = options.noCopy();
+        if (to <= from + options.cutoff()) { // XXX check that a cutoff value of 1 effectively stops the cutoff mechanism.
             insertionSort.sort(a, from, to);
             return;
         }
@@ -105,14 +104,15 @@ throw new RuntimeException("implementation missing");
         }
     }
 
-    public static final String MERGESORT = "mergesort";
-    public static final String NOCOPY = "nocopy";
-    public static final String INSURANCE = "insurance";
+    public static final String MERGESORT = SortOptions.MERGESORT;
+    public static final String NOCOPY = SortOptions.NOCOPY;
+    public static final String INSURANCE = SortOptions.INSURANCE;
 
     private static String getConfigString(Config config) {
         StringBuilder stringBuilder = new StringBuilder();
-        if (config.getBoolean(MERGESORT, INSURANCE)) stringBuilder.append(" with insurance comparison");
-        if (config.getBoolean(MERGESORT, NOCOPY)) stringBuilder.append(" with no copy");
+        SortOptions options = SortOptions.from(config);
+        if (options.insurance()) stringBuilder.append(" with insurance comparison");
+        if (options.noCopy()) stringBuilder.append(" with no copy");
         int cutoff = config.getInt(HELPER, CUTOFF, CUTOFF_DEFAULT);
         if (cutoff != CUTOFF_DEFAULT) {
             if (cutoff == 1) stringBuilder.append(" with no cutoff");
@@ -62,7 +62,7 @@ public class MergeSortBasic<X extends Comparable<X>> extends SortWithComparableH
 
     public void sort(X[] a, int from, int to) {
         Helper<X> helper = getHelper();
-        if (to <= from + helper.cutoff()) {
+        if (to <= from + options.cutoff()) {
             insertionSort.sort(a, from, to);
             return;
         }
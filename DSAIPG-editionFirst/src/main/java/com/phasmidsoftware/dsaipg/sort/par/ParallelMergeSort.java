@@ -0,0 +1,602 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.par;
+
+import com.phasmidsoftware.dsaipg.sort.primitive.BasePrimitiveSort;
+import com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveSort;
+import com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveSystemSort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelMergeSort is a reentrant, instance-based parallel merge sort built on ForkJoinPool and RecursiveAction.
+ * <p>
+ * A single auxiliary buffer is allocated for each (top-level) sort and the two arrays exchange roles at each level
+ * of the recursion ("ping-pong" merging) so that no copying back is required.
+ * Sub-arrays at or below the cutoff are sorted sequentially:
+ * primitives with the leaf sort (by default, Arrays.sort);
+ * objects with a (stable) sequential merge sort which uses the same auxiliary buffer.
+ * Any other primitive sort may be given as the leaf sort: for example, PrimitiveHeapSort (which cannot itself be
+ * divided among threads) thus gains a parallel counterpart.
+ * Merges of more than mergeCutoff elements are themselves performed in parallel:
+ * the median of the larger run is located in the smaller run by binary search and the two halves are merged concurrently.
+ * <p>
+ * All configuration is final and all working state belongs to the individual sort invocation,
+ * so one instance may safely be used by many threads at once.
+ * <p>
+ * NOTE that the auxiliary buffer has length "to" (not "to - from") so that both arrays share the same indices.
+ */
+@SuppressWarnings("serial") // NOTE the RecursiveAction tasks are never serialized.
+public class ParallelMergeSort extends BasePrimitiveSort {
+
+    public static final String DESCRIPTION = "Parallel MergeSort";
+    public static final int CUTOFF_DEFAULT = 8192;
+
+    /**
+     * Constructor for ParallelMergeSort.
+     *
+     * @param pool        the ForkJoinPool in which the sort tasks will be run.
+     * @param cutoff      the size of sub-array at or below which the sort is sequential
+     *                    (a value of 0 or less yields CUTOFF_DEFAULT).
+     * @param mergeCutoff the size of merge at or below which the merge is sequential (at least 2;
+     *                    a value of 0 or less yields CUTOFF_DEFAULT).
+     * @param leafSort    the sequential sort of primitive sub-arrays at or below the cutoff.
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int cutoff, int mergeCutoff, PrimitiveSort leafSort) {
+        super(leafSort instanceof PrimitiveSystemSort ? DESCRIPTION : DESCRIPTION + " of " + leafSort.getDescription(), cutoff >= 1 ? cutoff : CUTOFF_DEFAULT);
+        this.pool = pool;
+        this.mergeCutoff = mergeCutoff >= 1 ? Math.max(mergeCutoff, 2) : CUTOFF_DEFAULT;
+        this.leafSort = leafSort;
+    }
+
+    /**
+     * Constructor for ParallelMergeSort whose leaf sort is Arrays.sort.
+     *
+     * @param pool        the ForkJoinPool in which the sort tasks will be run.
+     * @param cutoff      the size of sub-array at or below which the sort is sequential
+     *                    (a value of 0 or less yields CUTOFF_DEFAULT).
+     * @param mergeCutoff the size of merge at or below which the merge is sequential (at least 2;
+     *                    a value of 0 or less yields CUTOFF_DEFAULT).
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int cutoff, int mergeCutoff) {
+        this(pool, cutoff, mergeCutoff, new PrimitiveSystemSort());
+    }
+
+    /**
+     * Constructor for ParallelMergeSort which uses the common pool.
+     *
+     * @param cutoff the size of sub-array at or below which the sort is sequential (also used for mergeCutoff).
+     */
+    public ParallelMergeSort(int cutoff) {
+        this(ForkJoinPool.commonPool(), cutoff, cutoff);
+    }
+
+    /**
+     * Constructor for ParallelMergeSort which uses the common pool and the default cutoff.
+     */
+    public ParallelMergeSort() {
+        this(CUTOFF_DEFAULT);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        rangeCheck(xs.length, from, to);
+        if (to - from <= cutoff) leafSort.sort(xs, from, to);
+        else pool.invoke(new IntSortTask(xs, new int[to], from, to, false, cutoff, mergeCutoff, leafSort));
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        rangeCheck(xs.length, from, to);
+        if (to - from <= cutoff) leafSort.sort(xs, from, to);
+        else pool.invoke(new LongSortTask(xs, new long[to], from, to, false, cutoff, mergeCutoff, leafSort));
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        if (to - from <= cutoff) leafSort.sort(xs, from, to);
+        else pool.invoke(new DoubleSortTask(xs, new double[to], from, to, false, cutoff, mergeCutoff, leafSort));
+    }
+
+    @Override
+    public void sort(double[] xs, int from, int to) {
+        rangeCheck(xs.length, from, to);
+        super.sort(xs, from, to);
+    }
+
+    /**
+     * Stable, mutating sort of the sub-array xs[from] ... xs[to-1] according to comparator.
+     *
+     * @param xs         the array.
+     * @param from       the index of the first element to sort.
+     * @param to         the index of the first element not to sort.
+     * @param comparator the comparator.
+     * @param <X>        the underlying type of xs.
+     */
+    public <X> void sort(X[] xs, int from, int to, Comparator<? super X> comparator) {
+        rangeCheck(xs.length, from, to);
+        if (to - from <= 1) return;
+        X[] aux = Arrays.copyOf(xs, to);
+        pool.invoke(new SortTask<>(xs, aux, from, to, false, comparator, cutoff, mergeCutoff));
+    }
+
+    /**
+     * Stable, mutating sort of xs according to comparator.
+     *
+     * @param xs         the array.
+     * @param comparator the comparator.
+     * @param <X>        the underlying type of xs.
+     */
+    public <X> void sort(X[] xs, Comparator<? super X> comparator) {
+        sort(xs, 0, xs.length, comparator);
+    }
+
+    /**
+     * Stable, mutating sort of xs according to its natural order.
+     *
+     * @param xs  the array.
+     * @param <X> the underlying (comparable) type of xs.
+     */
+    public <X extends Comparable<X>> void sort(X[] xs) {
+        sort(xs, 0, xs.length, Comparator.naturalOrder());
+    }
+
+    @Override
+    public String toString() {
+        return description + " with cutoff " + cutoff + ", merge cutoff " + mergeCutoff + " and parallelism " + pool.getParallelism();
+    }
+
+    /**
+     * Check the range in the same manner as Arrays.sort.
+     */
+    static void rangeCheck(int length, int from, int to) {
+        if (from > to) throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        if (from < 0) throw new ArrayIndexOutOfBoundsException(from);
+        if (to > length) throw new ArrayIndexOutOfBoundsException(to);
+    }
+
+    /**
+     * Task to sort the elements which are (initially) in a[from..to) such that the result is in b (if toB is true) else a.
+     */
+    static class IntSortTask extends RecursiveAction {
+        IntSortTask(int[] a, int[] b, int from, int to, boolean toB, int cutoff, int mergeCutoff, PrimitiveSort leafSort) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.toB = toB;
+            this.cutoff = cutoff;
+            this.mergeCutoff = mergeCutoff;
+            this.leafSort = leafSort;
+        }
+
+        protected void compute() {
+            if (to - from <= cutoff) {
+                leafSort.sort(a, from, to);
+                if (toB) System.arraycopy(a, from, b, from, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new IntSortTask(a, b, from, mid, !toB, cutoff, mergeCutoff, leafSort), new IntSortTask(a, b, mid, to, !toB, cutoff, mergeCutoff, leafSort));
+            if (toB) new IntMergeTask(a, b, from, mid, mid, to, from, mergeCutoff).compute();
+            else new IntMergeTask(b, a, from, mid, mid, to, from, mergeCutoff).compute();
+        }
+
+        private final int[] a;
+        private final int[] b;
+        private final int from;
+        private final int to;
+        private final boolean toB;
+        private final int cutoff;
+        private final int mergeCutoff;
+        private final PrimitiveSort leafSort;
+    }
+
+    /**
+     * Task to merge the sorted runs src[lo1..hi1) and src[lo2..hi2) into dst, starting at index out.
+     */
+    static class IntMergeTask extends RecursiveAction {
+        IntMergeTask(int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out, int mergeCutoff) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.mergeCutoff = mergeCutoff;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 == 0 || n2 == 0 || n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int mid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new IntMergeTask(src, dst, lo1, m1, lo2, m2, out, mergeCutoff), new IntMergeTask(src, dst, m1, hi1, m2, hi2, mid, mergeCutoff));
+        }
+
+        private final int[] src;
+        private final int[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final int mergeCutoff;
+    }
+
+    static class LongSortTask extends RecursiveAction {
+        LongSortTask(long[] a, long[] b, int from, int to, boolean toB, int cutoff, int mergeCutoff, PrimitiveSort leafSort) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.toB = toB;
+            this.cutoff = cutoff;
+            this.mergeCutoff = mergeCutoff;
+            this.leafSort = leafSort;
+        }
+
+        protected void compute() {
+            if (to - from <= cutoff) {
+                leafSort.sort(a, from, to);
+                if (toB) System.arraycopy(a, from, b, from, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new LongSortTask(a, b, from, mid, !toB, cutoff, mergeCutoff, leafSort), new LongSortTask(a, b, mid, to, !toB, cutoff, mergeCutoff, leafSort));
+            if (toB) new LongMergeTask(a, b, from, mid, mid, to, from, mergeCutoff).compute();
+            else new LongMergeTask(b, a, from, mid, mid, to, from, mergeCutoff).compute();
+        }
+
+        private final long[] a;
+        private final long[] b;
+        private final int from;
+        private final int to;
+        private final boolean toB;
+        private final int cutoff;
+        private final int mergeCutoff;
+        private final PrimitiveSort leafSort;
+    }
+
+    static class LongMergeTask extends RecursiveAction {
+        LongMergeTask(long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int out, int mergeCutoff) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.mergeCutoff = mergeCutoff;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 == 0 || n2 == 0 || n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int mid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new LongMergeTask(src, dst, lo1, m1, lo2, m2, out, mergeCutoff), new LongMergeTask(src, dst, m1, hi1, m2, hi2, mid, mergeCutoff));
+        }
+
+        private final long[] src;
+        private final long[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final int mergeCutoff;
+    }
+
+    static class DoubleSortTask extends RecursiveAction {
+        DoubleSortTask(double[] a, double[] b, int from, int to, boolean toB, int cutoff, int mergeCutoff, PrimitiveSort leafSort) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.toB = toB;
+            this.cutoff = cutoff;
+            this.mergeCutoff = mergeCutoff;
+            this.leafSort = leafSort;
+        }
+
+        protected void compute() {
+            if (to - from <= cutoff) {
+                leafSort.sort(a, from, to);
+                if (toB) System.arraycopy(a, from, b, from, to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DoubleSortTask(a, b, from, mid, !toB, cutoff, mergeCutoff, leafSort), new DoubleSortTask(a, b, mid, to, !toB, cutoff, mergeCutoff, leafSort));
+            if (toB) new DoubleMergeTask(a, b, from, mid, mid, to, from, mergeCutoff).compute();
+            else new DoubleMergeTask(b, a, from, mid, mid, to, from, mergeCutoff).compute();
+        }
+
+        private final double[] a;
+        private final double[] b;
+        private final int from;
+        private final int to;
+        private final boolean toB;
+        private final int cutoff;
+        private final int mergeCutoff;
+        private final PrimitiveSort leafSort;
+    }
+
+    static class DoubleMergeTask extends RecursiveAction {
+        DoubleMergeTask(double[] src, double[] dst, int lo1, int hi1, int lo2, int hi2, int out, int mergeCutoff) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.mergeCutoff = mergeCutoff;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 == 0 || n2 == 0 || n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1]);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2]);
+            }
+            int mid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new DoubleMergeTask(src, dst, lo1, m1, lo2, m2, out, mergeCutoff), new DoubleMergeTask(src, dst, m1, hi1, m2, hi2, mid, mergeCutoff));
+        }
+
+        private final double[] src;
+        private final double[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final int mergeCutoff;
+    }
+
+    /**
+     * Task to sort the elements which are (initially) in a[from..to) such that the result is in b (if toB is true) else a.
+     * On entry, a and b must have the same content in the range from until to.
+     * The sort is stable.
+     */
+    static class SortTask<X> extends RecursiveAction {
+        SortTask(X[] a, X[] b, int from, int to, boolean toB, Comparator<? super X> comparator, int cutoff, int mergeCutoff) {
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.toB = toB;
+            this.comparator = comparator;
+            this.cutoff = cutoff;
+            this.mergeCutoff = mergeCutoff;
+        }
+
+        protected void compute() {
+            if (to - from <= cutoff) {
+                if (toB) sequentialSort(a, b, from, to);
+                else sequentialSort(b, a, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask<>(a, b, from, mid, !toB, comparator, cutoff, mergeCutoff), new SortTask<>(a, b, mid, to, !toB, comparator, cutoff, mergeCutoff));
+            if (toB) new MergeTask<>(a, b, from, mid, mid, to, from, comparator, mergeCutoff).compute();
+            else new MergeTask<>(b, a, from, mid, mid, to, from, comparator, mergeCutoff).compute();
+        }
+
+        /**
+         * Sequential (top-down, no-copy) merge sort of src[from..to) into dst[from..to).
+         * On entry, src and dst must have the same content in the range from until to.
+         */
+        private void sequentialSort(X[] src, X[] dst, int from, int to) {
+            if (to - from <= INSERTION_CUTOFF) {
+                for (int i = from + 1; i < to; i++) {
+                    X x = dst[i];
+                    int j = i;
+                    while (j > from && comparator.compare(dst[j - 1], x) > 0) {
+                        dst[j] = dst[j - 1];
+                        j--;
+                    }
+                    dst[j] = x;
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            sequentialSort(dst, src, from, mid);
+            sequentialSort(dst, src, mid, to);
+            if (comparator.compare(src[mid - 1], src[mid]) <= 0) System.arraycopy(src, from, dst, from, to - from);
+            else {
+                int i = from, j = mid;
+                for (int k = from; k < to; k++)
+                    if (i >= mid) dst[k] = src[j++];
+                    else if (j >= to) dst[k] = src[i++];
+                    else if (comparator.compare(src[j], src[i]) < 0) dst[k] = src[j++];
+                    else dst[k] = src[i++];
+            }
+        }
+
+        private static final int INSERTION_CUTOFF = 12;
+
+        private final X[] a;
+        private final X[] b;
+        private final int from;
+        private final int to;
+        private final boolean toB;
+        private final Comparator<? super X> comparator;
+        private final int cutoff;
+        private final int mergeCutoff;
+    }
+
+    /**
+     * Task to (stably) merge the sorted runs src[lo1..hi1) and src[lo2..hi2) into dst, starting at index out.
+     */
+    static class MergeTask<X> extends RecursiveAction {
+        MergeTask(X[] src, X[] dst, int lo1, int hi1, int lo2, int hi2, int out, Comparator<? super X> comparator, int mergeCutoff) {
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.comparator = comparator;
+            this.mergeCutoff = mergeCutoff;
+        }
+
+        protected void compute() {
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 == 0 || n2 == 0 || n1 + n2 <= mergeCutoff) {
+                int i = lo1, j = lo2, k = out;
+                while (i < hi1 && j < hi2) dst[k++] = comparator.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+                System.arraycopy(src, i, dst, k, hi1 - i);
+                System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+                return;
+            }
+            int m1, m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, lo2, hi2, src[m1], comparator);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, lo1, hi1, src[m2], comparator);
+            }
+            int mid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask<>(src, dst, lo1, m1, lo2, m2, out, comparator, mergeCutoff), new MergeTask<>(src, dst, m1, hi1, m2, hi2, mid, comparator, mergeCutoff));
+        }
+
+        private final X[] src;
+        private final X[] dst;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final Comparator<? super X> comparator;
+        private final int mergeCutoff;
+    }
+
+    /**
+     * @return the index of the first element of xs[lo..hi) which is not less than x.
+     */
+    static int lowerBound(int[] xs, int lo, int hi, int x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * @return the index of the first element of xs[lo..hi) which is greater than x.
+     */
+    static int upperBound(int[] xs, int lo, int hi, int x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static int lowerBound(long[] xs, int lo, int hi, long x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static int upperBound(long[] xs, int lo, int hi, long x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static int lowerBound(double[] xs, int lo, int hi, double x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] < x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static int upperBound(double[] xs, int lo, int hi, double x) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (xs[mid] <= x) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static <X> int lowerBound(X[] xs, int lo, int hi, X x, Comparator<? super X> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(xs[mid], x) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static <X> int upperBound(X[] xs, int lo, int hi, X x, Comparator<? super X> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(xs[mid], x) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private final ForkJoinPool pool;
+    private final int mergeCutoff;
+    private final PrimitiveSort leafSort;
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.insertionSort;
+
+/**
+ * Base class for the primitive quick sorts.
+ * <p>
+ * Each step of a quick sort is divided into partition (which places the pivot(s) and yields the boundaries lt and gt)
+ * and middle (which yields the range between lt and gt, if any, which remains to be sorted).
+ * Thus the three remaining partitions, from ... lt, middle and gt+1 ... to, may be sorted either in turn
+ * (as here) or concurrently (as by PrimitiveParallelQuickSort).
+ * <p>
+ * A range is packed into a long (lo in the high half, hi in the low half) so that nothing is allocated.
+ */
+public abstract class BasePrimitiveQuickSort extends BasePrimitiveSort {
+
+    public BasePrimitiveQuickSort(String description, int cutoff) {
+        super(description, cutoff);
+    }
+
+    public BasePrimitiveQuickSort(String description, Config config) {
+        super(description, config);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        sort(xs, from, to, depthLimit(to - from));
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        sort(xs, from, to, depthLimit(to - from));
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        sort(xs, from, to, depthLimit(to - from));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs    the array.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the remaining depth of recursion (as determined by depthLimit).
+     */
+    protected void sort(int[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        long partition = partition(xs, from, to);
+        int lt = lo(partition), gt = hi(partition);
+        long middle = middle(xs, from, to, lt, gt);
+        sort(xs, from, lt, depth - 1);
+        sort(xs, lo(middle), hi(middle), depth - 1);
+        sort(xs, gt + 1, to, depth - 1);
+    }
+
+    protected void sort(long[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        long partition = partition(xs, from, to);
+        int lt = lo(partition), gt = hi(partition);
+        long middle = middle(xs, from, to, lt, gt);
+        sort(xs, from, lt, depth - 1);
+        sort(xs, lo(middle), hi(middle), depth - 1);
+        sort(xs, gt + 1, to, depth - 1);
+    }
+
+    protected void sort(double[] xs, int from, int to, int depth) {
+        if (terminator(xs, from, to, depth)) return;
+        long partition = partition(xs, from, to);
+        int lt = lo(partition), gt = hi(partition);
+        long middle = middle(xs, from, to, lt, gt);
+        sort(xs, from, lt, depth - 1);
+        sort(xs, lo(middle), hi(middle), depth - 1);
+        sort(xs, gt + 1, to, depth - 1);
+    }
+
+    /**
+     * Partition the sub-array xs[from] ... xs[to-1] (which has more than threshold elements).
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to partition.
+     * @param to   the index of the first element not to partition.
+     * @return the range (lt, gt) such that xs[from] ... xs[lt-1] and xs[gt+1] ... xs[to-1] remain to be sorted.
+     */
+    protected abstract long partition(int[] xs, int from, int to);
+
+    protected abstract long partition(long[] xs, int from, int to);
+
+    protected abstract long partition(double[] xs, int from, int to);
+
+    /**
+     * Determine which of the elements between lt and gt (as yielded by partition) remain to be sorted.
+     * In this implementation, there are none.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element which was partitioned.
+     * @param to   the index of the first element which was not partitioned.
+     * @param lt   the lower boundary yielded by partition.
+     * @param gt   the upper boundary yielded by partition.
+     * @return the range (lo, hi) of elements which remain to be sorted.
+     */
+    protected long middle(int[] xs, int from, int to, int lt, int gt) {
+        return range(lt, lt);
+    }
+
+    protected long middle(long[] xs, int from, int to, int lt, int gt) {
+        return range(lt, lt);
+    }
+
+    protected long middle(double[] xs, int from, int to, int lt, int gt) {
+        return range(lt, lt);
+    }
+
+    /**
+     * Method to determine the depth of recursion permitted before terminator takes some other action.
+     * In this implementation, there is no limit.
+     *
+     * @param n the number of elements to be sorted.
+     * @return the maximum depth of recursion.
+     */
+    protected int depthLimit(int n) {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Protected method to determine whether to terminate the recursion of this quick sort.
+     * NOTE that in this implementation, the depth is ignored.
+     *
+     * @param xs    the array.
+     * @param from  the index of the first element to sort.
+     * @param to    the index of the first element not to sort.
+     * @param depth the remaining depth of recursion.
+     * @return true if there is no further work to be done.
+     */
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        if (to - from > threshold()) return false;
+        insertionSort(xs, from, to);
+        return true;
+    }
+
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        if (to - from > threshold()) return false;
+        insertionSort(xs, from, to);
+        return true;
+    }
+
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        if (to - from > threshold()) return false;
+        insertionSort(xs, from, to);
+        return true;
+    }
+
+    /**
+     * NOTE it makes no sense to partition an array smaller than 3 elements, regardless of cutoff.
+     *
+     * @return the size at or below which insertion sort is used.
+     */
+    protected int threshold() {
+        return Math.max(cutoff, 3);
+    }
+
+    /**
+     * @param lo the lower index.
+     * @param hi the higher index.
+     * @return the range (lo, hi) packed into a long.
+     */
+    protected static long range(int lo, int hi) {
+        return (long) lo << 32 | hi & 0xFFFFFFFFL;
+    }
+
+    protected static int lo(long range) {
+        return (int) (range >>> 32);
+    }
+
+    protected static int hi(long range) {
+        return (int) range;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.sort.SortOptions;
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.CUTOFF_DEFAULT;
+
+/**
+ * Base class for the primitive sorts.
+ * The cutoff (below which insertion sort is used) is resolved once, when the sort is constructed.
+ * <p>
+ * Sorting of doubles is implemented here: NaN values are moved to the end of the range and then the remaining
+ * (non-NaN) elements are sorted by doSort.
+ */
+public abstract class BasePrimitiveSort implements PrimitiveSort {
+
+    /**
+     * Constructor for BasePrimitiveSort.
+     *
+     * @param description the description of this sort.
+     * @param cutoff      the size of sub-array at or below which insertion sort will be used.
+     *                    A value of 1 effectively disables the cutoff; a value of 0 or less yields the default.
+     */
+    public BasePrimitiveSort(String description, int cutoff) {
+        this.description = description;
+        this.cutoff = cutoff >= 1 ? cutoff : CUTOFF_DEFAULT;
+    }
+
+    /**
+     * Constructor for BasePrimitiveSort which takes its cutoff from the [helper] section of the configuration.
+     *
+     * @param description the description of this sort.
+     * @param config      the configuration.
+     */
+    public BasePrimitiveSort(String description, Config config) {
+        this(description, SortOptions.from(config).cutoff());
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] after first moving any NaN values to the end.
+     *
+     * @param xs   sort the array xs from "from" until "to" (exclusive of to).
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public void sort(double[] xs, int from, int to) {
+        doSort(xs, from, PrimitiveHelper.moveNaNsToEnd(xs, from, to));
+    }
+
+    /**
+     * Sort the sub-array xs[from] ... xs[to-1] which is known to contain no NaN values.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    protected abstract void doSort(double[] xs, int from, int to);
+
+    /**
+     * @return the (resolved) cutoff value.
+     */
+    public int cutoff() {
+        return cutoff;
+    }
+
+    @Override
+    public String toString() {
+        return description + " (primitive) with cutoff " + cutoff;
+    }
+
+    protected final String description;
+    protected final int cutoff;
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.heapSort;
+
+/**
+ * Class PrimitiveHeapSort: the primitive counterpart of HeapSort.
+ * <p>
+ * NOTE that, unlike HeapSort, the sift-down is iterative and it respects the from and to parameters.
+ */
+public class PrimitiveHeapSort extends BasePrimitiveSort {
+
+    public static final String DESCRIPTION = "Heap Sort";
+
+    public PrimitiveHeapSort() {
+        super(DESCRIPTION, 1);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        heapSort(xs, from, to);
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        heapSort(xs, from, to);
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        heapSort(xs, from, to);
+    }
+}
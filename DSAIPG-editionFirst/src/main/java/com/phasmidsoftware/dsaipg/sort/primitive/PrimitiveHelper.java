@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+/**
+ * Static utility methods used by the primitive sorts.
+ * These are the primitive counterparts of the methods of Helper (swap, insertion sort, isSorted, etc.).
+ * <p>
+ * NOTE that, since Java does not allow generics over primitive types, every method is provided in three versions:
+ * int, long and double.
+ * None of these methods allocates any memory.
+ */
+public final class PrimitiveHelper {
+
+    /**
+     * Swap the elements at indices i and j.
+     *
+     * @param xs the array.
+     * @param i  one index.
+     * @param j  the other index.
+     */
+    public static void swap(int[] xs, int i, int j) {
+        int temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * Swap the elements at indices i and j.
+     *
+     * @param xs the array.
+     * @param i  one index.
+     * @param j  the other index.
+     */
+    public static void swap(long[] xs, int i, int j) {
+        long temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * Swap the elements at indices i and j.
+     *
+     * @param xs the array.
+     * @param i  one index.
+     * @param j  the other index.
+     */
+    public static void swap(double[] xs, int i, int j) {
+        double temp = xs[i];
+        xs[i] = xs[j];
+        xs[j] = temp;
+    }
+
+    /**
+     * Insertion sort (optimized to shift rather than swap) of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void insertionSort(int[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int x = xs[i];
+            int j = i;
+            while (j > from && xs[j - 1] > x) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    /**
+     * Insertion sort (optimized to shift rather than swap) of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void insertionSort(long[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long x = xs[i];
+            int j = i;
+            while (j > from && xs[j - 1] > x) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    /**
+     * Insertion sort (optimized to shift rather than swap) of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void insertionSort(double[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double x = xs[i];
+            int j = i;
+            while (j > from && xs[j - 1] > x) {
+                xs[j] = xs[j - 1];
+                j--;
+            }
+            xs[j] = x;
+        }
+    }
+
+    /**
+     * Heap sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void heapSort(int[] xs, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) downHeap(xs, i, n, from);
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            downHeap(xs, 0, i, from);
+        }
+    }
+
+    /**
+     * Heap sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void heapSort(long[] xs, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) downHeap(xs, i, n, from);
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            downHeap(xs, 0, i, from);
+        }
+    }
+
+    /**
+     * Heap sort of the sub-array xs[from] ... xs[to-1].
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    public static void heapSort(double[] xs, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) downHeap(xs, i, n, from);
+        for (int i = n - 1; i > 0; i--) {
+            swap(xs, from, from + i);
+            downHeap(xs, 0, i, from);
+        }
+    }
+
+    /**
+     * Method to determine if the sub-array xs[from] ... xs[to-1] is sorted.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to check.
+     * @param to   the index of the first element not to check.
+     * @return true if there are no inversions between adjacent elements.
+     */
+    public static boolean isSorted(int[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    /**
+     * Method to determine if the sub-array xs[from] ... xs[to-1] is sorted.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to check.
+     * @param to   the index of the first element not to check.
+     * @return true if there are no inversions between adjacent elements.
+     */
+    public static boolean isSorted(long[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) if (xs[i - 1] > xs[i]) return false;
+        return true;
+    }
+
+    /**
+     * Method to determine if the sub-array xs[from] ... xs[to-1] is sorted.
+     * NaN values are considered to be greater than any other value.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element to check.
+     * @param to   the index of the first element not to check.
+     * @return true if there are no inversions between adjacent elements.
+     */
+    public static boolean isSorted(double[] xs, int from, int to) {
+        for (int i = from + 1; i < to; i++) if (Double.compare(xs[i - 1], xs[i]) > 0 && xs[i - 1] != xs[i]) return false;
+        return true;
+    }
+
+    public static boolean isSorted(int[] xs) {
+        return isSorted(xs, 0, xs.length);
+    }
+
+    public static boolean isSorted(long[] xs) {
+        return isSorted(xs, 0, xs.length);
+    }
+
+    public static boolean isSorted(double[] xs) {
+        return isSorted(xs, 0, xs.length);
+    }
+
+    /**
+     * Move any NaN values in the sub-array xs[from] ... xs[to-1] to the end of that sub-array.
+     * The relative order of the other elements is not preserved.
+     *
+     * @param xs   the array.
+     * @param from the index of the first element.
+     * @param to   the index of the first element not to be considered.
+     * @return the index of the first NaN value (or to if there are none).
+     */
+    public static int moveNaNsToEnd(double[] xs, int from, int to) {
+        int end = to;
+        for (int i = end - 1; i >= from; i--)
+            if (xs[i] != xs[i]) swap(xs, i, --end);
+        return end;
+    }
+
+    /**
+     * @param n a positive number.
+     * @return the floor of the binary logarithm of n.
+     */
+    public static int floor_lg(int n) {
+        return 31 - Integer.numberOfLeadingZeros(n);
+    }
+
+    private static void downHeap(int[] xs, int i, int n, int lo) {
+        int x = xs[lo + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && xs[lo + child] < xs[lo + child + 1]) child++;
+            if (x >= xs[lo + child]) break;
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        xs[lo + i] = x;
+    }
+
+    private static void downHeap(long[] xs, int i, int n, int lo) {
+        long x = xs[lo + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && xs[lo + child] < xs[lo + child + 1]) child++;
+            if (x >= xs[lo + child]) break;
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        xs[lo + i] = x;
+    }
+
+    private static void downHeap(double[] xs, int i, int n, int lo) {
+        double x = xs[lo + i];
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < n && xs[lo + child] < xs[lo + child + 1]) child++;
+            if (x >= xs[lo + child]) break;
+            xs[lo + i] = xs[lo + child];
+            i = child;
+        }
+        xs[lo + i] = x;
+    }
+
+    private PrimitiveHelper() {
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.*;
+
+/**
+ * Class PrimitiveIntroSort: the primitive counterpart of IntroSort.
+ * It begins with dual-pivot quicksort and switches to heapsort when the recursion depth
+ * exceeds 2 lg n or to insertion sort when the sub-array size becomes small.
+ * <p>
+ * NOTE that, unlike IntroSort, the depth threshold is passed down the recursion rather than being kept in a field,
+ * so that an instance may be shared by several threads.
+ */
+public class PrimitiveIntroSort extends PrimitiveQuickSort_DualPivot {
+
+    public static final String DESCRIPTION = "Intro sort";
+
+    public PrimitiveIntroSort() {
+        super(DESCRIPTION, sizeThreshold);
+    }
+
+    public PrimitiveIntroSort(Config config) {
+        super(DESCRIPTION, config);
+    }
+
+    protected int depthLimit(int n) {
+        return n > 0 ? 2 * floor_lg(n) : 0;
+    }
+
+    protected boolean terminator(int[] xs, int from, int to, int depth) {
+        if (super.terminator(xs, from, to, depth)) return true;
+        if (depth > 0) return false;
+        heapSort(xs, from, to);
+        return true;
+    }
+
+    protected boolean terminator(long[] xs, int from, int to, int depth) {
+        if (super.terminator(xs, from, to, depth)) return true;
+        if (depth > 0) return false;
+        heapSort(xs, from, to);
+        return true;
+    }
+
+    protected boolean terminator(double[] xs, int from, int to, int depth) {
+        if (super.terminator(xs, from, to, depth)) return true;
+        if (depth > 0) return false;
+        heapSort(xs, from, to);
+        return true;
+    }
+
+    private static final int sizeThreshold = 16;
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.sort.SortOptions;
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.insertionSort;
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.CUTOFF_DEFAULT;
+
+/**
+ * Class PrimitiveMergeSort: the primitive counterpart of MergeSort.
+ * <p>
+ * The auxiliary array is allocated once for each (top-level) sort.
+ * The insurance and no-copy options have the same meaning as for MergeSort and are resolved at construction time.
+ */
+public class PrimitiveMergeSort extends BasePrimitiveSort {
+
+    public static final String DESCRIPTION = "MergeSort";
+
+    /**
+     * Constructor for PrimitiveMergeSort.
+     *
+     * @param cutoff    the size of sub-array at or below which insertion sort will be used.
+     * @param insurance if true, we skip the merge when the two halves are already in order.
+     * @param noCopy    if true, we avoid copying into the auxiliary array by interchanging the roles of the arrays.
+     */
+    public PrimitiveMergeSort(int cutoff, boolean insurance, boolean noCopy) {
+        super(DESCRIPTION, cutoff);
+        this.insurance = insurance;
+        this.noCopy = noCopy;
+    }
+
+    /**
+     * Constructor for PrimitiveMergeSort which takes its options from the configuration.
+     *
+     * @param config the configuration.
+     */
+    public PrimitiveMergeSort(Config config) {
+        this(SortOptions.from(config));
+    }
+
+    /**
+     * Constructor for PrimitiveMergeSort which takes its cutoff, insurance and no-copy options from a SortOptions.
+     *
+     * @param options the sort options.
+     */
+    public PrimitiveMergeSort(SortOptions options) {
+        this(options.cutoff(), options.insurance(), options.noCopy());
+    }
+
+    /**
+     * Constructor for PrimitiveMergeSort with default cutoff and both insurance and no-copy enabled.
+     */
+    public PrimitiveMergeSort() {
+        this(CUTOFF_DEFAULT, true, true);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        if (to - from <= 1) return;
+        int[] aux = new int[to];
+        if (noCopy) {
+            System.arraycopy(xs, from, aux, from, to - from);
+            sortNoCopy(aux, xs, from, to);
+        } else sortCopy(xs, aux, from, to);
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        if (to - from <= 1) return;
+        long[] aux = new long[to];
+        if (noCopy) {
+            System.arraycopy(xs, from, aux, from, to - from);
+            sortNoCopy(aux, xs, from, to);
+        } else sortCopy(xs, aux, from, to);
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        if (to - from <= 1) return;
+        double[] aux = new double[to];
+        if (noCopy) {
+            System.arraycopy(xs, from, aux, from, to - from);
+            sortNoCopy(aux, xs, from, to);
+        } else sortCopy(xs, aux, from, to);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + (insurance ? " with insurance comparison" : "") + (noCopy ? " with no copy" : "");
+    }
+
+    /**
+     * Sort src[from] ... src[to-1] into dst[from] ... dst[to-1].
+     * On entry, src and dst must have the same content in the range from until to.
+     */
+    private void sortNoCopy(int[] src, int[] dst, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(dst, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortNoCopy(dst, src, from, mid);
+        sortNoCopy(dst, src, mid, to);
+        if (insurance && src[mid - 1] <= src[mid]) System.arraycopy(src, from, dst, from, to - from);
+        else merge(src, dst, from, mid, to);
+    }
+
+    private void sortNoCopy(long[] src, long[] dst, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(dst, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortNoCopy(dst, src, from, mid);
+        sortNoCopy(dst, src, mid, to);
+        if (insurance && src[mid - 1] <= src[mid]) System.arraycopy(src, from, dst, from, to - from);
+        else merge(src, dst, from, mid, to);
+    }
+
+    private void sortNoCopy(double[] src, double[] dst, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(dst, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortNoCopy(dst, src, from, mid);
+        sortNoCopy(dst, src, mid, to);
+        if (insurance && src[mid - 1] <= src[mid]) System.arraycopy(src, from, dst, from, to - from);
+        else merge(src, dst, from, mid, to);
+    }
+
+    private void sortCopy(int[] xs, int[] aux, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortCopy(xs, aux, from, mid);
+        sortCopy(xs, aux, mid, to);
+        if (insurance && xs[mid - 1] <= xs[mid]) return;
+        System.arraycopy(xs, from, aux, from, to - from);
+        merge(aux, xs, from, mid, to);
+    }
+
+    private void sortCopy(long[] xs, long[] aux, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortCopy(xs, aux, from, mid);
+        sortCopy(xs, aux, mid, to);
+        if (insurance && xs[mid - 1] <= xs[mid]) return;
+        System.arraycopy(xs, from, aux, from, to - from);
+        merge(aux, xs, from, mid, to);
+    }
+
+    private void sortCopy(double[] xs, double[] aux, int from, int to) {
+        if (to - from <= cutoff) {
+            insertionSort(xs, from, to);
+            return;
+        }
+        int mid = from + (to - from) / 2;
+        sortCopy(xs, aux, from, mid);
+        sortCopy(xs, aux, mid, to);
+        if (insurance && xs[mid - 1] <= xs[mid]) return;
+        System.arraycopy(xs, from, aux, from, to - from);
+        merge(aux, xs, from, mid, to);
+    }
+
+    /**
+     * Merge the sorted runs src[from..mid) and src[mid..to) into dst[from..to).
+     */
+    static void merge(int[] src, int[] dst, int from, int mid, int to) {
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= to) dst[k] = src[i++];
+            else if (src[j] < src[i]) dst[k] = src[j++];
+            else dst[k] = src[i++];
+        }
+    }
+
+    static void merge(long[] src, long[] dst, int from, int mid, int to) {
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= to) dst[k] = src[i++];
+            else if (src[j] < src[i]) dst[k] = src[j++];
+            else dst[k] = src[i++];
+        }
+    }
+
+    static void merge(double[] src, double[] dst, int from, int mid, int to) {
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (i >= mid) dst[k] = src[j++];
+            else if (j >= to) dst[k] = src[i++];
+            else if (src[j] < src[i]) dst[k] = src[j++];
+            else dst[k] = src[i++];
+        }
+    }
+
+    private final boolean insurance;
+    private final boolean noCopy;
+}
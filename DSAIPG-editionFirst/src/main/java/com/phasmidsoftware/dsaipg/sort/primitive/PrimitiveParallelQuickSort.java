@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class PrimitiveParallelQuickSort: a parallel version of one of the primitive quick sorts
+ * (PrimitiveQuickSort_DualPivot, PrimitiveQuickSort_3way or PrimitiveIntroSort) built on ForkJoinPool and RecursiveAction.
+ * <p>
+ * Each sub-array larger than the cutoff is partitioned (by the underlying sort) on the current thread
+ * and its (up to three) remaining partitions are then sorted concurrently.
+ * Sub-arrays at or below the cutoff are sorted sequentially by the underlying sort, which is passed the remaining depth
+ * so that PrimitiveIntroSort still switches to heap sort where it would have done so sequentially.
+ * <p>
+ * NOTE that the underlying sort holds no working state, so one instance may safely be used by many threads at once.
+ */
+@SuppressWarnings("serial") // NOTE the RecursiveAction tasks are never serialized.
+public class PrimitiveParallelQuickSort extends BasePrimitiveSort {
+
+    public static final String DESCRIPTION = "Parallel ";
+    public static final int CUTOFF_DEFAULT = 8192;
+
+    /**
+     * Constructor for PrimitiveParallelQuickSort.
+     *
+     * @param sorter the (sequential) quick sort which partitions each sub-array and sorts those at or below the cutoff.
+     * @param pool   the ForkJoinPool in which the sort tasks will be run.
+     * @param cutoff the size of sub-array at or below which the sort is sequential
+     *               (a value of 0 or less yields CUTOFF_DEFAULT).
+     */
+    public PrimitiveParallelQuickSort(BasePrimitiveQuickSort sorter, ForkJoinPool pool, int cutoff) {
+        super(DESCRIPTION + sorter.getDescription(), cutoff >= 1 ? cutoff : CUTOFF_DEFAULT);
+        this.sorter = sorter;
+        this.pool = pool;
+    }
+
+    /**
+     * Constructor for PrimitiveParallelQuickSort which uses the common pool and the default cutoff.
+     *
+     * @param sorter the (sequential) quick sort which partitions each sub-array and sorts those at or below the cutoff.
+     */
+    public PrimitiveParallelQuickSort(BasePrimitiveQuickSort sorter) {
+        this(sorter, ForkJoinPool.commonPool(), CUTOFF_DEFAULT);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        int depth = sorter.depthLimit(to - from);
+        if (to - from <= cutoff) sorter.sort(xs, from, to, depth);
+        else pool.invoke(new IntSortTask(xs, from, to, depth));
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        int depth = sorter.depthLimit(to - from);
+        if (to - from <= cutoff) sorter.sort(xs, from, to, depth);
+        else pool.invoke(new LongSortTask(xs, from, to, depth));
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        int depth = sorter.depthLimit(to - from);
+        if (to - from <= cutoff) sorter.sort(xs, from, to, depth);
+        else pool.invoke(new DoubleSortTask(xs, from, to, depth));
+    }
+
+    @Override
+    public String toString() {
+        return description + " with cutoff " + cutoff + " and parallelism " + pool.getParallelism();
+    }
+
+    /**
+     * Task to sort xs[from] ... xs[to-1].
+     */
+    class IntSortTask extends RecursiveAction {
+        IntSortTask(int[] xs, int from, int to, int depth) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= cutoff) {
+                sorter.sort(xs, from, to, depth);
+                return;
+            }
+            if (sorter.terminator(xs, from, to, depth)) return;
+            long partition = sorter.partition(xs, from, to);
+            int lt = BasePrimitiveQuickSort.lo(partition), gt = BasePrimitiveQuickSort.hi(partition);
+            long middle = sorter.middle(xs, from, to, lt, gt);
+            invokeAll(new IntSortTask(xs, from, lt, depth - 1),
+                    new IntSortTask(xs, BasePrimitiveQuickSort.lo(middle), BasePrimitiveQuickSort.hi(middle), depth - 1),
+                    new IntSortTask(xs, gt + 1, to, depth - 1));
+        }
+
+        private final int[] xs;
+        private final int from;
+        private final int to;
+        private final int depth;
+    }
+
+    /**
+     * Task to sort xs[from] ... xs[to-1].
+     */
+    class LongSortTask extends RecursiveAction {
+        LongSortTask(long[] xs, int from, int to, int depth) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= cutoff) {
+                sorter.sort(xs, from, to, depth);
+                return;
+            }
+            if (sorter.terminator(xs, from, to, depth)) return;
+            long partition = sorter.partition(xs, from, to);
+            int lt = BasePrimitiveQuickSort.lo(partition), gt = BasePrimitiveQuickSort.hi(partition);
+            long middle = sorter.middle(xs, from, to, lt, gt);
+            invokeAll(new LongSortTask(xs, from, lt, depth - 1),
+                    new LongSortTask(xs, BasePrimitiveQuickSort.lo(middle), BasePrimitiveQuickSort.hi(middle), depth - 1),
+                    new LongSortTask(xs, gt + 1, to, depth - 1));
+        }
+
+        private final long[] xs;
+        private final int from;
+        private final int to;
+        private final int depth;
+    }
+
+    /**
+     * Task to sort xs[from] ... xs[to-1] (which contains no NaN values).
+     */
+    class DoubleSortTask extends RecursiveAction {
+        DoubleSortTask(double[] xs, int from, int to, int depth) {
+            this.xs = xs;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= cutoff) {
+                sorter.sort(xs, from, to, depth);
+                return;
+            }
+            if (sorter.terminator(xs, from, to, depth)) return;
+            long partition = sorter.partition(xs, from, to);
+            int lt = BasePrimitiveQuickSort.lo(partition), gt = BasePrimitiveQuickSort.hi(partition);
+            long middle = sorter.middle(xs, from, to, lt, gt);
+            invokeAll(new DoubleSortTask(xs, from, lt, depth - 1),
+                    new DoubleSortTask(xs, BasePrimitiveQuickSort.lo(middle), BasePrimitiveQuickSort.hi(middle), depth - 1),
+                    new DoubleSortTask(xs, gt + 1, to, depth - 1));
+        }
+
+        private final double[] xs;
+        private final int from;
+        private final int to;
+        private final int depth;
+    }
+
+    private final BasePrimitiveQuickSort sorter;
+    private final ForkJoinPool pool;
+}
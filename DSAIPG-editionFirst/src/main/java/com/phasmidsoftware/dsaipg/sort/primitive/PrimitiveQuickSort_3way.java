@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.swap;
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.CUTOFF_DEFAULT;
+
+/**
+ * Class PrimitiveQuickSort_3way: the primitive counterpart of QuickSort_3way (Dijkstra's three-way partitioning).
+ * <p>
+ * NOTE that the pivot is the median of the first, middle and last elements of the partition.
+ */
+public class PrimitiveQuickSort_3way extends BasePrimitiveQuickSort {
+
+    public static final String DESCRIPTION = "QuickSort three way";
+
+    public PrimitiveQuickSort_3way(int cutoff) {
+        super(DESCRIPTION, cutoff);
+    }
+
+    public PrimitiveQuickSort_3way(Config config) {
+        super(DESCRIPTION, config);
+    }
+
+    public PrimitiveQuickSort_3way() {
+        this(CUTOFF_DEFAULT);
+    }
+
+    /**
+     * Partition xs[from] ... xs[to-1] about a single pivot: the elements equal to the pivot end up at lt ... gt.
+     */
+    protected long partition(int[] xs, int from, int to) {
+        swap(xs, from, medianOfThree(xs, from, from + (to - from) / 2, to - 1));
+        final int v = xs[from];
+        int lt = from;
+        int gt = to - 1;
+        int i = from + 1;
+        while (i <= gt) {
+            int x = xs[i];
+            if (x < v) swap(xs, lt++, i++);
+            else if (x > v) swap(xs, i, gt--);
+            else i++;
+        }
+        return range(lt, gt);
+    }
+
+    protected long partition(long[] xs, int from, int to) {
+        swap(xs, from, medianOfThree(xs, from, from + (to - from) / 2, to - 1));
+        final long v = xs[from];
+        int lt = from;
+        int gt = to - 1;
+        int i = from + 1;
+        while (i <= gt) {
+            long x = xs[i];
+            if (x < v) swap(xs, lt++, i++);
+            else if (x > v) swap(xs, i, gt--);
+            else i++;
+        }
+        return range(lt, gt);
+    }
+
+    protected long partition(double[] xs, int from, int to) {
+        swap(xs, from, medianOfThree(xs, from, from + (to - from) / 2, to - 1));
+        final double v = xs[from];
+        int lt = from;
+        int gt = to - 1;
+        int i = from + 1;
+        while (i <= gt) {
+            double x = xs[i];
+            if (x < v) swap(xs, lt++, i++);
+            else if (x > v) swap(xs, i, gt--);
+            else i++;
+        }
+        return range(lt, gt);
+    }
+
+    private static int medianOfThree(int[] xs, int i, int j, int k) {
+        return xs[i] < xs[j] ?
+                (xs[j] < xs[k] ? j : xs[i] < xs[k] ? k : i) :
+                (xs[k] < xs[j] ? j : xs[k] < xs[i] ? k : i);
+    }
+
+    private static int medianOfThree(long[] xs, int i, int j, int k) {
+        return xs[i] < xs[j] ?
+                (xs[j] < xs[k] ? j : xs[i] < xs[k] ? k : i) :
+                (xs[k] < xs[j] ? j : xs[k] < xs[i] ? k : i);
+    }
+
+    private static int medianOfThree(double[] xs, int i, int j, int k) {
+        return xs[i] < xs[j] ?
+                (xs[j] < xs[k] ? j : xs[i] < xs[k] ? k : i) :
+                (xs[k] < xs[j] ? j : xs[k] < xs[i] ? k : i);
+    }
+}
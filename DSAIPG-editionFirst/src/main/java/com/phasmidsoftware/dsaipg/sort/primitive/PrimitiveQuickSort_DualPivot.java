@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.util.Config;
+
+import static com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper.swap;
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.CUTOFF_DEFAULT;
+
+/**
+ * Class PrimitiveQuickSort_DualPivot: the primitive counterpart of QuickSort_DualPivot.
+ * <p>
+ * NOTE that, unlike QuickSort_DualPivot, the pivots are taken from the tertiles of the partition (rather than its ends)
+ * so that already-ordered input does not yield quadratic behavior.
+ * Also, when the two pivots are equal, the middle partition (which consists only of elements equal to the pivots)
+ * is not sorted further; and when the middle partition is large, elements equal to either pivot are first moved
+ * to its ends (as in Arrays.sort) so that input with many duplicates does not yield quadratic behavior.
+ */
+public class PrimitiveQuickSort_DualPivot extends BasePrimitiveQuickSort {
+
+    public static final String DESCRIPTION = "QuickSort dual pivot";
+
+    public PrimitiveQuickSort_DualPivot(String description, int cutoff) {
+        super(description, cutoff);
+    }
+
+    public PrimitiveQuickSort_DualPivot(String description, Config config) {
+        super(description, config);
+    }
+
+    public PrimitiveQuickSort_DualPivot(int cutoff) {
+        this(DESCRIPTION, cutoff);
+    }
+
+    public PrimitiveQuickSort_DualPivot(Config config) {
+        this(DESCRIPTION, config);
+    }
+
+    public PrimitiveQuickSort_DualPivot() {
+        this(CUTOFF_DEFAULT);
+    }
+
+    /**
+     * Partition xs[from] ... xs[to-1] about two pivots, which end up at lt and gt.
+     */
+    protected long partition(int[] xs, int from, int to) {
+        int third = (to - from) / 3;
+        swap(xs, from, from + third);
+        swap(xs, to - 1, to - 1 - third);
+        if (xs[from] > xs[to - 1]) swap(xs, from, to - 1);
+        final int v1 = xs[from];
+        final int v2 = xs[to - 1];
+        int lt = from + 1;
+        int gt = to - 2;
+        int i = lt;
+        while (i <= gt) {
+            int x = xs[i];
+            if (x < v1) swap(xs, lt++, i++);
+            else if (x > v2) swap(xs, i, gt--);
+            else i++;
+        }
+        swap(xs, from, --lt);
+        swap(xs, to - 1, ++gt);
+        return range(lt, gt);
+    }
+
+    /**
+     * The elements between the pivots remain to be sorted unless the pivots are equal.
+     */
+    @Override
+    protected long middle(int[] xs, int from, int to, int lt, int gt) {
+        final int v1 = xs[lt];
+        final int v2 = xs[gt];
+        if (v1 == v2) return range(lt, lt);
+        int a = lt + 1;
+        int b = gt - 1;
+        if (7L * (b - a) > 4L * (to - from)) {
+            // NOTE the middle partition is large: squeeze out the elements which are equal to one of the pivots.
+            int k = a;
+            while (k <= b) {
+                if (xs[k] == v1) swap(xs, a++, k++);
+                else if (xs[k] == v2) swap(xs, k, b--);
+                else k++;
+            }
+        }
+        return range(a, b + 1);
+    }
+
+    protected long partition(long[] xs, int from, int to) {
+        int third = (to - from) / 3;
+        swap(xs, from, from + third);
+        swap(xs, to - 1, to - 1 - third);
+        if (xs[from] > xs[to - 1]) swap(xs, from, to - 1);
+        final long v1 = xs[from];
+        final long v2 = xs[to - 1];
+        int lt = from + 1;
+        int gt = to - 2;
+        int i = lt;
+        while (i <= gt) {
+            long x = xs[i];
+            if (x < v1) swap(xs, lt++, i++);
+            else if (x > v2) swap(xs, i, gt--);
+            else i++;
+        }
+        swap(xs, from, --lt);
+        swap(xs, to - 1, ++gt);
+        return range(lt, gt);
+    }
+
+    @Override
+    protected long middle(long[] xs, int from, int to, int lt, int gt) {
+        final long v1 = xs[lt];
+        final long v2 = xs[gt];
+        if (v1 == v2) return range(lt, lt);
+        int a = lt + 1;
+        int b = gt - 1;
+        if (7L * (b - a) > 4L * (to - from)) {
+            // NOTE the middle partition is large: squeeze out the elements which are equal to one of the pivots.
+            int k = a;
+            while (k <= b) {
+                if (xs[k] == v1) swap(xs, a++, k++);
+                else if (xs[k] == v2) swap(xs, k, b--);
+                else k++;
+            }
+        }
+        return range(a, b + 1);
+    }
+
+    protected long partition(double[] xs, int from, int to) {
+        int third = (to - from) / 3;
+        swap(xs, from, from + third);
+        swap(xs, to - 1, to - 1 - third);
+        if (xs[from] > xs[to - 1]) swap(xs, from, to - 1);
+        final double v1 = xs[from];
+        final double v2 = xs[to - 1];
+        int lt = from + 1;
+        int gt = to - 2;
+        int i = lt;
+        while (i <= gt) {
+            double x = xs[i];
+            if (x < v1) swap(xs, lt++, i++);
+            else if (x > v2) swap(xs, i, gt--);
+            else i++;
+        }
+        swap(xs, from, --lt);
+        swap(xs, to - 1, ++gt);
+        return range(lt, gt);
+    }
+
+    @Override
+    protected long middle(double[] xs, int from, int to, int lt, int gt) {
+        final double v1 = xs[lt];
+        final double v2 = xs[gt];
+        if (v1 == v2) return range(lt, lt);
+        int a = lt + 1;
+        int b = gt - 1;
+        if (7L * (b - a) > 4L * (to - from)) {
+            // NOTE the middle partition is large: squeeze out the elements which are equal to one of the pivots.
+            int k = a;
+            while (k <= b) {
+                if (xs[k] == v1) swap(xs, a++, k++);
+                else if (xs[k] == v2) swap(xs, k, b--);
+                else k++;
+            }
+        }
+        return range(a, b + 1);
+    }
+}
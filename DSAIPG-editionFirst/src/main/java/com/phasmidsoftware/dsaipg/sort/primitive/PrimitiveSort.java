@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+/**
+ * Interface PrimitiveSort which defines sort methods for arrays of the primitive types int, long and double.
+ * <p>
+ * These sorts are the primitive counterparts of the generic sorts (which operate on X[] via a Helper of X).
+ * There is no boxing and no virtual comparison: elements are compared using the primitive operators.
+ * Implementations must not allocate anything in the inner loops (MergeSort allocates its auxiliary array once per sort).
+ * <p>
+ * NOTE that double values are ordered as for Arrays.sort, except that -0.0 and 0.0 are considered equal:
+ * NaN values are moved to the end of the range (before sorting) and are not otherwise sorted.
+ */
+public interface PrimitiveSort {
+
+    /**
+     * @return the description of this sort.
+     */
+    String getDescription();
+
+    /**
+     * Mutating sort method which operates on a sub-array of ints.
+     *
+     * @param xs   sort the array xs from "from" until "to" (exclusive of to).
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(int[] xs, int from, int to);
+
+    /**
+     * Mutating sort method which operates on a sub-array of longs.
+     *
+     * @param xs   sort the array xs from "from" until "to" (exclusive of to).
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(long[] xs, int from, int to);
+
+    /**
+     * Mutating sort method which operates on a sub-array of doubles.
+     *
+     * @param xs   sort the array xs from "from" until "to" (exclusive of to).
+     * @param from the index of the first element to sort.
+     * @param to   the index of the first element not to sort.
+     */
+    void sort(double[] xs, int from, int to);
+
+    /**
+     * Mutating sort method for an entire array of ints.
+     *
+     * @param xs the array to be sorted.
+     */
+    default void sort(int[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Mutating sort method for an entire array of longs.
+     *
+     * @param xs the array to be sorted.
+     */
+    default void sort(long[] xs) {
+        sort(xs, 0, xs.length);
+    }
+
+    /**
+     * Mutating sort method for an entire array of doubles.
+     *
+     * @param xs the array to be sorted.
+     */
+    default void sort(double[] xs) {
+        sort(xs, 0, xs.length);
+    }
+}
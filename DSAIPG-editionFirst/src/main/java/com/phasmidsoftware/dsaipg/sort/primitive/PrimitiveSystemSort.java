@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import java.util.Arrays;
+
+/**
+ * Sorter which delegates to Arrays.sort: the primitive counterpart of TimSort.
+ * <p>
+ * NOTE that, for primitive arrays, Arrays.sort is actually a dual-pivot quicksort (not Timsort).
+ * This class serves as the baseline against which the other primitive sorts are benchmarked.
+ */
+public class PrimitiveSystemSort extends BasePrimitiveSort {
+
+    public static final String DESCRIPTION = "System sort";
+
+    public PrimitiveSystemSort() {
+        super(DESCRIPTION, 1);
+    }
+
+    public void sort(int[] xs, int from, int to) {
+        Arrays.sort(xs, from, to);
+    }
+
+    public void sort(long[] xs, int from, int to) {
+        Arrays.sort(xs, from, to);
+    }
+
+    @Override
+    public void sort(double[] xs, int from, int to) {
+        Arrays.sort(xs, from, to);
+    }
+
+    protected void doSort(double[] xs, int from, int to) {
+        Arrays.sort(xs, from, to);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack.BellmanFordEngine;
+
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the BellmanFordEngine on random graphs of increasing size:
+ * queue-based (run) and rounds of parallel relaxation (runParallel) with one thread and with all available processors.
+ * <p>
+ * The weights of the random graphs are reduced by the differences of random vertex potentials,
+ * so that many are negative although no cycle is.
+ */
+public class BellmanFordBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the largest number of vertices; the (average) out-degree; the number of runs.
+     */
+    public static void main(String[] args) {
+        int maxV = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int V = 1000; V <= maxV; V *= 10) {
+            BellmanFordEngine engine = createGraph(V, V * degree, 0L);
+            logger.info("BellmanFordBenchmark: " + formatWhole(V) + " vertices and " + formatWhole(engine.E()) + " edges");
+            BellmanFordEngine.Result result = engine.run(0);
+            BellmanFordEngine.Result parallel = engine.runParallel(0, processors);
+            logger.info("BellmanFordBenchmark: relaxations: queue-based: " + formatWhole(result.relaxations()) +
+                    ", parallel: " + formatWhole(parallel.relaxations()) + " in " + parallel.rounds() + " rounds");
+            runBenchmark("queue-based", engine, e -> e.run(0), nRuns);
+            runBenchmark("parallel (1 thread)", engine, e -> e.runParallel(0, 1), nRuns);
+            runBenchmark("parallel (" + processors + " threads)", engine, e -> e.runParallel(0, processors), nRuns);
+        }
+    }
+
+    /**
+     * Create a random graph (with some negative weights but no negative cycles).
+     *
+     * @param V    the number of vertices.
+     * @param E    the number of edges.
+     * @param seed the seed.
+     * @return a new BellmanFordEngine.
+     */
+    static BellmanFordEngine createGraph(int V, int E, long seed) {
+        Random random = new Random(seed);
+        double[] potential = new double[V];
+        for (int v = 0; v < V; v++) potential[v] = random.nextDouble() * 50;
+        int[] from = new int[E];
+        int[] to = new int[E];
+        double[] weight = new double[E];
+        for (int e = 0; e < E; e++) {
+            from[e] = random.nextInt(V);
+            to[e] = random.nextInt(V);
+            weight[e] = random.nextDouble() * 100 + potential[from[e]] - potential[to[e]];
+        }
+        return new BellmanFordEngine(V, from, to, weight);
+    }
+
+    /**
+     * Time the given function of engine and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, BellmanFordEngine engine, Consumer<BellmanFordEngine> function, int nRuns) {
+        Benchmark<BellmanFordEngine> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(engine, nRuns);
+        logger.info("BellmanFordBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(BellmanFordBenchmark.class);
+}
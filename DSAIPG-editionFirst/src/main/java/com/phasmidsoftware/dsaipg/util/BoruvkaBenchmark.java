@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.graphs.gis.Boruvka_Parallel;
+import com.phasmidsoftware.dsaipg.graphs.traversal.Edge;
+import com.phasmidsoftware.dsaipg.graphs.traversal.EdgeWeightedGraph;
+import com.phasmidsoftware.dsaipg.graphs.traversal.Prims;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark Boruvka_Parallel (with one thread and with all available processors) against
+ * Kruskal's algorithm (sorting the edges and using WQUPC) and the lazy version of Prim's algorithm (traversal.Prims),
+ * on random connected graphs of increasing size.
+ * <p>
+ * NOTE that gis.Kruskal and gis.Prim are not used because they depend on exercises (UF_HWQUPC and runPrim).
+ */
+public class BoruvkaBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the largest number of vertices; the (average) degree; the number of runs.
+     */
+    public static void main(String[] args) {
+        int maxV = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int processors = Runtime.getRuntime().availableProcessors();
+        for (int V = 10_000; V <= maxV; V *= 10) {
+            Boruvka_Parallel boruvka = createGraph(V, V * degree, 0L);
+            EdgeWeightedGraph ewg = new EdgeWeightedGraph(V);
+            for (int e = 0; e < boruvka.E(); e++)
+                ewg.addEdge(new Edge(boruvka.either(e), boruvka.other(e), boruvka.weight(e)));
+            logger.info("BoruvkaBenchmark: " + formatWhole(V) + " vertices and " + formatWhole(boruvka.E()) + " edges");
+            Boruvka_Parallel.Result result = boruvka.run(processors);
+            double prim = 0;
+            for (Edge edge : new Prims(ewg).edges()) prim += edge.weight();
+            logger.info("BoruvkaBenchmark: weight: Boruvka: " + result.weight() + " in " + result.rounds() + " rounds" +
+                    ", Kruskal: " + kruskal(boruvka) + ", Prim: " + prim);
+            runBenchmark("Boruvka_Parallel (1 thread)", boruvka, b -> b.run(1), nRuns);
+            runBenchmark("Boruvka_Parallel (" + processors + " threads)", boruvka, b -> b.run(processors), nRuns);
+            runBenchmark("Kruskal", boruvka, BoruvkaBenchmark::kruskal, nRuns);
+            runBenchmark("Prim (lazy)", boruvka, b -> new Prims(ewg), nRuns);
+        }
+    }
+
+    /**
+     * Create a random connected graph: a random spanning tree plus random edges.
+     *
+     * @param V    the number of vertices.
+     * @param E    the number of edges (at least V-1).
+     * @param seed the seed.
+     * @return a new Boruvka_Parallel.
+     */
+    static Boruvka_Parallel createGraph(int V, int E, long seed) {
+        Random random = new Random(seed);
+        int[] either = new int[E];
+        int[] other = new int[E];
+        double[] weight = new double[E];
+        for (int e = 0; e < E; e++) {
+            either[e] = e < V - 1 ? e + 1 : random.nextInt(V);
+            other[e] = e < V - 1 ? random.nextInt(e + 1) : random.nextInt(V);
+            weight[e] = random.nextDouble();
+        }
+        return new Boruvka_Parallel(V, either, other, weight);
+    }
+
+    /**
+     * Kruskal's algorithm on the edges of boruvka: sort the edge ids by weight and then add each edge which joins two components.
+     *
+     * @return the total weight of the minimum spanning forest.
+     */
+    static double kruskal(Boruvka_Parallel boruvka) {
+        Integer[] edges = new Integer[boruvka.E()];
+        for (int e = 0; e < edges.length; e++) edges[e] = e;
+        Arrays.sort(edges, Comparator.comparingDouble(boruvka::weight));
+        WQUPC uf = new WQUPC(boruvka.V());
+        double result = 0;
+        int count = 0;
+        for (int e : edges) {
+            if (count == boruvka.V() - 1) break;
+            if (!uf.connected(boruvka.either(e), boruvka.other(e))) {
+                uf.union(boruvka.either(e), boruvka.other(e));
+                result += boruvka.weight(e);
+                count++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Time the given function of boruvka and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, Boruvka_Parallel boruvka, Consumer<Boruvka_Parallel> function, int nRuns) {
+        Benchmark<Boruvka_Parallel> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(boruvka, nRuns);
+        logger.info("BoruvkaBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(BoruvkaBenchmark.class);
+}
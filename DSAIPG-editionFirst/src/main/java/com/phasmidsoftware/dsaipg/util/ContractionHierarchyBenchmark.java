@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark point-to-point shortest-path queries by Dijkstra, PathQueryEngine (bidirectional Dijkstra)
+ * and ContractionHierarchy, and to report the time taken to preprocess, save and load the hierarchy.
+ * <p>
+ * The graph is road-like: the vertices are the points of a k by k grid, each of them displaced at random,
+     * and each is joined (in both directions) to its neighbors in the grid.
+ * The weight of a road is its travel time: its Euclidean length divided by its speed,
+ * which is greater for the arterial roads and greater still for the highways (see speed).
+ * NOTE that the graph of the buildings of graphs.tunnels is far too small for a meaningful benchmark.
+ */
+public class ContractionHierarchyBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the size k of the grid; the number of queries; the number of runs.
+     * @throws IOException if the hierarchy cannot be saved or loaded.
+     */
+    public static void main(String[] args) throws IOException {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int nQueries = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        EdgeWeightedDigraph graph = createGraph(k, 0L);
+        logger.info("ContractionHierarchyBenchmark: " + formatWhole(graph.V()) + " vertices and " + formatWhole(graph.E()) + " edges");
+        ContractionHierarchy hierarchy;
+        try (Stopwatch stopwatch = new Stopwatch()) {
+            hierarchy = new ContractionHierarchy(graph);
+            logger.info("ContractionHierarchyBenchmark: preprocessing: " + stopwatch.lap() + " mSec for " + formatWhole(hierarchy.shortcuts()) + " shortcuts");
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            hierarchy.save(output);
+            logger.info("ContractionHierarchyBenchmark: save: " + stopwatch.lap() + " mSec for " + formatWhole(output.size()) + " bytes");
+            hierarchy = ContractionHierarchy.load(new ByteArrayInputStream(output.toByteArray()));
+            logger.info("ContractionHierarchyBenchmark: load: " + stopwatch.lap() + " mSec");
+        }
+        int[][] queries = createQueries(graph.V(), nQueries, 1L);
+        Dijkstra dijkstra = new Dijkstra(graph);
+        PathQueryEngine engine = new PathQueryEngine(graph);
+        ContractionHierarchy ch = hierarchy;
+        // NOTE that Dijkstra solves the single-source problem for each query, so it is given fewer queries and runs.
+        int[][] fewer = createQueries(graph.V(), Math.max(1, nQueries / 100), 1L);
+        runBenchmark("Dijkstra", (s, t) -> checksum(dijkstra.shortestPaths(s).distTo(t)), fewer, Math.max(1, nRuns / 5));
+        runBenchmark("PathQueryEngine", (s, t) -> checksum(engine.distance(s, t)), queries, nRuns);
+        runBenchmark("ContractionHierarchy", (s, t) -> checksum(ch.distance(s, t)), queries, nRuns);
+        long settledEngine = 0, settledCH = 0;
+        for (int i = 0; i < nQueries; i++) {
+            engine.distance(queries[0][i], queries[1][i]);
+            settledEngine += engine.lastSettled();
+            ch.distance(queries[0][i], queries[1][i]);
+            settledCH += ch.lastSettled();
+        }
+        logger.info("ContractionHierarchyBenchmark: mean settled vertices per query: PathQueryEngine: " +
+                settledEngine / nQueries + ", ContractionHierarchy: " + settledCH / nQueries);
+    }
+
+    /**
+     * Create a road-like graph whose vertices are the (randomly displaced) points of a k by k grid.
+     *
+     * @param k    the number of points in each row and column.
+     * @param seed the seed for the displacements.
+     * @return a new EdgeWeightedDigraph with k*k vertices.
+     */
+    static EdgeWeightedDigraph createGraph(int k, long seed) {
+        Random random = new Random(seed);
+        int n = k * k;
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        for (int v = 0; v < n; v++) {
+            xs[v] = v % k + random.nextDouble() * 0.8;
+            ys[v] = v / k + random.nextDouble() * 0.8;
+        }
+        EdgeWeightedDigraph result = new EdgeWeightedDigraph(n);
+        for (int v = 0; v < n; v++) {
+            int column = v % k, row = v / k;
+            if (column + 1 < k) addRoad(result, v, v + 1, xs, ys, speed(row));
+            if (row + 1 < k) addRoad(result, v, v + k, xs, ys, speed(column));
+        }
+        return result;
+    }
+
+    /**
+     * Create random queries.
+     *
+     * @return an array of two rows: the sources and the targets.
+     */
+    static int[][] createQueries(int n, int nQueries, long seed) {
+        Random random = new Random(seed);
+        int[][] result = new int[2][nQueries];
+        for (int i = 0; i < nQueries; i++) {
+            result[0][i] = random.nextInt(n);
+            result[1][i] = random.nextInt(n);
+        }
+        return result;
+    }
+
+    /**
+     * Time the given queries and log the result.
+     *
+     * @return the time in microseconds per query.
+     */
+    static double runBenchmark(String description, IntBinaryOperator query, int[][] queries, int nRuns) {
+        int n = queries[0].length;
+        Benchmark<int[][]> benchmark = new Benchmark_Timer<>(description, qs -> {
+            for (int i = 0; i < n; i++) query.applyAsInt(qs[0][i], qs[1][i]);
+        });
+        double result = benchmark.run(queries, nRuns) * 1000 / n;
+        logger.info("ContractionHierarchyBenchmark: " + description + ": " + result + " uSec per query");
+        return result;
+    }
+
+    /**
+     * @param line the index of a row (for an east-west road) or of a column (for a north-south road).
+     * @return the speed of the roads along line: every 32nd is a highway and every 8th an arterial road.
+     */
+    private static double speed(int line) {
+        return line % 32 == 0 ? 4 : line % 8 == 0 ? 2 : 1;
+    }
+
+    private static void addRoad(EdgeWeightedDigraph graph, int v, int w, double[] xs, double[] ys, double speed) {
+        double length = Math.hypot(xs[v] - xs[w], ys[v] - ys[w]) / speed;
+        graph.addEdge(new DirectedEdge(v, w, length));
+        graph.addEdge(new DirectedEdge(w, v, length));
+    }
+
+    /**
+     * @return an int which depends on distance (so that the query cannot be optimized away).
+     */
+    private static int checksum(double distance) {
+        return (int) distance;
+    }
+
+    final static LazyLogger logger = new LazyLogger(ContractionHierarchyBenchmark.class);
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.CSRDiGraph;
+import com.phasmidsoftware.dsaipg.graphs.dag.DAGExecutor;
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.dag.TopologicalSort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark DAGExecutor on random layered DAGs, in which each vertex performs a random amount of (busy) work.
+ * <p>
+ * Each layer has the same number of vertices and each vertex (other than those of the first layer)
+ * depends on a few random vertices of the previous layer.
+ * The work (T1) is the total cost of all the vertices and the span (T-infinity) is the greatest total cost of any path (the critical path):
+ * so the speedup of p threads can be no more than min(p, T1/T-infinity).
+ * <p>
+ * The DAGExecutor (which starts each vertex as soon as its predecessors have finished) is compared with
+ * running the DAG sequentially and with running it level by level (a parallel stream for each level of the TopologicalSort),
+ * which must wait at the end of each level for the most expensive vertex of that level.
+ */
+public class DAGExecutorBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the number of layers; the width of each layer; the number of predecessors of each vertex; the number of runs.
+     */
+    public static void main(String[] args) {
+        int layers = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int width = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int degree = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        int nRuns = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int processors = Runtime.getRuntime().availableProcessors();
+        Random random = new Random(0L);
+        CSRDiGraph<Integer, Integer> graph = createGraph(layers, width, degree, random);
+        int[] cost = new int[graph.vertexCount()];
+        for (int v = 0; v < cost.length; v++) cost[v] = 1 + random.nextInt(MAX_COST);
+        DAGExecutor<Integer> executor = new DAGExecutor<>(graph);
+        TopologicalSort sort = executor.getTopologicalSort();
+        long work = 0;
+        for (int c : cost) work += c;
+        long span = span(graph, sort, cost);
+        logger.info("DAGExecutorBenchmark: " + formatWhole(graph.vertexCount()) + " vertices, " + formatWhole(graph.edgeCount()) + " edges, " +
+                sort.levels() + " levels: work: " + formatWhole((int) work) + ", span: " + formatWhole((int) span) +
+                ", maximum speedup: " + work / span + " (" + processors + " processors)");
+        Consumer<Integer> action = v -> busy(cost[v]);
+        double sequential = runBenchmark("sequential", executor, e -> e.runSequential(action), nRuns);
+        for (int p = 1; p <= processors; p *= 2) {
+            int parallelism = p;
+            double executed = runBenchmark("DAGExecutor (" + p + " threads)", executor, e -> e.run(action, parallelism), nRuns);
+            double levelled = runBenchmark("level by level (" + p + " threads)", executor, e -> runByLevel(graph, sort, action, parallelism), nRuns);
+            logger.info("DAGExecutorBenchmark: " + p + " threads: speedup: DAGExecutor: " + sequential / executed + ", level by level: " + sequential / levelled);
+        }
+    }
+
+    /**
+     * Create a random layered DAG.
+     *
+     * @param layers the number of layers.
+     * @param width  the number of vertices in each layer.
+     * @param degree the number of (not necessarily distinct) predecessors of each vertex not in the first layer.
+     * @param random the source of randomness.
+     * @return a new CSRDiGraph whose vertices are 0 thru layers*width-1.
+     */
+    static CSRDiGraph<Integer, Integer> createGraph(int layers, int width, int degree, Random random) {
+        List<Integer> vertices = new ArrayList<>(layers * width);
+        for (int v = 0; v < layers * width; v++) vertices.add(v);
+        List<Edge<Integer, Integer>> edges = new ArrayList<>();
+        for (int l = 1; l < layers; l++)
+            for (int i = 0; i < width; i++)
+                for (int k = 0; k < degree; k++)
+                    edges.add(new Edge<>((l - 1) * width + random.nextInt(width), l * width + i, edges.size()));
+        return CSRDiGraph.from(vertices, edges);
+    }
+
+    /**
+     * @return the greatest total cost of any path in graph.
+     */
+    static long span(CSRDiGraph<Integer, Integer> graph, TopologicalSort sort, int[] cost) {
+        long[] finish = new long[graph.vertexCount()];
+        long result = 0;
+        for (int v : sort.order()) {
+            finish[v] += cost[v];
+            result = Math.max(result, finish[v]);
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int w = graph.target(e);
+                finish[w] = Math.max(finish[w], finish[v]);
+            }
+        }
+        return result;
+    }
+
+    private static void runByLevel(CSRDiGraph<Integer, Integer> graph, TopologicalSort sort, Consumer<Integer> action, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (int l = 0; l < sort.levels(); l++) {
+                int[] level = sort.level(l);
+                pool.submit(() -> Arrays.stream(level).parallel().forEach(v -> action.accept(graph.vertex(v)))).join();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Do some busy work, proportional to units.
+     */
+    private static void busy(int units) {
+        long x = units;
+        for (int i = 0; i < units * 10_000; i++) x = x * 6364136223846793005L + 1442695040888963407L;
+        if (x == 0) logger.info("DAGExecutorBenchmark: " + x); // NOTE this is (almost) never true but prevents the loop being eliminated.
+    }
+
+    private static double runBenchmark(String description, DAGExecutor<Integer> executor, Consumer<DAGExecutor<Integer>> function, int nRuns) {
+        Benchmark<DAGExecutor<Integer>> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(executor, nRuns);
+        logger.info("DAGExecutorBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    private static final int MAX_COST = 100;
+
+    final static LazyLogger logger = new LazyLogger(DAGExecutorBenchmark.class);
+}
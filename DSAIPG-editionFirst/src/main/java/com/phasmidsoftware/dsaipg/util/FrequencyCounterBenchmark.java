@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.ConcurrentFrequencyCounter;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark the parallel ingestion of a Leipzig corpus (one sentence per line) into a ConcurrentFrequencyCounter.
+ * <p>
+ * The file is read into memory once (so that I/O is not measured).
+ * Then, for each thread count (1, 2, 4, ... and finally the number of available processors itself),
+ * the lines are tokenized (with SortBenchmark.getLeipzigWords) and counted by a parallel stream
+ * running in a ForkJoinPool of that parallelism; the throughput is logged in tokens/second.
+ */
+public class FrequencyCounterBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the resource name of the corpus; the number of runs for each thread count.
+     * @throws IOException if the resource cannot be found or read.
+     */
+    public static void main(String[] args) throws IOException {
+        String resource = args.length > 0 ? args[0] : "eng-uk_web_2002_10K-sentences.txt";
+        int nRuns = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        List<String> lines = readLines(resource);
+        logger.info("FrequencyCounterBenchmark: " + formatWhole(lines.size()) + " lines from " + resource);
+        int processors = Runtime.getRuntime().availableProcessors();
+        // NOTE the thread counts are the powers of two below processors, followed by processors itself (which need not be a power of two).
+        for (int threads = 1; threads <= processors; threads = threads < processors ? Math.min(threads << 1, processors) : processors + 1)
+            runBenchmark(lines, threads, nRuns);
+    }
+
+    /**
+     * Ingest a stream of lines: tokenize each line and count its tokens.
+     * If lines is a parallel stream, the lines are tokenized and counted concurrently.
+     *
+     * @param lines a stream of lines from a Leipzig corpus.
+     * @return a ConcurrentFrequencyCounter of the tokens.
+     */
+    public static ConcurrentFrequencyCounter<String> ingest(Stream<String> lines) {
+        ConcurrentFrequencyCounter<String> result = new ConcurrentFrequencyCounter<>();
+        lines.forEach(line -> {
+            for (String token : SortBenchmark.getLeipzigWords(line)) result.increment(token);
+        });
+        return result;
+    }
+
+    /**
+     * Ingest the given lines using the given number of threads.
+     *
+     * @param lines   the lines of a Leipzig corpus.
+     * @param threads the parallelism.
+     * @return a ConcurrentFrequencyCounter of the tokens.
+     */
+    public static ConcurrentFrequencyCounter<String> ingest(List<String> lines, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> ingest(lines.parallelStream())).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Time the ingestion of the given lines with the given number of threads and log the throughput.
+     *
+     * @param lines   the lines of a Leipzig corpus.
+     * @param threads the parallelism.
+     * @param nRuns   the number of (timed) runs.
+     * @return the throughput in tokens per second.
+     */
+    static double runBenchmark(List<String> lines, int threads, int nRuns) {
+        long tokens = ingest(lines, threads).total();
+        Benchmark<List<String>> benchmark = new Benchmark_Timer<>("ingest with " + threads + " threads", xs -> ingest(xs, threads));
+        double time = benchmark.run(lines, nRuns);
+        double result = 1000.0 * tokens / time;
+        logger.info("FrequencyCounterBenchmark: " + threads + " threads: " + formatWhole(tokens) + " tokens: " + time + " mSec per run; throughput: " + formatWhole((long) result) + " tokens/sec");
+        return result;
+    }
+
+    /**
+     * Read all the lines of a resource.
+     *
+     * @param resource the resource name.
+     * @return the lines as a List of String.
+     * @throws IOException if the resource cannot be found or read.
+     */
+    static List<String> readLines(String resource) throws IOException {
+        InputStream stream = FrequencyCounterBenchmark.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) throw new FileNotFoundException(resource);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    final static LazyLogger logger = new LazyLogger(FrequencyCounterBenchmark.class);
+}
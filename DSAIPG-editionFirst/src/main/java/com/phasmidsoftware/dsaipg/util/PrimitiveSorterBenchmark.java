@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.sort.SortException;
+import com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper;
+import com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveSort;
+
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to extend Benchmark_Timer for sorting an array of primitives (int[], long[] or double[]).
+ * This is the primitive counterpart of SorterBenchmark.
+ * Each run sorts a freshly generated array (the generation is not timed) and, after the sort, the result is checked.
+ *
+ * @param <A> the array type to be sorted, for example int[].
+ */
+public class PrimitiveSorterBenchmark<A> extends Benchmark_Timer<A> {
+
+    /**
+     * Run a benchmark on a sorting problem with N elements.
+     *
+     * @param description the description of the task being timed.
+     * @param N           the number of elements.
+     */
+    public void run(String description, int N) {
+        if (nRuns > 0) {
+            logger.info("run: sort " + formatWhole(N) + " elements with " + this);
+            final double time = super.runFromSupplier(supplier, nRuns);
+            for (TimeLogger timeLogger : timeLoggers) timeLogger.log(description, time, N);
+        } else
+            logger.warn("run: skipping " + this);
+    }
+
+    @Override
+    public String toString() {
+        return "PrimitiveSorterBenchmark on " + description + " with " + formatWhole(nRuns) + " runs";
+    }
+
+    /**
+     * Constructor for a PrimitiveSorterBenchmark.
+     *
+     * @param description the description.
+     * @param supplier    a supplier of (new) arrays to be sorted.
+     * @param sorter      the (mutating) sort function.
+     * @param checker     a function to check the result of each sort.
+     * @param nRuns       the number of runs to perform in this benchmark.
+     * @param timeLoggers the time-loggers.
+     */
+    public PrimitiveSorterBenchmark(String description, Supplier<A> supplier, Consumer<A> sorter, Consumer<A> checker, int nRuns, TimeLogger[] timeLoggers) {
+        super(description, null, sorter, checker);
+        this.description = description;
+        this.supplier = supplier;
+        this.nRuns = nRuns;
+        this.timeLoggers = timeLoggers;
+    }
+
+    /**
+     * Factory method to create a PrimitiveSorterBenchmark for int[].
+     *
+     * @param sorter      the primitive sorter.
+     * @param n           the number of elements to be sorted in each run.
+     * @param random      the source of randomness.
+     * @param f           a function to generate an element.
+     * @param nRuns       the number of runs.
+     * @param timeLoggers the time-loggers.
+     * @return a PrimitiveSorterBenchmark of int[].
+     */
+    public static PrimitiveSorterBenchmark<int[]> intSorterBenchmark(PrimitiveSort sorter, int n, Random random, ToIntFunction<Random> f, int nRuns, TimeLogger[] timeLoggers) {
+        Supplier<int[]> supplier = () -> {
+            int[] xs = new int[n];
+            for (int i = 0; i < n; i++) xs[i] = f.applyAsInt(random);
+            return xs;
+        };
+        return new PrimitiveSorterBenchmark<>(sorter.getDescription() + " (int)", supplier, sorter::sort, xs -> {
+            if (!PrimitiveHelper.isSorted(xs)) throw new SortException(sorter.getDescription() + ": int array is not sorted");
+        }, nRuns, timeLoggers);
+    }
+
+    /**
+     * Factory method to create a PrimitiveSorterBenchmark for long[].
+     *
+     * @param sorter      the primitive sorter.
+     * @param n           the number of elements to be sorted in each run.
+     * @param random      the source of randomness.
+     * @param f           a function to generate an element.
+     * @param nRuns       the number of runs.
+     * @param timeLoggers the time-loggers.
+     * @return a PrimitiveSorterBenchmark of long[].
+     */
+    public static PrimitiveSorterBenchmark<long[]> longSorterBenchmark(PrimitiveSort sorter, int n, Random random, ToLongFunction<Random> f, int nRuns, TimeLogger[] timeLoggers) {
+        Supplier<long[]> supplier = () -> {
+            long[] xs = new long[n];
+            for (int i = 0; i < n; i++) xs[i] = f.applyAsLong(random);
+            return xs;
+        };
+        return new PrimitiveSorterBenchmark<>(sorter.getDescription() + " (long)", supplier, sorter::sort, xs -> {
+            if (!PrimitiveHelper.isSorted(xs)) throw new SortException(sorter.getDescription() + ": long array is not sorted");
+        }, nRuns, timeLoggers);
+    }
+
+    /**
+     * Factory method to create a PrimitiveSorterBenchmark for double[].
+     *
+     * @param sorter      the primitive sorter.
+     * @param n           the number of elements to be sorted in each run.
+     * @param random      the source of randomness.
+     * @param f           a function to generate an element.
+     * @param nRuns       the number of runs.
+     * @param timeLoggers the time-loggers.
+     * @return a PrimitiveSorterBenchmark of double[].
+     */
+    public static PrimitiveSorterBenchmark<double[]> doubleSorterBenchmark(PrimitiveSort sorter, int n, Random random, ToDoubleFunction<Random> f, int nRuns, TimeLogger[] timeLoggers) {
+        Supplier<double[]> supplier = () -> {
+            double[] xs = new double[n];
+            for (int i = 0; i < n; i++) xs[i] = f.applyAsDouble(random);
+            return xs;
+        };
+        return new PrimitiveSorterBenchmark<>(sorter.getDescription() + " (double)", supplier, sorter::sort, xs -> {
+            if (!PrimitiveHelper.isSorted(xs)) throw new SortException(sorter.getDescription() + ": double array is not sorted");
+        }, nRuns, timeLoggers);
+    }
+
+    private final String description;
+    private final Supplier<A> supplier;
+    private final int nRuns;
+    private final TimeLogger[] timeLoggers;
+    private final static LazyLogger logger = new LazyLogger(PrimitiveSorterBenchmark.class);
+}
@@ -10,12 +10,15 @@ import com.phasmidsoftware.dsaipg.sort.counting.MSDStringSort;
 import com.phasmidsoftware.dsaipg.sort.elementary.*;
 import com.phasmidsoftware.dsaipg.sort.linearithmic.TimSort;
 import com.phasmidsoftware.dsaipg.sort.linearithmic.*;
+import com.phasmidsoftware.dsaipg.sort.par.ParallelMergeSort;
+import com.phasmidsoftware.dsaipg.sort.primitive.*;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDateTime;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
@@ -104,6 +107,38 @@ public class SortBenchmark {
             runIntegerBucketSort((int) N, estimateRuns(totalWork * 2, N));
         if (isConfigBenchmarkIntegerSorter("quicksort"))
             runIntegerQuickSort((int) N, 10 * estimateRuns(totalWork, Math.log(N) * N));
+        if (isConfigBenchmarkIntegerSorter("primitivesorters"))
+            runPrimitiveSorts((int) N, 10 * estimateRuns(totalWork, Math.log(N) * N));
+    }
+
+    /**
+     * Executes benchmarks for the primitive sorts (on int[], long[] and double[]) so that they can be compared
+     * directly with Arrays.sort (PrimitiveSystemSort) and with the boxed (Integer) sorts.
+     *
+     * @param N    the size of the dataset to be sorted.
+     * @param runs the number of sorting operations to be performed for each benchmark.
+     */
+    private void runPrimitiveSorts(int N, final int runs) {
+        Random random = new Random(Config_Benchmark.getSeed(config));
+        PrimitiveSort[] sorters = new PrimitiveSort[]{
+                new PrimitiveSystemSort(),
+                new PrimitiveMergeSort(config),
+                new PrimitiveQuickSort_DualPivot(config),
+                new PrimitiveQuickSort_3way(config),
+                new PrimitiveIntroSort(config),
+                new PrimitiveHeapSort(),
+                new ParallelMergeSort(),
+                new PrimitiveParallelQuickSort(new PrimitiveQuickSort_DualPivot(config)),
+                new PrimitiveParallelQuickSort(new PrimitiveQuickSort_3way(config)),
+                new PrimitiveParallelQuickSort(new PrimitiveIntroSort(config)),
+                new ParallelMergeSort(ForkJoinPool.commonPool(), ParallelMergeSort.CUTOFF_DEFAULT, ParallelMergeSort.CUTOFF_DEFAULT, new PrimitiveHeapSort())
+        };
+        for (PrimitiveSort sorter : sorters) {
+            logger.info("****************************** Primitive sort: " + N + " " + sorter.getDescription() + " ******************************");
+            PrimitiveSorterBenchmark.intSorterBenchmark(sorter, N, random, Random::nextInt, runs, timeLoggersLinearithmic).run(getDescription(N, sorter) + " (int)", N);
+            PrimitiveSorterBenchmark.longSorterBenchmark(sorter, N, random, Random::nextLong, runs, timeLoggersLinearithmic).run(getDescription(N, sorter) + " (long)", N);
+            PrimitiveSorterBenchmark.doubleSorterBenchmark(sorter, N, random, Random::nextDouble, runs, timeLoggersLinearithmic).run(getDescription(N, sorter) + " (double)", N);
+        }
     }
 
     /**
@@ -636,6 +671,17 @@ public class SortBenchmark {
         return n + AT + sorter.getDescription();
     }
 
+    /**
+     * Constructs a description string for a primitive sort.
+     *
+     * @param n      the integer value to be included in the description
+     * @param sorter the PrimitiveSort instance whose description will be appended
+     * @return a string that combines the integer value and the sorter's description
+     */
+    private static String getDescription(int n, PrimitiveSort sorter) {
+        return n + AT + sorter.getDescription();
+    }
+
     /**
      * TESTME
      */
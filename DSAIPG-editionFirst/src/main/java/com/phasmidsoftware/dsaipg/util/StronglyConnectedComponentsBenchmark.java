@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2024. Robin Hillyard
+ */
+
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.graphs.dag.CSRDiGraph;
+import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
+import com.phasmidsoftware.dsaipg.graphs.dag.StronglyConnectedComponents;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static com.phasmidsoftware.dsaipg.util.Utilities.formatWhole;
+
+/**
+ * Class to benchmark StronglyConnectedComponents and the kernel DAG (condensation) of a CSRDiGraph
+ * on random directed graphs of increasing size.
+ * <p>
+ * With an (average) out-degree of two, a random digraph has a giant kernel together with very many small ones.
+ */
+public class StronglyConnectedComponentsBenchmark {
+
+    /**
+     * Main program.
+     *
+     * @param args optionally: the largest number of vertices; the (average) out-degree; the number of runs.
+     */
+    public static void main(String[] args) {
+        int maxV = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int nRuns = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        for (int V = 1000; V <= maxV; V *= 10) {
+            CSRDiGraph<Integer, Integer> graph = createGraph(V, V * degree, 0L);
+            StronglyConnectedComponents scc = new StronglyConnectedComponents(graph);
+            int largest = 0;
+            for (int c = 0; c < scc.count(); c++) largest = Math.max(largest, scc.size(c));
+            logger.info("StronglyConnectedComponentsBenchmark: " + formatWhole(V) + " vertices and " + formatWhole(graph.edgeCount()) +
+                    " edges: " + formatWhole(scc.count()) + " kernels, the largest with " + formatWhole(largest) + " vertices");
+            runBenchmark("StronglyConnectedComponents", graph, StronglyConnectedComponents::new, nRuns);
+            runBenchmark("kernelDAG", graph, CSRDiGraph::kernelDAG, nRuns);
+        }
+    }
+
+    /**
+     * Create a random directed graph.
+     *
+     * @param V    the number of vertices.
+     * @param E    the number of edges.
+     * @param seed the seed.
+     * @return a new CSRDiGraph.
+     */
+    static CSRDiGraph<Integer, Integer> createGraph(int V, int E, long seed) {
+        Random random = new Random(seed);
+        List<Integer> vertices = new ArrayList<>(V);
+        for (int v = 0; v < V; v++) vertices.add(v);
+        List<Edge<Integer, Integer>> edges = new ArrayList<>(E);
+        for (int e = 0; e < E; e++) edges.add(new Edge<>(random.nextInt(V), random.nextInt(V), e));
+        return CSRDiGraph.from(Collections.unmodifiableList(vertices), edges);
+    }
+
+    /**
+     * Time the given function of graph and log the result.
+     *
+     * @return the time in milliseconds per run.
+     */
+    static double runBenchmark(String description, CSRDiGraph<Integer, Integer> graph, Consumer<CSRDiGraph<Integer, Integer>> function, int nRuns) {
+        Benchmark<CSRDiGraph<Integer, Integer>> benchmark = new Benchmark_Timer<>(description, function);
+        double result = benchmark.run(graph, nRuns);
+        logger.info("StronglyConnectedComponentsBenchmark: " + description + ": " + result + " mSec per run");
+        return result;
+    }
+
+    final static LazyLogger logger = new LazyLogger(StronglyConnectedComponentsBenchmark.class);
+}
@@ -3,9 +3,13 @@
  */
 package com.phasmidsoftware.dsaipg.util;
 
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.*;
+
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.phasmidsoftware.dsaipg.util.SortBenchmarkHelper.getWords;
@@ -70,6 +74,54 @@ public class SymbolTableBenchmark {
         Random random = new Random();
         runHashTableBenchmark(words, nWords, nRuns, random);
         runRBTreeBenchmark(words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("HashTable_LP", HashTable_LP::new, words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("HashTable_SC", () -> new HashTable_SC<>(Math.max(nWords, 16)), words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("HashTable_RobinHood", HashTable_RobinHood::new, words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("HashTable_Swiss", HashTable_Swiss::new, words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("STMap (HashMap)", STMap::new, words, nWords, nRuns, random);
+        runSymbolTableThroughputBenchmark("STMap (TreeMap)", () -> new STMap<>(new TreeMap<>()), words, nWords, nRuns, random);
+        logProbeLengths("HashTable_LP", new HashTable_LP<>(), words, nWords, random);
+        logProbeLengths("HashTable_RobinHood", new HashTable_RobinHood<>(), words, nWords, random);
+        logProbeLengths("HashTable_Swiss", new HashTable_Swiss<>(), words, nWords, random);
+    }
+
+    /**
+     * Put nWords (randomly chosen) words into an (empty) open-addressing hash table and log the distribution of its probe lengths.
+     *
+     * @param description a description of the hash table.
+     * @param hashTable   an empty hash table which is both an ST and HasProbeLengths.
+     * @param words       an array of words from which the keys are chosen.
+     * @param nWords      the number of words to be inserted.
+     * @param random      an instance of {@code Random} used to select the words.
+     * @param <T>         the type of the hash table.
+     */
+    static <T extends ST<String, Integer> & HasProbeLengths> void logProbeLengths(String description, T hashTable, String[] words, int nWords, Random random) {
+        String[] xs = Utilities.fillRandomArray(String.class, random, nWords, r -> words[r.nextInt(words.length)]);
+        for (int i = 0; i < xs.length; i++) hashTable.put(xs[i], i);
+        logger.info(description + ": " + formatWhole(hashTable.size()) + " keys: mean probe length: " + hashTable.meanProbeLength() +
+                ", max probe length: " + hashTable.maxProbeLength() + ", histogram: " + Arrays.toString(hashTable.probeLengthHistogram()));
+    }
+
+    /**
+     * Executes a throughput benchmark for a symbol table:
+     * each run puts nWords (randomly chosen) words into a new symbol table and then gets each of them.
+     *
+     * @param description a description of the symbol table.
+     * @param stSupplier  a supplier of new (empty) symbol tables.
+     * @param words       an array of words to be used as input for the benchmark.
+     * @param nWords      the number of words to be processed in each run.
+     * @param nRuns       the number of runs.
+     * @param random      an instance of {@code Random} used to select the words for each run.
+     */
+    static void runSymbolTableThroughputBenchmark(String description, Supplier<ST<String, Integer>> stSupplier, String[] words, int nWords, int nRuns, Random random) {
+        Benchmark<String[]> benchmark = new Benchmark_Timer<>(description, null, xs -> {
+            ST<String, Integer> st = stSupplier.get();
+            for (int i = 0; i < xs.length; i++) st.put(xs[i], i);
+            for (String x : xs)
+                if (st.get(x) == null) throw new RuntimeException(description + ": missing key: " + x);
+        }, null);
+        final double time = benchmark.runFromSupplier(() -> Utilities.fillRandomArray(String.class, random, nWords, r -> words[r.nextInt(words.length)]), nRuns);
+        logger.info(description + ": " + formatWhole(nWords) + " puts and gets: " + time + " mSec per run; throughput: " + formatWhole((int) (2000.0 * nWords / time)) + " operations/sec");
     }
 
     /**
@@ -6,7 +6,10 @@ package com.phasmidsoftware.dsaipg.adt.bqs;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
 
 import static org.junit.Assert.*;
@@ -118,4 +121,54 @@ public class BagTest {
             bag.add(i);
         assertEquals("Bag_Array{items=[0, 1, 2, 3, 4, 5, 6, 7, 8, 9], count=10}", bag.toString());
     }
+
+    // NOTE this test fails (as do the others above) until the growFrom exercise in Bag_Array has been completed.
+    @Test
+    public void testInsertionOrderIterator() {
+        Bag_Array<Integer> bag = new Bag_Array<>(Bag_Array.IterationPolicy.INSERTION_ORDER);
+        assertEquals(Bag_Array.IterationPolicy.INSERTION_ORDER, bag.getPolicy());
+        for (int i = 40; i > 0; i--) bag.add(i);
+        List<Integer> list = new ArrayList<>();
+        for (Integer x : bag) list.add(x);
+        assertEquals(40, list.size());
+        for (int i = 0; i < 40; i++) assertEquals(Integer.valueOf(40 - i), list.get(i));
+    }
+
+    // NOTE this test fails (as do the others above) until the growFrom exercise in Bag_Array has been completed.
+    @Test
+    public void testShuffledIterator() {
+        Bag_Array<Integer> bag1 = new Bag_Array<>(Bag_Array.IterationPolicy.SHUFFLED, new Random(1L));
+        Bag_Array<Integer> bag2 = new Bag_Array<>(new Random(1L));
+        for (int i = 0; i < 10; i++) {
+            bag1.add(i);
+            bag2.add(i);
+        }
+        Iterator<Integer> iterator1 = bag1.iterator();
+        Iterator<Integer> iterator2 = bag2.iterator();
+        while (iterator1.hasNext()) assertEquals(iterator2.next(), iterator1.next());
+        assertFalse(iterator2.hasNext());
+    }
+
+    // NOTE this test fails (as do the others above) until the growFrom exercise in Bag_Array has been completed.
+    @Test
+    public void testForEach() {
+        Bag_Array<Integer> bag = new Bag_Array<>(new Random(0L));
+        for (int i = 1; i <= 4; i++) bag.add(i);
+        List<Integer> list = new ArrayList<>();
+        bag.forEach(list::add);
+        assertEquals(Arrays.asList(1, 2, 3, 4), list);
+    }
+
+    // NOTE this test fails (as do the others above) until the growFrom exercise in Bag_Array has been completed.
+    @Test
+    public void testContainsAfterClear() {
+        Bag_Array<Integer> bag = new Bag_Array<>(Bag_Array.IterationPolicy.INSERTION_ORDER);
+        bag.add(1);
+        bag.add(1);
+        bag.clear();
+        assertFalse(bag.contains(1));
+        assertEquals(0, bag.multiplicity(1));
+        bag.add(1);
+        assertEquals(1, bag.multiplicity(1));
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -85,4 +86,15 @@ public class UnorderedIteratorTest {
         assertTrue(set.contains(35));
         assertTrue(set.contains(45));
     }
+
+    @Test
+    public void testArrayNotMutated() {
+        Integer[] array = new Integer[]{1, 2, 3};
+        Iterator<Integer> target = new UnorderedIterator<>(array, new Random(0L));
+        assertEquals(Integer.valueOf(1), target.next());
+        assertEquals(Integer.valueOf(3), target.next());
+        assertEquals(Integer.valueOf(2), target.next());
+        assertFalse(target.hasNext());
+        assertArrayEquals(new Integer[]{1, 2, 3}, array);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.phasmidsoftware.dsaipg.adt.pq;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IndexedHeapTest {
+
+    @Test
+    public void testGiveTake() throws PQException {
+        PQ<String> pq = new IndexedHeap<>(3, 4, true, Comparator.naturalOrder());
+        for (String s : new String[]{"B", "E", "A", "D", "C", "F"}) pq.give(s);
+        assertEquals(6, pq.size());
+        StringBuilder sb = new StringBuilder();
+        while (!pq.isEmpty()) sb.append(pq.take());
+        assertEquals("FEDCBA", sb.toString());
+    }
+
+    @Test(expected = PQException.class)
+    public void testTakeEmpty() throws PQException {
+        IndexedHeap.<Integer>minPQ(4).take();
+    }
+
+    /**
+     * PriorityQueue, FourAryHeap and IndexedHeap may be used interchangeably as PQs.
+     */
+    @Test
+    public void testInterchangeable() throws PQException {
+        Random random = new Random(0L);
+        List<PQ<Integer>> pqs = List.of(
+                new PriorityQueue<Integer>(1000, false, Comparator.naturalOrder(), false),
+                new IndexedHeap<>(2, 16, false, Comparator.naturalOrder()),
+                new IndexedHeap<>(5, 16, false, Comparator.naturalOrder()));
+        for (int i = 0; i < 1000; i++) {
+            int x = random.nextInt(500);
+            for (PQ<Integer> pq : pqs) pq.give(x);
+        }
+        while (!pqs.get(0).isEmpty()) {
+            Integer expected = pqs.get(0).take();
+            for (int j = 1; j < pqs.size(); j++) assertEquals(expected, pqs.get(j).take());
+        }
+    }
+
+    @Test
+    public void testIndexedOperations() {
+        IndexedHeap<Double> pq = IndexedHeap.minPQ(2);
+        pq.insert(0, 5.0);
+        pq.insert(7, 3.0);
+        pq.insert(3, 4.0);
+        assertTrue(pq.contains(7));
+        assertFalse(pq.contains(1));
+        assertFalse(pq.contains(100));
+        assertEquals(7, pq.peekIndex());
+        pq.decreaseKey(0, 1.0);
+        assertEquals(0, pq.peekIndex());
+        pq.increaseKey(0, 6.0);
+        assertEquals(6.0, pq.keyOf(0), 0);
+        pq.changeKey(3, 2.0);
+        pq.delete(7);
+        assertFalse(pq.contains(7));
+        assertEquals(3, pq.takeIndex());
+        assertEquals(0, pq.takeIndex());
+        assertTrue(pq.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDecreaseKeyLessEligible() {
+        IndexedHeap<Double> pq = IndexedHeap.minPQ(2);
+        pq.insert(0, 5.0);
+        pq.decreaseKey(0, 6.0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInsertTwice() {
+        IndexedHeap<Double> pq = IndexedHeap.minPQ(2);
+        pq.insert(1, 5.0);
+        pq.insert(1, 6.0);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testKeyOfMissing() {
+        IndexedHeap.<Double>minPQ(2).keyOf(1);
+    }
+
+    /**
+     * Random insert, changeKey, delete and takeIndex operations for various arities, checked against a TreeSet.
+     */
+    @Test
+    public void testAgainstTreeSet() {
+        for (int arity = 2; arity <= 8; arity++) {
+            Random random = new Random(arity);
+            IndexedHeap<Integer> pq = new IndexedHeap<>(arity, 4, false, Comparator.naturalOrder());
+            Map<Integer, Integer> keys = new HashMap<>();
+            TreeSet<long[]> expected = new TreeSet<>(Comparator.<long[]>comparingLong(x -> x[0]).thenComparingLong(x -> x[1]));
+            for (int step = 0; step < 20000; step++) {
+                int i = random.nextInt(200);
+                int key = random.nextInt(1000);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        if (pq.contains(i)) {
+                            expected.remove(new long[]{keys.get(i), i});
+                            pq.changeKey(i, key);
+                        } else pq.insert(i, key);
+                        keys.put(i, key);
+                        expected.add(new long[]{key, i});
+                        break;
+                    case 1:
+                        if (pq.contains(i) && key < keys.get(i)) {
+                            expected.remove(new long[]{keys.get(i), i});
+                            pq.decreaseKey(i, key);
+                            keys.put(i, key);
+                            expected.add(new long[]{key, i});
+                        }
+                        break;
+                    case 2:
+                        if (pq.contains(i)) {
+                            expected.remove(new long[]{keys.get(i), i});
+                            pq.delete(i);
+                            keys.remove(i);
+                        }
+                        break;
+                    default:
+                        if (!pq.isEmpty()) {
+                            int j = pq.takeIndex();
+                            int key_j = keys.remove(j);
+                            assertEquals(expected.first()[0], key_j);
+                            assertTrue(expected.remove(new long[]{key_j, j}));
+                        }
+                }
+                assertEquals(expected.size(), pq.size());
+            }
+        }
+    }
+}
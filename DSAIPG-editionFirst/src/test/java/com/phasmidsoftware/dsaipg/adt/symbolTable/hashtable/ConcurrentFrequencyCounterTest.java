@@ -0,0 +1,52 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrentFrequencyCounterTest {
+
+    @Test
+    public void testIncrement() {
+        ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>(4);
+        fc.increment("A");
+        fc.increment("B");
+        fc.increment("A");
+        fc.add("C", 5);
+        assertEquals(2, fc.get("A").intValue());
+        assertEquals(1, fc.get("B").intValue());
+        assertEquals(0, fc.get("D").intValue());
+        assertEquals(8, fc.total());
+        assertEquals(3, fc.size());
+        assertEquals(0.25, fc.relativeFrequency("A"), 1E-10);
+        assertEquals(62.5, fc.relativeFrequencyAsPercentage("C"), 1E-10);
+    }
+
+    @Test
+    public void testConcurrentIncrements() {
+        ConcurrentFrequencyCounter<Integer> fc = new ConcurrentFrequencyCounter<>();
+        IntStream.range(0, 1_000_000).parallel().forEach(i -> fc.increment(i % 1000));
+        assertEquals(1_000_000, fc.total());
+        assertEquals(1000, fc.size());
+        assertEquals(1000, fc.keys().size());
+        for (int i = 0; i < 1000; i++) assertEquals(1000, fc.get(i).intValue());
+        assertEquals(0.001, fc.relativeFrequency(7), 1E-10);
+    }
+
+    @Test
+    public void testAddAll() {
+        ConcurrentFrequencyCounter<String> fc = new ConcurrentFrequencyCounter<>(2);
+        IntStream.range(0, 8).parallel().forEach(i -> fc.addAll(Map.of("x", 1, "y", 2)));
+        assertEquals(8, fc.get("x").intValue());
+        assertEquals(16, fc.get("y").intValue());
+        assertEquals(24, fc.total());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullKey() {
+        new ConcurrentFrequencyCounter<String>().increment(null);
+    }
+}
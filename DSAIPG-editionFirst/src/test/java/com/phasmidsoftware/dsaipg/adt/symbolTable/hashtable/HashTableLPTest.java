@@ -8,8 +8,7 @@ import com.phasmidsoftware.dsaipg.adt.symbolTable.ImmutableSymbolTable;
 import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
 import org.junit.Test;
 
-import java.util.Random;
-import java.util.Set;
+import java.util.*;
 
 import static org.junit.Assert.*;
 
@@ -81,7 +80,7 @@ public class HashTableLPTest {
         assertEquals("World!2", hashTable.get("Hello2"));
     }
 
-    @Test(expected = HashTable_LP.HashTableException.class)
+    @Test
     public void testHashTable3a() {
         final ST<String, String> hashTable = new HashTable_LP<>(4);
         hashTable.put("Hello0", "World!0");
@@ -90,6 +89,7 @@ public class HashTableLPTest {
         hashTable.put("Hello3", "World!3");
         Set<String> keys = hashTable.keys();
         assertEquals(4, keys.size());
+        assertTrue(((HashTable_LP<?, ?>) hashTable).check(3, 8));
     }
 
     @Test
@@ -193,14 +193,98 @@ public class HashTableLPTest {
 
     /**
      * Tests the put method of HashTable_LP:
-     * Verifies that an exception is thrown when attempting to insert an entry into a full hash table.
+     * Verifies that the table grows when an insertion would exceed the load factor.
      */
-    @Test(expected = HashTable_LP.HashTableException.class)
-    public void testPutThrowsExceptionWhenTableFull() {
+    @Test
+    public void testPutResizesWhenTableFull() {
         HashTable_LP<String, Integer> hashTable = new HashTable_LP<>(2);
         hashTable.put("key1", 1);
         hashTable.put("key2", 2);
-        hashTable.put("key3", 3); // Should trigger exception
+        hashTable.put("key3", 3);
+        assertTrue(hashTable.check(3, 8));
+        assertEquals(3, hashTable.size());
+        assertEquals(Integer.valueOf(1), hashTable.get("key1"));
+        assertEquals(Integer.valueOf(2), hashTable.get("key2"));
+        assertEquals(Integer.valueOf(3), hashTable.get("key3"));
+    }
+
+    /**
+     * Tests the put method of HashTable_LP:
+     * Ensures that distinct keys with equal hash codes do not overwrite each other.
+     */
+    @Test
+    public void testPutEqualHashCodes() {
+        HashTable_LP<String, Integer> hashTable = new HashTable_LP<>(8);
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertNull(hashTable.put("Aa", 1));
+        assertNull(hashTable.put("BB", 2));
+        assertEquals(2, hashTable.size());
+        assertEquals(Integer.valueOf(1), hashTable.get("Aa"));
+        assertEquals(Integer.valueOf(2), hashTable.get("BB"));
+        assertEquals(Integer.valueOf(2), hashTable.put("BB", 3));
+        assertEquals(Integer.valueOf(3), hashTable.get("BB"));
+    }
+
+    /**
+     * Tests the delete method of HashTable_LP against HashMap, with many collisions (so that clusters must be repaired).
+     */
+    @Test
+    public void testDelete() {
+        Random random = new Random(0L);
+        HashTable_LP<Integer, Integer> hashTable = new HashTable_LP<>(4, 0.9);
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(1000) * 1024;
+            if (random.nextBoolean()) assertEquals(map.put(key, i), hashTable.put(key, i));
+            else assertEquals(map.remove(key), hashTable.delete(key));
+        }
+        assertEquals(map.size(), hashTable.size());
+        for (int key = 0; key < 1000 * 1024; key += 1024) assertEquals(map.get(key), hashTable.get(key));
+        assertEquals(map.keySet(), hashTable.keys());
+    }
+
+    /**
+     * Tests the key iterator and forEach of HashTable_LP.
+     */
+    @Test
+    public void testKeyIterator() {
+        HashTable_LP<String, Integer> hashTable = new HashTable_LP<>();
+        for (int i = 0; i < 100; i++) hashTable.put("key" + i, i);
+        Set<String> keys = new HashSet<>();
+        Iterator<String> iterator = hashTable.keyIterator();
+        while (iterator.hasNext()) keys.add(iterator.next());
+        assertEquals(100, keys.size());
+        assertTrue(hashTable.keys().contains("key42"));
+        assertFalse(hashTable.keys().contains("key100"));
+        int[] total = new int[]{0};
+        hashTable.forEach((k, v) -> total[0] += v);
+        assertEquals(4950, total[0]);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testKeyIteratorConcurrentModification() {
+        HashTable_LP<String, Integer> hashTable = new HashTable_LP<>();
+        hashTable.put("a", 1);
+        hashTable.put("b", 2);
+        for (String key : hashTable.keys()) hashTable.put(key + key, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadLoadFactor() {
+        new HashTable_LP<String, Integer>(8, 1.0);
+    }
+
+    @Test
+    public void testProbeLengthHistogram() {
+        HashTable_LP<Integer, Integer> hashTable = new HashTable_LP<>(16, 0.9);
+        assertEquals(0, hashTable.maxProbeLength());
+        hashTable.put(0, 0);
+        hashTable.put(16, 1);
+        hashTable.put(32, 2);
+        hashTable.put(5, 3);
+        assertArrayEquals(new int[]{0, 2, 1, 1}, hashTable.probeLengthHistogram());
+        assertEquals(1.75, hashTable.meanProbeLength(), 1E-10);
+        assertEquals(3, hashTable.maxProbeLength());
     }
 
     /**
@@ -0,0 +1,95 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.ST;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class HashTableSwissTest {
+
+    @Test
+    public void testPutAndGet() {
+        final ST<String, String> hashTable = new HashTable_Swiss<>();
+        assertTrue(hashTable.isEmpty());
+        assertNull(hashTable.put("Hello", "World!"));
+        assertEquals("World!", hashTable.get("Hello"));
+        assertNull(hashTable.get("Goodbye"));
+        assertEquals("World!", hashTable.put("Hello", "Everyone!"));
+        assertEquals("Everyone!", hashTable.get("Hello"));
+        assertEquals(1, hashTable.size());
+    }
+
+    @Test
+    public void testPutEqualHashCodes() {
+        HashTable_Swiss<String, Integer> hashTable = new HashTable_Swiss<>();
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        hashTable.put("Aa", 1);
+        hashTable.put("BB", 2);
+        assertEquals(Integer.valueOf(1), hashTable.get("Aa"));
+        assertEquals(Integer.valueOf(2), hashTable.get("BB"));
+        assertEquals(Integer.valueOf(2), hashTable.delete("BB"));
+        assertNull(hashTable.get("BB"));
+        assertEquals(Integer.valueOf(1), hashTable.get("Aa"));
+    }
+
+    /**
+     * Tests put, get and delete against HashMap, with many collisions (and growth from a tiny table).
+     */
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(0L);
+        HashTable_Swiss<Integer, Integer> hashTable = new HashTable_Swiss<>(4);
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(1000) * 1024;
+            if (random.nextBoolean()) assertEquals(map.put(key, i), hashTable.put(key, i));
+            else assertEquals(map.remove(key), hashTable.delete(key));
+        }
+        assertEquals(map.size(), hashTable.size());
+        for (int key = 0; key < 1000 * 1024; key += 1024) assertEquals(map.get(key), hashTable.get(key));
+        assertEquals(map.keySet(), hashTable.keys());
+    }
+
+    @Test
+    public void testKeyIterator() {
+        HashTable_Swiss<String, Integer> hashTable = new HashTable_Swiss<>();
+        for (int i = 0; i < 100; i++) hashTable.put("key" + i, i);
+        Set<String> keys = new HashSet<>();
+        Iterator<String> iterator = hashTable.keyIterator();
+        while (iterator.hasNext()) keys.add(iterator.next());
+        assertEquals(100, keys.size());
+        assertTrue(hashTable.keys().contains("key42"));
+        assertFalse(hashTable.keys().contains("key100"));
+        int[] total = new int[]{0};
+        hashTable.forEach((k, v) -> total[0] += v);
+        assertEquals(4950, total[0]);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testKeyIteratorConcurrentModification() {
+        HashTable_Swiss<String, Integer> hashTable = new HashTable_Swiss<>();
+        hashTable.put("a", 1);
+        hashTable.put("b", 2);
+        for (String key : hashTable.keys()) hashTable.put(key + key, 0);
+    }
+
+    @Test
+    public void testProbeLengthHistogram() {
+        HashTable_Swiss<Integer, Integer> hashTable = new HashTable_Swiss<>();
+        assertEquals(0, hashTable.maxProbeLength());
+        for (int i = 0; i < 10000; i++) hashTable.put(i * 31, i);
+        int[] histogram = hashTable.probeLengthHistogram();
+        assertEquals(10000, Arrays.stream(histogram).sum());
+        assertEquals(0, histogram[0]);
+        assertTrue(histogram[1] > 0);
+        assertTrue(hashTable.meanProbeLength() >= 1.0);
+        assertEquals(histogram.length - 1, hashTable.maxProbeLength());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNullKey() {
+        new HashTable_Swiss<String, Integer>().put(null, 1);
+    }
+}
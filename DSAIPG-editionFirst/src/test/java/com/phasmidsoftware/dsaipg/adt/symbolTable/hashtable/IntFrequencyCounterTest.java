@@ -0,0 +1,50 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntFrequencyCounterTest {
+
+    @Test
+    public void testIncrement() {
+        IntFrequencyCounter fc = new IntFrequencyCounter();
+        fc.increment(1);
+        fc.increment(2);
+        fc.increment(1);
+        fc.increment(Integer.valueOf(0));
+        assertEquals(2, fc.getInt(1));
+        assertEquals(Integer.valueOf(1), fc.get(2));
+        assertEquals(Integer.valueOf(0), fc.get(3));
+        assertEquals(Integer.valueOf(0), fc.get(null));
+        assertEquals(4, fc.total());
+        assertEquals(3, fc.size());
+        assertEquals(0.5, fc.relativeFrequency(1), 1E-10);
+        assertEquals(25.0, fc.relativeFrequencyAsPercentage(2), 1E-10);
+    }
+
+    @Test
+    public void testIncrementAsFrequencyCounter() {
+        FrequencyCounter<Integer> fc = new IntFrequencyCounter();
+        for (int i = 0; i < 10000; i++) fc.increment(i % 7);
+        assertEquals(10000, fc.total());
+        assertEquals(7, fc.keys().size());
+        assertEquals(1429, fc.get(0).intValue());
+        assertEquals(0.1429, fc.relativeFrequency(0), 1E-10);
+    }
+
+    @Test
+    public void testLongFrequencyCounter() {
+        LongFrequencyCounter fc = new LongFrequencyCounter();
+        long bigram = 3L << 32 | 4L;
+        fc.increment(bigram);
+        fc.increment(bigram);
+        fc.increment(5L);
+        assertEquals(2, fc.getInt(bigram));
+        assertEquals(3, fc.total());
+        assertEquals(2.0 / 3, fc.relativeFrequency(bigram), 1E-10);
+        FrequencyCounter<Long> counter = fc;
+        assertEquals(3, counter.total());
+        assertEquals(1.0 / 3, counter.relativeFrequency(5L), 1E-10);
+    }
+}
@@ -0,0 +1,82 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IntIntHashTableTest {
+
+    @Test
+    public void testPutAndGet() {
+        IntIntHashTable table = new IntIntHashTable();
+        assertTrue(table.isEmpty());
+        assertEquals(0, table.putInt(42, 1));
+        assertEquals(1, table.putInt(42, 2));
+        assertEquals(2, table.getInt(42, -1));
+        assertEquals(-1, table.getInt(43, -1));
+        assertNull(table.get(43));
+        assertEquals(Integer.valueOf(2), table.get(42));
+        assertNull(table.put(7, 70));
+        assertEquals(Integer.valueOf(70), table.put(7, 71));
+        assertEquals(2, table.size());
+    }
+
+    @Test
+    public void testZeroKey() {
+        IntIntHashTable table = new IntIntHashTable();
+        assertFalse(table.containsKey(0));
+        assertEquals(5, table.increment(0, 5));
+        assertTrue(table.containsKey(0));
+        assertEquals(5, table.getInt(0, -1));
+        assertEquals(1, table.size());
+        assertArrayEquals(new int[]{0}, table.keyArray());
+        assertEquals(Set.of(0), table.keys());
+    }
+
+    @Test
+    public void testIncrement() {
+        IntIntHashTable table = new IntIntHashTable(2);
+        for (int i = 0; i < 1000; i++) table.increment(i % 100, 1);
+        assertEquals(100, table.size());
+        for (int i = 0; i < 100; i++) assertEquals(10, table.getInt(i, 0));
+        assertEquals(7, table.increment(-3, 7));
+        assertEquals(4, table.increment(-3, -3));
+    }
+
+    /**
+     * Tests putInt, increment and getInt against HashMap (with growth from a tiny table).
+     */
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(0L);
+        IntIntHashTable table = new IntIntHashTable(2);
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            int key = random.nextInt(5000) - 2500;
+            int previous = map.getOrDefault(key, 0);
+            if (random.nextBoolean()) {
+                assertEquals(previous, table.putInt(key, i));
+                map.put(key, i);
+            } else {
+                assertEquals(previous + 1, table.increment(key, 1));
+                map.put(key, previous + 1);
+            }
+        }
+        assertEquals(map.size(), table.size());
+        assertEquals(map.keySet(), table.keys());
+        table.forEach((k, v) -> assertEquals(map.get(k).intValue(), v));
+        assertEquals(map.size(), Arrays.stream(table.probeLengthHistogram()).sum());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testPutNullKey() {
+        new IntIntHashTable().put(null, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadLoadFactor() {
+        new IntIntHashTable(8, 1.5);
+    }
+}
@@ -0,0 +1,49 @@
+package com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class LongIntHashTableTest {
+
+    @Test
+    public void testPutAndGet() {
+        LongIntHashTable table = new LongIntHashTable();
+        long big = 1L << 40;
+        assertEquals(0, table.putInt(big, 1));
+        assertEquals(1, table.putInt(big, 2));
+        assertEquals(2, table.getInt(big, -1));
+        assertEquals(-1, table.getInt(big + 1, -1));
+        assertNull(table.get(big + 1));
+        assertEquals(Integer.valueOf(2), table.get(big));
+        assertEquals(3, table.increment(0L, 3));
+        assertEquals(Set.of(0L, big), table.keys());
+    }
+
+    /**
+     * Tests putInt, increment and getInt against HashMap, with keys which differ only in their high bits.
+     */
+    @Test
+    public void testAgainstHashMap() {
+        Random random = new Random(0L);
+        LongIntHashTable table = new LongIntHashTable(2);
+        Map<Long, Integer> map = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long key = (long) random.nextInt(5000) << 32;
+            int previous = map.getOrDefault(key, 0);
+            if (random.nextBoolean()) {
+                assertEquals(previous, table.putInt(key, i));
+                map.put(key, i);
+            } else {
+                assertEquals(previous + 1, table.increment(key, 1));
+                map.put(key, previous + 1);
+            }
+        }
+        assertEquals(map.size(), table.size());
+        assertEquals(map.keySet(), table.keys());
+        table.forEach((k, v) -> assertEquals(map.get(k).intValue(), v));
+        assertTrue(table.meanProbeLength() < 2.0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class CSRDiGraphTest {
+
+    @Test
+    public void testFrom() {
+        CSRDiGraph<Integer, Double> target = standardDAG();
+        assertEquals(7, target.vertexCount());
+        assertEquals(11, target.edgeCount());
+        assertEquals(7, target.vertices().size());
+        assertEquals(11, target.edges().size());
+        assertEquals(0, target.id(0));
+        assertEquals(-1, target.id(99));
+    }
+
+    @Test
+    public void testSlots() {
+        CSRDiGraph<Integer, Double> target = standardDAG();
+        int v0 = target.id(0);
+        assertEquals(3, target.outDegree(v0));
+        int e = target.begin(v0);
+        assertEquals(target.id(1), target.target(e));
+        assertEquals(v0, target.source(e));
+        assertEquals(Double.valueOf(1.0), target.attribute(e));
+        assertEquals(0, target.outDegree(target.id(2)));
+        for (int v = 0; v < target.vertexCount(); v++)
+            for (int k = target.begin(v); k < target.end(v); k++) {
+                assertEquals(v, target.source(k));
+                assertEquals(target.vertex(v), target.getEdge(k).getFrom());
+                assertEquals(target.vertex(target.target(k)), target.getEdge(k).getTo());
+            }
+    }
+
+    @Test
+    public void testAdjacent() {
+        CSRDiGraph<Integer, Double> target = standardDAG();
+        List<Integer> tos = new ArrayList<>();
+        for (Edge<Integer, Double> e : target.adjacent(0)) tos.add(e.getTo());
+        assertEquals(Arrays.asList(1, 2, 5), tos);
+        assertFalse(target.adjacent(99).iterator().hasNext());
+    }
+
+    @Test
+    public void testSorted() {
+        CSRDiGraph<Integer, Double> target = standardDAG();
+        Map<Integer, Integer> position = new HashMap<>();
+        for (Integer v : target.sorted()) position.put(v, position.size());
+        assertEquals(7, position.size());
+        for (Edge<Integer, Double> e : target.edges())
+            assertTrue(e.toString(), position.get(e.getFrom()) < position.get(e.getTo()));
+    }
+
+    @Test
+    public void testDFS() {
+        CSRDiGraph<Integer, Double> target = standardDAG();
+        List<Integer> pre = new ArrayList<>();
+        List<Integer> post = new ArrayList<>();
+        target.dfs(0, pre::add, post::add);
+        assertEquals(Arrays.asList(0, 1, 4, 2, 5), pre);
+        assertEquals(Arrays.asList(4, 1, 2, 5, 0), post);
+    }
+
+    @Test
+    public void testDFSLongPath() {
+        int n = 100_000;
+        List<Edge<Integer, Double>> edges = new ArrayList<>(n);
+        for (int i = 1; i < n; i++) edges.add(new Edge<>(i - 1, i, 1.0));
+        CSRDiGraph<Integer, Double> target = CSRDiGraph.from(Collections.emptyList(), edges);
+        int[] count = new int[1];
+        target.dfs(0, v -> count[0]++, null);
+        assertEquals(n, count[0]);
+    }
+
+    @Test
+    public void testKernelDAG() {
+        List<Edge<String, Integer>> edges = Arrays.asList(
+                new Edge<>("A", "B", 1), new Edge<>("B", "C", 2), new Edge<>("C", "A", 3), new Edge<>("A", "D", 4),
+                new Edge<>("D", "E", 5), new Edge<>("E", "D", 6), new Edge<>("D", "F", 7));
+        CSRDiGraph<DiGraph.Kernel<String>, Integer> target = CSRDiGraph.from(Collections.emptyList(), edges).kernelDAG();
+        assertEquals(3, target.vertexCount());
+        assertEquals(2, target.edgeCount());
+        assertEquals("[A, B, C]", target.vertex(0).toString());
+        assertEquals("[D, E]", target.vertex(1).toString());
+        assertEquals("[F]", target.vertex(2).toString());
+        assertEquals(Integer.valueOf(4), target.attribute(target.begin(0)));
+        assertEquals(1, target.target(target.begin(0)));
+        assertEquals(Integer.valueOf(7), target.attribute(target.begin(1)));
+        assertEquals(2, target.target(target.begin(1)));
+    }
+
+    @Test
+    public void testKernelDAGOfDAG() {
+        CSRDiGraph<DiGraph.Kernel<Integer>, Double> target = standardDAG().kernelDAG();
+        assertEquals(7, target.vertexCount());
+        assertEquals(11, target.edgeCount());
+        for (int e = 0; e < target.edgeCount(); e++) assertTrue(target.source(e) < target.target(e));
+    }
+
+    /**
+     * This is the DAG of DAGTest.setupStandardDAG.
+     */
+    private static CSRDiGraph<Integer, Double> standardDAG() {
+        List<Edge<Integer, Double>> edges = Arrays.asList(
+                new Edge<>(0, 1, 1.0), new Edge<>(0, 2, 1.0), new Edge<>(0, 5, 1.0),
+                new Edge<>(1, 4, 1.0), new Edge<>(3, 2, 1.0), new Edge<>(3, 4, 1.0),
+                new Edge<>(3, 5, 1.0), new Edge<>(3, 6, 1.0), new Edge<>(5, 2, 1.0),
+                new Edge<>(6, 0, 1.0), new Edge<>(6, 4, 1.0));
+        return CSRDiGraph.from(Collections.emptyList(), edges);
+    }
+}
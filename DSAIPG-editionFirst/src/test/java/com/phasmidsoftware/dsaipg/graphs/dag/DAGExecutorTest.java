@@ -0,0 +1,107 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class DAGExecutorTest {
+
+    @Test
+    public void testRun() {
+        CSRDiGraph<Integer, Integer> graph = randomDAG(500, 2000, 0L);
+        DAGExecutor<Integer> target = new DAGExecutor<>(graph);
+        for (int parallelism : new int[]{1, 4}) {
+            AtomicInteger clock = new AtomicInteger();
+            Map<Integer, Integer> started = new ConcurrentHashMap<>();
+            Map<Integer, Integer> finished = new ConcurrentHashMap<>();
+            target.run(v -> {
+                started.put(v, clock.getAndIncrement());
+                finished.put(v, clock.getAndIncrement());
+            }, parallelism);
+            assertEquals(500, started.size());
+            assertEquals(500, finished.size());
+            for (Edge<Integer, Integer> e : graph.edges())
+                assertTrue(finished.get(e.getFrom()) < started.get(e.getTo()));
+        }
+    }
+
+    @Test
+    public void testRunSequential() {
+        CSRDiGraph<Integer, Integer> graph = randomDAG(100, 300, 1L);
+        List<Integer> visited = new ArrayList<>();
+        new DAGExecutor<>(graph).runSequential(visited::add);
+        assertEquals(100, visited.size());
+        for (Edge<Integer, Integer> e : graph.edges())
+            assertTrue(visited.indexOf(e.getFrom()) < visited.indexOf(e.getTo()));
+    }
+
+    @Test
+    public void testLongPath() {
+        int n = 100_000;
+        List<Edge<Integer, Integer>> edges = new ArrayList<>(n);
+        for (int v = 1; v < n; v++) edges.add(new Edge<>(v - 1, v, v));
+        int[] count = new int[1];
+        new DAGExecutor<>(CSRDiGraph.from(Collections.emptyList(), edges)).run(v -> count[0]++, 2);
+        assertEquals(n, count[0]);
+    }
+
+    @Test
+    public void testException() {
+        CSRDiGraph<Integer, Integer> graph = randomDAG(100, 300, 2L);
+        AtomicInteger count = new AtomicInteger();
+        try {
+            new DAGExecutor<>(graph).run(v -> {
+                count.incrementAndGet();
+                if (v == 50) throw new IllegalStateException("failed at 50");
+            }, 2);
+            fail("expected an exception");
+        } catch (IllegalStateException e) {
+            assertTrue(count.get() <= 100);
+        }
+    }
+
+    @Test
+    public void testExceptionWaitsForRunningActions() {
+        CSRDiGraph<Integer, Integer> graph = CSRDiGraph.from(Arrays.asList(0, 1, 2, 3), Collections.emptyList());
+        AtomicInteger running = new AtomicInteger();
+        try {
+            new DAGExecutor<>(graph).run(v -> {
+                if (v == 0) throw new IllegalStateException("failed at 0");
+                running.incrementAndGet();
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }, 4);
+            fail("expected an exception");
+        } catch (IllegalStateException e) {
+            assertEquals(0, running.get());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycle() {
+        new DAGExecutor<>(CSRDiGraph.from(Collections.emptyList(), Arrays.asList(new Edge<>("A", "B", 1), new Edge<>("B", "A", 2))));
+    }
+
+    /**
+     * Create a random DAG (all edges go from a lower vertex to a higher one).
+     */
+    private static CSRDiGraph<Integer, Integer> randomDAG(int n, int m, long seed) {
+        Random random = new Random(seed);
+        List<Integer> vertices = new ArrayList<>();
+        for (int v = 0; v < n; v++) vertices.add(v);
+        List<Edge<Integer, Integer>> edges = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            int v = random.nextInt(n), w = random.nextInt(n);
+            if (v != w) edges.add(new Edge<>(Math.min(v, w), Math.max(v, w), i));
+        }
+        return CSRDiGraph.from(vertices, edges);
+    }
+}
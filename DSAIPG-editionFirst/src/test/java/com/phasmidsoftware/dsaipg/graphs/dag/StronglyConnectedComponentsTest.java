@@ -0,0 +1,105 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void testSmall() {
+        CSRDiGraph<String, Integer> graph = CSRDiGraph.from(Arrays.asList("A", "B", "C", "D", "E", "F", "G"), Arrays.asList(
+                new Edge<>("A", "B", 1), new Edge<>("B", "C", 2), new Edge<>("C", "A", 3), new Edge<>("A", "D", 4),
+                new Edge<>("D", "E", 5), new Edge<>("E", "D", 6), new Edge<>("D", "F", 7)));
+        StronglyConnectedComponents target = new StronglyConnectedComponents(graph);
+        assertEquals(4, target.count());
+        int a = graph.id("A"), b = graph.id("B"), c = graph.id("C"), d = graph.id("D"), e = graph.id("E"), f = graph.id("F");
+        assertTrue(target.stronglyConnected(a, b));
+        assertTrue(target.stronglyConnected(a, c));
+        assertTrue(target.stronglyConnected(d, e));
+        assertFalse(target.stronglyConnected(a, d));
+        assertFalse(target.stronglyConnected(e, f));
+        assertEquals(3, target.size(target.component(b)));
+        assertArrayEquals(new int[]{a, b, c}, target.members(target.component(c)));
+        assertEquals(1, target.size(target.component(graph.id("G"))));
+        assertTrue(target.component(a) < target.component(d));
+        assertTrue(target.component(d) < target.component(f));
+        assertEquals("StronglyConnectedComponents{vertices=7, components=4}", target.toString());
+    }
+
+    @Test
+    public void testEmpty() {
+        StronglyConnectedComponents target = new StronglyConnectedComponents(CSRDiGraph.<String, Integer>from(Collections.emptyList(), Collections.emptyList()));
+        assertEquals(0, target.count());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(60);
+            int m = random.nextInt(2 * n);
+            List<Integer> vertices = new ArrayList<>();
+            for (int v = 0; v < n; v++) vertices.add(v);
+            List<Edge<Integer, Integer>> edges = new ArrayList<>();
+            for (int i = 0; i < m; i++) edges.add(new Edge<>(random.nextInt(n), random.nextInt(n), i));
+            CSRDiGraph<Integer, Integer> graph = CSRDiGraph.from(vertices, edges);
+            StronglyConnectedComponents target = new StronglyConnectedComponents(graph);
+            boolean[][] reachable = reachability(graph);
+            for (int v = 0; v < n; v++)
+                for (int w = 0; w < n; w++)
+                    assertEquals(reachable[v][w] && reachable[w][v], target.stronglyConnected(v, w));
+            for (int e = 0; e < graph.edgeCount(); e++)
+                assertTrue(target.component(graph.source(e)) <= target.component(graph.target(e)));
+            int total = 0;
+            for (int c = 0; c < target.count(); c++) total += target.size(c);
+            assertEquals(n, total);
+        }
+    }
+
+    @Test
+    public void testLongCycle() {
+        int n = 1_000_000;
+        StronglyConnectedComponents target = new StronglyConnectedComponents(path(n, true));
+        assertEquals(1, target.count());
+        assertEquals(n, target.size(0));
+    }
+
+    @Test
+    public void testLongPath() {
+        int n = 1_000_000;
+        StronglyConnectedComponents target = new StronglyConnectedComponents(path(n, false));
+        assertEquals(n, target.count());
+        for (int v = 0; v < n; v++) assertEquals(v, target.component(v));
+    }
+
+    private static CSRDiGraph<Integer, Integer> path(int n, boolean cycle) {
+        List<Edge<Integer, Integer>> edges = new ArrayList<>();
+        for (int v = 0; v < n - 1; v++) edges.add(new Edge<>(v, v + 1, v));
+        if (cycle) edges.add(new Edge<>(n - 1, 0, n - 1));
+        return CSRDiGraph.from(Collections.emptyList(), edges);
+    }
+
+    private static boolean[][] reachability(CSRDiGraph<Integer, Integer> graph) {
+        int n = graph.vertexCount();
+        boolean[][] result = new boolean[n][n];
+        for (int s = 0; s < n; s++) {
+            Deque<Integer> queue = new ArrayDeque<>();
+            result[s][s] = true;
+            queue.add(s);
+            while (!queue.isEmpty()) {
+                int v = queue.remove();
+                for (int e = graph.begin(v); e < graph.end(v); e++) {
+                    int w = graph.target(e);
+                    if (!result[s][w]) {
+                        result[s][w] = true;
+                        queue.add(w);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+}
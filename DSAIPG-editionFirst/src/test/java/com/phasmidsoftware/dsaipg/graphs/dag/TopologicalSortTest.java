@@ -0,0 +1,118 @@
+package com.phasmidsoftware.dsaipg.graphs.dag;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class TopologicalSortTest {
+
+    @Test
+    public void testStandardDAG() {
+        CSRDiGraph<Integer, Double> graph = standardDAG();
+        TopologicalSort target = new TopologicalSort(graph);
+        assertEquals(5, target.levels());
+        assertArrayEquals(new int[]{graph.id(3)}, target.level(0));
+        assertArrayEquals(new int[]{graph.id(6)}, target.level(1));
+        assertArrayEquals(new int[]{graph.id(0)}, target.level(2));
+        assertEquals(2, target.size(3));
+        assertEquals(4, target.levelOf(graph.id(2)));
+        assertEquals(4, target.levelOf(graph.id(4)));
+    }
+
+    @Test
+    public void testLevels() {
+        List<List<Integer>> levels = TopologicalSort.levels(standardDAG());
+        assertEquals(Arrays.asList(Arrays.asList(3), Arrays.asList(6), Arrays.asList(0), Arrays.asList(1, 5), Arrays.asList(2, 4)), levels);
+    }
+
+    @Test
+    public void testOrder() {
+        CSRDiGraph<Integer, Double> graph = standardDAG();
+        TopologicalSort target = new TopologicalSort(graph);
+        checkOrder(graph, target);
+        assertEquals("TopologicalSort{vertices=7, levels=5}", target.toString());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 1 + random.nextInt(100);
+            List<Edge<Integer, Integer>> edges = new ArrayList<>();
+            List<Integer> vertices = new ArrayList<>();
+            for (int v = 0; v < n; v++) vertices.add(v);
+            // NOTE edges go from lower to higher, so the graph is acyclic.
+            for (int i = 0; i < 2 * n; i++) {
+                int v = random.nextInt(n), w = random.nextInt(n);
+                if (v != w) edges.add(new Edge<>(Math.min(v, w), Math.max(v, w), i));
+            }
+            CSRDiGraph<Integer, Integer> graph = CSRDiGraph.from(vertices, edges);
+            checkOrder(graph, new TopologicalSort(graph));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCycle() {
+        new TopologicalSort(CSRDiGraph.from(Collections.emptyList(), Arrays.asList(new Edge<>("A", "B", 1), new Edge<>("B", "C", 2), new Edge<>("C", "A", 3))));
+    }
+
+    @Test
+    public void testEmpty() {
+        TopologicalSort target = new TopologicalSort(CSRDiGraph.<String, Integer>from(Collections.emptyList(), Collections.emptyList()));
+        assertEquals(0, target.levels());
+        assertEquals(0, target.order().length);
+    }
+
+    @Test
+    public void testLongPath() {
+        int n = 1_000_000;
+        List<Edge<Integer, Integer>> edges = new ArrayList<>(n);
+        for (int v = 1; v < n; v++) edges.add(new Edge<>(v - 1, v, v));
+        TopologicalSort target = new TopologicalSort(CSRDiGraph.from(Collections.emptyList(), edges));
+        assertEquals(n, target.levels());
+        assertEquals(n - 1, target.levelOf(n - 1));
+    }
+
+    /**
+     * Check that the order is a topological order, sorted by level; and that each level is correct.
+     */
+    private static void checkOrder(CSRDiGraph<?, ?> graph, TopologicalSort target) {
+        int n = graph.vertexCount();
+        int[] order = target.order();
+        assertEquals(n, order.length);
+        int[] position = new int[n];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < n; i++) position[order[i]] = i;
+        for (int v = 0; v < n; v++) assertTrue(position[v] >= 0);
+        int[] expectedLevel = new int[n];
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            if (i > 0) assertTrue(target.levelOf(order[i - 1]) <= target.levelOf(v));
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int w = graph.target(e);
+                assertTrue(position[v] < position[w]);
+                expectedLevel[w] = Math.max(expectedLevel[w], expectedLevel[v] + 1);
+            }
+        }
+        int total = 0;
+        for (int l = 0; l < target.levels(); l++) {
+            total += target.size(l);
+            for (int v : target.level(l)) assertEquals(l, expectedLevel[v]);
+        }
+        assertEquals(n, total);
+    }
+
+    /**
+     * This is the DAG of DAGTest.setupStandardDAG.
+     */
+    private static CSRDiGraph<Integer, Double> standardDAG() {
+        List<Edge<Integer, Double>> edges = Arrays.asList(
+                new Edge<>(0, 1, 1.0), new Edge<>(0, 2, 1.0), new Edge<>(0, 5, 1.0),
+                new Edge<>(1, 4, 1.0), new Edge<>(3, 2, 1.0), new Edge<>(3, 4, 1.0),
+                new Edge<>(3, 5, 1.0), new Edge<>(3, 6, 1.0), new Edge<>(5, 2, 1.0),
+                new Edge<>(6, 0, 1.0), new Edge<>(6, 4, 1.0));
+        return CSRDiGraph.from(Collections.emptyList(), edges);
+    }
+}
@@ -0,0 +1,156 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyTest {
+
+    @Test
+    public void testDistance() {
+        EdgeWeightedDigraph ewd = tinyGraph();
+        ContractionHierarchy target = new ContractionHierarchy(ewd);
+        Dijkstra dijkstra = new Dijkstra(ewd);
+        for (int s = 0; s < ewd.V(); s++) {
+            Dijkstra.ShortestPaths shortestPaths = dijkstra.shortestPaths(s);
+            for (int t = 0; t < ewd.V(); t++)
+                assertEquals(shortestPaths.distTo(t), target.distance(s, t), 0);
+        }
+        assertEquals(21, target.distance(0, 4), 0);
+        assertEquals(0, target.distance(3, 3), 0);
+        assertEquals(Double.POSITIVE_INFINITY, target.distance(4, 0), 0);
+    }
+
+    @Test
+    public void testRank() {
+        ContractionHierarchy target = new ContractionHierarchy(tinyGraph());
+        boolean[] ranks = new boolean[target.V()];
+        for (int v = 0; v < target.V(); v++) ranks[target.rank(v)] = true;
+        for (boolean rank : ranks) assertTrue(rank);
+    }
+
+    @Test
+    public void testPath() {
+        ContractionHierarchy target = new ContractionHierarchy(tinyGraph());
+        List<DirectedEdge> path = target.path(0, 4);
+        assertNotNull(path);
+        checkPath(path, 0, 4, 21);
+        assertTrue(target.path(2, 2).isEmpty());
+        assertNull(target.path(4, 0));
+    }
+
+    @Test
+    public void testRandomAgainstDijkstra() {
+        Random random = new Random(0L);
+        EdgeWeightedDigraph ewd = randomGraph(random, 500, 2500);
+        ContractionHierarchy target = new ContractionHierarchy(ewd);
+        Dijkstra dijkstra = new Dijkstra(ewd);
+        for (int i = 0; i < 20; i++) {
+            int s = random.nextInt(ewd.V());
+            Dijkstra.ShortestPaths shortestPaths = dijkstra.shortestPaths(s);
+            for (int t = 0; t < ewd.V(); t++) {
+                double expected = shortestPaths.distTo(t);
+                assertEquals(expected, target.distance(s, t), 1E-9);
+                if (expected < Double.POSITIVE_INFINITY && s != t) checkPath(target.path(s, t), s, t, expected);
+            }
+        }
+    }
+
+    @Test
+    public void testGrid() {
+        int k = 30;
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(k * k);
+        Random random = new Random(2L);
+        for (int i = 0; i < k; i++)
+            for (int j = 0; j < k; j++) {
+                int v = i * k + j;
+                if (j + 1 < k) addRoad(ewd, v, v + 1, 1 + random.nextInt(10));
+                if (i + 1 < k) addRoad(ewd, v, v + k, 1 + random.nextInt(10));
+            }
+        ContractionHierarchy target = new ContractionHierarchy(ewd);
+        PathQueryEngine engine = new PathQueryEngine(ewd);
+        for (int i = 0; i < 200; i++) {
+            int s = random.nextInt(ewd.V());
+            int t = random.nextInt(ewd.V());
+            assertEquals(engine.distance(s, t), target.distance(s, t), 0);
+        }
+        assertTrue(target.lastSettled() < ewd.V());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Random random = new Random(1L);
+        EdgeWeightedDigraph ewd = randomGraph(random, 200, 1000);
+        ContractionHierarchy target = new ContractionHierarchy(ewd);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        target.save(output);
+        ContractionHierarchy loaded = ContractionHierarchy.load(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(target.V(), loaded.V());
+        assertEquals(target.shortcuts(), loaded.shortcuts());
+        for (int i = 0; i < 100; i++) {
+            int s = random.nextInt(ewd.V());
+            int t = random.nextInt(ewd.V());
+            assertEquals(target.distance(s, t), loaded.distance(s, t), 0);
+            List<DirectedEdge> expected = target.path(s, t);
+            List<DirectedEdge> actual = loaded.path(s, t);
+            assertEquals(String.valueOf(expected), String.valueOf(actual));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoadBadStream() throws IOException {
+        ContractionHierarchy.load(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(2);
+        ewd.addEdge(new DirectedEdge(0, 1, -1));
+        new ContractionHierarchy(ewd);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadVertex() {
+        new ContractionHierarchy(tinyGraph()).distance(0, 9);
+    }
+
+    private static void checkPath(List<DirectedEdge> path, int s, int t, double expected) {
+        assertEquals(s, path.get(0).from());
+        assertEquals(t, path.get(path.size() - 1).to());
+        double length = 0;
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) assertEquals(path.get(i - 1).to(), path.get(i).from());
+            length += path.get(i).weight();
+        }
+        assertEquals(expected, length, 1E-9);
+    }
+
+    private static void addRoad(EdgeWeightedDigraph ewd, int v, int w, double weight) {
+        ewd.addEdge(new DirectedEdge(v, w, weight));
+        ewd.addEdge(new DirectedEdge(w, v, weight));
+    }
+
+    /**
+     * This is the graph of DijkstraTest.test1.
+     */
+    private static EdgeWeightedDigraph tinyGraph() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(9);
+        int[][] edges = {{0, 1, 4}, {0, 7, 8}, {1, 2, 8}, {1, 7, 11}, {7, 6, 1}, {7, 8, 11}, {2, 8, 2},
+                {2, 3, 7}, {2, 5, 4}, {8, 6, 6}, {6, 5, 2}, {3, 5, 14}, {3, 4, 9}, {5, 4, 10}};
+        for (int[] e : edges) ewd.addEdge(new DirectedEdge(e[0], e[1], e[2]));
+        return ewd;
+    }
+
+    private static EdgeWeightedDigraph randomGraph(Random random, int V, int E) {
+        EdgeWeightedDigraph result = new EdgeWeightedDigraph(V);
+        for (int i = 0; i < E; i++)
+            result.addEdge(new DirectedEdge(random.nextInt(V), random.nextInt(V), random.nextInt(100) * 0.01));
+        return result;
+    }
+}
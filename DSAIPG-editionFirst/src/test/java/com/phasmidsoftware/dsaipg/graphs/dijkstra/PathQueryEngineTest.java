@@ -0,0 +1,117 @@
+package com.phasmidsoftware.dsaipg.graphs.dijkstra;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class PathQueryEngineTest {
+
+    @Test
+    public void testDistance() {
+        EdgeWeightedDigraph ewd = tinyGraph();
+        PathQueryEngine target = new PathQueryEngine(ewd);
+        Dijkstra.ShortestPaths shortestPaths = new Dijkstra(ewd).shortestPaths(0);
+        for (int t = 0; t < ewd.V(); t++)
+            assertEquals(shortestPaths.distTo(t), target.distance(0, t), 0);
+        assertEquals(21, target.distance(0, 4), 0);
+        assertEquals(0, target.distance(3, 3), 0);
+        assertEquals(Double.POSITIVE_INFINITY, target.distance(4, 0), 0);
+    }
+
+    @Test
+    public void testPath() {
+        PathQueryEngine target = new PathQueryEngine(tinyGraph());
+        List<DirectedEdge> path = target.path(0, 4);
+        assertNotNull(path);
+        assertEquals(0, path.get(0).from());
+        assertEquals(4, path.get(path.size() - 1).to());
+        double length = 0;
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) assertEquals(path.get(i - 1).to(), path.get(i).from());
+            length += path.get(i).weight();
+        }
+        assertEquals(21, length, 0);
+        assertTrue(target.path(2, 2).isEmpty());
+        assertNull(target.path(4, 0));
+    }
+
+    @Test
+    public void testRandomAgainstDijkstra() {
+        Random random = new Random(0L);
+        EdgeWeightedDigraph ewd = randomGraph(random, 500, 2500);
+        PathQueryEngine target = new PathQueryEngine(ewd);
+        Dijkstra dijkstra = new Dijkstra(ewd);
+        for (int i = 0; i < 20; i++) {
+            int s = random.nextInt(ewd.V());
+            Dijkstra.ShortestPaths shortestPaths = dijkstra.shortestPaths(s);
+            for (int t = 0; t < ewd.V(); t++) {
+                assertEquals(shortestPaths.distTo(t), target.distance(s, t), 1E-9);
+                assertTrue(target.lastSettled() <= ewd.V() * 2);
+            }
+        }
+    }
+
+    @Test
+    public void testDistances() {
+        Random random = new Random(1L);
+        EdgeWeightedDigraph ewd = randomGraph(random, 1000, 5000);
+        PathQueryEngine target = new PathQueryEngine(ewd);
+        int n = 2000;
+        int[] sources = new int[n];
+        int[] targets = new int[n];
+        for (int i = 0; i < n; i++) {
+            sources[i] = random.nextInt(ewd.V());
+            targets[i] = random.nextInt(ewd.V());
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        double[] parallel = target.distances(sources, targets, pool);
+        double[] again = target.distances(sources, targets, pool); // NOTE reuses the workspaces of the pool's threads.
+        pool.shutdown();
+        double[] common = target.distances(sources, targets);
+        for (int i = 0; i < n; i++) {
+            double expected = target.distance(sources[i], targets[i]);
+            assertEquals(expected, parallel[i], 0);
+            assertEquals(expected, again[i], 0);
+            assertEquals(expected, common[i], 0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeWeight() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(2);
+        ewd.addEdge(new DirectedEdge(0, 1, -1));
+        new PathQueryEngine(ewd);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadVertex() {
+        new PathQueryEngine(tinyGraph()).distance(0, 9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistancesMismatch() {
+        new PathQueryEngine(tinyGraph()).distances(new int[2], new int[1]);
+    }
+
+    /**
+     * This is the graph of DijkstraTest.test1.
+     */
+    private static EdgeWeightedDigraph tinyGraph() {
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(9);
+        int[][] edges = {{0, 1, 4}, {0, 7, 8}, {1, 2, 8}, {1, 7, 11}, {7, 6, 1}, {7, 8, 11}, {2, 8, 2},
+                {2, 3, 7}, {2, 5, 4}, {8, 6, 6}, {6, 5, 2}, {3, 5, 14}, {3, 4, 9}, {5, 4, 10}};
+        for (int[] e : edges) ewd.addEdge(new DirectedEdge(e[0], e[1], e[2]));
+        return ewd;
+    }
+
+    private static EdgeWeightedDigraph randomGraph(Random random, int V, int E) {
+        EdgeWeightedDigraph result = new EdgeWeightedDigraph(V);
+        for (int i = 0; i < E; i++)
+            result.addEdge(new DirectedEdge(random.nextInt(V), random.nextInt(V), random.nextInt(100) * 0.01));
+        return result;
+    }
+}
@@ -0,0 +1,145 @@
+package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
+
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.DirectedEdge;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.Dijkstra;
+import com.phasmidsoftware.dsaipg.graphs.dijkstra.EdgeWeightedDigraph;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class BellmanFordEngineTest {
+
+    @Test
+    public void testRun() {
+        BellmanFordEngine target = smallGraph();
+        BellmanFordEngine.Result result = target.run(0);
+        assertFalse(result.hasNegativeCycle());
+        assertNull(result.negativeCycle());
+        double[] expected = {0, -1, 2, -2, 1};
+        for (int v = 0; v < expected.length; v++) assertEquals(expected[v], result.distTo(v), 0);
+        assertArrayEquals(new int[]{0, 2, 7}, result.pathTo(3));
+        assertArrayEquals(new int[0], result.pathTo(0));
+        assertEquals(0, result.rounds());
+        assertTrue(result.relaxations() > 0);
+    }
+
+    @Test
+    public void testRunParallel() {
+        BellmanFordEngine.Result result = smallGraph().runParallel(0, 2);
+        assertFalse(result.hasNegativeCycle());
+        double[] expected = {0, -1, 2, -2, 1};
+        for (int v = 0; v < expected.length; v++) assertEquals(expected[v], result.distTo(v), 0);
+        assertArrayEquals(new int[]{0, 2, 7}, result.pathTo(3));
+        assertTrue(result.rounds() <= 5);
+    }
+
+    @Test
+    public void testUnreachable() {
+        BellmanFordEngine target = new BellmanFordEngine(3, new int[]{0}, new int[]{1}, new double[]{-2});
+        BellmanFordEngine.Result result = target.run(0);
+        assertEquals(-2, result.distTo(1), 0);
+        assertFalse(result.hasPathTo(2));
+        assertNull(result.pathTo(2));
+        assertFalse(target.runParallel(0, 2).hasPathTo(2));
+    }
+
+    @Test
+    public void testNegativeCycle() {
+        // 0 -> 1 -> 2 -> 3 -> 1 (the cycle 1 -> 2 -> 3 -> 1 has weight -1) and 3 -> 4.
+        int[] from = {0, 1, 2, 3, 3};
+        int[] to = {1, 2, 3, 1, 4};
+        double[] weight = {1, 2, -4, 1, 1};
+        BellmanFordEngine target = new BellmanFordEngine(5, from, to, weight);
+        checkNegativeCycle(target, target.run(0));
+        checkNegativeCycle(target, target.runParallel(0, 3));
+        // the cycle is not reachable from 4.
+        assertFalse(target.run(4).hasNegativeCycle());
+        assertFalse(target.runParallel(4, 3).hasNegativeCycle());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegativeCycleDistance() {
+        new BellmanFordEngine(2, new int[]{0, 1}, new int[]{1, 0}, new double[]{1, -2}).run(0).distTo(1);
+    }
+
+    @Test
+    public void testAgainstDijkstra() {
+        Random random = new Random(0L);
+        EdgeWeightedDigraph ewd = new EdgeWeightedDigraph(1000);
+        for (int i = 0; i < 5000; i++)
+            ewd.addEdge(new DirectedEdge(random.nextInt(1000), random.nextInt(1000), random.nextInt(100) * 0.01));
+        BellmanFordEngine target = BellmanFordEngine.from(ewd);
+        assertEquals(5000, target.E());
+        Dijkstra.ShortestPaths shortestPaths = new Dijkstra(ewd).shortestPaths(0);
+        BellmanFordEngine.Result sequential = target.run(0);
+        BellmanFordEngine.Result parallel = target.runParallel(0, 4);
+        for (int v = 0; v < ewd.V(); v++) {
+            assertEquals(shortestPaths.distTo(v), sequential.distTo(v), 1E-9);
+            assertEquals(shortestPaths.distTo(v), parallel.distTo(v), 1E-9);
+        }
+    }
+
+    @Test
+    public void testNegativeWeights() {
+        // NOTE the weights are reduced by the differences of random potentials, so that some are negative but no cycle is.
+        Random random = new Random(1L);
+        int V = 2000, E = 10000;
+        double[] potential = new double[V];
+        for (int v = 0; v < V; v++) potential[v] = random.nextInt(50);
+        int[] from = new int[E];
+        int[] to = new int[E];
+        double[] weight = new double[E];
+        for (int e = 0; e < E; e++) {
+            from[e] = random.nextInt(V);
+            to[e] = random.nextInt(V);
+            weight[e] = random.nextInt(100) + potential[from[e]] - potential[to[e]];
+        }
+        BellmanFordEngine target = new BellmanFordEngine(V, from, to, weight);
+        BellmanFordEngine.Result sequential = target.run(0);
+        BellmanFordEngine.Result parallel = target.runParallel(0, 4);
+        assertFalse(sequential.hasNegativeCycle());
+        assertFalse(parallel.hasNegativeCycle());
+        for (int v = 0; v < V; v++) {
+            assertEquals(sequential.distTo(v), parallel.distTo(v), 0);
+            if (sequential.hasPathTo(v)) {
+                double length = 0;
+                for (int e : sequential.pathTo(v)) length += target.weight(e);
+                assertEquals(sequential.distTo(v), length, 0);
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadVertex() {
+        new BellmanFordEngine(2, new int[]{0}, new int[]{2}, new double[]{1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadArrays() {
+        new BellmanFordEngine(2, new int[]{0}, new int[]{1, 0}, new double[]{1});
+    }
+
+    private static void checkNegativeCycle(BellmanFordEngine engine, BellmanFordEngine.Result result) {
+        assertTrue(result.hasNegativeCycle());
+        int[] cycle = result.negativeCycle();
+        assertEquals(3, cycle.length);
+        double length = 0;
+        for (int i = 0; i < cycle.length; i++) {
+            assertEquals(engine.to(cycle[i]), engine.from(cycle[(i + 1) % cycle.length]));
+            length += engine.weight(cycle[i]);
+        }
+        assertEquals(-1, length, 0);
+    }
+
+    /**
+     * This is the graph of BellmanFordTest.test0 (with A thru E as 0 thru 4).
+     */
+    private static BellmanFordEngine smallGraph() {
+        int[] from = {0, 0, 1, 1, 1, 3, 3, 4};
+        int[] to = {1, 2, 4, 3, 2, 1, 2, 3};
+        double[] weight = {-1, 4, 2, 2, 3, 1, 5, -3};
+        return new BellmanFordEngine(5, from, to, weight);
+    }
+}
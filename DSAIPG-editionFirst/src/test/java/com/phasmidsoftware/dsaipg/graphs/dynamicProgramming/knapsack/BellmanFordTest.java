@@ -93,4 +93,29 @@ public class BellmanFordTest {
         assertEquals(0, bellmanFordAlgorithm(graph, a, a), 0);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void test3() {
+        Vertex a = new Vertex("A", 0);
+        Graph graph = new Graph(a);
+        graph.addVertex(a);
+        Vertex b = new Vertex("B", 0);
+        graph.addVertex(b);
+        Vertex c = new Vertex("C", 0);
+        graph.addVertex(c);
+        graph.addEdge(a, b, 2);
+        assertEquals(2.0, bellmanFordAlgorithm(graph, a, b), 0);
+        assertEquals(Double.POSITIVE_INFINITY, bellmanFordAlgorithm(graph, a, c), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCycle() {
+        Vertex a = new Vertex("A", 0);
+        Graph graph = new Graph(a);
+        graph.addVertex(a);
+        Vertex b = new Vertex("B", 0);
+        graph.addVertex(b);
+        graph.addEdge(a, b, 1);
+        graph.addEdge(b, a, -2);
+        bellmanFordAlgorithm(graph, a, b);
+    }
+}
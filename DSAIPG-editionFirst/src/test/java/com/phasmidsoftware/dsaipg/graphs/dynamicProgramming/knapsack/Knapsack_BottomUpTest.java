@@ -0,0 +1,111 @@
+package com.phasmidsoftware.dsaipg.graphs.dynamicProgramming.knapsack;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class Knapsack_BottomUpTest {
+
+    final Knapsack.Item itemA = new Knapsack.Item("A", 2, 1);
+    final Knapsack.Item itemB = new Knapsack.Item("B", 1, 2);
+
+    @Test
+    public void value0() {
+        Knapsack_BottomUp knapsack = new Knapsack_BottomUp(ImmutableList.of());
+        assertEquals(Knapsack.empty, knapsack.value(10));
+        assertEquals(Knapsack.empty, knapsack.value(10, 2));
+        assertEquals(0, knapsack.cells());
+    }
+
+    @Test
+    public void value1() {
+        List<Knapsack.Item> list = ImmutableList.of(itemA);
+        Knapsack_BottomUp knapsack = new Knapsack_BottomUp(list);
+        assertEquals(new Knapsack.Solution(1, list), knapsack.value(2));
+        assertEquals(Knapsack.empty, knapsack.value(1));
+        assertEquals(5, knapsack.cells());
+    }
+
+    @Test
+    public void value2() {
+        assertEquals(Knapsack.Solution.of(itemB), new Knapsack_BottomUp(ImmutableList.of(itemA, itemB)).value(2));
+        assertEquals(Knapsack.Solution.of(itemB), new Knapsack_BottomUp(ImmutableList.of(itemB, itemA)).value(2));
+        assertEquals(Knapsack.Solution.of(ImmutableList.of(itemA, itemB)), new Knapsack_BottomUp(ImmutableList.of(itemA, itemB)).value(3, 2));
+    }
+
+    @Test
+    public void valueGoogle() {
+        // see KnapsackTest.valueGoogle
+        final int[] values = {360, 83, 59, 130, 431, 67, 230, 52, 93, 125, 670, 892, 600, 38, 48, 147,
+                78, 256, 63, 17, 120, 164, 432, 35, 92, 110, 22, 42, 50, 323, 514, 28, 87, 73, 78, 15, 26,
+                78, 210, 36, 85, 189, 274, 43, 33, 10, 19, 389, 276, 312};
+
+        final int[] weights = {7, 0, 30, 22, 80, 94, 11, 81, 70, 64, 59, 18, 0, 36, 3, 8, 15, 42, 9,
+                0, 42, 47, 52, 32, 26, 48, 55, 6, 29, 84, 2, 4, 18, 56, 7, 29, 93, 44, 71, 3, 86, 66, 31,
+                65, 0, 79, 20, 65, 52, 13};
+
+        final int[] packed = {0, 1, 3, 4, 6, 10, 11, 12, 14, 15, 16, 17, 18, 19, 21, 22, 24, 27, 28, 29, 30, 31,
+                32, 34, 38, 39, 41, 42, 44, 47, 48, 49};
+
+        int n = values.length;
+        Knapsack.Item[] items = new Knapsack.Item[n];
+        for (int i = 0; i < n; i++)
+            items[i] = new Knapsack.Item("Item " + i, weights[i], values[i]);
+        final Knapsack.Item[] itemsPacked = new Knapsack.Item[packed.length];
+        for (int i = 0; i < packed.length; i++) itemsPacked[i] = items[packed[i]];
+        Knapsack_BottomUp knapsack = new Knapsack_BottomUp(Arrays.asList(items));
+        Knapsack.Solution expected = Knapsack.Solution.of(Arrays.asList(itemsPacked));
+        assertEquals(7534, expected.value);
+        assertEquals(expected, knapsack.value(850));
+        assertEquals(expected, knapsack.value(850, 4));
+        assertEquals(2 * 50 * 851, knapsack.cells());
+    }
+
+    @Test
+    public void valueRandomAgainstMemoized() {
+        Random random = new Random(0L);
+        int n = 200;
+        Knapsack.Item[] items = new Knapsack.Item[n];
+        for (int i = 0; i < n; i++)
+            items[i] = new Knapsack.Item("Item " + i, random.nextInt(25), random.nextInt(10));
+        List<Knapsack.Item> list = Arrays.asList(items);
+        Knapsack memoized = new Knapsack(list);
+        Knapsack_BottomUp bottomUp = new Knapsack_BottomUp(list);
+        for (int w : new int[]{0, 5, 10, 15, 20, 40, 63, 64, 65, 80, 200}) {
+            Knapsack.Solution expected = memoized.value(w);
+            assertEquals(expected, bottomUp.value(w));
+            assertEquals(expected, bottomUp.value(w, 3));
+        }
+    }
+
+    @Test
+    public void valueLarge() {
+        // NOTE this capacity would be far beyond the memoized version.
+        Random random = new Random(1L);
+        int n = 100;
+        Knapsack.Item[] items = new Knapsack.Item[n];
+        for (int i = 0; i < n; i++)
+            items[i] = new Knapsack.Item("Item " + i, 1 + random.nextInt(10_000), 1 + random.nextInt(1000));
+        Knapsack_BottomUp knapsack = new Knapsack_BottomUp(Arrays.asList(items));
+        int max = 100_000;
+        Knapsack.Solution solution = knapsack.value(max);
+        assertEquals(solution, knapsack.value(max, 4));
+        int weight = 0, value = 0;
+        for (Knapsack.Item item : solution.items) {
+            weight += item.weight;
+            value += item.value;
+        }
+        assertEquals(solution.value, value);
+        assertEquals(true, weight <= max);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void valueTooLarge() {
+        new Knapsack_BottomUp(java.util.Collections.nCopies(100_000, itemA)).value(Integer.MAX_VALUE / 2);
+    }
+}
@@ -0,0 +1,118 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import com.phasmidsoftware.dsaipg.graphs.traversal.EdgeWeightedGraph;
+import com.phasmidsoftware.dsaipg.graphs.traversal.Prims;
+import com.phasmidsoftware.dsaipg.graphs.undirected.CSRGraph;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import com.phasmidsoftware.dsaipg.graphs.union_find.WQUPC;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Boruvka_ParallelTest {
+
+    @Test
+    public void testMST() {
+        // This is the tiny graph (tinyEWG.txt) of Sedgewick and Wayne, whose MST has weight 1.81.
+        int[] either = {4, 4, 5, 4, 5, 1, 0, 1, 0, 1, 2, 1, 0, 3, 6, 6};
+        int[] other = {5, 7, 7, 0, 1, 7, 2, 2, 7, 3, 3, 5, 4, 6, 2, 0};
+        double[] weight = {.35, .37, .28, .38, .32, .19, .26, .36, .16, .29, .17, .32, .38, .52, .40, .58};
+        Boruvka_Parallel target = new Boruvka_Parallel(8, either, other, weight);
+        for (int p = 1; p <= 4; p++) {
+            Boruvka_Parallel.Result result = target.run(p);
+            assertArrayEquals(new int[]{0, 2, 5, 6, 8, 10, 14}, result.edges());
+            assertEquals(1.81, result.weight(), 1E-9);
+            assertEquals(1, result.components());
+            assertTrue(result.rounds() <= 3);
+        }
+    }
+
+    @Test
+    public void testForest() {
+        // Two triangles (with a self-loop and a parallel edge) and an isolated vertex.
+        int[] either = {0, 1, 2, 3, 4, 5, 1, 0};
+        int[] other = {1, 2, 0, 4, 5, 3, 1, 1};
+        double[] weight = {3, 1, 2, 1, 1, 1, 0, 2};
+        Boruvka_Parallel.Result result = new Boruvka_Parallel(7, either, other, weight).run(2);
+        // NOTE ties are broken by edge id.
+        assertArrayEquals(new int[]{1, 2, 3, 4}, result.edges());
+        assertEquals(5, result.weight(), 0);
+        assertEquals(3, result.components());
+    }
+
+    @Test
+    public void testEmpty() {
+        Boruvka_Parallel.Result result = new Boruvka_Parallel(3, new int[0], new int[0], new double[0]).run(2);
+        assertEquals(0, result.edges().length);
+        assertEquals(3, result.components());
+        assertEquals(0, result.rounds());
+    }
+
+    @Test
+    public void testRandom() {
+        Random random = new Random(0L);
+        int V = 5000, E = 30000;
+        int[] either = new int[E];
+        int[] other = new int[E];
+        double[] weight = new double[E];
+        EdgeWeightedGraph ewg = new EdgeWeightedGraph(V);
+        for (int e = 0; e < E; e++) {
+            // NOTE the first V-1 edges form a random spanning tree (so that the graph is connected, as Prims requires).
+            either[e] = e < V - 1 ? e + 1 : random.nextInt(V);
+            other[e] = e < V - 1 ? random.nextInt(e + 1) : random.nextInt(V);
+            weight[e] = random.nextInt(1000); // NOTE there are many equal weights.
+            ewg.addEdge(new com.phasmidsoftware.dsaipg.graphs.traversal.Edge(either[e], other[e], weight[e]));
+        }
+        Boruvka_Parallel target = new Boruvka_Parallel(V, either, other, weight);
+        Boruvka_Parallel.Result sequential = target.run(1);
+        Boruvka_Parallel.Result parallel = target.run(4);
+        assertEquals(V - 1, sequential.edges().length);
+        assertArrayEquals(sequential.edges(), parallel.edges());
+        double prim = 0;
+        for (com.phasmidsoftware.dsaipg.graphs.traversal.Edge edge : new Prims(ewg).edges()) prim += edge.weight();
+        assertEquals(prim, sequential.weight(), 0);
+        // NOTE Kruskal, with a stable sort, breaks ties by edge id and so finds exactly the same tree.
+        assertArrayEquals(kruskal(target), sequential.edges());
+    }
+
+    @Test
+    public void testFromCSRGraph() {
+        List<Edge<String, Integer>> edges = Arrays.asList(new Edge<>("A", "B", 4), new Edge<>("B", "C", 2),
+                new Edge<>("C", "A", 3), new Edge<>("C", "D", 7), new Edge<>("A", "D", 5));
+        CSRGraph<String, Integer> graph = CSRGraph.from(Collections.emptyList(), edges);
+        List<Edge<String, Integer>> mst = Boruvka_Parallel.mst(graph, Integer::doubleValue, 2);
+        assertEquals(Arrays.asList(edges.get(1), edges.get(2), edges.get(4)), mst);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadVertex() {
+        new Boruvka_Parallel(2, new int[]{0}, new int[]{2}, new double[]{1});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadArrays() {
+        new Boruvka_Parallel(2, new int[]{0}, new int[]{1, 0}, new double[]{1});
+    }
+
+    private static int[] kruskal(Boruvka_Parallel graph) {
+        Integer[] edges = new Integer[graph.E()];
+        for (int e = 0; e < edges.length; e++) edges[e] = e;
+        Arrays.sort(edges, Comparator.comparingDouble(graph::weight));
+        WQUPC uf = new WQUPC(graph.V());
+        int[] result = new int[graph.V() - 1];
+        int count = 0;
+        for (int e : edges)
+            if (!uf.connected(graph.either(e), graph.other(e))) {
+                uf.union(graph.either(e), graph.other(e));
+                result[count++] = e;
+            }
+        Arrays.sort(result, 0, count);
+        return Arrays.copyOf(result, count);
+    }
+}
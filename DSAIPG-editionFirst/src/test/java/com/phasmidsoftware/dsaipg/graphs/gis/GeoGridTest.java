@@ -0,0 +1,82 @@
+package com.phasmidsoftware.dsaipg.graphs.gis;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class GeoGridTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCellSize() {
+        new GeoGrid<>(randomPoints(10, 0L), 0);
+    }
+
+    @Test
+    public void testEmpty() {
+        GeoGrid<GeoPoint> grid = new GeoGrid<>(Collections.emptyList(), 100);
+        assertEquals(0, grid.size());
+        assertEquals(0, grid.cells());
+        assertTrue(grid.within(boston, 1000).isEmpty());
+        grid.forEachPairWithin(1000, (p1, p2, d) -> fail("no pairs expected"));
+    }
+
+    @Test
+    public void testWithin() {
+        List<GeoPoint> points = randomPoints(2000, 1L);
+        GeoGrid<GeoPoint> grid = new GeoGrid<>(points, 250);
+        assertEquals(2000, grid.size());
+        assertTrue(grid.cells() > 1);
+        for (double radius : new double[]{10, 250, 1000, 100000}) {
+            Set<GeoPoint> expected = new HashSet<>();
+            for (GeoPoint p : points) if (GeoGraphSpherical.distance(boston.getPosition(), p.getPosition()) <= radius) expected.add(p);
+            assertEquals(expected, new HashSet<>(grid.within(boston, radius)));
+        }
+    }
+
+    @Test
+    public void testForEachPairWithin() {
+        List<GeoPoint> points = randomPoints(2000, 2L);
+        GeoGrid<GeoPoint> grid = new GeoGrid<>(points, 100);
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < points.size(); i++)
+            for (int j = i + 1; j < points.size(); j++)
+                if (GeoGraphSpherical.distance(points.get(i).getPosition(), points.get(j).getPosition()) <= 100)
+                    expected.add(i + "-" + j);
+        Set<String> actual = new HashSet<>();
+        grid.forEachPairWithin(100, (p1, p2, d) -> {
+            int i = points.indexOf(p1), j = points.indexOf(p2);
+            assertTrue(i < j);
+            assertEquals(GeoGraphSpherical.distance(p1.getPosition(), p2.getPosition()), d, 1E-9);
+            assertTrue(actual.add(i + "-" + j));
+        });
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+        // NOTE the grid should have calculated far fewer distances than the brute-force method.
+        assertTrue(grid.distanceCalculations() < points.size() * (points.size() - 1L) / 20);
+    }
+
+    @Test
+    public void testForEachPairWithinLargeRadius() {
+        List<GeoPoint> points = randomPoints(100, 3L);
+        GeoGrid<GeoPoint> grid = new GeoGrid<>(points, 10);
+        int[] count = new int[1];
+        grid.forEachPairWithin(1E7, (p1, p2, d) -> count[0]++);
+        assertEquals(100 * 99 / 2, count[0]);
+        assertEquals(100 * 99 / 2, grid.distanceCalculations());
+    }
+
+    /**
+     * Create n random points in a square of about 3km by 3km in Boston.
+     */
+    private static List<GeoPoint> randomPoints(int n, long seed) {
+        Random random = new Random(seed);
+        List<GeoPoint> result = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            result.add(new MockGeoPoint("p" + i, new Position_Spherical(42.33 + random.nextDouble() * 0.03, -71.1 + random.nextDouble() * 0.04)));
+        return result;
+    }
+
+    private final GeoPoint boston = new MockGeoPoint("Boston", new Position_Spherical(42.345, -71.08));
+}
@@ -1,11 +1,16 @@
 package com.phasmidsoftware.dsaipg.graphs.gis;
 
+import com.phasmidsoftware.dsaipg.graphs.dag.CSRDiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.DiGraph;
 import com.phasmidsoftware.dsaipg.graphs.dag.Edge;
 import org.junit.Test;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertTrue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
 
 public class ShortestPathsTest {
 
@@ -109,4 +114,76 @@ public class ShortestPathsTest {
         assertEquals(7.0, shortestPaths.cost("H"), 0);
     }
 
+    @Test
+    public void testShortestPathsCSR() {
+        ShortestPaths<String, Double> shortestPaths = new ShortestPaths<>(standardGraph(), "A");
+        assertTrue(shortestPaths.hasPathTo("H"));
+        assertEquals(7.0, shortestPaths.cost("H"), 0);
+        assertEquals(5.0, shortestPaths.cost("F"), 0);
+    }
+
+    @Test
+    public void testPathTo() {
+        CSRDiGraph<String, Double> graph = standardGraph();
+        ShortestPaths<String, Double> shortestPaths = new ShortestPaths<>(graph, "A");
+        List<String> path = new ArrayList<>();
+        for (Edge<String, Double> edge : shortestPaths.pathTo("H")) path.add(edge.getFrom() + edge.getTo());
+        assertEquals(Arrays.asList("AB", "BG", "GH"), path);
+        assertFalse(shortestPaths.pathTo("A").iterator().hasNext());
+        assertFalse(shortestPaths.hasPathTo("Z"));
+        assertEquals(Double.POSITIVE_INFINITY, shortestPaths.cost("Z"), 0);
+    }
+
+    @Test
+    public void testAStarZeroHeuristic() {
+        CSRDiGraph<String, Double> graph = standardGraph();
+        ShortestPaths<String, Double> dijkstra = new ShortestPaths<>(graph, "A");
+        for (String target : graph.vertices()) {
+            ShortestPaths<String, Double> aStar = new ShortestPaths<>(graph, "A", target, v -> 0);
+            assertEquals(target, dijkstra.cost(target), aStar.cost(target), 0);
+            assertTrue(aStar.getSettled() <= dijkstra.getSettled());
+        }
+    }
+
+    @Test
+    public void testAStarGreatCircle() {
+        // A grid of points 0.01 degrees apart, joined (in both directions) to their neighbors by edges as long as the great-circle distance.
+        int n = 20;
+        GeoGraphSpherical<GeoPoint, Double> geo = new GeoGraphSpherical<>();
+        GeoPoint[][] points = new GeoPoint[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                points[i][j] = new MockGeoPoint(i + "," + j, new Position_Spherical(42 + i * 0.01, -71 + j * 0.01));
+        List<Edge<GeoPoint, Double>> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                if (i + 1 < n) addBoth(edges, geo, points[i][j], points[i + 1][j]);
+                if (j + 1 < n) addBoth(edges, geo, points[i][j], points[i][j + 1]);
+            }
+        CSRDiGraph<GeoPoint, Double> graph = CSRDiGraph.from(Collections.emptyList(), edges);
+        GeoPoint start = points[0][0], target = points[n - 1][n / 2];
+        ShortestPaths<GeoPoint, Double> dijkstra = new ShortestPaths<>(graph, start);
+        ShortestPaths<GeoPoint, Double> aStar = new ShortestPaths<>(graph, start, target, ShortestPaths.greatCircle(geo, target));
+        assertEquals(dijkstra.cost(target), aStar.cost(target), 1E-6);
+        assertTrue(aStar.getSettled() < dijkstra.getSettled());
+        double length = 0;
+        for (Edge<GeoPoint, Double> edge : aStar.pathTo(target)) length += edge.getAttributes();
+        assertEquals(aStar.cost(target), length, 1E-6);
+    }
+
+    private static void addBoth(List<Edge<GeoPoint, Double>> edges, GeoGraphSpherical<GeoPoint, Double> geo, GeoPoint p, GeoPoint q) {
+        double distance = geo.getDistance(p, q);
+        edges.add(new Edge<>(p, q, distance));
+        edges.add(new Edge<>(q, p, distance));
+    }
+
+    private static CSRDiGraph<String, Double> standardGraph() {
+        return CSRDiGraph.from(Collections.emptyList(), Arrays.asList(
+                new Edge<>("A", "B", 1.0), new Edge<>("B", "C", 2.0), new Edge<>("C", "D", 3.0),
+                new Edge<>("A", "E", 4.0), new Edge<>("A", "F", 8.0), new Edge<>("B", "F", 6.0),
+                new Edge<>("B", "G", 3.0), new Edge<>("C", "G", 2.0), new Edge<>("D", "G", 1.0),
+                new Edge<>("D", "H", 5.0), new Edge<>("E", "F", 5.0), new Edge<>("G", "F", 1.0),
+                new Edge<>("G", "H", 3.0)));
+    }
+
 }
\ No newline at end of file
@@ -3,14 +3,19 @@ package com.phasmidsoftware.dsaipg.graphs.tunnels;
 import com.phasmidsoftware.dsaipg.graphs.gis.Boruvka;
 import com.phasmidsoftware.dsaipg.graphs.gis.Kruskal;
 import com.phasmidsoftware.dsaipg.graphs.gis.Sequenced;
+import com.phasmidsoftware.dsaipg.graphs.undirected.CSRGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
 import com.phasmidsoftware.dsaipg.graphs.undirected.EdgeGraph;
 import com.phasmidsoftware.dsaipg.graphs.undirected.Graph_Edges;
+import com.phasmidsoftware.dsaipg.graphs.union_find.TypedUF_Concurrent;
 import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
 
 import static com.phasmidsoftware.dsaipg.graphs.gis.Kruskal.createEdge;
 import static org.junit.Assert.assertEquals;
@@ -89,6 +94,39 @@ public class KruskalTest {
         }
     }
 
+    @Test
+    public void testKruskalModes_kalimantan() {
+        // NOTE CSRGraph and TypedUF_Concurrent are used because Graph_Edges (via Bag_Array) and TypedUF_HWQUPC depend on exercises.
+        for (Kruskal.Mode mode : Kruskal.Mode.values()) {
+            Kruskal<String, Route> kruskal = new Kruskal<>(CSRGraph.from(Collections.emptyList(), kalimantanEdges()), mode, TypedUF_Concurrent::new);
+            assertEquals(mode, kruskal.getMode());
+            assertEquals(5, SizedIterableImpl.getSize(kruskal.iterator()));
+            int cost = 0;
+            for (Edge<String, Route> edge : kruskal) cost += edge.getAttribute().getCost();
+            assertEquals(23 + 56 + 63 + 64 + 80, cost);
+        }
+    }
+
+    @Test
+    public void testKruskalModes_random() {
+        // NOTE there are enough edges for FILTER to partition several times, and many equal costs.
+        Random random = new Random(0L);
+        int n = 300;
+        List<Edge<Integer, Route>> edges = new ArrayList<>();
+        for (int i = 1; i < n; i++) edges.add(createEdge(i, random.nextInt(i), new Route(random.nextInt(1000))));
+        for (int i = 0; i < 10 * n; i++) edges.add(createEdge(random.nextInt(n), random.nextInt(n), new Route(random.nextInt(1000))));
+        CSRGraph<Integer, Route> g = CSRGraph.from(Collections.emptyList(), edges);
+        int expected = -1;
+        for (Kruskal.Mode mode : Kruskal.Mode.values()) {
+            Kruskal<Integer, Route> kruskal = new Kruskal<>(g, mode, TypedUF_Concurrent::new);
+            assertEquals(n - 1, SizedIterableImpl.getSize(kruskal.iterator()));
+            int cost = 0;
+            for (Edge<Integer, Route> edge : kruskal) cost += edge.getAttribute().getCost();
+            if (expected < 0) expected = cost;
+            assertEquals(expected, cost);
+        }
+    }
+
     private EdgeGraph<String, Route> kalimantan() {
 //        Po	    Pa	Ban	Bal	S	T
 //        Po	 	80	101	123	237	417
@@ -98,24 +136,30 @@ public class KruskalTest {
 //        S	 	 	 	 	 	63
 //        T
         Graph_Edges<String, Route> g = new Graph_Edges<>();
-        g.addEdge(createEdge("Po", "Pa", new Route(80.)));
-        g.addEdge(createEdge("Po", "Ban", new Route(101.)));
-        g.addEdge(createEdge("Po", "Bal", new Route(123.)));
-        g.addEdge(createEdge("Po", "S", new Route(237.)));
-        g.addEdge(createEdge("Po", "T", new Route(417.)));
-        g.addEdge(createEdge("Pa", "Ban", new Route(56.)));
-        g.addEdge(createEdge("Pa", "Bal", new Route(64.)));
-        g.addEdge(createEdge("Pa", "S", new Route(83.)));
-        g.addEdge(createEdge("Pa", "T", new Route(187.)));
-        g.addEdge(createEdge("Ban", "Bal", new Route(73.)));
-        g.addEdge(createEdge("Ban", "S", new Route(95.)));
-        g.addEdge(createEdge("Ban", "T", new Route(203.)));
-        g.addEdge(createEdge("Bal", "S", new Route(23.)));
-        g.addEdge(createEdge("Bal", "T", new Route(89.)));
-        g.addEdge(createEdge("S", "T", new Route(63.)));
+        for (Edge<String, Route> edge : kalimantanEdges()) g.addEdge(edge);
         return g;
     }
 
+    private List<Edge<String, Route>> kalimantanEdges() {
+        List<Edge<String, Route>> edges = new ArrayList<>();
+        edges.add(createEdge("Po", "Pa", new Route(80.)));
+        edges.add(createEdge("Po", "Ban", new Route(101.)));
+        edges.add(createEdge("Po", "Bal", new Route(123.)));
+        edges.add(createEdge("Po", "S", new Route(237.)));
+        edges.add(createEdge("Po", "T", new Route(417.)));
+        edges.add(createEdge("Pa", "Ban", new Route(56.)));
+        edges.add(createEdge("Pa", "Bal", new Route(64.)));
+        edges.add(createEdge("Pa", "S", new Route(83.)));
+        edges.add(createEdge("Pa", "T", new Route(187.)));
+        edges.add(createEdge("Ban", "Bal", new Route(73.)));
+        edges.add(createEdge("Ban", "S", new Route(95.)));
+        edges.add(createEdge("Ban", "T", new Route(203.)));
+        edges.add(createEdge("Bal", "S", new Route(23.)));
+        edges.add(createEdge("Bal", "T", new Route(89.)));
+        edges.add(createEdge("S", "T", new Route(63.)));
+        return edges;
+    }
+
 
     private EdgeGraph<String, Route> ChinaShippingCost() {
         //          BeiJing  ShangHai  GuangZhou  ShenZhen  XiAn  WuHan  ZhengZhou  FuZhou
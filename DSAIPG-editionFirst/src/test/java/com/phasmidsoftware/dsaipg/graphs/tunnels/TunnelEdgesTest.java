@@ -0,0 +1,66 @@
+package com.phasmidsoftware.dsaipg.graphs.tunnels;
+
+import com.phasmidsoftware.dsaipg.graphs.gis.GeoGraphSpherical;
+import com.phasmidsoftware.dsaipg.graphs.undirected.Edge;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TunnelEdgesTest {
+
+    @Test
+    public void testGetTunnelProperties() {
+        GeoGraphSpherical<Building, TunnelProperties> geo = new GeoGraphSpherical<>();
+        Building la = new Building(34, "LA", "Centennial", -71.0930697, 42.3384215, false, "Lake Hall");
+        Building ka = new Building(35, "KA", "Plaza", -71.0931943, 42.3386223, false, "Kariotis Hall");
+        Building ri = new Building(42, "RI", "Center", -71.0887314, 42.3397321, true, "Richards Hall");
+        Building ha = new Building(53, "HA", "Center", -71.0885712, 42.3395146, true, "Hayden Hall");
+        assertEquals(new TunnelProperties(29510, 25, 1, 0), TunnelEdges.getTunnelProperties(la, ka, geo.getDistance(la, ka)));
+        assertEquals(new TunnelProperties(276L, 28, 0, 0), TunnelEdges.getTunnelProperties(ri, ha, geo.getDistance(ri, ha)));
+        assertEquals(0, TunnelEdges.getPhase(ha, ri));
+        assertEquals(1, TunnelEdges.getPhase(ri, la));
+        assertEquals(10, TunnelEdges.getCostFactor(ri, ha));
+        assertEquals(1200, TunnelEdges.getCostFactor(ka, la));
+        assertEquals(1500, TunnelEdges.getCostFactor(ri, la));
+        assertEquals(1000, TunnelEdges.getCostFactor(ri, new Building(1, "X", "Center", 0, 0, false, "X")));
+        assertEquals(10000, TunnelEdges.getCostFactor(ri, new Building(1, "X", "Nowhere", 0, 0, false, "X")));
+    }
+
+    @Test
+    public void testCreateEdgesCampus() {
+        List<Building> buildings = BuildingLoader.createBuildings();
+        checkEdges(TunnelEdges.createEdgesByAllPairs(buildings, 250), TunnelEdges.createEdges(buildings, 250));
+        int n = buildings.size();
+        assertEquals(n * (n - 1) / 2, TunnelEdges.createEdges(buildings, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void testCreateEdgesScaled() {
+        List<Building> buildings = KruskalBenchmark.scale(BuildingLoader.createBuildings(), 3);
+        checkEdges(TunnelEdges.createEdgesByAllPairs(buildings, 100), TunnelEdges.createEdges(buildings, 100));
+        checkEdges(TunnelEdges.createEdgesByAllPairs(buildings, 250), TunnelEdges.createEdges(buildings, 250));
+    }
+
+    /**
+     * Check that the edges are the same (although not necessarily in the same order).
+     */
+    private static void checkEdges(List<Edge<Building, TunnelProperties>> expected, List<Edge<Building, TunnelProperties>> actual) {
+        assertTrue(expected.size() > 0);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(edgeMap(expected), edgeMap(actual));
+    }
+
+    private static Map<String, TunnelProperties> edgeMap(List<Edge<Building, TunnelProperties>> edges) {
+        Map<String, TunnelProperties> result = new HashMap<>();
+        for (Edge<Building, TunnelProperties> edge : edges) {
+            Building b1 = edge.get(), b2 = edge.getOther(b1);
+            result.put(b1.getCode() + "-" + b2.getCode(), edge.getAttribute());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,90 @@
+package com.phasmidsoftware.dsaipg.graphs.undirected;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CSRGraphTest {
+
+    @Test
+    public void testFrom() {
+        CSRGraph<String, Integer> target = triangle();
+        assertEquals(4, target.vertexCount());
+        assertEquals(3, target.edgeCount());
+        assertEquals(4, target.vertices().size());
+        assertEquals(3, target.edges().size());
+        assertEquals(Arrays.asList("A", "B", "C", "D"), target.vertices().toList());
+        assertEquals(0, target.id("A"));
+        assertEquals(3, target.id("D"));
+        assertEquals(-1, target.id("Z"));
+        assertEquals("C", target.vertex(2));
+    }
+
+    @Test
+    public void testSlots() {
+        CSRGraph<String, Integer> target = triangle();
+        int a = target.id("A"), b = target.id("B"), c = target.id("C"), d = target.id("D");
+        assertEquals(2, target.degree(a));
+        assertEquals(2, target.degree(b));
+        assertEquals(2, target.degree(c));
+        assertEquals(0, target.degree(d));
+        assertEquals(target.begin(d), target.end(d));
+        // NOTE the slots of each vertex are in the order in which the edges were added.
+        int k = target.begin(a);
+        assertEquals(b, target.target(k));
+        assertEquals(Integer.valueOf(1), target.attribute(target.edge(k)));
+        assertEquals(c, target.target(k + 1));
+        assertEquals(Integer.valueOf(3), target.attribute(target.edge(k + 1)));
+        for (int v = 0; v < target.vertexCount(); v++)
+            for (int j = target.begin(v); j < target.end(v); j++) {
+                int e = target.edge(j);
+                assertEquals(target.target(j), target.other(e, v));
+                assertEquals(v, target.other(e, target.target(j)));
+            }
+    }
+
+    @Test
+    public void testEdges() {
+        CSRGraph<String, Integer> target = triangle();
+        Edge<String, Integer> edge = target.getEdge(1);
+        assertEquals(new Edge<>("B", "C", 2), edge);
+        assertEquals(target.id("B"), target.either(1));
+        assertSame(edge, target.edges().toList().get(1));
+    }
+
+    @Test
+    public void testAdjacent() {
+        CSRGraph<String, Integer> target = triangle();
+        List<Edge<String, Integer>> edges = new ArrayList<>();
+        for (Edge<String, Integer> e : target.adjacent("C")) edges.add(e);
+        assertEquals(Arrays.asList(new Edge<>("B", "C", 2), new Edge<>("C", "A", 3)), edges);
+        assertFalse(target.adjacent("D").iterator().hasNext());
+        assertFalse(target.adjacent("Z").iterator().hasNext());
+    }
+
+    @Test
+    public void testSelfLoop() {
+        CSRGraph<Integer, Integer> target = CSRGraph.from(Collections.emptyList(), Arrays.asList(new Edge<>(1, 2, 0), new Edge<>(1, 1, 1), new Edge<>(2, 1, 2)));
+        assertEquals(2, target.vertexCount());
+        assertEquals(4, target.degree(0));
+        assertEquals(0, target.other(1, 0));
+        List<Edge<Integer, Integer>> edges = new ArrayList<>();
+        for (Edge<Integer, Integer> e : target.adjacent(1)) edges.add(e);
+        assertEquals(Arrays.asList(new Edge<>(1, 2, 0), new Edge<>(1, 1, 1), new Edge<>(2, 1, 2)), edges);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddEdge() {
+        triangle().addEdge("A", "D", 4);
+    }
+
+    private static CSRGraph<String, Integer> triangle() {
+        List<Edge<String, Integer>> edges = Arrays.asList(new Edge<>("A", "B", 1), new Edge<>("B", "C", 2), new Edge<>("C", "A", 3));
+        return CSRGraph.from(Arrays.asList("A", "B", "C", "D"), edges);
+    }
+}
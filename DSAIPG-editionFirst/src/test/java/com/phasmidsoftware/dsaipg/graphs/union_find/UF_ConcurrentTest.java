@@ -0,0 +1,74 @@
+package com.phasmidsoftware.dsaipg.graphs.union_find;
+
+import com.phasmidsoftware.dsaipg.util.SizedIterableImpl;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class UF_ConcurrentTest {
+
+    @Test
+    public void testUnion() {
+        UF_Concurrent h = new UF_Concurrent(10);
+        assertEquals(10, h.size());
+        assertEquals(10, h.components());
+        assertTrue(h.unite(0, 1));
+        assertFalse(h.unite(1, 0));
+        h.union(2, 1);
+        h.connect(5, 6);
+        assertTrue(h.isConnected(0, 2));
+        assertFalse(h.isConnected(0, 5));
+        assertEquals(h.find(0), h.find(2));
+        assertEquals(7, h.components());
+    }
+
+    @Test
+    public void testConcurrent() {
+        // NOTE the same random unions are made sequentially (by WQUPC) and concurrently.
+        int n = 100_000, m = 80_000;
+        Random random = new Random(0L);
+        int[] ps = new int[m], qs = new int[m];
+        WQUPC expected = new WQUPC(n);
+        for (int i = 0; i < m; i++) {
+            ps[i] = random.nextInt(n);
+            qs[i] = random.nextInt(n);
+            expected.union(ps[i], qs[i]);
+        }
+        UF_Concurrent target = new UF_Concurrent(n);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            long merged = pool.submit(() -> IntStream.range(0, m).parallel().filter(i -> target.unite(ps[i], qs[i])).count()).join();
+            assertEquals(n - expected.count(), merged);
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(expected.count(), target.components());
+        for (int i = 0; i < n; i++)
+            assertEquals(expected.connected(0, i), target.isConnected(0, i));
+    }
+
+    @Test
+    public void testTyped() throws UFException {
+        TypedUF_Concurrent<String> h = new TypedUF_Concurrent<>(SizedIterableImpl.create(Arrays.asList("A", "B", "C")));
+        assertFalse(h.connected("A", "C"));
+        h.union("C", "A");
+        assertTrue(h.connected("A", "C"));
+        assertEquals(2, h.components());
+    }
+
+    @Test(expected = UFException.class)
+    public void testTypedUnknown() throws UFException {
+        new TypedUF_Concurrent<>(SizedIterableImpl.create(Arrays.asList("A", "B"))).union("A", "Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFind() {
+        new UF_Concurrent(10).find(10);
+    }
+}
@@ -0,0 +1,75 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class NodeStatisticsTest {
+
+    @Test
+    public void testUpdate() {
+        NodeStatistics target = new NodeStatistics();
+        assertEquals(0, target.playouts());
+        assertEquals(0.0, target.score(), 0.0);
+        target.update(1.0);
+        target.update(0.5);
+        target.update(0.0);
+        assertEquals(3, target.wins());
+        assertEquals(3, target.playouts());
+        assertEquals(1.0, target.score(), 1E-10);
+        assertEquals("wins=3, playouts=3, score=1.0", target.toString());
+    }
+
+    @Test
+    public void testAddAndSet() {
+        NodeStatistics target = new NodeStatistics(2, 1);
+        target.add(10, 7);
+        assertEquals(12, target.wins());
+        assertEquals(8, target.playouts());
+        target.set(0, 1_000_000);
+        assertEquals(0, target.wins());
+        assertEquals(1_000_000, target.playouts());
+    }
+
+    @Test
+    public void testVirtualLoss() {
+        NodeStatistics target = new NodeStatistics(4, 2);
+        double ucb = target.ucb(10, 1.0);
+        target.addVirtualLoss();
+        assertEquals(1, target.virtualLoss());
+        assertEquals(3, target.visits());
+        assertEquals(2, target.playouts());
+        assertTrue(target.ucb(10, 1.0) < ucb);
+        target.removeVirtualLoss();
+        assertEquals(2, target.visits());
+        assertEquals(ucb, target.ucb(10, 1.0), 0.0);
+    }
+
+    @Test
+    public void testUcb() {
+        assertEquals(Double.MAX_VALUE, new NodeStatistics().ucb(10, 1.0), 0.0);
+        NodeStatistics target = new NodeStatistics(4, 2);
+        assertEquals(2.0 + Math.sqrt(Math.log(8) / 2), target.ucb(8, 1.0), 1E-10);
+    }
+
+    @Test
+    public void testConcurrentUpdates() {
+        NodeStatistics target = new NodeStatistics();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            pool.submit(() -> IntStream.range(0, 100_000).parallel().forEach(i -> {
+                target.addVirtualLoss();
+                target.update(i % 2 == 0 ? 1.0 : 0.5);
+                target.removeVirtualLoss();
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        assertEquals(150_000, target.wins());
+        assertEquals(100_000, target.playouts());
+        assertEquals(0, target.virtualLoss());
+    }
+}
@@ -0,0 +1,46 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class SearchBudgetTest {
+
+    @Test
+    public void testIterations() {
+        SearchBudget target = SearchBudget.iterations(3);
+        target.start();
+        assertTrue(target.next());
+        assertTrue(target.next());
+        assertTrue(target.next());
+        assertFalse(target.next());
+        assertFalse(target.next());
+        assertEquals(3, target.count());
+        assertEquals("SearchBudget{iterations=3, millis=unlimited}", target.toString());
+    }
+
+    @Test
+    public void testMillis() {
+        SearchBudget target = SearchBudget.millis(20);
+        target.start();
+        int count = 0;
+        while (target.next()) count++;
+        assertTrue(target.elapsedNanos() >= 20_000_000L);
+        assertEquals(count, target.count());
+        assertEquals("SearchBudget{iterations=unlimited, millis=20}", target.toString());
+    }
+
+    @Test
+    public void testInParallel() {
+        SearchBudget target = SearchBudget.iterations(10_000);
+        target.start();
+        AtomicInteger total = new AtomicInteger();
+        SearchBudget.inParallel(4, t -> {
+            while (target.next()) total.incrementAndGet();
+        });
+        assertEquals(10_000, total.get());
+        assertEquals(10_000, target.count());
+    }
+}
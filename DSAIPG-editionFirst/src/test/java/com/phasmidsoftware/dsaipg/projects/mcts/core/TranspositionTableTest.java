@@ -0,0 +1,74 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.core;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest {
+
+    @Test
+    public void testComputeIfAbsent() {
+        TranspositionTable target = new TranspositionTable(1024);
+        NodeStatistics first = target.computeIfAbsent(42L, () -> new NodeStatistics(1, 1));
+        NodeStatistics second = target.computeIfAbsent(42L, NodeStatistics::new);
+        assertSame(first, second);
+        assertEquals(1, second.playouts());
+        assertSame(first, target.get(42L));
+        assertNull(target.get(43L));
+        assertEquals(1, target.size());
+        assertEquals(1, target.hits());
+        assertEquals(1, target.misses());
+        assertEquals(0.5, target.hitRate(), 0.0);
+        assertEquals(TranspositionTable.BYTES_PER_ENTRY, target.memory());
+        assertFalse(target.isSymmetric());
+    }
+
+    @Test
+    public void testEviction() {
+        TranspositionTable target = new TranspositionTable(4, 1, true);
+        for (long key = 0; key < 4; key++) target.computeIfAbsent(key, NodeStatistics::new);
+        target.computeIfAbsent(0L, NodeStatistics::new); // NOTE 0 is now the most recently used.
+        target.computeIfAbsent(4L, NodeStatistics::new);
+        assertEquals(4, target.size());
+        assertEquals(4, target.capacity());
+        assertEquals(1, target.evictions());
+        assertNotNull(target.get(0L));
+        assertNull(target.get(1L));
+        assertTrue(target.isSymmetric());
+    }
+
+    @Test
+    public void testClear() {
+        TranspositionTable target = new TranspositionTable(64, 8, false);
+        for (long key = 0; key < 10; key++) target.computeIfAbsent(key, NodeStatistics::new);
+        target.clear();
+        assertEquals(0, target.size());
+        assertEquals(0, target.misses());
+        assertEquals(0.0, target.hitRate(), 0.0);
+    }
+
+    @Test
+    public void testConcurrent() {
+        TranspositionTable target = new TranspositionTable(1 << 16, 16, false);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        pool.submit(() -> IntStream.range(0, 100_000).parallel().forEach(i -> target.computeIfAbsent(i % 1000 * 0x9E3779B97F4A7C15L, NodeStatistics::new).update(1.0))).join();
+        pool.shutdown();
+        assertEquals(1000, target.size());
+        assertEquals(1000, target.misses());
+        assertEquals(99_000, target.hits());
+        for (int i = 0; i < 1000; i++) assertEquals(100, target.get(i * 0x9E3779B97F4A7C15L).playouts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStripesNotPowerOfTwo() {
+        new TranspositionTable(1024, 3, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityTooSmall() {
+        new TranspositionTable(8, 16, false);
+    }
+}
@@ -1,8 +1,12 @@
 package com.phasmidsoftware.dsaipg.projects.mcts.othello;
 
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.TranspositionTable;
 import org.junit.Test;
 
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 public class MCTSTest {
@@ -56,4 +60,83 @@ public class MCTSTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testTreeParallelSearch() {
+        OthelloNode root = new OthelloNode(new OthelloState(Position.createStartingPosition()));
+        MCTS mcts = new MCTS(root, new Random(0L));
+        Node<Othello> bestNode = mcts.search(SearchBudget.iterations(100), 3, SearchBudget.Parallelism.TREE);
+
+        assertNotEquals(root, bestNode);
+        assertEquals(100, mcts.getIterations());
+        assertEquals(100, root.playouts());
+        // All virtual losses should have been removed
+        assertEquals(root.playouts(), root.visits());
+        int totalPlayouts = 0;
+        for (Node<Othello> child : root.children()) {
+            totalPlayouts += child.playouts();
+            assertEquals(child.playouts(), ((OthelloNode) child).visits());
+        }
+        assertEquals(100, totalPlayouts);
+    }
+
+    @Test
+    public void testRootParallelSearch() {
+        OthelloNode root = new OthelloNode(new OthelloState(Position.createStartingPosition()));
+        MCTS mcts = new MCTS(root, new Random(0L));
+        Node<Othello> bestNode = mcts.search(SearchBudget.iterations(100), 3, SearchBudget.Parallelism.ROOT);
+
+        assertNotEquals(root, bestNode);
+        assertEquals(4, root.children().size());
+        assertEquals(100, root.playouts());
+        int totalPlayouts = 0;
+        for (Node<Othello> child : root.children()) {
+            totalPlayouts += child.playouts();
+            assertTrue(bestNode.playouts() >= child.playouts());
+        }
+        assertEquals(100, totalPlayouts);
+    }
+
+    @Test
+    public void testSearchTime() {
+        OthelloNode root = new OthelloNode(new OthelloState(Position.createStartingPosition()));
+        MCTS mcts = new MCTS(root);
+        Node<Othello> bestNode = mcts.searchTime(100);
+
+        assertNotEquals(root, bestNode);
+        assertTrue(mcts.getElapsedNanos() >= 100_000_000L);
+        assertTrue(mcts.getIterations() > 0);
+        assertEquals(mcts.getIterations(), root.playouts());
+    }
+
+    @Test
+    public void testTranspositionTable() {
+        TranspositionTable table = new TranspositionTable(1 << 16);
+        OthelloNode root = new OthelloNode(new OthelloState(Position.createStartingPosition()), table);
+        Node<Othello> bestNode = new MCTS(root, new Random(0L)).searchIterations(500);
+        assertTrue(bestNode.playouts() > 0);
+        assertTrue(table.size() > 0);
+
+        // The root of the next search (for the same position as bestNode) starts with the statistics of bestNode.
+        OthelloNode next = new OthelloNode(bestNode.state(), table);
+        assertEquals(bestNode.playouts(), next.playouts());
+        assertEquals(bestNode.wins(), next.wins());
+        int playouts = next.playouts();
+        long hits = table.hits();
+        new MCTS(next, new Random(1L)).searchIterations(200);
+        assertEquals(playouts + 200, next.playouts());
+        assertEquals(next.playouts(), bestNode.playouts());
+        assertTrue(table.hits() > hits);
+    }
+
+    @Test
+    public void testSymmetricTranspositionTable() {
+        TranspositionTable table = new TranspositionTable(1 << 16, 64, true);
+        OthelloNode root = new OthelloNode(new OthelloState(Position.createStartingPosition()), table);
+        new MCTS(root, new Random(0L)).searchIterations(100);
+
+        // The four opening moves are equivalent under the symmetries of the board: they share their statistics.
+        assertEquals(4, root.children().size());
+        for (Node<Othello> child : root.children()) assertEquals(100, child.playouts());
+    }
+}
@@ -0,0 +1,126 @@
+package com.phasmidsoftware.dsaipg.projects.mcts.othello;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Randomized differential test of Position (bitboards) against ArrayPosition (the original int[][] implementation).
+ */
+public class PositionDifferentialTest {
+
+    @Test
+    public void testRandomGames() {
+        Random random = new Random(0L);
+        for (int game = 0; game < 200; game++) {
+            Position position = Position.createStartingPosition();
+            ArrayPosition reference = ArrayPosition.createStartingPosition();
+            int player = Position.BLACK;
+            int moves = 0;
+            while (!reference.isGameOver()) {
+                checkSame(reference, position);
+                List<int[]> available = reference.moves(player);
+                if (!available.isEmpty()) {
+                    int[] move = available.get(random.nextInt(available.size()));
+                    reference = reference.move(player, move[0], move[1]);
+                    position = position.move(player, move[0], move[1]);
+                    moves++;
+                }
+                player = 1 - player;
+            }
+            checkSame(reference, position);
+            assertTrue(moves <= 60);
+        }
+    }
+
+    @Test
+    public void testRandomBoards() {
+        Random random = new Random(1L);
+        for (int trial = 0; trial < 500; trial++) {
+            int[][] board = new int[8][8];
+            int pieces = 0;
+            double density = random.nextDouble();
+            for (int i = 0; i < 8; i++)
+                for (int j = 0; j < 8; j++) {
+                    board[i][j] = random.nextDouble() < density ? random.nextInt(2) : Position.EMPTY;
+                    if (board[i][j] != Position.EMPTY) pieces++;
+                }
+            int lastPlayer = random.nextInt(3) - 1;
+            ArrayPosition reference = new ArrayPosition(copy(board), pieces, lastPlayer);
+            Position position = new Position(copy(board), pieces, lastPlayer);
+            checkSame(reference, position);
+            assertEquals(new Position(reference.getBoard(), pieces, lastPlayer), position);
+            assertEquals(new Position(reference.getBoard(), pieces, lastPlayer).hashCode(), position.hashCode());
+            // Try every square for both players, including the invalid moves.
+            for (int player = Position.BLACK; player <= Position.WHITE; player++)
+                for (int i = 0; i < 8; i++)
+                    for (int j = 0; j < 8; j++)
+                        checkMove(reference, position, player, i, j);
+        }
+    }
+
+    @Test
+    public void testMoveMask() {
+        Position position = Position.createStartingPosition();
+        long expected = 1L << Position.square(2, 3) | 1L << Position.square(3, 2) | 1L << Position.square(4, 5) | 1L << Position.square(5, 4);
+        assertEquals(expected, position.moveMask(Position.BLACK));
+        assertTrue(position.hasMoves(Position.WHITE));
+        assertEquals(1L << Position.square(3, 3), position.flips(Position.BLACK, Position.square(2, 3)));
+        assertEquals(0L, position.flips(Position.BLACK, Position.square(3, 3)));
+        assertEquals(Position.square(4, 5), Position.selectSquare(expected, 2));
+        assertEquals(position.move(Position.BLACK, 4, 5), position.move(Position.BLACK, Position.square(4, 5)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testInvalidCell() {
+        Position.createStartingPosition().move(Position.BLACK, 8, 0);
+    }
+
+    private static void checkMove(ArrayPosition reference, Position position, int player, int row, int col) {
+        ArrayPosition expected;
+        try {
+            expected = reference.move(player, row, col);
+        } catch (IllegalStateException e) {
+            try {
+                position.move(player, row, col);
+                fail("expected exception: " + e.getMessage());
+            } catch (IllegalStateException f) {
+                assertEquals(e.getMessage(), f.getMessage());
+            }
+            return;
+        }
+        checkSame(expected, position.move(player, row, col));
+    }
+
+    private static void checkSame(ArrayPosition reference, Position position) {
+        assertEquals(reference.toString(), position.toString());
+        assertArrayEquals(reference.getBoard(), position.getBoard());
+        assertEquals(reference.lastPlayer(), position.lastPlayer());
+        assertEquals(reference.isFull(), position.isFull());
+        assertEquals(reference.isGameOver(), position.isGameOver());
+        assertEquals(reference.winner(), position.winner());
+        assertEquals(reference.render(), position.render());
+        for (int player = Position.EMPTY; player <= Position.WHITE; player++)
+            assertEquals(reference.countPieces(player), position.countPieces(player));
+        for (int player = Position.BLACK; player <= Position.WHITE; player++) {
+            checkSameCells(reference.moves(player), position.moves(player));
+            for (int i = 0; i < 8; i++)
+                for (int j = 0; j < 8; j++)
+                    checkSameCells(reference.getFlips(player, i, j), position.getFlips(player, i, j));
+        }
+    }
+
+    private static void checkSameCells(List<int[]> expected, List<int[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) assertArrayEquals(expected.get(i), actual.get(i));
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] result = new int[board.length][];
+        for (int i = 0; i < board.length; i++) result[i] = board[i].clone();
+        return result;
+    }
+}
@@ -3,6 +3,7 @@ package com.phasmidsoftware.dsaipg.projects.mcts.othello;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -95,4 +96,57 @@ public class PositionTest {
         // Check last player
         assertEquals(Position.BLACK, newPosition.lastPlayer());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testZobristHash() {
+        Random random = new Random(0L);
+        for (int game = 0; game < 50; game++) {
+            Position position = Position.createStartingPosition();
+            int player = Position.BLACK;
+            while (!position.isGameOver()) {
+                long moves = position.moveMask(player);
+                if (moves != 0) {
+                    position = position.move(player, Position.selectSquare(moves, random.nextInt(Long.bitCount(moves))));
+                    // The incrementally-updated hash must be the same as the hash computed from scratch.
+                    Position copy = new Position(position.getBoard(), position.countPieces(Position.BLACK) + position.countPieces(Position.WHITE), position.lastPlayer());
+                    assertEquals(copy.zobristHash(), position.zobristHash());
+                }
+                player = 1 - player;
+            }
+        }
+    }
+
+    @Test
+    public void testZobristHashTransposition() {
+        Position start = Position.createStartingPosition();
+        // Black c4, white c3, black d3 versus black d3, white c3, black c4.
+        Position first = start.move(Position.BLACK, 3, 2).move(Position.WHITE, 2, 2).move(Position.BLACK, 2, 3);
+        Position second = start.move(Position.BLACK, 2, 3).move(Position.WHITE, 2, 2).move(Position.BLACK, 3, 2);
+        assertArrayEquals(first.getBoard(), second.getBoard());
+        assertEquals(first.zobristHash(), second.zobristHash());
+        assertNotEquals(start.zobristHash(), first.zobristHash());
+    }
+
+    @Test
+    public void testTransform() {
+        Position position = Position.createStartingPosition().move(Position.BLACK, 2, 3).move(Position.WHITE, 2, 2);
+        int[][] board = position.getBoard();
+        int n = board.length;
+        for (int symmetry = 0; symmetry < 8; symmetry++) {
+            int[][] transformed = position.transform(symmetry).getBoard();
+            for (int row = 0; row < n; row++)
+                for (int col = 0; col < n; col++) {
+                    int r = (symmetry & 2) != 0 ? n - 1 - row : row;
+                    int c = (symmetry & 1) != 0 ? n - 1 - col : col;
+                    if ((symmetry & 4) != 0) {
+                        int x = r;
+                        r = c;
+                        c = x;
+                    }
+                    assertEquals(board[row][col], transformed[r][c]);
+                }
+            assertEquals(position.canonicalHash(), position.transform(symmetry).canonicalHash());
+        }
+        assertEquals(position.zobristHash(), position.transform(0).zobristHash());
+    }
+}
@@ -2,8 +2,11 @@ package com.phasmidsoftware.dsaipg.projects.mcts.tictactoe;
 
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Move;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchBudget;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.TranspositionTable;
 import org.junit.Test;
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -174,4 +177,136 @@ public class MCTSTest {
         // Game should not take more than 9 moves (maximum for tic-tac-toe)
         assertTrue("Game should take 9 or fewer moves", moveCount <= 9);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test 6: Tree-parallel search
+     * Every iteration should be counted exactly once and every virtual loss should have been removed
+     */
+    @Test
+    public void testTreeParallelSearch() {
+        TicTacToeNode root = emptyBoardNode();
+        MCTS mcts = new MCTS(root, new Random(0L));
+        Node<TicTacToe> bestNode = mcts.search(SearchBudget.iterations(2000), 4, SearchBudget.Parallelism.TREE);
+
+        assertNotEquals(root, bestNode);
+        assertEquals(2000, mcts.getIterations());
+        assertEquals(2000, root.playouts());
+        assertEquals(root.playouts(), root.visits());
+        int totalPlayouts = 0;
+        for (Node<TicTacToe> child : root.children()) {
+            totalPlayouts += child.playouts();
+            assertEquals(child.playouts(), ((TicTacToeNode) child).visits());
+        }
+        assertEquals(2000, totalPlayouts);
+    }
+
+    /**
+     * Test 7: Root-parallel search
+     * The statistics of the separate trees should be merged into the children of the root
+     */
+    @Test
+    public void testRootParallelSearch() {
+        TicTacToeNode root = emptyBoardNode();
+        MCTS mcts = new MCTS(root, new Random(0L));
+        Node<TicTacToe> bestNode = mcts.search(SearchBudget.iterations(2000), 4, SearchBudget.Parallelism.ROOT);
+
+        assertNotEquals(root, bestNode);
+        assertEquals(9, root.children().size());
+        assertEquals(2000, mcts.getIterations());
+        assertEquals(2000, root.playouts());
+        int totalPlayouts = 0;
+        for (Node<TicTacToe> child : root.children()) {
+            totalPlayouts += child.playouts();
+            assertTrue(bestNode.playouts() >= child.playouts());
+        }
+        assertEquals(2000, totalPlayouts);
+    }
+
+    /**
+     * Test 8: Search with a time budget
+     */
+    @Test
+    public void testSearchTime() {
+        TicTacToeNode root = emptyBoardNode();
+        MCTS mcts = new MCTS(root);
+        Node<TicTacToe> bestNode = mcts.searchTime(50);
+
+        assertNotEquals(root, bestNode);
+        assertTrue(mcts.getElapsedNanos() >= 50_000_000L);
+        assertTrue(mcts.getIterations() > 0);
+        assertEquals(mcts.getIterations(), root.playouts());
+        assertTrue(mcts.getIterationsPerSecond() > 0);
+    }
+
+    /**
+     * Test 9: Statistics shared, by way of a transposition table, by transpositions and by successive searches
+     */
+    @Test
+    public void testTranspositionTable() {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        TicTacToeNode root = new TicTacToeNode(emptyBoardNode().state(), table);
+        Node<TicTacToe> bestNode = new MCTS(root, new Random(0L)).searchIterations(2000);
+        // Positions reached by different sequences of moves share one entry of the table.
+        assertTrue(table.hits() > 0);
+        assertTrue(table.size() < countNodes(root));
+
+        TicTacToeNode next = new TicTacToeNode(bestNode.state(), table);
+        int playouts = next.playouts();
+        assertTrue(playouts > 0);
+        new MCTS(next, new Random(1L)).searchIterations(500);
+        assertEquals(playouts + 500, next.playouts());
+        assertEquals(next.playouts(), bestNode.playouts());
+    }
+
+    /**
+     * Test 10: Statistics shared by positions which are equivalent under the symmetries of the grid
+     */
+    @Test
+    public void testSymmetricTranspositionTable() {
+        TranspositionTable table = new TranspositionTable(1 << 12, 16, true);
+        TicTacToeNode root = new TicTacToeNode(emptyBoardNode().state(), table);
+        new MCTS(root, new Random(0L)).searchIterations(900);
+
+        // The nine opening moves fall into three classes: corner, edge and centre.
+        assertEquals(9, root.children().size());
+        assertEquals(3, root.children().stream().mapToLong(child -> ((TicTacToeState) child.state()).getPosition().canonicalHash()).distinct().count());
+        int total = 0;
+        for (Node<TicTacToe> child : root.children()) total += child.playouts();
+        assertTrue(total > 900);
+    }
+
+    /**
+     * Test 11: Tree-parallel search from a node which has a parent
+     * The ancestors of the node should be neither updated nor left with virtual losses
+     */
+    @Test
+    public void testTreeParallelSearchBelowRoot() {
+        TicTacToeNode root = emptyBoardNode();
+        TicTacToeNode child = (TicTacToeNode) new MCTS(root, new Random(0L)).searchIterations(100);
+        int rootPlayouts = root.playouts();
+        int childPlayouts = child.playouts();
+        MCTS mcts = new MCTS(child, new Random(1L));
+        mcts.search(SearchBudget.iterations(500), 4, SearchBudget.Parallelism.TREE);
+
+        assertEquals(500, mcts.getIterations());
+        assertEquals(childPlayouts + 500, child.playouts());
+        assertEquals(child.playouts(), child.visits());
+        assertEquals(rootPlayouts, root.playouts());
+        assertEquals(root.playouts(), root.visits());
+    }
+
+    private static int countNodes(Node<TicTacToe> node) {
+        int result = 1;
+        for (Node<TicTacToe> child : node.children()) result += countNodes(child);
+        return result;
+    }
+
+    private static TicTacToeNode emptyBoardNode() {
+        int[][] emptyGrid = {
+                {Position.blank, Position.blank, Position.blank},
+                {Position.blank, Position.blank, Position.blank},
+                {Position.blank, Position.blank, Position.blank}
+        };
+        return new TicTacToeNode(new TicTacToeState(new Position(emptyGrid, 0, Position.blank)));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -239,4 +240,46 @@ public class PositionTest {
         Position target = Position.parsePosition("X . .\n. O .\n. . X", 1);
         assertEquals("1,-1,-1\n-1,0,-1\n-1,-1,1", target.toString());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testZobristHash() {
+        Random random = new Random(0L);
+        for (int game = 0; game < 100; game++) {
+            Position position = Position.parsePosition(". . .\n. . .\n. . .", Position.blank);
+            int player = 1;
+            while (!position.full() && position.winner().isEmpty()) {
+                List<int[]> moves = position.moves(player);
+                int[] move = moves.get(random.nextInt(moves.size()));
+                position = position.move(player, move[0], move[1]);
+                // The incrementally-updated hash must be the same as the hash computed from scratch.
+                assertEquals(Position.parsePosition(position.render(), player).zobristHash(), position.zobristHash());
+                player = 1 - player;
+            }
+        }
+    }
+
+    @Test
+    public void testZobristHashTransposition() {
+        Position start = Position.parsePosition(". . .\n. . .\n. . .", Position.blank);
+        Position first = start.move(1, 0, 0).move(0, 1, 1).move(1, 2, 2);
+        Position second = start.move(1, 2, 2).move(0, 1, 1).move(1, 0, 0);
+        assertEquals(first, second);
+        assertEquals(first.zobristHash(), second.zobristHash());
+        assertNotEquals(start.zobristHash(), first.zobristHash());
+        assertNotEquals(first.zobristHash(), Position.parsePosition(first.render(), 0).zobristHash());
+    }
+
+    @Test
+    public void testCanonicalHash() {
+        Position target = Position.parsePosition("X O .\n. X .\n. . .", 1);
+        long canonical = target.canonicalHash();
+        Position rotated = target;
+        for (int i = 0; i < 4; i++) {
+            assertEquals(canonical, rotated.canonicalHash());
+            assertEquals(canonical, rotated.reflect(0).canonicalHash());
+            assertEquals(canonical, rotated.reflect(1).canonicalHash());
+            rotated = rotated.rotate();
+        }
+        assertNotEquals(canonical, Position.parsePosition("X . O\n. X .\n. . .", 1).canonicalHash());
+    }
+}
@@ -2,6 +2,8 @@ package com.phasmidsoftware.dsaipg.projects.mcts.tictactoe;
 
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Move;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.Node;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.ParallelSearch;
+import com.phasmidsoftware.dsaipg.projects.mcts.core.SearchNode;
 import com.phasmidsoftware.dsaipg.projects.mcts.core.State;
 import org.junit.Test;
 
@@ -127,9 +129,9 @@ public class TicTacToeNodeTest {
         // Using reflection to access private method
         java.lang.reflect.Method backpropMethod;
         try {
-            backpropMethod = MCTS.class.getDeclaredMethod("backpropagate", TicTacToeNode.class, double.class);
+            backpropMethod = ParallelSearch.class.getDeclaredMethod("backpropagate", SearchNode.class, SearchNode.class, double.class, boolean.class);
             backpropMethod.setAccessible(true);
-            backpropMethod.invoke(mcts, root, 1.0);
+            backpropMethod.invoke(mcts, root, root, 1.0, false);
 
             // Root should now have 1 playout and 2 wins (representing a win)
             assertEquals(1, root.playouts());
@@ -168,9 +170,9 @@ public class TicTacToeNodeTest {
         // Backpropagate a win (1.0) from the grandchild
         java.lang.reflect.Method backpropMethod;
         try {
-            backpropMethod = MCTS.class.getDeclaredMethod("backpropagate", TicTacToeNode.class, double.class);
+            backpropMethod = ParallelSearch.class.getDeclaredMethod("backpropagate", SearchNode.class, SearchNode.class, double.class, boolean.class);
             backpropMethod.setAccessible(true);
-            backpropMethod.invoke(mcts, grandchild, 1.0);
+            backpropMethod.invoke(mcts, grandchild, root, 1.0, false);
 
             // Verify state of nodes after backpropagation
             // Grandchild: 1 playout, 2 wins (win)
@@ -204,9 +206,9 @@ public class TicTacToeNodeTest {
         // Call backpropagate with draw result (0.5)
         java.lang.reflect.Method backpropMethod;
         try {
-            backpropMethod = MCTS.class.getDeclaredMethod("backpropagate", TicTacToeNode.class, double.class);
+            backpropMethod = ParallelSearch.class.getDeclaredMethod("backpropagate", SearchNode.class, SearchNode.class, double.class, boolean.class);
             backpropMethod.setAccessible(true);
-            backpropMethod.invoke(mcts, root, 0.5);
+            backpropMethod.invoke(mcts, root, root, 0.5, false);
 
             // Root should now have 1 playout and 1 win (representing a draw)
             assertEquals(1, root.playouts());
@@ -235,9 +237,9 @@ public class TicTacToeNodeTest {
         MCTS mcts = new MCTS(node2);
         java.lang.reflect.Method backpropMethod;
         try {
-            backpropMethod = MCTS.class.getDeclaredMethod("backpropagate", TicTacToeNode.class, double.class);
+            backpropMethod = ParallelSearch.class.getDeclaredMethod("backpropagate", SearchNode.class, SearchNode.class, double.class, boolean.class);
             backpropMethod.setAccessible(true);
-            backpropMethod.invoke(mcts, node2, 1.0);
+            backpropMethod.invoke(mcts, node2, node2, 1.0, false);
 
             // Both nodes should have identical stats
             assertEquals(node1.playouts(), node2.playouts());
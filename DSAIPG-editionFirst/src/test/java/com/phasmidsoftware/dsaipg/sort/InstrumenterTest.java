@@ -0,0 +1,54 @@
+package com.phasmidsoftware.dsaipg.sort;
+
+import org.junit.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class InstrumenterTest {
+
+    @Test
+    public void testIncrements() {
+        Instrumenter instrumenter = new Instrumenter(true, true, true, true, true, true, false);
+        instrumenter.init(10, 1);
+        instrumenter.incrementCompares();
+        instrumenter.incrementSwaps(2);
+        instrumenter.incrementCopies(3);
+        instrumenter.incrementFixes(4);
+        instrumenter.incrementHits(5);
+        instrumenter.incrementLookups();
+        assertTrue(Instrumenter.ENABLED);
+        assertEquals(1, instrumenter.getCompares());
+        assertEquals(2, instrumenter.getSwaps());
+        assertEquals(3, instrumenter.getCopies());
+        assertEquals(4, instrumenter.getFixes());
+        assertEquals(5, instrumenter.getHits());
+        assertEquals(1, instrumenter.getLookups());
+        instrumenter.init(10, 1);
+        assertEquals(0, instrumenter.getCompares());
+    }
+
+    @Test
+    public void testSelectiveCounting() {
+        Instrumenter instrumenter = new Instrumenter(false, false, true, false, false, false, false);
+        instrumenter.incrementCompares();
+        instrumenter.incrementSwaps(2);
+        assertEquals(1, instrumenter.getCompares());
+        assertEquals(0, instrumenter.getSwaps());
+        assertFalse(instrumenter.countFixes());
+    }
+
+    @Test
+    public void testConcurrentIncrements() {
+        Instrumenter instrumenter = new Instrumenter(true, true, true, true, true, true, false);
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            instrumenter.incrementCompares();
+            instrumenter.incrementSwaps(1);
+            instrumenter.incrementHits(2);
+        });
+        assertEquals(100_000, instrumenter.getCompares());
+        assertEquals(100_000, instrumenter.getSwaps());
+        assertEquals(200_000, instrumenter.getHits());
+    }
+}
@@ -0,0 +1,55 @@
+package com.phasmidsoftware.dsaipg.sort;
+
+import com.phasmidsoftware.dsaipg.sort.linearithmic.MergeSort;
+import com.phasmidsoftware.dsaipg.util.Config;
+import org.ini4j.Ini;
+import org.junit.Test;
+
+import static com.phasmidsoftware.dsaipg.sort.InstrumentedComparatorHelper.MSD_CUTOFF_DEFAULT;
+import static com.phasmidsoftware.dsaipg.util.Config_Benchmark.*;
+import static org.junit.Assert.*;
+
+public class SortOptionsTest {
+
+    @Test
+    public void testFromConfig() {
+        Ini ini = new Ini();
+        ini.put(HELPER, CUTOFF, 8);
+        ini.put(HELPER, MSDCUTOFF, 40);
+        ini.put(SortOptions.MERGESORT, SortOptions.INSURANCE, true);
+        ini.put(SortOptions.MERGESORT, SortOptions.NOCOPY, false);
+        SortOptions options = SortOptions.from(new Config(ini));
+        assertEquals(new SortOptions(8, true, false, 40), options);
+    }
+
+    @Test
+    public void testFromEmptyConfig() {
+        SortOptions options = SortOptions.from(new Config(new Ini()));
+        assertEquals(new SortOptions(CUTOFF_DEFAULT, false, false, MSD_CUTOFF_DEFAULT), options);
+        assertEquals(SortOptions.DEFAULT, SortOptions.from((Config) null));
+    }
+
+    @Test
+    public void testFromHelper() {
+        Ini ini = new Ini();
+        ini.put(HELPER, CUTOFF, 0);
+        ini.put(SortOptions.MERGESORT, SortOptions.NOCOPY, true);
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("test", 10, new Config(ini));
+        SortOptions options = SortOptions.from(helper);
+        assertEquals(helper.cutoff(), options.cutoff());
+        assertFalse(options.insurance());
+        assertTrue(options.noCopy());
+    }
+
+    @Test
+    public void testSortWithHelperResolvesOptions() {
+        Ini ini = new Ini();
+        ini.put(HELPER, CUTOFF, 12);
+        ini.put(SortOptions.MERGESORT, SortOptions.INSURANCE, true);
+        Helper<Integer> helper = new NonInstrumentingComparableHelper<>("test", 10, new Config(ini));
+        MergeSort<Integer> sorter = new MergeSort<>(helper);
+        assertEquals(12, sorter.getOptions().cutoff());
+        assertTrue(sorter.getOptions().insurance());
+        assertFalse(sorter.getOptions().noCopy());
+    }
+}
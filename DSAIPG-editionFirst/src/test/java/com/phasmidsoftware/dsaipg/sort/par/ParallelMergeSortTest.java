@@ -0,0 +1,154 @@
+package com.phasmidsoftware.dsaipg.sort.par;
+
+import com.phasmidsoftware.dsaipg.sort.primitive.PrimitiveHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ParallelMergeSortTest {
+
+    private static ParallelMergeSort[] sorters() {
+        return new ParallelMergeSort[]{
+                new ParallelMergeSort(),
+                new ParallelMergeSort(16),
+                new ParallelMergeSort(new ForkJoinPool(4), 8, 1)
+        };
+    }
+
+    @Test
+    public void testSortInts() {
+        Random random = new Random(0L);
+        for (ParallelMergeSort sorter : sorters())
+            for (int n : new int[]{0, 1, 2, 17, 1000, 100000}) {
+                int[] xs = new int[n];
+                for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+                int[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                sorter.sort(xs);
+                assertArrayEquals(sorter + ": " + n, expected, xs);
+            }
+    }
+
+    @Test
+    public void testSortLongsAndDoubles() {
+        Random random = new Random(0L);
+        for (ParallelMergeSort sorter : sorters()) {
+            int n = 50000;
+            long[] ys = new long[n];
+            double[] zs = new double[n];
+            for (int i = 0; i < n; i++) {
+                ys[i] = random.nextLong();
+                zs[i] = i % 1000 == 0 ? Double.NaN : random.nextGaussian();
+            }
+            long[] expectedYs = Arrays.copyOf(ys, n);
+            double[] expectedZs = Arrays.copyOf(zs, n);
+            Arrays.sort(expectedYs);
+            Arrays.sort(expectedZs);
+            sorter.sort(ys);
+            sorter.sort(zs);
+            assertArrayEquals(sorter.toString(), expectedYs, ys);
+            assertArrayEquals(sorter.toString(), expectedZs, zs, 0.0);
+        }
+    }
+
+    @Test
+    public void testSortOrderedAndDuplicates() {
+        int n = 100000;
+        for (ParallelMergeSort sorter : sorters()) {
+            int[] descending = new int[n];
+            int[] duplicates = new int[n];
+            for (int i = 0; i < n; i++) {
+                descending[i] = n - i;
+                duplicates[i] = i % 3;
+            }
+            sorter.sort(descending);
+            sorter.sort(duplicates);
+            assertTrue(sorter.toString(), PrimitiveHelper.isSorted(descending));
+            assertTrue(sorter.toString(), PrimitiveHelper.isSorted(duplicates));
+        }
+    }
+
+    @Test
+    public void testSortPartialArray() {
+        for (ParallelMergeSort sorter : new ParallelMergeSort[]{new ParallelMergeSort(), new ParallelMergeSort(new ForkJoinPool(2), 1, 1)}) {
+            int[] xs = {4, 3, 2, 10, 1, 20, 30, 7, 6, 5};
+            sorter.sort(xs, 2, 8);
+            assertArrayEquals(sorter.toString(), new int[]{4, 3, 1, 2, 7, 10, 20, 30, 6, 5}, xs);
+            String[] ss = {"d", "c", "b", "j", "a", "t", "z", "g", "f", "e"};
+            sorter.sort(ss, 2, 8, Comparator.naturalOrder());
+            assertArrayEquals(sorter.toString(), new String[]{"d", "c", "a", "b", "g", "j", "t", "z", "f", "e"}, ss);
+        }
+    }
+
+    @Test
+    public void testSortObjectsIsStable() {
+        Random random = new Random(0L);
+        int n = 100000;
+        for (ParallelMergeSort sorter : sorters()) {
+            int[][] xs = new int[n][];
+            for (int i = 0; i < n; i++) xs[i] = new int[]{random.nextInt(100), i};
+            sorter.sort(xs, 0, n, Comparator.comparingInt(x -> x[0]));
+            for (int i = 1; i < n; i++) {
+                assertTrue(xs[i - 1][0] <= xs[i][0]);
+                if (xs[i - 1][0] == xs[i][0]) assertTrue(sorter.toString(), xs[i - 1][1] < xs[i][1]);
+            }
+        }
+    }
+
+    @Test
+    public void testSortComparable() {
+        Random random = new Random(0L);
+        Integer[] xs = new Integer[20000];
+        for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+        Integer[] expected = Arrays.copyOf(xs, xs.length);
+        Arrays.sort(expected);
+        new ParallelMergeSort(100).sort(xs);
+        assertArrayEquals(expected, xs);
+    }
+
+    @Test
+    public void testConcurrentSorts() throws InterruptedException {
+        ParallelMergeSort sorter = new ParallelMergeSort(new ForkJoinPool(4), 256, 256);
+        int nThreads = 8;
+        Thread[] threads = new Thread[nThreads];
+        boolean[] ok = new boolean[nThreads];
+        for (int t = 0; t < nThreads; t++) {
+            final int k = t;
+            threads[t] = new Thread(() -> {
+                Random random = new Random(k);
+                int[] xs = new int[20000];
+                for (int i = 0; i < xs.length; i++) xs[i] = random.nextInt();
+                int[] expected = Arrays.copyOf(xs, xs.length);
+                Arrays.sort(expected);
+                sorter.sort(xs);
+                ok[k] = Arrays.equals(expected, xs);
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+        for (boolean b : ok) assertTrue(b);
+    }
+
+    @Test
+    public void testDefaultCutoff() {
+        assertEquals(ParallelMergeSort.CUTOFF_DEFAULT, new ParallelMergeSort().cutoff());
+        assertEquals(ParallelMergeSort.CUTOFF_DEFAULT, new ParallelMergeSort(0).cutoff());
+        assertEquals(ParallelMergeSort.CUTOFF_DEFAULT, new ParallelMergeSort(ForkJoinPool.commonPool(), -1, 256).cutoff());
+        assertEquals(1, new ParallelMergeSort(1).cutoff());
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void testSortNegativeRange() {
+        new ParallelMergeSort().sort(new int[]{3, 2, 1}, -1, 3);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSortInvertedRange() {
+        new ParallelMergeSort().sort(new int[]{3, 2, 1}, 2, 1);
+    }
+}
@@ -0,0 +1,143 @@
+package com.phasmidsoftware.dsaipg.sort.primitive;
+
+import com.phasmidsoftware.dsaipg.sort.par.ParallelMergeSort;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class PrimitiveSortTest {
+
+    private static PrimitiveSort[] sorters() {
+        return new PrimitiveSort[]{
+                new PrimitiveSystemSort(),
+                new PrimitiveMergeSort(),
+                new PrimitiveMergeSort(1, false, false),
+                new PrimitiveMergeSort(8, true, false),
+                new PrimitiveMergeSort(8, false, true),
+                new PrimitiveQuickSort_DualPivot(),
+                new PrimitiveQuickSort_DualPivot(1),
+                new PrimitiveQuickSort_3way(),
+                new PrimitiveQuickSort_3way(1),
+                new PrimitiveIntroSort(),
+                new PrimitiveHeapSort(),
+                new PrimitiveParallelQuickSort(new PrimitiveQuickSort_DualPivot(), ForkJoinPool.commonPool(), 20),
+                new PrimitiveParallelQuickSort(new PrimitiveQuickSort_3way(), ForkJoinPool.commonPool(), 20),
+                new PrimitiveParallelQuickSort(new PrimitiveIntroSort(), ForkJoinPool.commonPool(), 20),
+                new PrimitiveParallelQuickSort(new PrimitiveQuickSort_DualPivot(1), ForkJoinPool.commonPool(), 1),
+                new ParallelMergeSort(ForkJoinPool.commonPool(), 20, 20, new PrimitiveHeapSort())
+        };
+    }
+
+    @Test
+    public void testSortInts() {
+        Random random = new Random(0L);
+        for (PrimitiveSort sorter : sorters())
+            for (int n : new int[]{0, 1, 2, 3, 4, 7, 20, 21, 100, 1000, 10000}) {
+                int[] xs = new int[n];
+                for (int i = 0; i < n; i++) xs[i] = random.nextInt();
+                int[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                sorter.sort(xs);
+                assertArrayEquals(sorter + ": " + n, expected, xs);
+            }
+    }
+
+    @Test
+    public void testSortLongs() {
+        Random random = new Random(0L);
+        for (PrimitiveSort sorter : sorters())
+            for (int n : new int[]{0, 1, 2, 3, 4, 7, 20, 21, 100, 1000, 10000}) {
+                long[] xs = new long[n];
+                for (int i = 0; i < n; i++) xs[i] = random.nextLong();
+                long[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                sorter.sort(xs);
+                assertArrayEquals(sorter + ": " + n, expected, xs);
+            }
+    }
+
+    @Test
+    public void testSortDoubles() {
+        Random random = new Random(0L);
+        for (PrimitiveSort sorter : sorters())
+            for (int n : new int[]{0, 1, 2, 3, 4, 7, 20, 21, 100, 1000, 10000}) {
+                double[] xs = new double[n];
+                for (int i = 0; i < n; i++) xs[i] = random.nextGaussian();
+                double[] expected = Arrays.copyOf(xs, n);
+                Arrays.sort(expected);
+                sorter.sort(xs);
+                assertArrayEquals(sorter + ": " + n, expected, xs, 0.0);
+            }
+    }
+
+    @Test
+    public void testSortDoublesWithNaN() {
+        for (PrimitiveSort sorter : sorters()) {
+            double[] xs = {3.0, Double.NaN, -1.0, 2.0, Double.NaN, 0.5, 10.0, -7.5};
+            sorter.sort(xs);
+            assertArrayEquals(sorter.toString(), new double[]{-7.5, -1.0, 0.5, 2.0, 3.0, 10.0}, Arrays.copyOf(xs, 6), 0.0);
+            assertTrue(Double.isNaN(xs[6]));
+            assertTrue(Double.isNaN(xs[7]));
+            assertTrue(PrimitiveHelper.isSorted(xs));
+        }
+    }
+
+    @Test
+    public void testSortOrderedAndDuplicates() {
+        int n = 100000;
+        for (PrimitiveSort sorter : sorters()) {
+            int[] ascending = new int[n];
+            int[] descending = new int[n];
+            int[] duplicates = new int[n];
+            for (int i = 0; i < n; i++) {
+                ascending[i] = i;
+                descending[i] = n - i;
+                duplicates[i] = i % 3;
+            }
+            sorter.sort(ascending);
+            sorter.sort(descending);
+            sorter.sort(duplicates);
+            assertTrue(sorter.toString(), PrimitiveHelper.isSorted(ascending));
+            assertTrue(sorter.toString(), PrimitiveHelper.isSorted(descending));
+            assertTrue(sorter.toString(), PrimitiveHelper.isSorted(duplicates));
+        }
+    }
+
+    @Test
+    public void testSortPartialArray() {
+        for (PrimitiveSort sorter : sorters()) {
+            int[] xs = {4, 3, 2, 10, 1, 20, 30, 7, 6, 5};
+            sorter.sort(xs, 2, 8);
+            assertArrayEquals(sorter.toString(), new int[]{4, 3, 1, 2, 7, 10, 20, 30, 6, 5}, xs);
+        }
+    }
+
+    @Test
+    public void testIsSorted() {
+        assertTrue(PrimitiveHelper.isSorted(new int[]{1, 2, 2, 3}));
+        assertFalse(PrimitiveHelper.isSorted(new int[]{1, 3, 2}));
+        assertTrue(PrimitiveHelper.isSorted(new long[]{}));
+        assertFalse(PrimitiveHelper.isSorted(new long[]{2L, 1L}));
+        assertTrue(PrimitiveHelper.isSorted(new double[]{-0.0, 0.0, 1.0, Double.NaN}));
+        assertFalse(PrimitiveHelper.isSorted(new double[]{Double.NaN, 1.0}));
+    }
+
+    @Test
+    public void testMoveNaNsToEnd() {
+        double[] xs = {Double.NaN, 1.0, Double.NaN, 2.0};
+        assertEquals(2, PrimitiveHelper.moveNaNsToEnd(xs, 0, 4));
+        assertFalse(Double.isNaN(xs[0]));
+        assertFalse(Double.isNaN(xs[1]));
+    }
+
+    @Test
+    public void testFloorLg() {
+        assertEquals(0, PrimitiveHelper.floor_lg(1));
+        assertEquals(1, PrimitiveHelper.floor_lg(3));
+        assertEquals(10, PrimitiveHelper.floor_lg(1024));
+    }
+}
@@ -0,0 +1,30 @@
+package com.phasmidsoftware.dsaipg.util;
+
+import com.phasmidsoftware.dsaipg.adt.symbolTable.hashtable.ConcurrentFrequencyCounter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FrequencyCounterBenchmarkTest {
+
+    @Test
+    public void testIngest() throws IOException {
+        List<String> lines = FrequencyCounterBenchmark.readLines("eng-uk_web_2002_10K-sentences.txt");
+        ConcurrentFrequencyCounter<String> sequential = FrequencyCounterBenchmark.ingest(lines.stream());
+        ConcurrentFrequencyCounter<String> parallel = FrequencyCounterBenchmark.ingest(lines, 4);
+        assertTrue(sequential.total() > 100_000);
+        assertEquals(sequential.total(), parallel.total());
+        assertEquals(sequential.size(), parallel.size());
+        assertEquals(sequential.get("the"), parallel.get("the"));
+    }
+
+    @Test
+    public void testRunBenchmark() throws IOException {
+        List<String> lines = FrequencyCounterBenchmark.readLines("eng-uk_web_2002_10K-sentences.txt");
+        assertTrue(FrequencyCounterBenchmark.runBenchmark(lines, 2, 2) > 0);
+    }
+}